@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.sample.ViewOne;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+import static io.craigmiller160.locus.benchmark.LocusFixtures.CONTROLLER_ONE_NAME;
+
+/**
+ * <p>Benchmarks for the throughput of the framework when it is
+ * used from many threads at once. Every operation goes through
+ * the LocusStorage, so these show how well it scales with the
+ * number of threads. The ContentionReport runs them with 1 to 64
+ * threads, but they can also be run with any thread count using
+ * the -t option.</p>
+ *
+ * <p>Along with the throughput, the total time the benchmark
+ * threads spent blocked waiting to enter a monitor is reported
+ * as lockWaitMillis, using thread contention monitoring. It is
+ * 0 on JVMs that don't support contention monitoring.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentionBenchmark {
+
+    private ViewOne sharedView;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if(threadBean.isThreadContentionMonitoringSupported()){
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+
+        LocusFixtures.registerSamples();
+        sharedView = new ViewOne();
+        Locus.view.registerView(sharedView);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        Locus.view.unregisterView(sharedView);
+        LocusFixtures.clear();
+    }
+
+    @Benchmark
+    public void setValue(LockWait lockWait){
+        Locus.model.setValue("StringField", "Value");
+    }
+
+    @Benchmark
+    public Object getValue(LockWait lockWait){
+        return Locus.model.getValue("StringField");
+    }
+
+    @Benchmark
+    public void registerUnregisterView(LockWait lockWait){
+        Locus.view.registerView(lockWait.view);
+        Locus.view.unregisterView(lockWait.view);
+    }
+
+    @Benchmark
+    public Object getController(LockWait lockWait){
+        return Locus.controller.getController(CONTROLLER_ONE_NAME);
+    }
+
+    /**
+     * The time a single benchmark thread spends blocked in each
+     * iteration. JMH adds up the counters of every thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LockWait {
+
+        /**
+         * The time spent blocked waiting to enter a monitor, in milliseconds.
+         */
+        public long lockWaitMillis;
+
+        private final ViewOne view = new ViewOne();
+        private long blockedTimeAtStart;
+
+        @Setup(Level.Iteration)
+        public void start(){
+            lockWaitMillis = 0;
+            blockedTimeAtStart = getBlockedTime();
+        }
+
+        @TearDown(Level.Iteration)
+        public void finish(){
+            long blockedTime = getBlockedTime();
+            if(blockedTime >= 0 && blockedTimeAtStart >= 0){
+                lockWaitMillis = blockedTime - blockedTimeAtStart;
+            }
+        }
+
+        private static long getBlockedTime(){
+            ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(Thread.currentThread().getId());
+            return info != null ? info.getBlockedTime() : -1;
+        }
+    }
+
+}
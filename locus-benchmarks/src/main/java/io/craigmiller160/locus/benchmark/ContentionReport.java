@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Runs the ContentionBenchmark with 1, 2, 4, 8, 16, 32,
+ * and 64 threads, then prints the throughput and lock wait
+ * time of each benchmark at each thread count as CSV. For example:</p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar io.craigmiller160.locus.benchmark.ContentionReport -wi 3 -i 3
+ * </pre>
+ *
+ * <p>It accepts the standard JMH command line options, except
+ * for the thread count. The scaling column is the throughput
+ * divided by the throughput with a single thread, so perfect
+ * scaling matches the thread count.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public class ContentionReport {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    private static final String LOCK_WAIT_COUNTER = "lockWaitMillis";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException{
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        List<RunResult> results = new ArrayList<>();
+        for(int threads : THREAD_COUNTS){
+            results.addAll(new Runner(new OptionsBuilder()
+                    .parent(commandLineOptions)
+                    .include(ContentionBenchmark.class.getName())
+                    .threads(threads)
+                    .build()).run());
+        }
+
+        System.out.println("benchmark,threads,opsPerMs,scaling,lockWaitMillis");
+        for(RunResult result : results){
+            String benchmark = result.getParams().getBenchmark();
+            double score = result.getPrimaryResult().getScore();
+            Result lockWait = result.getSecondaryResults().get(LOCK_WAIT_COUNTER);
+            System.out.println(benchmark.substring(benchmark.lastIndexOf('.') + 1) + "," +
+                    result.getParams().getThreads() + "," +
+                    String.format("%.1f", score) + "," +
+                    String.format("%.2f", score / getSingleThreadScore(results, benchmark)) + "," +
+                    (lockWait != null ? String.format("%.0f", lockWait.getScore()) : "n/a"));
+        }
+    }
+
+    private static double getSingleThreadScore(List<RunResult> results, String benchmark){
+        for(RunResult result : results){
+            if(result.getParams().getThreads() == 1 && benchmark.equals(result.getParams().getBenchmark())){
+                return result.getPrimaryResult().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.sample.ControllerOne;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.craigmiller160.locus.benchmark.LocusFixtures.CONTROLLER_ONE_NAME;
+
+/**
+ * <p>Benchmarks for creating controllers with LocusController,
+ * using the no-argument constructor of ControllerOne, its
+ * constructor with a String argument, and the typed lookup.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerBenchmark {
+
+    @Setup(Level.Trial)
+    public void setup(){
+        LocusFixtures.registerSamples();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        LocusFixtures.clear();
+    }
+
+    @Benchmark
+    public Object getController(){
+        return Locus.controller.getController(CONTROLLER_ONE_NAME);
+    }
+
+    @Benchmark
+    public Object getControllerWithArgs(){
+        return Locus.controller.getController(CONTROLLER_ONE_NAME, "Id");
+    }
+
+    @Benchmark
+    public ControllerOne getControllerTyped(){
+        return Locus.controller.getController(CONTROLLER_ONE_NAME, ControllerOne.class);
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ModelOne;
+import io.craigmiller160.locus.sample.ViewOne;
+import io.craigmiller160.locus.util.LocusStorage;
+
+/**
+ * <p>Sets up the LocusStorage with the sample classes from
+ * the framework's tests, for every benchmark to use. The
+ * classes are registered with Locus.registry() rather than
+ * scanned, so the benchmarks only measure the hot paths,
+ * through the same public API an application uses.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is not thread-safe. It
+ * should only be used in the setup of a benchmark.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public class LocusFixtures {
+
+    /**
+     * The name the ControllerOne class is registered with.
+     */
+    public static final String CONTROLLER_ONE_NAME = "ControllerOne";
+
+    private LocusFixtures(){}
+
+    /**
+     * Clear the LocusStorage and register ModelOne,
+     * ViewOne, and ControllerOne.
+     *
+     * @return the ModelOne instance that was registered.
+     */
+    public static ModelOne registerSamples(){
+        LocusStorage.getInstance().clear();
+
+        ModelOne modelOne = new ModelOne();
+        Locus.registry()
+                .model(modelOne)
+                .view(ViewOne.class)
+                .controller(CONTROLLER_ONE_NAME, ControllerOne.class);
+        return modelOne;
+    }
+
+    /**
+     * Clear the LocusStorage, so the fixtures don't
+     * leak into the next benchmark.
+     */
+    public static void clear(){
+        LocusStorage.getInstance().clear();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.sample.ViewOne;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks for setting and getting model properties
+ * with LocusModel. A setter updates the model and every
+ * view with a matching setter, so a single ViewOne is
+ * registered to keep the view side of each update constant.</p>
+ *
+ * <p>The properties cover a single setter (IntField), a setter
+ * overloaded for different types (StringField), and varargs
+ * setters and getters (Fields and MultipleFields).</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    private ViewOne view;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        LocusFixtures.registerSamples();
+        view = new ViewOne();
+        Locus.view.registerView(view);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        Locus.view.unregisterView(view);
+        LocusFixtures.clear();
+    }
+
+    @Benchmark
+    public void setSingle(){
+        Locus.model.setValue("IntField", 1);
+    }
+
+    @Benchmark
+    public void setOverloaded(){
+        Locus.model.setValue("StringField", "Value");
+    }
+
+    @Benchmark
+    public void setVarargs(){
+        Locus.model.setValue("Fields", "Value", 1, 2.0);
+    }
+
+    @Benchmark
+    public Object getSingle(){
+        return Locus.model.getValue("IntField");
+    }
+
+    @Benchmark
+    public String getTyped(){
+        return Locus.model.getValue("StringField", String.class);
+    }
+
+    @Benchmark
+    public Object getVarargs(){
+        return Locus.model.getValue("MultipleFields", 1, 2);
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.util.LocusConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks for the time to initialize the framework with
+ * a growing number of SyntheticLocusClasses, with each of the
+ * package scanners and the class scanner. Each initialization
+ * is timed on its own, and the GC profiler reports the bytes
+ * allocated by each one.</p>
+ *
+ * <p>The retained size of the LocusStorage can't be reported
+ * by JMH, so it is measured by the StartupScalingReport instead.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class StartupBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int classCount;
+
+    @Param({"10"})
+    private int propertyCount;
+
+    @Param({SyntheticLocusClasses.REFLECTIONS_SCANNER, SyntheticLocusClasses.CLASSFILE_SCANNER, SyntheticLocusClasses.CLASS_SCANNER})
+    private String scanner;
+
+    private SyntheticLocusClasses classes;
+    private LocusConfiguration config;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException{
+        classes = SyntheticLocusClasses.generate(classCount, propertyCount);
+        config = classes.newConfiguration(scanner);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException{
+        LocusFixtures.clear();
+        classes.delete();
+    }
+
+    @Benchmark
+    public void initialize(){
+        Locus.initialize(config, true);
+    }
+
+}
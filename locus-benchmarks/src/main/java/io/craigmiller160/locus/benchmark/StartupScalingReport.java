@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.util.LocusConfiguration;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Reports how the initialization of the framework scales
+ * with the number of classes and properties, for every scanner.
+ * For each combination it prints the median initialization time,
+ * the bytes allocated by a single initialization, and the heap
+ * retained by the LocusStorage once it is done, as CSV. For example:</p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar io.craigmiller160.locus.benchmark.StartupScalingReport 100,1000,10000 5,20
+ * </pre>
+ *
+ * <p>The arguments are the class counts and property counts to
+ * use, separated by commas. Allocated bytes are only reported on
+ * JVMs that support com.sun.management.ThreadMXBean, and are
+ * -1 otherwise. Retained heap is measured from the heap in use
+ * after a full GC, so it is only an approximation.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public class StartupScalingReport {
+
+    private static final String[] SCANNERS = {
+            SyntheticLocusClasses.REFLECTIONS_SCANNER,
+            SyntheticLocusClasses.CLASSFILE_SCANNER,
+            SyntheticLocusClasses.CLASS_SCANNER
+    };
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws IOException{
+        int[] classCounts = parseCounts(args.length > 0 ? args[0] : "100,1000,10000");
+        int[] propertyCounts = parseCounts(args.length > 1 ? args[1] : "10");
+
+        System.out.println("scanner,classes,properties,initMillis,allocatedBytes,retainedBytes");
+        for(int classCount : classCounts){
+            for(int propertyCount : propertyCounts){
+                SyntheticLocusClasses classes = SyntheticLocusClasses.generate(classCount, propertyCount);
+                try{
+                    for(String scanner : SCANNERS){
+                        report(scanner, classCount, propertyCount, classes.newConfiguration(scanner));
+                    }
+                }
+                finally{
+                    LocusFixtures.clear();
+                    classes.delete();
+                }
+            }
+        }
+    }
+
+    private static void report(String scanner, int classCount, int propertyCount, LocusConfiguration config){
+        for(int i = 0; i < WARMUP_RUNS; i++){
+            Locus.initialize(config, true);
+        }
+
+        long[] times = new long[MEASURED_RUNS];
+        long allocated = -1;
+        for(int i = 0; i < MEASURED_RUNS; i++){
+            long allocatedBefore = getAllocatedBytes();
+            long start = System.nanoTime();
+            Locus.initialize(config, true);
+            times[i] = System.nanoTime() - start;
+            long allocatedAfter = getAllocatedBytes();
+            if(allocatedBefore >= 0 && allocatedAfter >= 0){
+                allocated = allocatedAfter - allocatedBefore;
+            }
+        }
+        Arrays.sort(times);
+
+        //Measure the heap with an empty storage first, then populate it once more
+        LocusFixtures.clear();
+        long emptyHeap = getUsedHeapAfterGC();
+        Locus.initialize(config, true);
+        long retained = getUsedHeapAfterGC() - emptyHeap;
+        LocusFixtures.clear();
+
+        System.out.println(scanner + "," + classCount + "," + propertyCount + "," +
+                TimeUnit.NANOSECONDS.toMillis(times[times.length / 2]) + "," + allocated + "," + retained);
+    }
+
+    private static long getAllocatedBytes(){
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if(threadBean instanceof com.sun.management.ThreadMXBean){
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static long getUsedHeapAfterGC(){
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        //A single GC isn't guaranteed to collect everything, so keep going until the heap stops shrinking
+        long used = Long.MAX_VALUE;
+        for(int i = 0; i < 10; i++){
+            System.gc();
+            long current = memoryBean.getHeapMemoryUsage().getUsed();
+            if(current >= used){
+                break;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+    private static int[] parseCounts(String arg){
+        String[] parts = arg.split(",");
+        int[] counts = new int[parts.length];
+        for(int i = 0; i < parts.length; i++){
+            counts[i] = Integer.parseInt(parts[i].trim());
+        }
+        return counts;
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.util.LocusConfiguration;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Generates and compiles synthetic Locus classes, so the
+ * time to initialize the framework can be measured for any
+ * number of classes. The classes are split evenly between
+ * LModel, LView, and LController classes, in a single package.
+ * Every model and view has the specified number of properties,
+ * each with a setter, and for models a getter.</p>
+ *
+ * <p>Every property name is unique to its model, so the
+ * generated classes always pass validation. Each view has
+ * setters for the properties of one model, the same way an
+ * application's views mirror its models.</p>
+ *
+ * <p>The classes are compiled with the system JavaCompiler,
+ * so the benchmarks must be run on a JDK rather than a JRE.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable once it
+ * has been generated, and is therefore thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public class SyntheticLocusClasses {
+
+    /**
+     * The package the synthetic classes are generated in.
+     */
+    public static final String PACKAGE_NAME = "io.craigmiller160.locus.synthetic";
+
+    /**
+     * Scan the package with the Reflections package scanner.
+     */
+    public static final String REFLECTIONS_SCANNER = "reflections";
+
+    /**
+     * Scan the package with the classfile package scanner.
+     */
+    public static final String CLASSFILE_SCANNER = "classfile";
+
+    /**
+     * Scan every class by name with the class scanner.
+     */
+    public static final String CLASS_SCANNER = "class";
+
+    private final File directory;
+    private final List<String> classNames;
+    private final URLClassLoader classLoader;
+
+    private SyntheticLocusClasses(File directory, List<String> classNames) throws IOException{
+        this.directory = directory;
+        this.classNames = Collections.unmodifiableList(classNames);
+        this.classLoader = new URLClassLoader(new URL[]{directory.toURI().toURL()}, SyntheticLocusClasses.class.getClassLoader());
+    }
+
+    /**
+     * Generate and compile the synthetic classes in a new temporary directory.
+     *
+     * @param classCount the total number of classes.
+     * @param propertyCount the number of properties in each model and view.
+     * @return the SyntheticLocusClasses.
+     * @throws IOException if unable to write or compile the classes.
+     */
+    public static SyntheticLocusClasses generate(int classCount, int propertyCount) throws IOException{
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if(compiler == null){
+            throw new IllegalStateException("No JavaCompiler is available, the synthetic classes can only be generated on a JDK");
+        }
+
+        File directory = File.createTempFile("locus-synthetic", "");
+        if(!directory.delete() || !directory.mkdir()){
+            throw new IOException(String.format("Unable to create directory: %s", directory));
+        }
+        File packageDir = new File(directory, PACKAGE_NAME.replace('.', File.separatorChar));
+        if(!packageDir.mkdirs()){
+            throw new IOException(String.format("Unable to create directory: %s", packageDir));
+        }
+
+        List<String> classNames = new ArrayList<>(classCount);
+        List<File> sourceFiles = new ArrayList<>(classCount);
+        for(int i = 0; i < classCount; i++){
+            //Classes are generated in the order model, view, controller, so each view has a model to mirror
+            int index = i / 3;
+            String simpleName;
+            String source;
+            switch(i % 3){
+                case 0:
+                    simpleName = "Model" + index;
+                    source = generateModel(simpleName, index, propertyCount);
+                    break;
+                case 1:
+                    simpleName = "View" + index;
+                    source = generateView(simpleName, index, propertyCount);
+                    break;
+                default:
+                    simpleName = "Controller" + index;
+                    source = generateController(simpleName);
+            }
+
+            File sourceFile = new File(packageDir, simpleName + ".java");
+            try(Writer writer = new OutputStreamWriter(new FileOutputStream(sourceFile), StandardCharsets.UTF_8)){
+                writer.write(source);
+            }
+            classNames.add(PACKAGE_NAME + "." + simpleName);
+            sourceFiles.add(sourceFile);
+        }
+
+        try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)){
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+            List<String> options = Arrays.asList("-d", directory.getAbsolutePath(),
+                    "-classpath", System.getProperty("java.class.path"), "-nowarn");
+            if(!compiler.getTask(null, fileManager, null, options, null, units).call()){
+                throw new IOException(String.format("Unable to compile the synthetic classes in %s", directory));
+            }
+        }
+
+        return new SyntheticLocusClasses(directory, classNames);
+    }
+
+    private static String generateModel(String simpleName, int index, int propertyCount){
+        StringBuilder builder = new StringBuilder();
+        builder.append("package ").append(PACKAGE_NAME).append(";\n\n")
+                .append("@io.craigmiller160.locus.annotations.LModel\n")
+                .append("public class ").append(simpleName).append(" {\n");
+        for(int p = 0; p < propertyCount; p++){
+            String prop = propertyName(index, p);
+            builder.append("    private String ").append(fieldName(prop)).append(";\n")
+                    .append("    public String get").append(prop).append("(){ return ").append(fieldName(prop)).append("; }\n")
+                    .append("    public void set").append(prop).append("(String value){ this.").append(fieldName(prop)).append(" = value; }\n");
+        }
+        return builder.append("}\n").toString();
+    }
+
+    private static String generateView(String simpleName, int index, int propertyCount){
+        StringBuilder builder = new StringBuilder();
+        builder.append("package ").append(PACKAGE_NAME).append(";\n\n")
+                .append("@io.craigmiller160.locus.annotations.LView\n")
+                .append("public class ").append(simpleName).append(" {\n");
+        for(int p = 0; p < propertyCount; p++){
+            String prop = propertyName(index, p);
+            builder.append("    public void set").append(prop).append("(String value){ }\n");
+        }
+        return builder.append("}\n").toString();
+    }
+
+    private static String generateController(String simpleName){
+        return "package " + PACKAGE_NAME + ";\n\n" +
+                "@io.craigmiller160.locus.annotations.LController(name = \"" + simpleName + "\")\n" +
+                "public class " + simpleName + " {\n" +
+                "}\n";
+    }
+
+    private static String propertyName(int index, int property){
+        return "Model" + index + "Prop" + property;
+    }
+
+    private static String fieldName(String propertyName){
+        return Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+    }
+
+    /**
+     * Create a LocusConfiguration that scans the synthetic classes.
+     *
+     * @param scanner the scanner to use, one of REFLECTIONS_SCANNER,
+     *                CLASSFILE_SCANNER, or CLASS_SCANNER.
+     * @return the LocusConfiguration.
+     */
+    public LocusConfiguration newConfiguration(String scanner){
+        LocusConfiguration config = new LocusConfiguration();
+        config.setClassLoader(classLoader);
+        if(CLASS_SCANNER.equals(scanner)){
+            for(String className : classNames){
+                config.addClassName(className);
+            }
+        }
+        else{
+            config.setPackageScannerType(scanner);
+            config.addPackageName(PACKAGE_NAME);
+        }
+        return config;
+    }
+
+    /**
+     * Get the fully qualified names of every synthetic class.
+     *
+     * @return the class names.
+     */
+    public List<String> getClassNames(){
+        return classNames;
+    }
+
+    /**
+     * Close the ClassLoader and delete the synthetic classes.
+     *
+     * @throws IOException if unable to close the ClassLoader.
+     */
+    public void delete() throws IOException{
+        classLoader.close();
+        delete(directory);
+    }
+
+    private static void delete(File file){
+        File[] children = file.listFiles();
+        if(children != null){
+            for(File child : children){
+                delete(child);
+            }
+        }
+        if(!file.delete()){
+            file.deleteOnExit();
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.benchmark;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.sample.ViewOne;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks for the fan-out of a view property update
+ * with LocusView, to 1, 10, and 1000 registered instances
+ * of ViewOne. The views are held here for the whole trial,
+ * so none of them are garbage collected part way through.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewFanOutBenchmark {
+
+    @Param({"1", "10", "1000"})
+    private int viewCount;
+
+    private List<ViewOne> views;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        LocusFixtures.registerSamples();
+        views = new ArrayList<>(viewCount);
+        for(int i = 0; i < viewCount; i++){
+            ViewOne view = new ViewOne();
+            views.add(view);
+            Locus.view.registerView(view);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        for(ViewOne view : views){
+            Locus.view.unregisterView(view);
+        }
+        views.clear();
+        LocusFixtures.clear();
+    }
+
+    @Benchmark
+    public void setValue(){
+        Locus.view.setValue("StringField", "Value");
+    }
+
+    @Benchmark
+    public void addValue(){
+        Locus.view.addValue("String", "Value");
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.utils.reflect.ParamUtils;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Resolves the getter methods invoked by the LocusControllerCallback,
+ * caching them for each callback class, property, and number of arguments.
+ * Once a property has been resolved for a class, resolving it again is a
+ * pair of map lookups and a scan of its few candidate methods, with no
+ * reflective lookups and no exceptions.</p>
+ *
+ * <p>The candidates for a property are the public methods named "get" or
+ * "is" followed by the property name, with "get" methods tried first. The
+ * candidate whose parameters accept the arguments is selected, where a null
+ * argument is accepted by any parameter that isn't primitive, and primitive
+ * parameters accept their wrapper types. If several candidates accept the
+ * arguments, the most specific one is selected.</p>
+ *
+ * <p>The cache is held in a ClassValue, so it doesn't prevent
+ * callback classes from being unloaded.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. Its only state is
+ * the ClassValue and the concurrent maps it holds, and the arrays of
+ * candidate methods are never modified once they are cached.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+class CallbackMethodResolver {
+
+    private static final Method[] NO_METHODS = new Method[0];
+
+    private static final ClassValue<ConcurrentMap<String,Method[][]>> methodsByClass = new ClassValue<ConcurrentMap<String,Method[][]>>() {
+        @Override
+        protected ConcurrentMap<String,Method[][]> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private CallbackMethodResolver(){}
+
+    /**
+     * Resolve the getter method for a property of a callback
+     * object that accepts the provided arguments.
+     *
+     * @param callbackType the class of the callback object.
+     * @param propName the name of the property.
+     * @param args the arguments.
+     * @return the method, or null if no method accepts the arguments.
+     */
+    static Method resolve(Class<?> callbackType, String propName, Object[] args){
+        Method selected = null;
+        for(Method candidate : getCandidates(callbackType, propName, args.length)){
+            if(accepts(candidate.getParameterTypes(), args) &&
+                    (selected == null || isMoreSpecific(candidate.getParameterTypes(), selected.getParameterTypes()))){
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    private static Method[] getCandidates(Class<?> callbackType, String propName, int arity){
+        ConcurrentMap<String,Method[][]> methods = methodsByClass.get(callbackType);
+        Method[][] byArity = methods.get(propName);
+        if(byArity == null){
+            byArity = findCandidates(callbackType, propName);
+            Method[][] existing = methods.putIfAbsent(propName, byArity);
+            if(existing != null){
+                byArity = existing;
+            }
+        }
+        return arity < byArity.length ? byArity[arity] : NO_METHODS;
+    }
+
+    /**
+     * Find all the candidate methods for a property,
+     * organized by their number of parameters.
+     *
+     * @param callbackType the class of the callback object.
+     * @param propName the name of the property.
+     * @return the candidate methods, indexed by number of parameters.
+     */
+    private static Method[][] findCandidates(Class<?> callbackType, String propName){
+        String getterName = "get" + propName;
+        String isName = "is" + propName;
+        List<Method> getters = new ArrayList<>();
+        List<Method> isMethods = new ArrayList<>();
+        int maxArity = -1;
+        for(Method method : callbackType.getMethods()){
+            if(method.getName().equals(getterName)){
+                getters.add(method);
+            }
+            else if(method.getName().equals(isName)){
+                isMethods.add(method);
+            }
+            else{
+                continue;
+            }
+            maxArity = Math.max(maxArity, method.getParameterTypes().length);
+        }
+
+        //"get" methods are added first, so they are selected over "is" methods that are just as specific
+        getters.addAll(isMethods);
+        Method[][] byArity = new Method[maxArity + 1][];
+        for(int arity = 0; arity <= maxArity; arity++){
+            List<Method> candidates = new ArrayList<>();
+            for(Method method : getters){
+                if(method.getParameterTypes().length == arity){
+                    candidates.add(method);
+                }
+            }
+            byArity[arity] = candidates.toArray(new Method[candidates.size()]);
+        }
+        return byArity;
+    }
+
+    private static boolean accepts(Class<?>[] paramTypes, Object[] args){
+        for(int i = 0; i < paramTypes.length; i++){
+            if(args[i] == null){
+                if(paramTypes[i].isPrimitive()){
+                    return false;
+                }
+            }
+            else if(!paramTypes[i].isAssignableFrom(args[i].getClass()) && !ParamUtils.isAcceptablePrimitive(paramTypes[i], args[i].getClass())){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if one set of parameter types is strictly more
+     * specific than another, meaning every parameter of the first
+     * can be assigned to the matching parameter of the second.
+     *
+     * @param paramTypes the first set of parameter types.
+     * @param otherParamTypes the second set of parameter types.
+     * @return true if the first set is strictly more specific.
+     */
+    private static boolean isMoreSpecific(Class<?>[] paramTypes, Class<?>[] otherParamTypes){
+        boolean different = false;
+        for(int i = 0; i < paramTypes.length; i++){
+            if(!otherParamTypes[i].isAssignableFrom(paramTypes[i])){
+                return false;
+            }
+            different |= paramTypes[i] != otherParamTypes[i];
+        }
+        return different;
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>The values read from a callback object in a single trip to
+ * the UI Thread, by LocusControllerCallback.getValues() or a batch
+ * of reads. The values are kept in the order they were read, and
+ * can be retrieved by that index or by property name.</p>
+ *
+ * <p>If the same property was read more than once, such as with
+ * different arguments, retrieving it by name returns the first
+ * value read. The others can be retrieved by index.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable and
+ * is therefore completely thread-safe, although the values
+ * themselves may not be.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class CallbackValues {
+
+    private final String[] propNames;
+    private final Object[] values;
+
+    CallbackValues(String[] propNames, Object[] values){
+        this.propNames = propNames;
+        this.values = values;
+    }
+
+    /**
+     * Get the number of values read.
+     *
+     * @return the number of values.
+     */
+    public int size(){
+        return values.length;
+    }
+
+    /**
+     * Get the value read at the specified index.
+     *
+     * @param index the index of the read.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if there was no read at that index.
+     */
+    public Object get(int index){
+        if(index < 0 || index >= values.length){
+            throw new IndexOutOfBoundsException(String.format("Index: %1$d | Size: %2$d", index, values.length));
+        }
+        return values[index];
+    }
+
+    /**
+     * Get the value read at the specified index, as the specified type.
+     *
+     * @param index the index of the read.
+     * @param resultType the type of the value.
+     * @param <T> the type of the value.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if there was no read at that index.
+     * @throws LocusInvalidTypeException if the value doesn't match the type.
+     */
+    public <T> T get(int index, Class<T> resultType){
+        return LocusControllerCallback.castResult(propNames[index], resultType, get(index));
+    }
+
+    /**
+     * Get the value read for the specified property.
+     *
+     * @param propName the name of the property.
+     * @return the value.
+     * @throws LocusException if the property wasn't read.
+     */
+    public Object get(String propName){
+        return values[indexOf(propName)];
+    }
+
+    /**
+     * Get the value read for the specified property, as the specified type.
+     *
+     * @param propName the name of the property.
+     * @param resultType the type of the value.
+     * @param <T> the type of the value.
+     * @return the value.
+     * @throws LocusException if the property wasn't read.
+     * @throws LocusInvalidTypeException if the value doesn't match the type.
+     */
+    public <T> T get(String propName, Class<T> resultType){
+        return LocusControllerCallback.castResult(propName, resultType, get(propName));
+    }
+
+    /**
+     * Check if the specified property was read.
+     *
+     * @param propName the name of the property.
+     * @return true if the property was read.
+     */
+    public boolean contains(String propName){
+        for(String name : propNames){
+            if(name.equals(propName)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the values as a map of property names to values,
+     * in the order they were read. If a property was read more
+     * than once, only the first value is included.
+     *
+     * @return the values.
+     */
+    public Map<String,Object> asMap(){
+        Map<String,Object> map = new LinkedHashMap<>();
+        for(int i = 0; i < propNames.length; i++){
+            if(!map.containsKey(propNames[i])){
+                map.put(propNames[i], values[i]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private int indexOf(String propName){
+        for(int i = 0; i < propNames.length; i++){
+            if(propNames[i].equals(propName)){
+                return i;
+            }
+        }
+        throw new LocusException(String.format("Property was not read: %1$s | Read: %2$s", propName, Arrays.toString(propNames)));
+    }
+
+    @Override
+    public String toString(){
+        return asMap().toString();
+    }
+
+}
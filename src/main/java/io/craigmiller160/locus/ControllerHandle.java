@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.util.LocusStorage;
+import io.craigmiller160.locus.util.ScopedControllerInstances;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>A controller borrowed from the LocusController, which
+ * must be released once it is no longer needed. For example:</p>
+ *
+ * <pre>
+ * try(ControllerHandle&lt;MyController&gt; handle = Locus.controller.borrowController("MyController", MyController.class)){
+ *     handle.get().doWork();
+ * }
+ * </pre>
+ *
+ * <p>Releasing the handle removes the callback the controller was
+ * borrowed with, if any. If the controller has the POOLED scope,
+ * it is then reset, if it is a ResettableController, and returned
+ * to the pool. For any other scope, releasing does nothing else.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. It can only
+ * be released once, which is guarded by an atomic variable. The
+ * controller itself should not be used once it has been released.</p>
+ *
+ * @param <T> the type of the controller.
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class ControllerHandle<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ControllerHandle.class);
+
+    private final T controller;
+    private final LocusStorage storage;
+    private final ScopedControllerInstances pool;
+    private final boolean hasCallback;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    /**
+     * Create a new ControllerHandle. It should only
+     * be created by the LocusController.
+     *
+     * @param controller the controller.
+     * @param storage the LocusStorage.
+     * @param pool the pool to return the controller to, or null if it isn't pooled.
+     * @param hasCallback true if the controller was borrowed with a callback.
+     */
+    ControllerHandle(T controller, LocusStorage storage, ScopedControllerInstances pool, boolean hasCallback){
+        this.controller = controller;
+        this.storage = storage;
+        this.pool = pool;
+        this.hasCallback = hasCallback;
+    }
+
+    /**
+     * Get the borrowed controller.
+     *
+     * @return the controller.
+     * @throws LocusException if the controller has already been released.
+     */
+    public T get() throws LocusException{
+        if(released.get()){
+            throw new LocusException(String.format("Controller has already been released: %s", controller.getClass().getName()));
+        }
+        return controller;
+    }
+
+    /**
+     * Check whether the controller has been released.
+     *
+     * @return true if the controller has been released.
+     */
+    public boolean isReleased(){
+        return released.get();
+    }
+
+    /**
+     * Release the controller. Releasing it again has no effect.
+     */
+    public void release(){
+        if(!released.compareAndSet(false, true)){
+            return;
+        }
+
+        if(hasCallback){
+            storage.removeControllerCallback(controller);
+        }
+
+        if(pool == null){
+            return;
+        }
+
+        if(controller instanceof ResettableController){
+            try{
+                ((ResettableController) controller).reset();
+            }
+            catch(RuntimeException ex){
+                logger.warn("Unable to reset pooled controller, it will be discarded: {}", controller.getClass().getName(), ex);
+                return;
+            }
+        }
+
+        if(!pool.giveBack(controller)){
+            logger.trace("Pool is full, discarding controller: {}", controller.getClass().getName());
+        }
+    }
+
+    /**
+     * Release the controller, so the handle can be
+     * used with try-with-resources.
+     */
+    @Override
+    public void close(){
+        release();
+    }
+
+}
@@ -18,10 +18,14 @@ package io.craigmiller160.locus;
 
 import io.craigmiller160.locus.concurrent.NoUIThreadExecutor;
 import io.craigmiller160.locus.concurrent.UIThreadExecutor;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.scan.LocusRegistry;
 import io.craigmiller160.locus.scan.LocusScanner;
 import io.craigmiller160.locus.scan.LocusScannerFactory;
 import io.craigmiller160.locus.util.ConfigurationReader;
 import io.craigmiller160.locus.util.ConfigurationReaderFactory;
+import io.craigmiller160.locus.util.InitializationProfile;
+import io.craigmiller160.locus.util.InitializationProfiler;
 import io.craigmiller160.locus.util.LocusConfiguration;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.util.StringUtil;
@@ -31,9 +35,12 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static io.craigmiller160.locus.util.LocusConstants.DEFAULT_CONFIG_FILE;
+import static io.craigmiller160.locus.util.LocusConstants.VALIDATE_CONFIG_PROPERTY;
 
 /**
  * <p>The central class of the Locus Framework.
@@ -53,8 +60,21 @@ import static io.craigmiller160.locus.util.LocusConstants.DEFAULT_CONFIG_FILE;
  * instead of String paths should be used in these cases
  * to initialize the framework.</p>
  *
+ * <p>The configuration file is only validated against the schema
+ * if the system property "locus.config.validate" is set to true,
+ * in which case an invalid file fails initialization with a
+ * LocusParsingException.</p>
+ *
+ * <p>Models, views, and controllers can also be registered
+ * directly, without any scanning, through the LocusRegistry
+ * returned by registry().</p>
+ *
+ * <p>Once initialized, the internals of the framework can be
+ * monitored over JMX, through the LocusMXBean registered with
+ * the platform MBeanServer.</p>
+ *
  * @author craigmiller
- * @version 1.3
+ * @version 1.5
  */
 @ThreadSafe
 public class Locus {
@@ -62,8 +82,7 @@ public class Locus {
     private static final Logger logger = LoggerFactory.getLogger(Locus.class);
     private static final LocusStorage storage = LocusStorage.getInstance();
     private static final ConfigurationReader configReader = ConfigurationReaderFactory.newInstance().newConfigurationReader();
-    private static final LocusScanner packageScanner = LocusScannerFactory.newPackageScanner();
-    private static final LocusScanner classScanner = LocusScannerFactory.newClassScanner();
+    private static final ConfigurationReader validatingConfigReader = ConfigurationReaderFactory.newInstance().newConfigurationReader(true);
 
     /**
      * A boolean flag for whether or not Locus has already been
@@ -76,6 +95,12 @@ public class Locus {
      */
     private static volatile long startTime = -1;
 
+    /**
+     * The InitializationProfiler for the initialization process
+     * that is currently running.
+     */
+    private static volatile InitializationProfiler profiler = null;
+
     /**
      * A special object to provide a lock for synchronizing
      * the initialization process, so it can't be called
@@ -104,6 +129,17 @@ public class Locus {
      */
     public static LocusDebug debug = new LocusDebug();
 
+    /**
+     * Get a new LocusRegistry, to register models, views,
+     * and controllers directly with the framework, without
+     * scanning. Anything registered this way is cleared if
+     * the framework is initialized afterwards.
+     *
+     * @return a new LocusRegistry.
+     */
+    public static LocusRegistry registry(){
+        return LocusScannerFactory.newRegistry(storage);
+    }
 
     /**
      * Initialize the Locus framework with a configuration
@@ -171,6 +207,7 @@ public class Locus {
             //If the start time hasn't been set yet, set it to the current timestamp
             if(startTime <= 0){
                 startTime = System.currentTimeMillis();
+                profiler = new InitializationProfiler();
             }
 
             logger.trace("Locus configuration file provided: {}", configFilePath);
@@ -188,6 +225,48 @@ public class Locus {
         }
     }
 
+    /**
+     * Compile the chain of LocusInterceptors from the configuration,
+     * instantiating the ones configured by class name.
+     *
+     * @param config the LocusConfiguration.
+     * @return the LocusInterceptors, in order.
+     * @throws LocusException if an interceptor class is invalid, or can't be instantiated.
+     */
+    private static List<LocusInterceptor> compileInterceptors(LocusConfiguration config){
+        List<LocusInterceptor> interceptors = new ArrayList<>();
+        ClassLoader classLoader = getClassLoader(config);
+        for(String className : config.getInterceptorClassNames()){
+            try{
+                Class<? extends LocusInterceptor> clazz = Class.forName(className, true, classLoader).asSubclass(LocusInterceptor.class);
+                logger.trace("Adding LocusInterceptor: {}", className);
+                interceptors.add(clazz.newInstance());
+            }
+            catch(ClassNotFoundException | ClassCastException | InstantiationException | IllegalAccessException ex){
+                throw new LocusException(String.format("\"%s\" is not a valid name for a class implementing the LocusInterceptor interface", className), ex);
+            }
+        }
+        interceptors.addAll(config.getInterceptors());
+        return interceptors;
+    }
+
+    /**
+     * Get the ClassLoader for loading the classes configured by name.
+     * If the configuration doesn't provide one, the thread's context
+     * ClassLoader is preferred, falling back to the ClassLoader of the
+     * framework itself, the same as the scanners.
+     *
+     * @param config the LocusConfiguration.
+     * @return the ClassLoader.
+     */
+    private static ClassLoader getClassLoader(LocusConfiguration config){
+        if(config.getClassLoader() != null){
+            return config.getClassLoader();
+        }
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : Locus.class.getClassLoader();
+    }
+
     /**
      * Test if initialization is allowed. Initialization
      * is only allowed if A) no initialization has been done
@@ -240,12 +319,17 @@ public class Locus {
             //If the start time hasn't been set yet, set it to the current timestamp
             if(startTime <= 0){
                 startTime = System.currentTimeMillis();
+                profiler = new InitializationProfiler();
             }
 
             logger.debug("Initializing Locus Framework");
 
             //Read the configuration file
-            LocusConfiguration config = configReader.readConfiguration(configSource);
+            long configStart = System.nanoTime();
+            boolean validate = Boolean.getBoolean(VALIDATE_CONFIG_PROPERTY);
+            logger.trace("Validating configuration against the schema: {}", validate);
+            LocusConfiguration config = (validate ? validatingConfigReader : configReader).readConfiguration(configSource);
+            profiler.addPhaseTime(InitializationProfile.PHASE_CONFIGURATION, System.nanoTime() - configStart);
 
             initialize(config, force);
         }
@@ -280,17 +364,25 @@ public class Locus {
             //If the start time hasn't been set yet, set it to the current timestamp
             if(startTime <= 0){
                 startTime = System.currentTimeMillis();
+                profiler = new InitializationProfiler();
             }
 
             //Clear any pre-existing values
             storage.clear();
+            storage.setInitializationProfiler(profiler);
+            storage.setMetrics(config.getMetrics());
+            storage.setEventListener(config.getEventListener());
+            storage.setUIThreadBudget(config.getUIThreadBudget(), TimeUnit.MILLISECONDS);
+            storage.setSlowUIHandlerListener(config.getSlowUIHandlerListener());
+            storage.setInterceptors(compileInterceptors(config));
+            storage.setLeakDetection(config.getLeakThreshold(), TimeUnit.MILLISECONDS, config.getLeakStackSampleRate());
 
             //Identify the UIThreadExecutor, if a value has been provided
             Class<? extends UIThreadExecutor> clazz = null;
             String uiThreadExecutorClassName = config.getUIThreadExecutorClassName();
             if(!StringUtil.isEmpty(uiThreadExecutorClassName)){
                 try{
-                    clazz = (Class<? extends UIThreadExecutor>) Class.forName(uiThreadExecutorClassName);
+                    clazz = (Class<? extends UIThreadExecutor>) Class.forName(uiThreadExecutorClassName, true, getClassLoader(config));
                 }
                 catch(ClassNotFoundException | ClassCastException ex){
                     throw new LocusException(String.format("\"%s\" is not a valid name for a class implementing the UIThreadExecutor interface", uiThreadExecutorClassName), ex);
@@ -310,12 +402,14 @@ public class Locus {
 
             //Scan the provided packages and organize them in the storage
             List<String> packageNames = config.getPackageNames();
+            LocusScanner packageScanner = LocusScannerFactory.newPackageScanner(config.getPackageScannerType(), config.getClassLoader());
             for(String name : packageNames){
                 packageScanner.scan(name, storage, config.getScannerExclusions());
             }
 
             //Scan the provided classes and organize them in the storage
             List<String> classNames = config.getClassNames();
+            LocusScanner classScanner = LocusScannerFactory.newClassScanner(config.getClassLoader());
             for(String name : classNames){
                 classScanner.scan(name, storage, config.getScannerExclusions());
             }
@@ -323,10 +417,24 @@ public class Locus {
             //Set the initialized flag to true
             initialized = true;
 
+            //Expose the framework internals over JMX, this only registers the first time
+            try{
+                new LocusMonitor(storage, debug).register();
+            }
+            catch(LinkageError ex){
+                //Platforms like Android don't have java.lang.management, so there is nothing to register with
+                logger.debug("JMX is not available, LocusMXBean will not be registered", ex);
+            }
+
             long endTime = System.currentTimeMillis();
+            profiler.finish();
 
             logger.info("Locus Framework initialized. Initialization time: {}ms", (endTime - startTime));
+            if(logger.isDebugEnabled()){
+                logger.debug("Locus initialization profile: {}", profiler.getProfile());
+            }
             startTime = -1;
+            profiler = null;
         }
     }
 
@@ -16,10 +16,17 @@
 
 package io.craigmiller160.locus;
 
+import io.craigmiller160.locus.annotations.ControllerScope;
 import io.craigmiller160.locus.concurrent.UIThreadExecutor;
 import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.intercept.LocusInvocation;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusInstrumentation;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.util.ControllerConstructorCache;
 import io.craigmiller160.locus.util.LocusStorage;
-import io.craigmiller160.utils.reflect.ObjectCreator;
+import io.craigmiller160.locus.util.ScopedControllerInstances;
 import io.craigmiller160.utils.reflect.ParamUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,17 +34,32 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.Arrays;
 
+import static io.craigmiller160.locus.metrics.LocusEvent.NO_INSTANCE_COUNT;
+import static io.craigmiller160.locus.util.LocusConstants.CONTROLLER_TYPE;
+
 /**
  * <p>One of the core components of the Locus Framework.
  * This class is the component that abstractly links
  * the controllers to the views.</p>
  *
+ * <p>Creating a controller is passed through the chain of
+ * LocusInterceptors in the storage first.</p>
+ *
+ * <p>Controllers are created according to their scope. Prototypes
+ * are created on every request, singletons and thread-local
+ * controllers are shared, and pooled controllers are borrowed
+ * through a ControllerHandle and returned to their pool.</p>
+ *
+ * <p>Creating a controller is reported to the LocusMetrics and
+ * LocusEventListener in the storage, and so are the operations of any
+ * LocusControllerCallback it returns.</p>
+ *
  * <p><b>THREAD SAFETY: This class is completely thread-safe.
  * Its only mutable state is the LocusStorage field, and that is properly
  * synchronized.</b></p>
  *
  * @author craigmiller
- * @version 1.4.2
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusController {
@@ -91,14 +113,33 @@ public class LocusController {
      * @throws LocusException if there's no callback for that controller, or if another error occurs.
      */
     public LocusControllerCallback callback(Object controller) throws LocusException{
-        Object callback = storage.getControllerCallback(controller);
-        if(callback == null){
-            throw new LocusException(String.format("No callback Object assigned to controller"));
+        LocusControllerCallback boundCallback = storage.getBoundControllerCallback(controller);
+        while(boundCallback == null || boundCallback.getCallback() == null){
+            //Callbacks added to the storage directly are bound the first time they are used
+            Object callback = storage.getControllerCallback(controller);
+            if(callback == null){
+                throw new LocusException(String.format("No callback Object assigned to controller"));
+            }
+
+            //Null if the callback was replaced since it was read, in which case the new one is bound instead
+            boundCallback = storage.bindControllerCallback(controller, callback, new LocusControllerCallback(callback, getUIThreadExecutor(), storage));
         }
+        return boundCallback;
+    }
 
-        UIThreadExecutor uiThreadExecutor = factory != null ? factory.getUIThreadExecutor() : UIThreadExecutorFactory.newInstance().getUIThreadExecutor();
+    private UIThreadExecutor getUIThreadExecutor(){
+        return factory != null ? factory.getUIThreadExecutor() : storage.getUIThreadExecutor();
+    }
 
-        return new LocusControllerCallback(callback, uiThreadExecutor);
+    /**
+     * Link a callback object to a controller, binding the
+     * LocusControllerCallback that wraps it at the same time.
+     *
+     * @param controller the controller.
+     * @param callback the callback object.
+     */
+    private void bindCallback(Object controller, Object callback){
+        storage.addControllerCallback(controller, callback, new LocusControllerCallback(callback, getUIThreadExecutor(), storage));
     }
 
     /**
@@ -106,24 +147,84 @@ public class LocusController {
      * Instantiation parameters can be provided to instantiate a controller
      * that has a constructor requiring arguments.
      *
+     * If the controller has the SINGLETON or THREAD_LOCAL scope, the
+     * shared instance is returned, and the instantiation parameters are
+     * only used the first time it is created. Controllers with the POOLED
+     * scope can't be retrieved this way, they must be borrowed.
      *
      * @param controllerName the name of the controller.
      * @param instantiationParams the parameters to use to instantiate the controller.
      * @return the controller.
-     * @throws LocusException if no controller exists with that name or type, unable to instantiate, or another error occurs.
+     * @throws LocusException if no controller exists with that name or type, unable to instantiate, the controller is pooled, or another error occurs.
      */
     public Object getController(String controllerName, Object...instantiationParams) throws LocusException{
-        Object controller = null;
+        Class<?> controllerType = getControllerType(controllerName);
+        ScopedControllerInstances scoped = storage.getControllerScope(controllerName);
+        if(scoped == null){
+            return newController(controllerName, controllerType, instantiationParams);
+        }
 
+        if(scoped.getScope() == ControllerScope.POOLED){
+            throw new LocusException(String.format("Controller \"%s\" has the POOLED scope, and must be retrieved with borrowController()", controllerName));
+        }
+
+        Object controller = scoped.getShared();
+        if(controller != null){
+            return controller;
+        }
+
+        if(scoped.getScope() == ControllerScope.THREAD_LOCAL){
+            controller = newController(controllerName, controllerType, instantiationParams);
+            scoped.setShared(controller);
+            return controller;
+        }
+
+        //The lock ensures only one instance of a singleton is ever created
+        synchronized (scoped){
+            controller = scoped.getShared();
+            if(controller == null){
+                controller = newController(controllerName, controllerType, instantiationParams);
+                scoped.setShared(controller);
+            }
+        }
+        return controller;
+    }
+
+    private Class<?> getControllerType(String controllerName){
         Class<?> controllerType = storage.getControllerType(controllerName);
         if(controllerType == null){
             throw new LocusNoControllerException(String.format("No controller exists with the name \"%s\"", controllerName));
         }
+        return controllerType;
+    }
 
+    /**
+     * Create a new instance of a controller, recording
+     * the creation with the LocusMetrics and LocusEventListener.
+     *
+     * @param controllerName the name of the controller.
+     * @param controllerType the class type of the controller.
+     * @param instantiationParams the parameters to use to instantiate the controller.
+     * @return the controller.
+     */
+    private Object newController(String controllerName, Class<?> controllerType, Object... instantiationParams){
+        Object controller = null;
         logger.trace("Retrieving controller. Name: {} | Params: {}", controllerName, Arrays.toString(instantiationParams));
 
         //If no params are provided, the no arg constructor will be used here
-        controller = ObjectCreator.instantiateClassWithParams(controllerType, instantiationParams);
+        LocusMetrics metrics = storage.getMetrics();
+        LocusEventListener listener = storage.getEventListener();
+        boolean instrumented = LocusInstrumentation.isEnabled(metrics, listener);
+        long start = instrumented ? System.nanoTime() : 0;
+        try{
+            controller = createController(controllerName, controllerType, instantiationParams);
+        }
+        finally{
+            if(instrumented){
+                LocusInstrumentation.record(metrics, listener, CONTROLLER_TYPE, LocusMetrics.CREATE, controllerName,
+                        start, NO_INSTANCE_COUNT, controller != null);
+            }
+        }
 
         if(controller == null){
             throw new LocusNoControllerException(String.format("Unable to get instance of controller named: %s", controllerName));
@@ -132,6 +233,31 @@ public class LocusController {
         return controller;
     }
 
+    /**
+     * Create a new instance of a controller, passing the creation through
+     * the chain of LocusInterceptors in the storage first, if there are any.
+     * The constructor is looked up in the ControllerConstructorCache.
+     *
+     * @param controllerName the name of the controller.
+     * @param controllerType the class type of the controller.
+     * @param instantiationParams the parameters to use to instantiate the controller.
+     * @return the controller.
+     */
+    private Object createController(final String controllerName, final Class<?> controllerType, Object... instantiationParams){
+        final ControllerConstructorCache constructors = storage.getControllerConstructors();
+        LocusInterceptor[] interceptors = storage.getInterceptors();
+        if(interceptors.length == 0){
+            return constructors.newInstance(controllerName, controllerType, instantiationParams);
+        }
+
+        return new LocusInvocation(interceptors, CONTROLLER_TYPE, LocusMetrics.CREATE, controllerName, controllerType, null, instantiationParams){
+            @Override
+            protected Object invoke() {
+                return constructors.newInstance(controllerName, controllerType, getArgs());
+            }
+        }.proceed();
+    }
+
     /**
      * Get the controller matching the provided name, and ensure that the
      * return value is of the specified class type, so no casting is needed.
@@ -150,7 +276,10 @@ public class LocusController {
         if(controller == null){
             return null;
         }
+        return castController(controllerName, controllerType, controller);
+    }
 
+    private static <T> T castController(String controllerName, Class<T> controllerType, Object controller){
         if(!controllerType.isAssignableFrom(controller.getClass()) && !ParamUtils.isAcceptablePrimitive(controllerType, controller.getClass())){
             throw new LocusInvalidTypeException(
                     String.format("The type of the controller names\"%1$s\" doesn't match the expected type. Expected: %2$s | Actual: %3$s",
@@ -168,17 +297,21 @@ public class LocusController {
      * will be stored for later access, and will be linked to the
      * controller returned by this method.
      *
+     * Only controllers with the PROTOTYPE scope can be retrieved with
+     * a callback this way, because the instances of any other scope are
+     * shared. Pooled controllers can be borrowed with a callback instead.
      *
      * @param controllerName the name of the controller.
      * @param callback the callback object.
      * @param instantiationParams the parameters to use to instantiate the controller.
      * @return the controller.
-     * @throws LocusException if no controller exists with that name or type, unable to instantiate, or another error occurs.
+     * @throws LocusException if no controller exists with that name or type, unable to instantiate, the controller is not a prototype, or another error occurs.
      */
     public Object getControllerWithCallback(Object callback, String controllerName, Object...instantiationParams) throws LocusException{
+        checkPrototype(controllerName);
         Object controller = getController(controllerName, instantiationParams);
         if(controller != null){
-            storage.addControllerCallback(controller, callback);
+            bindCallback(controller, callback);
         }
         return controller;
     }
@@ -193,6 +326,9 @@ public class LocusController {
      * will be stored for later access, and will be linked to the
      * controller returned by this method.
      *
+     * Only controllers with the PROTOTYPE scope can be retrieved with
+     * a callback this way, because the instances of any other scope are
+     * shared. Pooled controllers can be borrowed with a callback instead.
      *
      * @param controllerName the name of the controller.
      * @param controllerType the class type the controller should be returned as.
@@ -200,14 +336,96 @@ public class LocusController {
      * @param instantiationParams the parameters to use to instantiate the controller.
      * @param <T> the type of class of the controller.
      * @return the controller.
-     * @throws LocusException if no controller exists with that name or type, unable to instantiate, or another error occurs.
+     * @throws LocusException if no controller exists with that name or type, unable to instantiate, the controller is not a prototype, or another error occurs.
      */
     public <T> T getControllerWithCallback(Object callback, String controllerName, Class<T> controllerType, Object...instantiationParams) throws LocusException{
+        checkPrototype(controllerName);
         T controller = getController(controllerName, controllerType, instantiationParams);
         if(controller != null){
-            storage.addControllerCallback(controller, callback);
+            bindCallback(controller, callback);
         }
         return controller;
     }
 
+    private void checkPrototype(String controllerName){
+        ScopedControllerInstances scoped = storage.getControllerScope(controllerName);
+        if(scoped != null){
+            throw new LocusException(String.format("Controller \"%1$s\" has the %2$s scope, so its instances are shared and can't be given a callback",
+                    controllerName, scoped.getScope()));
+        }
+    }
+
+    /**
+     * Borrow the controller matching the provided name. The handle
+     * must be released once the controller is no longer needed.
+     * Instantiation parameters can be provided to instantiate a controller
+     * that has a constructor requiring arguments.
+     *
+     * If the controller has the POOLED scope, an idle instance is taken
+     * from the pool, and the instantiation parameters are only used if
+     * the pool is empty. Releasing the handle returns the controller to
+     * the pool. For any other scope, the controller is retrieved the same
+     * way as getController(), and releasing the handle does nothing.
+     *
+     * @param controllerName the name of the controller.
+     * @param controllerType the class type the controller should be returned as.
+     * @param instantiationParams the parameters to use to instantiate the controller.
+     * @param <T> the type of class of the controller.
+     * @return the handle to the controller.
+     * @throws LocusException if no controller exists with that name or type, unable to instantiate, or another error occurs.
+     */
+    public <T> ControllerHandle<T> borrowController(String controllerName, Class<T> controllerType, Object...instantiationParams) throws LocusException{
+        return borrow(null, controllerName, controllerType, instantiationParams);
+    }
+
+    /**
+     * Borrow the controller matching the provided name, the same way
+     * as borrowController(). A special callback object is included in
+     * this call, which is linked to the controller until the handle
+     * is released.
+     *
+     * Controllers with the SINGLETON or THREAD_LOCAL scope can't be
+     * borrowed with a callback, because their instances are shared.
+     *
+     * @param callback the callback object.
+     * @param controllerName the name of the controller.
+     * @param controllerType the class type the controller should be returned as.
+     * @param instantiationParams the parameters to use to instantiate the controller.
+     * @param <T> the type of class of the controller.
+     * @return the handle to the controller.
+     * @throws LocusException if no controller exists with that name or type, unable to instantiate, the controller is shared, or another error occurs.
+     */
+    public <T> ControllerHandle<T> borrowControllerWithCallback(Object callback, String controllerName, Class<T> controllerType,
+                                                                Object...instantiationParams) throws LocusException{
+        return borrow(callback, controllerName, controllerType, instantiationParams);
+    }
+
+    private <T> ControllerHandle<T> borrow(Object callback, String controllerName, Class<T> controllerType, Object... instantiationParams){
+        ScopedControllerInstances scoped = storage.getControllerScope(controllerName);
+        if(scoped == null || scoped.getScope() != ControllerScope.POOLED){
+            T controller = callback != null ? getControllerWithCallback(callback, controllerName, controllerType, instantiationParams) :
+                    getController(controllerName, controllerType, instantiationParams);
+            return new ControllerHandle<>(controller, storage, null, callback != null);
+        }
+
+        Object controller = scoped.borrow();
+        if(controller == null){
+            controller = newController(controllerName, getControllerType(controllerName), instantiationParams);
+        }
+
+        T typedController;
+        try{
+            typedController = castController(controllerName, controllerType, controller);
+        }
+        catch(LocusInvalidTypeException ex){
+            scoped.giveBack(controller);
+            throw ex;
+        }
+
+        if(callback != null){
+            bindCallback(controller, callback);
+        }
+        return new ControllerHandle<>(typedController, storage, scoped, callback != null);
+    }
+
 }
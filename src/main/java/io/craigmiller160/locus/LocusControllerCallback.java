@@ -17,17 +17,29 @@
 package io.craigmiller160.locus;
 
 import io.craigmiller160.locus.concurrent.UIThreadExecutor;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusInstrumentation;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.metrics.NoOpLocusEventListener;
+import io.craigmiller160.locus.metrics.NoOpLocusMetrics;
+import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.ObjectAndMethod;
 import io.craigmiller160.utils.reflect.ParamUtils;
 import io.craigmiller160.utils.reflect.ReflectiveException;
 import io.craigmiller160.utils.reflect.RemoteInvoke;
 
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 
+import static io.craigmiller160.locus.metrics.LocusEvent.NO_INSTANCE_COUNT;
+import static io.craigmiller160.locus.util.LocusConstants.CALLBACK_TYPE;
+
 /**
  * <p>A special callback class for the LocusController.
  * It wraps around an instance of a view, which it
@@ -39,6 +51,22 @@ import java.util.concurrent.Callable;
  * UI Thread. If no implementation is registered, then the default
  * NoUIThreadExecutor will be used.</p>
  *
+ * <p>Several values can be read in a single trip to the UI Thread,
+ * either with getValues() for getters without arguments, or with a
+ * batch of reads started by reads(). Each batch is a single task for
+ * the UIThreadExecutor, however many values it reads.</p>
+ *
+ * <p>Every get operation is reported to the LocusMetrics and
+ * LocusEventListener. A single read is timed from the calling
+ * thread, so it includes the trip to the UI Thread, while each
+ * read in a batch is timed on its own on the UI Thread.</p>
+ *
+ * <p>A LocusControllerCallback is created once for each controller
+ * given a callback, and is reused for as long as the controller
+ * lives, so LocusController.callback() doesn't allocate. The callback
+ * object is only weakly referenced, because it often refers to the
+ * controller, and would otherwise keep the controller alive.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class is mostly thread-safe. It has
  * no mutable state, and all interactions with the view callback
  * object is done on the appropriate UI thread. However, the
@@ -48,7 +76,7 @@ import java.util.concurrent.Callable;
  * with the callback object cannot be guaranteed.</p>
  *
  * @author craigmiller
- * @version 1.1
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusControllerCallback {
@@ -56,7 +84,7 @@ public class LocusControllerCallback {
     /**
      * The Callback object.
      */
-    private final Object callback;
+    private final WeakReference<Object> callback;
 
     /**
      * The UIThreadExecutor for wrapping operations on
@@ -65,14 +93,35 @@ public class LocusControllerCallback {
     private final UIThreadExecutor uiThreadExecutor;
 
     /**
-     * Create a new instance of LocusControllerCallback.
+     * The LocusStorage to get the LocusMetrics and LocusEventListener
+     * from, or null to record no metrics or events. They are read on
+     * every operation, rather than once, because a LocusControllerCallback
+     * is bound to its controller for as long as the controller lives.
+     */
+    private final LocusStorage storage;
+
+    /**
+     * Create a new instance of LocusControllerCallback,
+     * that doesn't record any metrics or events.
      *
      * @param callback the callback object.
      * @param uiThreadExecutor the UIThreadExecutor.
      */
     LocusControllerCallback(Object callback, UIThreadExecutor uiThreadExecutor){
-        this.callback = callback;
+        this(callback, uiThreadExecutor, null);
+    }
+
+    /**
+     * Create a new instance of LocusControllerCallback.
+     *
+     * @param callback the callback object.
+     * @param uiThreadExecutor the UIThreadExecutor.
+     * @param storage the LocusStorage to get the LocusMetrics and LocusEventListener from.
+     */
+    LocusControllerCallback(Object callback, UIThreadExecutor uiThreadExecutor, LocusStorage storage){
+        this.callback = new WeakReference<>(callback);
         this.uiThreadExecutor = uiThreadExecutor;
+        this.storage = storage;
     }
 
     /**
@@ -85,7 +134,22 @@ public class LocusControllerCallback {
      * @throws LocusException if an error occurs.
      */
     public Object getValue(String propName, Object...args) throws LocusException{
-        return uiThreadExecutor.executeOnUIThreadWithResult(new GetValueTask(callback, propName, args));
+        LocusMetrics metrics = storage != null ? storage.getMetrics() : NoOpLocusMetrics.INSTANCE;
+        LocusEventListener listener = storage != null ? storage.getEventListener() : NoOpLocusEventListener.INSTANCE;
+        if(!LocusInstrumentation.isEnabled(metrics, listener)){
+            return uiThreadExecutor.executeOnUIThreadWithResult(new GetValueTask(getLiveCallback(), propName, args));
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try{
+            Object result = uiThreadExecutor.executeOnUIThreadWithResult(new GetValueTask(getLiveCallback(), propName, args));
+            success = true;
+            return result;
+        }
+        finally{
+            LocusInstrumentation.record(metrics, listener, CALLBACK_TYPE, LocusMetrics.GET, propName, start, NO_INSTANCE_COUNT, success);
+        }
     }
 
     /**
@@ -95,7 +159,15 @@ public class LocusControllerCallback {
      * @return the callback object.
      */
     Object getCallback(){
-        return callback;
+        return callback.get();
+    }
+
+    private Object getLiveCallback(){
+        Object liveCallback = callback.get();
+        if(liveCallback == null){
+            throw new LocusException("Callback Object has been garbage collected");
+        }
+        return liveCallback;
     }
 
     /**
@@ -112,7 +184,10 @@ public class LocusControllerCallback {
      * @throws LocusException if an error occurs.
      */
     public <T> T getValue(String propName, Class<?> resultType, Object...args) throws LocusException{
-        Object result = getValue(propName, args);
+        return castResult(propName, resultType, getValue(propName, args));
+    }
+
+    static <T> T castResult(String propName, Class<?> resultType, Object result){
         if(result == null){
             return null;
         }
@@ -126,15 +201,106 @@ public class LocusControllerCallback {
         return (T) result;
     }
 
+    /**
+     * Get several values from the callback object, by reflectively
+     * invoking the getter method of each property with no arguments.
+     * All the getters are invoked in a single task on the UI Thread,
+     * rather than one task for each property.
+     *
+     * @param propNames the names of the properties.
+     * @return the values, in the order of the properties.
+     * @throws LocusException if an error occurs with any of the properties.
+     */
+    public CallbackValues getValues(String...propNames) throws LocusException{
+        Object[][] args = new Object[propNames.length][];
+        Arrays.fill(args, GetValueTask.NO_ARGS);
+        return getValues(propNames.clone(), args);
+    }
+
+    /**
+     * Start a batch of reads from the callback object, for reading
+     * several values with arguments in a single task on the UI Thread.
+     * For example:
+     *
+     * <pre>
+     * CallbackValues values = Locus.controller.callback(this).reads()
+     *     .get("Text")
+     *     .get("Item", 0)
+     *     .get("Item", 1)
+     *     .execute();
+     * </pre>
+     *
+     * @return the new batch of reads.
+     */
+    public Reads reads(){
+        return new Reads();
+    }
+
+    private CallbackValues getValues(String[] propNames, Object[][] args){
+        LocusMetrics metrics = storage != null ? storage.getMetrics() : NoOpLocusMetrics.INSTANCE;
+        LocusEventListener listener = storage != null ? storage.getEventListener() : NoOpLocusEventListener.INSTANCE;
+        if(!LocusInstrumentation.isEnabled(metrics, listener)){
+            return new CallbackValues(propNames, uiThreadExecutor.executeOnUIThreadWithResult(new GetValuesTask(getLiveCallback(), propNames, args, null, null)));
+        }
+
+        //Each read is timed and recorded as its own GET in the task, so the batch doesn't skew the per-property latencies
+        return new CallbackValues(propNames, uiThreadExecutor.executeOnUIThreadWithResult(new GetValuesTask(getLiveCallback(), propNames, args, metrics, listener)));
+    }
+
+    /**
+     * <p>A batch of reads from the callback object, which are
+     * all executed in a single task on the UI Thread.</p>
+     *
+     * <p><b>THREAD SAFETY:</b> This class is NOT thread-safe. A
+     * batch should be built and executed by a single thread.</p>
+     */
+    @NotThreadSafe
+    public class Reads {
+
+        private final List<String> propNames = new ArrayList<>();
+        private final List<Object[]> args = new ArrayList<>();
+
+        private Reads(){}
+
+        /**
+         * Add a read of a property to this batch.
+         *
+         * @param propName the name of the property.
+         * @param args the optional arguments.
+         * @return this batch.
+         */
+        public Reads get(String propName, Object...args){
+            this.propNames.add(propName);
+            this.args.add(args != null ? args : GetValueTask.NO_ARGS);
+            return this;
+        }
+
+        /**
+         * Execute all the reads in this batch, in a single task on the UI Thread.
+         *
+         * @return the values, in the order the reads were added.
+         * @throws LocusException if an error occurs with any of the reads.
+         */
+        public CallbackValues execute() throws LocusException{
+            return getValues(propNames.toArray(new String[propNames.size()]), args.toArray(new Object[args.size()][]));
+        }
+    }
+
     /**
      * <p>The get value operation for this class, wrapped in
      * an implementation of the Callable interface. This
      * allows for the operation to be executed synchronously
      * on the UI Thread, using a provided implementation of
      * UIThreadExecutor.</p>
+     *
+     * <p>The getter method is resolved by the CallbackMethodResolver,
+     * which caches it, so only the first read of a property does
+     * a reflective lookup.</p>
      */
     private static class GetValueTask implements Callable<Object>{
 
+        static final Object[] NO_ARGS = new Object[0];
+
         private Object callback;
         private String propName;
         private Object[] args;
@@ -142,46 +308,76 @@ public class LocusControllerCallback {
         public GetValueTask(Object callback, String propName, Object... args){
             this.callback = callback;
             this.propName = propName;
-            this.args = args;
+            this.args = args != null ? args : NO_ARGS;
         }
 
         @Override
         public Object call() throws Exception {
-            Object result = null;
+            return getValue(callback, propName, args);
+        }
 
-            //Get all the parameter types for the method
-            List<Class<?>> paramTypes = new ArrayList<>();
-            for(Object o : args){
-                paramTypes.add(o.getClass());
+        static Object getValue(Object callback, String propName, Object[] args){
+            Method method = CallbackMethodResolver.resolve(callback.getClass(), propName, args);
+            if(method == null){
+                throw new ReflectiveException(String.format("Callback object has no method named either get%1$s or is%1$s accepting the arguments", propName));
             }
 
-            Class<?>[] types = new Class<?>[paramTypes.size()];
-            paramTypes.toArray(types);
+            //Attempt to invoke the method and get the result
+            ObjectAndMethod oam = new ObjectAndMethod(callback, method);
+            return RemoteInvoke.validateAndInvokeMethod(oam, args);
+        }
+    }
 
-            //Try getting the method with a "get" prefix. Swallow exception because a separate one gets thrown if the method is ultimately null
-            Method method = null;
-            try{
-                method = callback.getClass().getMethod("get" + propName, types);
-            }
-            catch(NoSuchMethodException ex){}
+    /**
+     * <p>Several get value operations, wrapped in a single implementation
+     * of the Callable interface, so they are all executed in one trip to
+     * the UI Thread.</p>
+     */
+    private static class GetValuesTask implements Callable<Object[]>{
 
-            //Try getting the method with an "is" prefix. Swallow exception because a separate one gets thrown if the method is ultimately null
-            if(method == null){
-                try{
-                    method = callback.getClass().getMethod("is" + propName, types);
-                }
-                catch(NoSuchMethodException ex){}
-            }
+        private final Object callback;
+        private final String[] propNames;
+        private final Object[][] args;
+        private final LocusMetrics metrics;
+        private final LocusEventListener listener;
 
-            if(method == null){
-                throw new ReflectiveException(String.format("Callback object has no method named either get%1$s or is%1$s", propName));
-            }
+        /**
+         * Create a new GetValuesTask.
+         *
+         * @param callback the callback object.
+         * @param propNames the names of the properties to read.
+         * @param args the arguments for each read.
+         * @param metrics the LocusMetrics to record each read with, or null if it isn't timed.
+         * @param listener the LocusEventListener to report each read to, or null if it isn't timed.
+         */
+        GetValuesTask(Object callback, String[] propNames, Object[][] args, LocusMetrics metrics, LocusEventListener listener){
+            this.callback = callback;
+            this.propNames = propNames;
+            this.args = args;
+            this.metrics = metrics;
+            this.listener = listener;
+        }
 
-            //Attempt to invoke the method and get the result
-            ObjectAndMethod oam = new ObjectAndMethod(callback, method);
-            result = RemoteInvoke.validateAndInvokeMethod(oam, args);
+        @Override
+        public Object[] call() throws Exception {
+            Object[] values = new Object[propNames.length];
+            for(int i = 0; i < propNames.length; i++){
+                if(metrics == null){
+                    values[i] = GetValueTask.getValue(callback, propNames[i], args[i]);
+                    continue;
+                }
 
-            return result;
+                long start = System.nanoTime();
+                boolean success = false;
+                try{
+                    values[i] = GetValueTask.getValue(callback, propNames[i], args[i]);
+                    success = true;
+                }
+                finally{
+                    LocusInstrumentation.record(metrics, listener, CALLBACK_TYPE, LocusMetrics.GET, propNames[i], start, NO_INSTANCE_COUNT, success);
+                }
+            }
+            return values;
         }
     }
 
@@ -16,6 +16,10 @@
 
 package io.craigmiller160.locus;
 
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.util.InitializationProfile;
+import io.craigmiller160.locus.util.LeakReport;
+import io.craigmiller160.locus.util.LocusSnapshot;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.ClassAndMethod;
 import io.craigmiller160.utils.reflect.ObjectAndMethod;
@@ -36,12 +40,26 @@ import java.util.Set;
  * and will output all the information directly to the
  * console.</p>
  *
+ * <p>This class also provides the InitializationProfile
+ * of the most recent initialization, a breakdown of the time
+ * spent in each phase of initialization and on the slowest
+ * classes and methods parsed.</p>
+ *
+ * <p>The LocusMetrics in use is also available here, so
+ * the metrics it has recorded can be queried at runtime.</p>
+ *
+ * <p>For larger applications, snapshot() is the cheaper option.
+ * It copies the storage in a single pass into an immutable
+ * LocusSnapshot, which also includes the live view instances
+ * and controller callbacks, and which can be streamed out as
+ * JSON or text with a LocusSnapshotWriter.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class is completely thread-safe.
  * Its only mutable state is the LocusStorage field, and that class
  * is properly synchronized and thread safe.</p>
  *
  * @author craigmiller
- * @version 1.3
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusDebug {
@@ -165,8 +183,6 @@ public class LocusDebug {
         return builder.toString();
     }
 
-    //TODO this will need to be updated to have information about view instances
-
     /**
      * Get the output String for all view property configuration values.
      *
@@ -212,8 +228,6 @@ public class LocusDebug {
         return builder.toString();
     }
 
-    //TODO information on controller callbacks needs to be added to this output
-
     /**
      * Get the output String for all controller configuration values.
      *
@@ -234,6 +248,64 @@ public class LocusDebug {
         return builder.toString();
     }
 
+    /**
+     * Get the InitializationProfile with the timings recorded
+     * during the most recent initialization of the framework.
+     *
+     * @return the InitializationProfile.
+     */
+    public InitializationProfile getInitializationProfile(){
+        return storage.getInitializationProfiler().getProfile();
+    }
+
+    /**
+     * Get the LocusMetrics recording the operations performed by
+     * the framework. If an InMemoryLocusMetrics was configured, it
+     * can be queried for the current counts and latencies.
+     *
+     * @return the LocusMetrics.
+     */
+    public LocusMetrics getMetrics(){
+        return storage.getMetrics();
+    }
+
+    /**
+     * Get a LeakReport of the views and controller callbacks that
+     * have been registered for longer than the leak detection threshold.
+     * If leak detection is disabled, the report only contains the counts
+     * of view WeakReferences cleared and pruned.
+     *
+     * @return the LeakReport.
+     */
+    public LeakReport getLeakReport(){
+        return storage.getLeakReport();
+    }
+
+    /**
+     * Take an immutable snapshot of all Locus configuration values,
+     * view instances, and controller callbacks.
+     *
+     * @return the LocusSnapshot.
+     * @see io.craigmiller160.locus.util.JsonLocusSnapshotWriter
+     * @see io.craigmiller160.locus.util.TextLocusSnapshotWriter
+     */
+    public LocusSnapshot snapshot(){
+        return storage.snapshot();
+    }
+
+    /**
+     * Get all Locus configuration values as a single String,
+     * in the same format as the console output.
+     *
+     * @return the Locus configuration output.
+     */
+    public String getLocusConfigurationOutput(){
+        return CONFIG_OUTPUT_TITLE + LS +
+                getModelPropertyOutput() + LS +
+                getViewPropertyOutput() + LS +
+                getControllerOutput();
+    }
+
     /**
      * Output all Locus configuration values to the console.
      */
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import java.util.Map;
+
+/**
+ * <p>The management interface for the live internals of the
+ * Locus Framework. An implementation is registered with the
+ * platform MBeanServer when Locus is initialized, under the
+ * name "io.craigmiller160.locus:type=Locus", so it can be
+ * inspected with any JMX client.</p>
+ *
+ * <p>It exposes the sizes of the collections in the storage,
+ * the number of view instances that are live or have been
+ * collected, the number of view tasks waiting for the UI Thread,
+ * and the timings of the most recent initialization. It also
+ * provides operations to produce the LocusDebug output.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface LocusMXBean {
+
+    int getModelPropSetterCount();
+
+    int getModelPropGetterCount();
+
+    int getModelPropAdderCount();
+
+    int getModelPropRemoverCount();
+
+    int getViewPropSetterCount();
+
+    int getViewPropAdderCount();
+
+    int getViewPropRemoverCount();
+
+    int getControllerTypeCount();
+
+    /**
+     * Get the number of view instances being tracked,
+     * including ones that have been garbage collected but
+     * not removed from the storage yet.
+     *
+     * @return the number of tracked view instances.
+     */
+    int getViewInstanceCount();
+
+    /**
+     * Get the number of view instances that have not
+     * been garbage collected.
+     *
+     * @return the number of live view instances.
+     */
+    int getLiveViewInstanceCount();
+
+    /**
+     * Get the number of view instances that have been
+     * garbage collected since initialization.
+     *
+     * @return the number of collected view instances.
+     */
+    long getCollectedViewInstanceCount();
+
+    /**
+     * Get the number of controllers with a callback
+     * object assigned.
+     *
+     * @return the number of controller callbacks.
+     */
+    int getControllerCallbackCount();
+
+    /**
+     * Get the number of view tasks submitted to the
+     * UIThreadExecutor that have not started yet.
+     *
+     * @return the number of pending UI tasks.
+     */
+    int getPendingUITaskCount();
+
+    /**
+     * Get the total time of the most recent initialization.
+     *
+     * @return the initialization time, in milliseconds.
+     */
+    long getInitializationTime();
+
+    /**
+     * Get the time spent in each phase of the most recent
+     * initialization, with the phase names as keys.
+     *
+     * @return the phase times, in milliseconds.
+     */
+    Map<String,Long> getInitializationPhaseTimes();
+
+    /**
+     * Get the LocusDebug output of all property and controller configuration.
+     *
+     * @return the configuration output.
+     */
+    String dumpConfiguration();
+
+    /**
+     * Get a LocusSnapshot of all configuration values, view
+     * instances, and controller callbacks, as JSON.
+     *
+     * @return the snapshot JSON.
+     */
+    String dumpSnapshot();
+
+    /**
+     * Get the LeakReport of views and controller callbacks
+     * registered for longer than the leak detection threshold.
+     *
+     * @return the LeakReport output.
+     */
+    String dumpLeakReport();
+
+    /**
+     * Get the full InitializationProfile of the most recent initialization.
+     *
+     * @return the InitializationProfile output.
+     */
+    String dumpInitializationProfile();
+
+    /**
+     * Get the metrics recorded by the LocusMetrics in use, if it
+     * is an InMemoryLocusMetrics.
+     *
+     * @return the metrics output.
+     */
+    String dumpMetrics();
+
+    /**
+     * Write the LocusDebug output of all property and controller
+     * configuration to the logger.
+     */
+    void logConfiguration();
+
+}
@@ -16,6 +16,12 @@
 
 package io.craigmiller160.locus;
 
+import io.craigmiller160.locus.accessor.ModelAccessor;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.intercept.LocusInvocation;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusInstrumentation;
+import io.craigmiller160.locus.metrics.LocusMetrics;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.FindAndInvoke;
 import io.craigmiller160.utils.reflect.ObjectAndMethod;
@@ -27,14 +33,27 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.Collection;
 
+import static io.craigmiller160.locus.metrics.LocusEvent.NO_INSTANCE_COUNT;
 import static io.craigmiller160.locus.util.LocusConstants.ADDER;
 import static io.craigmiller160.locus.util.LocusConstants.GETTER;
+import static io.craigmiller160.locus.util.LocusConstants.MODEL_TYPE;
 import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
 import static io.craigmiller160.locus.util.LocusConstants.SETTER;
 
 /**
  * <p>One of the core components of the Locus Framework. It uses reflection to set and retrieve values to and from model properties.</p>
  *
+ * <p>If a property has pre-built ModelAccessors that accept the values
+ * provided, the first one is invoked directly instead of using
+ * reflection.</p>
+ *
+ * <p>Every operation is passed through the chain of LocusInterceptors
+ * in the storage before being invoked.</p>
+ *
+ * <p>Every operation is reported to the LocusMetrics and the
+ * LocusEventListener in the storage. When both are disabled, no
+ * timing is done at all.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class is mostly thread-safe.
  * Its only mutable static is the LocusStorage field, and that class
  * is safely synchronized. However, interactions with the model
@@ -44,7 +63,7 @@ import static io.craigmiller160.locus.util.LocusConstants.SETTER;
  * environment.</p>
  *
  * @author craigmiller
- * @version 1.4.2
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusModel {
@@ -99,8 +118,23 @@ public class LocusModel {
      * @throws ReflectiveException if an error occurs.
      */
     public void setValue(String propName, Object... values) throws ReflectiveException{
-        FindAndInvoke.findInvokeOneMethod(getMethods(propName, SETTER), values);
-        locusView.setValue(propName, values);
+        LocusMetrics metrics = storage.getMetrics();
+        LocusEventListener listener = storage.getEventListener();
+        long start = LocusInstrumentation.isEnabled(metrics, listener) ? System.nanoTime() : 0;
+        boolean success = false;
+        boolean written;
+        try{
+            written = invokeWrite(propName, SETTER, LocusMetrics.SET, values);
+            success = true;
+        }
+        finally{
+            record(metrics, listener, LocusMetrics.SET, propName, start, success);
+        }
+
+        //If an interceptor short-circuited the model, the views must not show a value it never stored
+        if(written){
+            locusView.setValue(propName, values);
+        }
     }
 
     /**
@@ -114,8 +148,23 @@ public class LocusModel {
      * @throws ReflectiveException if an error occurs.
      */
     public void addValue(String propName, Object...values) throws ReflectiveException{
-        FindAndInvoke.findInvokeOneMethod(getMethods(propName, ADDER), values);
-        locusView.addValue(propName, values);
+        LocusMetrics metrics = storage.getMetrics();
+        LocusEventListener listener = storage.getEventListener();
+        long start = LocusInstrumentation.isEnabled(metrics, listener) ? System.nanoTime() : 0;
+        boolean success = false;
+        boolean written;
+        try{
+            written = invokeWrite(propName, ADDER, LocusMetrics.ADD, values);
+            success = true;
+        }
+        finally{
+            record(metrics, listener, LocusMetrics.ADD, propName, start, success);
+        }
+
+        //If an interceptor short-circuited the model, the views must not show a value it never stored
+        if(written){
+            locusView.addValue(propName, values);
+        }
     }
 
     /**
@@ -129,8 +178,23 @@ public class LocusModel {
      * @throws ReflectiveException if an error occurs.
      */
     public void removeValue(String propName, Object...values) throws ReflectiveException{
-        FindAndInvoke.findInvokeOneMethod(getMethods(propName, REMOVER), values);
-        locusView.removeValue(propName, values);
+        LocusMetrics metrics = storage.getMetrics();
+        LocusEventListener listener = storage.getEventListener();
+        long start = LocusInstrumentation.isEnabled(metrics, listener) ? System.nanoTime() : 0;
+        boolean success = false;
+        boolean written;
+        try{
+            written = invokeWrite(propName, REMOVER, LocusMetrics.REMOVE, values);
+            success = true;
+        }
+        finally{
+            record(metrics, listener, LocusMetrics.REMOVE, propName, start, success);
+        }
+
+        //If an interceptor short-circuited the model, the views must not show a value it never stored
+        if(written){
+            locusView.removeValue(propName, values);
+        }
     }
 
     /**
@@ -142,7 +206,18 @@ public class LocusModel {
      * @throws LocusException if an error occurs.
      */
     public Object getValue(String propName, Object... args) throws LocusException{
-        return FindAndInvoke.findInvokeOneMethod(getMethods(propName, GETTER), args);
+        LocusMetrics metrics = storage.getMetrics();
+        LocusEventListener listener = storage.getEventListener();
+        long start = LocusInstrumentation.isEnabled(metrics, listener) ? System.nanoTime() : 0;
+        boolean success = false;
+        try{
+            Object result = invoke(propName, GETTER, LocusMetrics.GET, args);
+            success = true;
+            return result;
+        }
+        finally{
+            record(metrics, listener, LocusMetrics.GET, propName, start, success);
+        }
     }
 
     /**
@@ -171,6 +246,114 @@ public class LocusModel {
         return (T) result;
     }
 
+    /**
+     * Record a model operation with the LocusMetrics and
+     * LocusEventListener, if either of them is enabled.
+     *
+     * @param metrics the LocusMetrics.
+     * @param listener the LocusEventListener.
+     * @param operation the operation performed.
+     * @param propName the name of the property.
+     * @param start the time the operation started, in nanoseconds.
+     * @param success true if the operation completed without an exception.
+     */
+    private void record(LocusMetrics metrics, LocusEventListener listener, String operation, String propName, long start, boolean success){
+        if(LocusInstrumentation.isEnabled(metrics, listener)){
+            LocusInstrumentation.record(metrics, listener, MODEL_TYPE, operation, propName, start, NO_INSTANCE_COUNT, success);
+        }
+    }
+
+    /**
+     * Invoke a model operation, passing it through the chain of
+     * LocusInterceptors in the storage first, if there are any.
+     *
+     * @param propName the name of the property.
+     * @param kind the kind of method (setter, getter, etc) to invoke.
+     * @param operation the name of the operation, for the interceptors.
+     * @param values the values to pass to the method.
+     * @return the result of the operation.
+     * @throws ReflectiveException if an error occurs.
+     */
+    private Object invoke(String propName, int kind, String operation, Object... values) throws ReflectiveException{
+        LocusInterceptor[] interceptors = storage.getInterceptors();
+        if(interceptors.length == 0){
+            return invokeModel(propName, kind, values);
+        }
+
+        return newInvocation(interceptors, propName, kind, operation, values).proceed();
+    }
+
+    /**
+     * Invoke a model operation that writes to the model, passing it
+     * through the chain of LocusInterceptors in the storage first,
+     * if there are any.
+     *
+     * @param propName the name of the property.
+     * @param kind the kind of method (setter, adder, remover) to invoke.
+     * @param operation the name of the operation, for the interceptors.
+     * @param values the values to pass to the method.
+     * @return true if the model was invoked, false if an interceptor
+     *          returned without proceeding.
+     * @throws ReflectiveException if an error occurs.
+     */
+    private boolean invokeWrite(String propName, int kind, String operation, Object... values) throws ReflectiveException{
+        LocusInterceptor[] interceptors = storage.getInterceptors();
+        if(interceptors.length == 0){
+            invokeModel(propName, kind, values);
+            return true;
+        }
+
+        LocusInvocation invocation = newInvocation(interceptors, propName, kind, operation, values);
+        invocation.proceed();
+        return invocation.isInvoked();
+    }
+
+    /**
+     * Create the LocusInvocation for a model operation, which
+     * invokes the model with its arguments at the end of the chain.
+     *
+     * @param interceptors the compiled chain of LocusInterceptors.
+     * @param propName the name of the property.
+     * @param kind the kind of method (setter, getter, etc) to invoke.
+     * @param operation the name of the operation, for the interceptors.
+     * @param values the values to pass to the method.
+     * @return the LocusInvocation.
+     */
+    private LocusInvocation newInvocation(LocusInterceptor[] interceptors, final String propName, final int kind,
+                                          String operation, Object... values){
+        return new LocusInvocation(interceptors, MODEL_TYPE, operation, propName, null, null, values){
+            @Override
+            protected Object invoke() {
+                return invokeModel(propName, kind, getArgs());
+            }
+        };
+    }
+
+    /**
+     * Invoke a model operation. If the property has a pre-built
+     * accessor that accepts the provided values, the first one
+     * is invoked. Otherwise, the matching model method is
+     * invoked reflectively.
+     *
+     * @param propName the name of the property.
+     * @param kind the kind of method (setter, getter, etc) to invoke.
+     * @param values the values to pass to the method.
+     * @return the result of the operation.
+     * @throws ReflectiveException if an error occurs.
+     */
+    private Object invokeModel(String propName, int kind, Object... values) throws ReflectiveException{
+        Collection<ModelAccessor> accessors = storage.getModelAccessors(propName, kind);
+        if(accessors != null){
+            for(ModelAccessor accessor : accessors){
+                if(accessor.accepts(values)){
+                    logger.trace("Invoking model accessor for property {}: {}", propName, accessor);
+                    return accessor.invoke(values);
+                }
+            }
+        }
+        return FindAndInvoke.findInvokeOneMethod(getMethods(propName, kind), values);
+    }
+
     /**
      * Get the appropriate methods and their corresponding
      * object instances from the storage, to be reflectively
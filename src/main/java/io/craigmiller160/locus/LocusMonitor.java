@@ -0,0 +1,228 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.metrics.InMemoryLocusMetrics;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.metrics.OperationMetrics;
+import io.craigmiller160.locus.util.JsonLocusSnapshotWriter;
+import io.craigmiller160.locus.util.LocusStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The implementation of LocusMXBean. It reads all its
+ * values directly from the LocusStorage and LocusDebug
+ * each time they are requested, so they are always live.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe.
+ * Its only state is the LocusStorage and LocusDebug
+ * fields, which are both thread-safe themselves.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+class LocusMonitor implements LocusMXBean {
+
+    /**
+     * The name this MXBean is registered with.
+     */
+    static final String OBJECT_NAME = "io.craigmiller160.locus:type=Locus";
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LocusMonitor.class);
+
+    private final LocusStorage storage;
+    private final LocusDebug debug;
+
+    /**
+     * Create a new LocusMonitor.
+     *
+     * @param storage the LocusStorage.
+     * @param debug the LocusDebug.
+     */
+    LocusMonitor(LocusStorage storage, LocusDebug debug){
+        this.storage = storage;
+        this.debug = debug;
+    }
+
+    /**
+     * Register this monitor with the platform MBeanServer, if no
+     * monitor is registered already. A failure to register is
+     * logged, rather than thrown, because monitoring should never
+     * prevent the framework from being used.
+     *
+     * @return true if this monitor was registered.
+     */
+    boolean register(){
+        try{
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if(server.isRegistered(name)){
+                return false;
+            }
+
+            server.registerMBean(this, name);
+            logger.debug("Registered LocusMXBean: {}", OBJECT_NAME);
+            return true;
+        }
+        catch(JMException | SecurityException ex){
+            logger.warn("Unable to register LocusMXBean: " + OBJECT_NAME, ex);
+        }
+        return false;
+    }
+
+    @Override
+    public int getModelPropSetterCount() {
+        return storage.getModelPropSetterCount();
+    }
+
+    @Override
+    public int getModelPropGetterCount() {
+        return storage.getModelPropGetterCount();
+    }
+
+    @Override
+    public int getModelPropAdderCount() {
+        return storage.getModelPropAdderCount();
+    }
+
+    @Override
+    public int getModelPropRemoverCount() {
+        return storage.getModelPropRemoverCount();
+    }
+
+    @Override
+    public int getViewPropSetterCount() {
+        return storage.getViewPropSetterCount();
+    }
+
+    @Override
+    public int getViewPropAdderCount() {
+        return storage.getViewPropAdderCount();
+    }
+
+    @Override
+    public int getViewPropRemoverCount() {
+        return storage.getViewPropRemoverCount();
+    }
+
+    @Override
+    public int getControllerTypeCount() {
+        return storage.getControllerTypeCount();
+    }
+
+    @Override
+    public int getViewInstanceCount() {
+        return storage.getViewInstanceCount();
+    }
+
+    @Override
+    public int getLiveViewInstanceCount() {
+        return storage.getLiveViewInstanceCount();
+    }
+
+    @Override
+    public long getCollectedViewInstanceCount() {
+        return storage.getCollectedViewInstanceCount();
+    }
+
+    @Override
+    public int getControllerCallbackCount() {
+        return storage.getControllerCallbackCount();
+    }
+
+    @Override
+    public int getPendingUITaskCount() {
+        return storage.getPendingUITaskCount();
+    }
+
+    @Override
+    public long getInitializationTime() {
+        return TimeUnit.NANOSECONDS.toMillis(debug.getInitializationProfile().getTotalTime());
+    }
+
+    @Override
+    public Map<String, Long> getInitializationPhaseTimes() {
+        Map<String,Long> phaseTimes = new LinkedHashMap<>();
+        for(Map.Entry<String,Long> entry : debug.getInitializationProfile().getPhaseTimes().entrySet()){
+            phaseTimes.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue()));
+        }
+        return phaseTimes;
+    }
+
+    @Override
+    public String dumpConfiguration() {
+        return debug.getLocusConfigurationOutput();
+    }
+
+    @Override
+    public String dumpSnapshot() {
+        StringWriter writer = new StringWriter();
+        try{
+            new JsonLocusSnapshotWriter().write(debug.snapshot(), writer);
+        }
+        catch(IOException ex){
+            //A StringWriter never throws an IOException
+            throw new LocusException("Unable to write snapshot", ex);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public String dumpLeakReport() {
+        return debug.getLeakReport().toString();
+    }
+
+    @Override
+    public String dumpInitializationProfile() {
+        return debug.getInitializationProfile().toString();
+    }
+
+    @Override
+    public String dumpMetrics() {
+        LocusMetrics metrics = debug.getMetrics();
+        if(!(metrics instanceof InMemoryLocusMetrics)){
+            return String.format("Metrics are not available from %s", metrics.getClass().getName());
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for(OperationMetrics operationMetrics : ((InMemoryLocusMetrics) metrics).getAllMetrics()){
+            builder.append(operationMetrics).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void logConfiguration() {
+        debug.logLocusConfiguration();
+    }
+}
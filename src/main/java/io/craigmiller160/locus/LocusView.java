@@ -16,7 +16,14 @@
 
 package io.craigmiller160.locus;
 
+import io.craigmiller160.locus.accessor.ViewAccessor;
 import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.intercept.LocusInvocation;
+import io.craigmiller160.locus.metrics.LocusEvent;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusInstrumentation;
+import io.craigmiller160.locus.metrics.LocusMetrics;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.ClassAndMethod;
 import io.craigmiller160.utils.reflect.InvocationException;
@@ -28,8 +35,17 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.craigmiller160.locus.metrics.LocusEvent.NO_INSTANCE_COUNT;
+import static io.craigmiller160.locus.util.LocusConstants.ADDER;
+import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
+import static io.craigmiller160.locus.util.LocusConstants.SETTER;
+import static io.craigmiller160.locus.util.LocusConstants.UI_HANDOFF_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.VIEW_TYPE;
 
 /**
  * <p>The Locus component that manages access to the view classes. It
@@ -42,6 +58,23 @@ import java.util.Collection;
  * UI Thread. If no implementation is registered, then the default
  * NoUIThreadExecutor will be used.</p>
  *
+ * <p>Pre-built ViewAccessors for a property are invoked on every
+ * registered instance of their view type, alongside the reflective
+ * view methods for that property.</p>
+ *
+ * <p>Each view method invoked on each view instance is passed through
+ * the chain of LocusInterceptors in the storage first.</p>
+ *
+ * <p>Every operation is reported to the LocusMetrics and the
+ * LocusEventListener in the storage, timed on the UI Thread where
+ * the views are actually updated. The listener also receives the
+ * delay before each operation started on the UI Thread.</p>
+ *
+ * <p>If a UI Thread budget is set, every view handler is timed
+ * individually, and any handler or wait for the UI Thread that goes
+ * over the budget is reported to the SlowUIHandlerListener, naming
+ * the view class, method, and property.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class is mostly thread-safe.
  * Its only mutable static is the LocusStorage field, and that class
  * is safely synchronized. Interactions with view classes, however,
@@ -51,7 +84,7 @@ import java.util.Collection;
  * with the callback object cannot be guaranteed.</p>
  *
  * @author craigmiller
- * @version 1.4.1
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusView {
@@ -127,7 +160,7 @@ public class LocusView {
      * @throws ReflectiveException if an error occurs.
      */
     public void setValue(String propName, Object... values) throws ReflectiveException{
-        uiThreadExecutorFactory.getUIThreadExecutor().executeOnUIThread(new SetValueTask(storage, propName, values));
+        submit(new SetValueTask(storage, propName, values));
     }
 
     /**
@@ -139,7 +172,7 @@ public class LocusView {
      * @throws ReflectiveException if an error occurs.
      */
     public void addValue(String propName, Object... values) throws ReflectiveException{
-        uiThreadExecutorFactory.getUIThreadExecutor().executeOnUIThread(new AddValueTask(storage, propName, values));
+        submit(new AddValueTask(storage, propName, values));
     }
 
     /**
@@ -151,21 +184,44 @@ public class LocusView {
      * @throws ReflectiveException if an error occurs.
      */
     public void removeValue(String propName, Object... values) throws ReflectiveException{
-        uiThreadExecutorFactory.getUIThreadExecutor().executeOnUIThread(new RemoveValueTask(storage, propName, values));
+        submit(new RemoveValueTask(storage, propName, values));
+    }
+
+    /**
+     * Submit a task to the UIThreadExecutor, counting it as
+     * pending in the storage until it starts.
+     *
+     * @param task the task to submit.
+     */
+    private void submit(ViewValueTask task){
+        storage.incrementPendingUITaskCount();
+        try{
+            uiThreadExecutorFactory.getUIThreadExecutor().executeOnUIThread(task);
+        }
+        catch(RuntimeException ex){
+            //If the task was never started, it's no longer pending
+            task.dequeue();
+            throw ex;
+        }
     }
 
     /**
      * Execute the methods, if they match the provided arguments, in
-     * any view instances that have them.
+     * any view instances that have them. Each invocation is passed
+     * through the chain of LocusInterceptors in the storage first.
      *
      * @param storage the LocusStorage.
+     * @param operation the name of the operation, for the interceptors.
+     * @param propName the name of the property.
      * @param methods the methods to execute.
      * @param values the arguments for the methods.
-     * @return true if the operation successfully invoked at least one method.
+     * @return the number of view instances a method was successfully invoked on.
      * @throws ReflectiveException if an error occurs.
      */
-    private static boolean executeMethods(LocusStorage storage, Collection<ClassAndMethod> methods, Object...values) throws ReflectiveException{
-        boolean success = false;
+    private static int executeMethods(LocusStorage storage, String operation, String propName, Collection<ClassAndMethod> methods, Object...values) throws ReflectiveException{
+        LocusInterceptor[] interceptors = storage.getInterceptors();
+        long budget = storage.getUIThreadBudgetNanos();
+        int count = 0;
         for(ClassAndMethod cam : methods) {
             Collection<WeakReference<?>> viewInstances = storage.getViewInstancesForClass(cam.getSourceType());
             if (viewInstances != null && viewInstances.size() > 0) {
@@ -174,8 +230,12 @@ public class LocusView {
                     if (ref != null) {
                         ObjectAndMethod oam = new ObjectAndMethod(ref, cam.getReflectiveComponent());
                         try {
-                            RemoteInvoke.validateAndInvokeMethod(oam, values);
-                            success = true;
+                            long start = budget > 0 ? System.nanoTime() : 0;
+                            invokeViewMethod(interceptors, operation, propName, oam, values);
+                            count++;
+                            if(budget > 0){
+                                checkHandlerTime(storage, budget, ref.getClass(), cam.getReflectiveComponent(), propName, System.nanoTime() - start);
+                            }
                         } catch (InvocationException ex) {
                             //InvocationExceptions are when the method was successfully invoked, but during its operation an exception occurred
                             //This should NOT be swallowed, and should be propagated
@@ -190,36 +250,239 @@ public class LocusView {
 
         }
 
-        return success;
+        return count;
     }
 
     /**
-     * The process of setting a value in a View, wrapped in
-     * an implementation of Runnable so it can be executed
-     * on the appropriate UI Thread.
+     * Invoke a single view method on a single view instance, passing
+     * it through the chain of LocusInterceptors first, if there are any.
+     *
+     * @param interceptors the compiled chain of LocusInterceptors.
+     * @param operation the name of the operation.
+     * @param propName the name of the property.
+     * @param oam the view instance and method.
+     * @param values the arguments for the method.
+     * @throws ReflectiveException if an error occurs.
      */
-    private static class SetValueTask implements Runnable{
+    private static void invokeViewMethod(LocusInterceptor[] interceptors, String operation, String propName,
+                                         final ObjectAndMethod oam, Object... values) throws ReflectiveException{
+        if(interceptors.length == 0){
+            RemoteInvoke.validateAndInvokeMethod(oam, values);
+            return;
+        }
 
-        private String propName;
-        private Object[] values;
-        private LocusStorage storage;
+        new LocusInvocation(interceptors, VIEW_TYPE, operation, propName, oam.getInstance(), oam.getReflectiveComponent(), values){
+            @Override
+            protected Object invoke() {
+                return RemoteInvoke.validateAndInvokeMethod(oam, getArgs());
+            }
+        }.proceed();
+    }
 
-        public SetValueTask(LocusStorage storage, String propName, Object... values){
+    /**
+     * Invoke the pre-built accessors that accept the values, on
+     * all registered instances of their view types.
+     *
+     * @param storage the LocusStorage.
+     * @param operation the name of the operation.
+     * @param propName the name of the property.
+     * @param accessors the accessors to invoke, may be null.
+     * @param values the values for the accessors.
+     * @return the number of view instances an accessor was invoked on.
+     */
+    private static int executeAccessors(LocusStorage storage, String operation, String propName, Collection<ViewAccessor> accessors, Object...values){
+        LocusInterceptor[] interceptors = storage.getInterceptors();
+        long budget = storage.getUIThreadBudgetNanos();
+        int count = 0;
+        if(accessors != null){
+            for(ViewAccessor accessor : accessors){
+                if(!accessor.accepts(values)){
+                    continue;
+                }
+
+                Collection<WeakReference<?>> viewInstances = storage.getViewInstancesForClass(accessor.getViewType());
+                if(viewInstances != null){
+                    for(WeakReference<?> weakRef : viewInstances){
+                        Object ref = weakRef.get();
+                        if(ref != null){
+                            long start = budget > 0 ? System.nanoTime() : 0;
+                            invokeViewAccessor(interceptors, operation, propName, accessor, ref, values);
+                            count++;
+                            if(budget > 0){
+                                checkHandlerTime(storage, budget, ref.getClass(), null, propName, System.nanoTime() - start);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Invoke a single pre-built accessor on a single view instance, passing
+     * it through the chain of LocusInterceptors first, if there are any.
+     * There is no view method for an accessor, so the invocation's
+     * method is null.
+     *
+     * @param interceptors the compiled chain of LocusInterceptors.
+     * @param operation the name of the operation.
+     * @param propName the name of the property.
+     * @param accessor the accessor.
+     * @param view the view instance.
+     * @param values the values for the accessor.
+     */
+    private static void invokeViewAccessor(LocusInterceptor[] interceptors, String operation, String propName,
+                                           final ViewAccessor accessor, final Object view, Object... values){
+        if(interceptors.length == 0){
+            accessor.invoke(view, values);
+            return;
+        }
+
+        new LocusInvocation(interceptors, VIEW_TYPE, operation, propName, view, null, values){
+            @Override
+            protected Object invoke() {
+                accessor.invoke(view, getArgs());
+                return null;
+            }
+        }.proceed();
+    }
+
+    /**
+     * Notify the SlowUIHandlerListener if a single view
+     * handler took longer than the UI Thread budget.
+     *
+     * @param storage the LocusStorage.
+     * @param budget the UI Thread budget, in nanoseconds.
+     * @param viewType the class of the view.
+     * @param method the view method, or null for a ViewAccessor.
+     * @param propName the name of the property.
+     * @param time the time the handler took, in nanoseconds.
+     */
+    private static void checkHandlerTime(LocusStorage storage, long budget, Class<?> viewType, Method method, String propName, long time){
+        if(time > budget){
+            storage.getSlowUIHandlerListener().onSlowHandler(viewType, method, propName, time, budget);
+        }
+    }
+
+    /**
+     * The common parent of all tasks that change the values in
+     * a View. It reports each run of the task to the LocusMetrics
+     * and LocusEventListener in the storage, along with the delay
+     * between the task being created and starting on the UI Thread.
+     * If that delay is over the UI Thread budget, it notifies the
+     * SlowUIHandlerListener. It also keeps the count of pending UI
+     * tasks in the storage up to date.
+     */
+    static abstract class ViewValueTask implements Runnable{
+
+        final String propName;
+        final Object[] values;
+        final LocusStorage storage;
+        final String operation;
+        private final boolean timed;
+        private final long submitTime;
+        private final AtomicBoolean dequeued = new AtomicBoolean(false);
+
+        ViewValueTask(LocusStorage storage, String operation, String propName, Object... values){
             this.storage = storage;
+            this.operation = operation;
             this.propName = propName;
             this.values = values;
+            //System.nanoTime() can be zero or negative, so whether the task is timed is kept separately
+            this.timed = storage.getEventListener().isEnabled() || storage.getUIThreadBudgetNanos() > 0;
+            this.submitTime = timed ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Remove this task from the count of pending UI tasks
+         * in the storage. Only the first call has any effect.
+         */
+        final void dequeue(){
+            if(dequeued.compareAndSet(false, true)){
+                storage.decrementPendingUITaskCount();
+            }
+        }
+
+        @Override
+        public final void run(){
+            dequeue();
+
+            LocusMetrics metrics = storage.getMetrics();
+            LocusEventListener listener = storage.getEventListener();
+            long budget = storage.getUIThreadBudgetNanos();
+            boolean instrumented = LocusInstrumentation.isEnabled(metrics, listener);
+            if(!instrumented && budget <= 0){
+                execute();
+                return;
+            }
+
+            long start = System.nanoTime();
+            if(timed){
+                long waitTime = start - submitTime;
+                if(listener.isEnabled()){
+                    listener.onEvent(new LocusEvent(UI_HANDOFF_TYPE, operation, propName, submitTime, waitTime, NO_INSTANCE_COUNT, true));
+                }
+
+                if(budget > 0 && waitTime > budget){
+                    storage.getSlowUIHandlerListener().onSlowQueueWait(operation, propName, waitTime, budget);
+                }
+            }
+
+            if(!instrumented){
+                execute();
+                return;
+            }
+
+            int count = NO_INSTANCE_COUNT;
+            boolean success = false;
+            try{
+                count = execute();
+                success = true;
+            }
+            finally{
+                LocusInstrumentation.record(metrics, listener, VIEW_TYPE, operation, propName, start, count, success);
+            }
+        }
+
+        /**
+         * Change the values in the View.
+         *
+         * @return the number of view instances changed.
+         */
+        abstract int execute();
+
+    }
+
+    /**
+     * The process of setting a value in a View, wrapped in
+     * an implementation of Runnable so it can be executed
+     * on the appropriate UI Thread.
+     */
+    private static class SetValueTask extends ViewValueTask{
+
+        public SetValueTask(LocusStorage storage, String propName, Object... values){
+            super(storage, LocusMetrics.SET, propName, values);
         }
 
         @Override
-        public void run() {
+        int execute() {
             Collection<ClassAndMethod> setters = storage.getSettersForViewProp(propName);
-            if(setters != null){
-                boolean success = executeMethods(storage, setters, values);
-                if(!success){
+            Collection<ViewAccessor> accessors = storage.getViewAccessors(propName, SETTER);
+            int count = 0;
+            if(setters != null || accessors != null){
+                count = executeAccessors(storage, operation, propName, accessors, values);
+                if(setters != null){
+                    count += executeMethods(storage, operation, propName, setters, values);
+                }
+
+                if(count == 0){
                     logger.trace(String.format("Unable to successfully invoke any setters for property %1$s with values %2$s. " +
                             "This can be expected and may not be an issue", propName, Arrays.toString(values)));
                 }
             }
+            return count;
         }
     }
 
@@ -228,30 +491,29 @@ public class LocusView {
      * a View, wrapped in an implementation of Runnable
      * so it can be executed on the appropriate UI Thread.
      */
-    private static class AddValueTask implements Runnable{
-
-        private String propName;
-        private Object[] values;
-        private LocusStorage storage;
+    private static class AddValueTask extends ViewValueTask{
 
         public AddValueTask(LocusStorage storage, String propName, Object... values){
-            this.storage = storage;
-            this.propName = propName;
-            this.values = values;
+            super(storage, LocusMetrics.ADD, propName, values);
         }
 
         @Override
-        public void run() {
+        int execute() {
             Collection<ClassAndMethod> adders = storage.getAddersForViewProp(propName);
-            if(adders == null || adders.size() <= 0){
+            Collection<ViewAccessor> accessors = storage.getViewAccessors(propName, ADDER);
+            if((adders == null || adders.size() <= 0) && accessors == null){
                 throw new ReflectiveException("No adders available in registered views to invoke for property. Property Name: " + propName);
             }
 
-            boolean success = executeMethods(storage, adders, values);
+            int count = executeAccessors(storage, operation, propName, accessors, values);
+            if(adders != null){
+                count += executeMethods(storage, operation, propName, adders, values);
+            }
 
-            if(!success){
+            if(count == 0){
                 throw new ReflectiveException("Unable to successfully invoke any view adder for property. Check TRACE level logs for details");
             }
+            return count;
         }
     }
 
@@ -260,30 +522,29 @@ public class LocusView {
      * in a View, wrapped in an implementation of Runnable
      * so it can be executed on the appropriate UI Thread.
      */
-    public static class RemoveValueTask implements Runnable{
-
-        private String propName;
-        private Object[] values;
-        private LocusStorage storage;
+    public static class RemoveValueTask extends ViewValueTask{
 
         public RemoveValueTask(LocusStorage storage, String propName, Object... values){
-            this.storage = storage;
-            this.propName = propName;
-            this.values = values;
+            super(storage, LocusMetrics.REMOVE, propName, values);
         }
 
         @Override
-        public void run() {
+        int execute() {
             Collection<ClassAndMethod> removers = storage.getRemoversForViewProp(propName);
-            if(removers == null || removers.size() <= 0){
+            Collection<ViewAccessor> accessors = storage.getViewAccessors(propName, REMOVER);
+            if((removers == null || removers.size() <= 0) && accessors == null){
                 throw new ReflectiveException("No removers available in registered views to invoke for property. Property Name: " + propName);
             }
 
-            boolean success = executeMethods(storage, removers, values);
+            int count = executeAccessors(storage, operation, propName, accessors, values);
+            if(removers != null){
+                count += executeMethods(storage, operation, propName, removers, values);
+            }
 
-            if(!success){
+            if(count == 0){
                 throw new ReflectiveException("Unable to successfully invoke any view remover for property. Check TRACE level logs for details");
             }
+            return count;
         }
     }
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+/**
+ * <p>An optional interface for controllers with the POOLED
+ * scope. A controller that implements it is reset each time
+ * it is returned to the pool, so the next borrower gets it
+ * in a clean state.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface ResettableController {
+
+    /**
+     * Reset the state of this controller before it is returned
+     * to the pool. If this throws an exception, the controller
+     * is discarded instead of being returned.
+     */
+    void reset();
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.accessor;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import static io.craigmiller160.locus.util.LocusConstants.ADDER;
+import static io.craigmiller160.locus.util.LocusConstants.GETTER;
+import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
+import static io.craigmiller160.locus.util.LocusConstants.SETTER;
+
+/**
+ * <p>A pre-built accessor for a model property, which is
+ * invoked directly instead of through reflection. It wraps
+ * either a PropertyConsumer, for a setter, adder, or remover,
+ * or a PropertySupplier, for a getter.</p>
+ *
+ * <p>A consumer accessor only accepts a single value, which
+ * must be null or an instance of its value type. A supplier
+ * accessor only accepts no arguments. When an accessor doesn't
+ * accept the values provided, the reflective methods for the
+ * property are used instead.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable, and therefore
+ * thread-safe. The thread safety of the consumer or supplier it
+ * wraps is the responsibility of the application.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class ModelAccessor {
+
+    private final int kind;
+    private final Class<?> valueType;
+    private final PropertyConsumer<?> consumer;
+    private final PropertySupplier<?> supplier;
+
+    /**
+     * Create a new ModelAccessor for a setter, adder,
+     * or remover.
+     *
+     * @param kind the kind of accessor, either SETTER, ADDER, or REMOVER from LocusConstants.
+     * @param valueType the type of value the consumer accepts.
+     * @param consumer the consumer.
+     * @param <T> the type of value the consumer accepts.
+     * @throws IllegalArgumentException if the kind is not valid for a consumer.
+     */
+    public <T> ModelAccessor(int kind, Class<T> valueType, PropertyConsumer<? super T> consumer){
+        if(kind != SETTER && kind != ADDER && kind != REMOVER){
+            throw new IllegalArgumentException(String.format("Invalid kind for a model property consumer: %d", kind));
+        }
+        this.kind = kind;
+        this.valueType = valueType;
+        this.consumer = consumer;
+        this.supplier = null;
+    }
+
+    /**
+     * Create a new ModelAccessor for a getter.
+     *
+     * @param supplier the supplier.
+     */
+    public ModelAccessor(PropertySupplier<?> supplier){
+        this.kind = GETTER;
+        this.valueType = null;
+        this.consumer = null;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Get the kind of accessor this is, one of the
+     * method codes in LocusConstants.
+     *
+     * @return the kind of accessor.
+     */
+    public int getKind(){
+        return kind;
+    }
+
+    /**
+     * Test if this accessor accepts the provided values.
+     *
+     * @param values the values.
+     * @return true if this accessor accepts the values.
+     */
+    public boolean accepts(Object... values){
+        if(kind == GETTER){
+            return values == null || values.length == 0;
+        }
+        return values != null && values.length == 1 && (values[0] == null || valueType.isInstance(values[0]));
+    }
+
+    /**
+     * Invoke this accessor with the provided values. The values
+     * should be tested with accepts(Object...) first.
+     *
+     * @param values the values.
+     * @return the value from the supplier, or null for a consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object... values){
+        if(kind == GETTER){
+            return supplier.get();
+        }
+        ((PropertyConsumer<Object>) consumer).accept(values[0]);
+        return null;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("ModelAccessor{kind=%d, valueType=%s}", kind, valueType != null ? valueType.getName() : null);
+    }
+
+}
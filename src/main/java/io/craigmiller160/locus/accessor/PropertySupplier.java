@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.accessor;
+
+/**
+ * <p>A pre-built accessor that supplies the value of a
+ * model property, in place of a reflectively invoked getter
+ * method.</p>
+ *
+ * @param <T> the type of the value.
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface PropertySupplier<T> {
+
+    /**
+     * Get the value of the property.
+     *
+     * @return the value.
+     */
+    T get();
+
+}
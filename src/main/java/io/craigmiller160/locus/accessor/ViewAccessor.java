@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.accessor;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import static io.craigmiller160.locus.util.LocusConstants.ADDER;
+import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
+import static io.craigmiller160.locus.util.LocusConstants.SETTER;
+
+/**
+ * <p>A pre-built accessor for a view property, which is
+ * invoked directly instead of through reflection. It wraps a
+ * ViewPropertyConsumer, which is invoked for each registered
+ * instance of its view type.</p>
+ *
+ * <p>This accessor only accepts a single value, which must
+ * be null or an instance of its value type.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable, and therefore
+ * thread-safe. The consumer it wraps is always invoked on the UI
+ * Thread, the same as the reflective view methods.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class ViewAccessor {
+
+    private final int kind;
+    private final Class<?> viewType;
+    private final Class<?> valueType;
+    private final ViewPropertyConsumer<?,?> consumer;
+
+    /**
+     * Create a new ViewAccessor.
+     *
+     * @param kind the kind of accessor, either SETTER, ADDER, or REMOVER from LocusConstants.
+     * @param viewType the type of view the consumer accepts.
+     * @param valueType the type of value the consumer accepts.
+     * @param consumer the consumer.
+     * @param <V> the type of view the consumer accepts.
+     * @param <T> the type of value the consumer accepts.
+     * @throws IllegalArgumentException if the kind is not valid for a view.
+     */
+    public <V,T> ViewAccessor(int kind, Class<V> viewType, Class<T> valueType, ViewPropertyConsumer<? super V,? super T> consumer){
+        if(kind != SETTER && kind != ADDER && kind != REMOVER){
+            throw new IllegalArgumentException(String.format("Invalid kind for a view property consumer: %d", kind));
+        }
+        this.kind = kind;
+        this.viewType = viewType;
+        this.valueType = valueType;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Get the kind of accessor this is, one of the
+     * method codes in LocusConstants.
+     *
+     * @return the kind of accessor.
+     */
+    public int getKind(){
+        return kind;
+    }
+
+    /**
+     * Get the type of view this accessor is for.
+     *
+     * @return the type of view.
+     */
+    public Class<?> getViewType(){
+        return viewType;
+    }
+
+    /**
+     * Test if this accessor accepts the provided values.
+     *
+     * @param values the values.
+     * @return true if this accessor accepts the values.
+     */
+    public boolean accepts(Object... values){
+        return values != null && values.length == 1 && (values[0] == null || valueType.isInstance(values[0]));
+    }
+
+    /**
+     * Invoke this accessor on a view instance with the provided
+     * values. The values should be tested with accepts(Object...) first.
+     *
+     * @param view the view instance.
+     * @param values the values.
+     */
+    @SuppressWarnings("unchecked")
+    public void invoke(Object view, Object... values){
+        ((ViewPropertyConsumer<Object,Object>) consumer).accept(view, values[0]);
+    }
+
+    @Override
+    public String toString(){
+        return String.format("ViewAccessor{kind=%d, viewType=%s, valueType=%s}", kind, viewType.getName(), valueType.getName());
+    }
+
+}
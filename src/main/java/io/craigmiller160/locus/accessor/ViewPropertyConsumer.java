@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.accessor;
+
+/**
+ * <p>A pre-built accessor that accepts a value for a
+ * view property, in place of a reflectively invoked setter,
+ * adder, or remover method. Because there can be many instances
+ * of a view class, the view instance is provided along with
+ * the value.</p>
+ *
+ * @param <V> the type of the view.
+ * @param <T> the type of the value.
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface ViewPropertyConsumer<V,T> {
+
+    /**
+     * Accept a value for the property in the view instance.
+     *
+     * @param view the view instance.
+     * @param value the value.
+     */
+    void accept(V view, T value);
+
+}
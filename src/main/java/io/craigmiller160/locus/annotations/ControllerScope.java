@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.annotations;
+
+/**
+ * <p>The scopes a controller can have, which decide whether
+ * getting a controller creates a new instance or reuses one.</p>
+ *
+ * <p>Controllers with the SINGLETON or THREAD_LOCAL scope share
+ * their instances, so they can't be given a callback object, which
+ * would then be shared too. POOLED controllers must be borrowed,
+ * and are given their callback, if any, only until they are
+ * returned to the pool.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public enum ControllerScope {
+
+    /**
+     * A new instance is created every time the controller is
+     * requested. This is the default.
+     */
+    PROTOTYPE,
+
+    /**
+     * A single instance is created the first time the controller
+     * is requested, and is returned every time after that.
+     */
+    SINGLETON,
+
+    /**
+     * A single instance is created for each thread the first time
+     * it requests the controller, and is returned to that thread
+     * every time after that.
+     */
+    THREAD_LOCAL,
+
+    /**
+     * Instances are borrowed from a pool, and returned to it once
+     * they are no longer needed. Idle instances beyond the size of
+     * the pool are discarded.
+     */
+    POOLED
+
+}
@@ -16,6 +16,8 @@
 
 package io.craigmiller160.locus.annotations;
 
+import io.craigmiller160.locus.util.LocusConstants;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -30,8 +32,13 @@ import java.lang.annotation.Target;
  * its name. This allows it to be called from the convenience
  * methods in the Locus class.</p>
  *
+ * <p>The scope decides whether a new instance is created each
+ * time the controller is requested, or an instance is reused.
+ * Stateless controllers that are expensive to construct should
+ * be singletons or pooled.</p>
+ *
  * @author craigmiller
- * @version 1.3
+ * @version 1.5
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
@@ -46,4 +53,19 @@ public @interface LController {
      */
     String name();
 
+    /**
+     * The scope of the controller.
+     *
+     * @return the scope of the controller.
+     */
+    ControllerScope scope() default ControllerScope.PROTOTYPE;
+
+    /**
+     * The most idle instances kept in the pool, if
+     * the controller has the POOLED scope.
+     *
+     * @return the size of the pool.
+     */
+    int poolSize() default LocusConstants.DEFAULT_CONTROLLER_POOL_SIZE;
+
 }
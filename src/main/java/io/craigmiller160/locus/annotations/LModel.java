@@ -25,10 +25,26 @@ import java.lang.annotation.Target;
  * <p>A special annotation used to mark that a class
  * is supposed to be a Model in this framework.</p>
  *
+ * <p>By default, all public methods whose names start with
+ * the standard property prefixes are treated as property methods.
+ * If explicit is set to true, only methods with the LProperty
+ * annotation are treated as property methods. This keeps methods
+ * inherited from other libraries, which often share those prefixes,
+ * out of the framework.</p>
+ *
  * @author craigmiller
- * @version 1.0
+ * @version 1.5
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface LModel {
+
+    /**
+     * Whether only methods with the LProperty annotation
+     * should be treated as property methods.
+     *
+     * @return true if only annotated methods are property methods.
+     */
+    boolean explicit() default false;
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>A special annotation used to explicitly mark a method
+ * of a Model or View as a property method in this framework.</p>
+ *
+ * <p>By default, all public methods of a Model or View whose names
+ * start with the standard prefixes (set, get, is, add, remove) are
+ * treated as property methods. This annotation allows a method to
+ * override the property name and kind that would be derived from
+ * that prefix. When the LModel or LView annotation has explicit
+ * set to true, only methods with this annotation are treated as
+ * property methods, and all other methods are ignored.</p>
+ *
+ * <p>Methods with this annotation are always treated as property
+ * methods, even if their declaring class is excluded by the
+ * ScannerExclusions.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LProperty {
+
+    /**
+     * The value of kind indicating that the kind of property
+     * method should be derived from the prefix of the method name.
+     */
+    int INFER_KIND = 0;
+
+    /**
+     * The name of the property. If this is not provided, the
+     * property name is derived from the method name, by removing
+     * the prefix for the kind of property method.
+     *
+     * @return the name of the property.
+     */
+    String name() default "";
+
+    /**
+     * The kind of property method. This must be one of the method
+     * codes in LocusConstants: GETTER, SETTER, ADDER, or REMOVER.
+     * View classes cannot have GETTER methods. If this is not provided,
+     * the kind is derived from the prefix of the method name.
+     *
+     * @return the kind of property method.
+     */
+    int kind() default INFER_KIND;
+
+}
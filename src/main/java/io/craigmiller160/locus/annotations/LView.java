@@ -25,10 +25,25 @@ import java.lang.annotation.Target;
  * <p>A special annotation used to mark that a class
  * is a View in this framework.</p>
  *
+ * <p>Setting explicit to true limits the property methods
+ * of the View to the ones with the LProperty annotation.
+ * This is recommended for Views that extend UI toolkit
+ * classes, which have many public methods with the
+ * set, add, and remove prefixes.</p>
+ *
  * @author craigmiller
- * @version 1.0
+ * @version 1.5
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface LView {
+
+    /**
+     * Whether only methods with the LProperty annotation
+     * should be treated as property methods.
+     *
+     * @return true if only annotated methods are property methods.
+     */
+    boolean explicit() default false;
+
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The default implementation of SlowUIHandlerListener,
+ * which logs a warning for each notification.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class has no mutable
+ * state and is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class LoggingSlowUIHandlerListener implements SlowUIHandlerListener {
+
+    /**
+     * A shared instance of this class.
+     */
+    public static final LoggingSlowUIHandlerListener INSTANCE = new LoggingSlowUIHandlerListener();
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LoggingSlowUIHandlerListener.class);
+
+    @Override
+    public void onSlowHandler(Class<?> viewType, Method method, String propName, long time, long budget) {
+        logger.warn("Slow view handler on UI Thread. View: {} | Method: {} | Property: {} | Time: {}us | Budget: {}us",
+                viewType.getName(), method != null ? method.getName() : "ViewAccessor", propName,
+                TimeUnit.NANOSECONDS.toMicros(time), TimeUnit.NANOSECONDS.toMicros(budget));
+    }
+
+    @Override
+    public void onSlowQueueWait(String operation, String propName, long waitTime, long budget) {
+        logger.warn("Slow UI Thread queue wait. Operation: {} | Property: {} | Wait: {}us | Budget: {}us",
+                operation, propName, TimeUnit.NANOSECONDS.toMicros(waitTime), TimeUnit.NANOSECONDS.toMicros(budget));
+    }
+
+}
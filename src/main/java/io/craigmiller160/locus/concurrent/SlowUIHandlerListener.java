@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.concurrent;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>A listener that is notified when work done by the Locus
+ * Framework on the UI Thread goes over the configured UI Thread
+ * budget. This is used to find the view handlers responsible
+ * when the UI stutters.</p>
+ *
+ * <p>There are two kinds of notifications. A slow handler is a
+ * single view method that took longer than the budget to run. A
+ * slow queue wait is a view task that waited longer than the budget
+ * between being submitted to the UIThreadExecutor and starting,
+ * which means the UI Thread was busy with something else.</p>
+ *
+ * <p>Implementations are called on the UI Thread, and must
+ * return quickly.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface SlowUIHandlerListener {
+
+    /**
+     * Called when a single view handler took longer than the budget.
+     *
+     * @param viewType the class of the view.
+     * @param method the view method, or null if the handler was a pre-built ViewAccessor.
+     * @param propName the name of the property.
+     * @param time the time the handler took, in nanoseconds.
+     * @param budget the budget, in nanoseconds.
+     */
+    void onSlowHandler(Class<?> viewType, Method method, String propName, long time, long budget);
+
+    /**
+     * Called when a view task waited longer than the budget
+     * to start on the UI Thread.
+     *
+     * @param operation the operation of the task.
+     * @param propName the name of the property.
+     * @param waitTime the time between submission and start, in nanoseconds.
+     * @param budget the budget, in nanoseconds.
+     */
+    void onSlowQueueWait(String operation, String propName, long waitTime, long budget);
+
+}
@@ -17,16 +17,15 @@
 package io.craigmiller160.locus.concurrent;
 
 import io.craigmiller160.locus.util.LocusStorage;
-import io.craigmiller160.utils.reflect.ObjectCreator;
 
 /**
  * <p>A factory to provide UIThreadExecutor instances.
  * It pulls the class type of the UIThreadExecutor
- * from the LocusStorage, and instantiates an
- * instance of it via its factory methods.</p>
+ * from the LocusStorage, which instantiates a single
+ * shared instance of it.</p>
  *
  * @author craigmiller
- * @version 1.1
+ * @version 1.5
  */
 public class UIThreadExecutorFactory {
 
@@ -35,16 +34,6 @@ public class UIThreadExecutorFactory {
      */
     private final LocusStorage storage;
 
-    /**
-     * A special lock object for the UIThreadExecutor.
-     */
-    private static final Object uiThreadExecutorLock = new Object();
-
-    /**
-     * The UIThreadExecutor instance.
-     */
-    private UIThreadExecutor uiThreadExecutor;
-
     /**
      * Create a UIThreadExecutorFactory. This constructor
      * is used for creating a new instance via the factory
@@ -76,21 +65,13 @@ public class UIThreadExecutorFactory {
 
     /**
      * Get the UIThreadExecutor implementation produced by this
-     * factory class.
+     * factory class. This is the instance shared through the
+     * LocusStorage, so every factory returns the same one.
      *
      * @return the UIThreadExector implementation.
      */
     public UIThreadExecutor getUIThreadExecutor(){
-        if(uiThreadExecutor == null){
-            synchronized (uiThreadExecutorLock){
-                if(uiThreadExecutor == null){
-                    Class<? extends UIThreadExecutor> clazz = storage.getUIThreadExecutorType();
-                    uiThreadExecutor = ObjectCreator.instantiateClass(clazz);
-                }
-            }
-        }
-
-        return uiThreadExecutor;
+        return storage.getUIThreadExecutor();
     }
 
 }
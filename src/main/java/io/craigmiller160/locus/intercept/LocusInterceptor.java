@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.intercept;
+
+/**
+ * <p>An interceptor that wraps the invocations performed by the
+ * Locus Framework, to add cross-cutting behavior like timing,
+ * auditing, caching, or sampling without changing the framework.</p>
+ *
+ * <p>Interceptors are configured in the LocusConfiguration, either
+ * by class name in the configuration file or as instances with Java
+ * configuration. When the framework is initialized, they are compiled
+ * into a single array, in the order they were configured. The first
+ * interceptor in the chain is the outermost.</p>
+ *
+ * <p>The following invocations are intercepted:</p>
+ * <ul>
+ *     <li>Every model operation performed by LocusModel.</li>
+ *     <li>Every view method invoked on each view instance by LocusView.</li>
+ *     <li>Every controller created by LocusController.</li>
+ * </ul>
+ *
+ * <p>Interceptors are called on whichever thread performs the
+ * invocation, including the UI Thread, so implementations must be
+ * thread-safe. Interceptors configured by class name must have a
+ * public no-argument constructor.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface LocusInterceptor {
+
+    /**
+     * Intercept an invocation. To continue the invocation, the
+     * implementation must call proceed() on it, and should return
+     * the result. It may also change the arguments of the invocation
+     * beforehand, or return a different result without proceeding.
+     *
+     * @param invocation the invocation.
+     * @return the result of the invocation, or null if it has none.
+     */
+    Object intercept(LocusInvocation invocation);
+
+}
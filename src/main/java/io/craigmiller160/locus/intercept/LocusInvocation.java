@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.intercept;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.reflect.Method;
+
+/**
+ * <p>A single invocation passing through the chain of
+ * LocusInterceptors. Each call to proceed() passes it to
+ * the next interceptor, until the end of the chain, where
+ * the invocation itself is performed.</p>
+ *
+ * <p>The component is one of the type names in LocusConstants,
+ * and the operation is one of the operation names in LocusMetrics.
+ * The target and method are only provided when they are known
+ * before the invocation happens: for view invocations, they are
+ * the view instance and the view method, which is null when the
+ * view is updated by a pre-built ViewAccessor, and for controller
+ * creation, the target is the controller class.</p>
+ *
+ * <p>The framework only creates a LocusInvocation when there
+ * is at least one interceptor, so an empty chain costs nothing.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is NOT thread-safe. Each
+ * invocation tracks its position in the chain, and should only
+ * be used by the thread it was passed to.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@NotThreadSafe
+public abstract class LocusInvocation {
+
+    private final LocusInterceptor[] interceptors;
+    private final String component;
+    private final String operation;
+    private final String name;
+    private final Object target;
+    private final Method method;
+    private final Object[] args;
+    private int index = 0;
+    private boolean invoked = false;
+
+    /**
+     * Create a new LocusInvocation.
+     *
+     * @param interceptors the compiled chain of interceptors.
+     * @param component the component performing the invocation.
+     * @param operation the operation.
+     * @param name the name of the property or controller.
+     * @param target the target of the invocation, or null if it isn't known.
+     * @param method the method being invoked, or null if it isn't known.
+     * @param args the arguments of the invocation.
+     */
+    protected LocusInvocation(LocusInterceptor[] interceptors, String component, String operation, String name,
+                              Object target, Method method, Object[] args){
+        this.interceptors = interceptors;
+        this.component = component;
+        this.operation = operation;
+        this.name = name;
+        this.target = target;
+        this.method = method;
+        this.args = args;
+    }
+
+    /**
+     * Pass this invocation to the next interceptor in the chain,
+     * or perform it if there are no interceptors left.
+     *
+     * @return the result of the invocation, or null if it has none.
+     */
+    public Object proceed(){
+        if(index < interceptors.length){
+            return interceptors[index++].intercept(this);
+        }
+        invoked = true;
+        return invoke();
+    }
+
+    /**
+     * Test if the invocation itself was performed at the end
+     * of the chain. This is false if an interceptor returned
+     * a result without proceeding.
+     *
+     * @return true if the invocation was performed.
+     */
+    public boolean isInvoked(){
+        return invoked;
+    }
+
+    /**
+     * Perform the invocation itself, at the end of the chain.
+     *
+     * @return the result of the invocation, or null if it has none.
+     */
+    protected abstract Object invoke();
+
+    public String getComponent(){
+        return component;
+    }
+
+    public String getOperation(){
+        return operation;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public Object getTarget(){
+        return target;
+    }
+
+    public Method getMethod(){
+        return method;
+    }
+
+    /**
+     * Get the arguments of the invocation. This is the
+     * array that will be used when the invocation is
+     * performed, so changes to its elements are kept.
+     *
+     * @return the arguments.
+     */
+    public Object[] getArgs(){
+        return args;
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>An implementation of LocusMetrics that keeps all metrics
+ * in memory, so they can be queried while the application runs.
+ * A separate OperationMetrics is kept for each combination of
+ * component, operation, and property or controller name.</p>
+ *
+ * <p>Recording only allocates the first time a combination is
+ * seen. After that, it is a series of lock-free map lookups
+ * and atomic increments.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. Its only
+ * state is held in concurrent maps, and in OperationMetrics,
+ * which is thread-safe itself.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class InMemoryLocusMetrics implements LocusMetrics {
+
+    /**
+     * The metrics, organized by component, then operation, then name.
+     * Nested maps are used so recording never has to build a combined key.
+     */
+    private final ConcurrentMap<String,ConcurrentMap<String,ConcurrentMap<String,OperationMetrics>>> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void record(String component, String operation, String name, long time, boolean success) {
+        getOrCreate(component, operation, name).record(time, success);
+    }
+
+    /**
+     * Get the metrics for a single operation on a single
+     * property or controller.
+     *
+     * @param component the component that performs the operation.
+     * @param operation the operation.
+     * @param name the name of the property or controller.
+     * @return the OperationMetrics, or null if the operation has never been recorded.
+     */
+    public OperationMetrics getMetrics(String component, String operation, String name){
+        ConcurrentMap<String,ConcurrentMap<String,OperationMetrics>> byOperation = metrics.get(component);
+        if(byOperation == null){
+            return null;
+        }
+
+        ConcurrentMap<String,OperationMetrics> byName = byOperation.get(operation);
+        return byName != null ? byName.get(name) : null;
+    }
+
+    /**
+     * Get the metrics for every operation recorded so far.
+     *
+     * @return all the OperationMetrics.
+     */
+    public List<OperationMetrics> getAllMetrics(){
+        List<OperationMetrics> all = new ArrayList<>();
+        for(ConcurrentMap<String,ConcurrentMap<String,OperationMetrics>> byOperation : metrics.values()){
+            for(ConcurrentMap<String,OperationMetrics> byName : byOperation.values()){
+                all.addAll(byName.values());
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Reset the values of all metrics recorded so far.
+     */
+    public void reset(){
+        for(OperationMetrics operationMetrics : getAllMetrics()){
+            operationMetrics.reset();
+        }
+    }
+
+    private OperationMetrics getOrCreate(String component, String operation, String name){
+        ConcurrentMap<String,ConcurrentMap<String,OperationMetrics>> byOperation = metrics.get(component);
+        if(byOperation == null){
+            byOperation = new ConcurrentHashMap<>();
+            ConcurrentMap<String,ConcurrentMap<String,OperationMetrics>> existing = metrics.putIfAbsent(component, byOperation);
+            byOperation = existing != null ? existing : byOperation;
+        }
+
+        ConcurrentMap<String,OperationMetrics> byName = byOperation.get(operation);
+        if(byName == null){
+            byName = new ConcurrentHashMap<>();
+            ConcurrentMap<String,OperationMetrics> existing = byOperation.putIfAbsent(operation, byName);
+            byName = existing != null ? existing : byName;
+        }
+
+        OperationMetrics result = byName.get(name);
+        if(result == null){
+            result = new OperationMetrics(component, operation, name);
+            OperationMetrics existing = byName.putIfAbsent(name, result);
+            result = existing != null ? existing : result;
+        }
+        return result;
+    }
+
+}
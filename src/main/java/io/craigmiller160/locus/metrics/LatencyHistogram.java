@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A histogram of latencies, in nanoseconds, using logarithmic
+ * buckets in the style of an HDR histogram. Each power of two is
+ * split into eight linear sub-buckets, so any recorded value is
+ * reported with at most 12.5% error, while the whole range of a
+ * long fits in a fixed array of fewer than 500 buckets.</p>
+ *
+ * <p>Recording a value never allocates, and never blocks. It is a
+ * single atomic increment of the bucket for that value.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. All updates
+ * are atomic. Values read while other threads are recording are not
+ * a consistent snapshot, but are never corrupted.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class LatencyHistogram {
+
+    /**
+     * The number of bits of precision within each power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Enough buckets for every non-negative long value.
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Create a new, empty LatencyHistogram.
+     */
+    public LatencyHistogram(){}
+
+    /**
+     * Record a value. Negative values are recorded as zero.
+     *
+     * @param value the value, in nanoseconds.
+     */
+    public void record(long value){
+        if(value < 0){
+            value = 0;
+        }
+        buckets.incrementAndGet(getBucketIndex(value));
+
+        long currentMax = max.get();
+        while(value > currentMax && !max.compareAndSet(currentMax, value)){
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Get the total number of values recorded.
+     *
+     * @return the number of values recorded.
+     */
+    public long getCount(){
+        long count = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++){
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Get the largest value recorded.
+     *
+     * @return the largest value, in nanoseconds.
+     */
+    public long getMax(){
+        return max.get();
+    }
+
+    /**
+     * Get the value at the specified percentile. The value returned
+     * is the highest value in the bucket the percentile falls in, so
+     * it is never less than the exact value.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return the value at the percentile, in nanoseconds, or 0 if nothing
+     *          has been recorded.
+     */
+    public long getValueAtPercentile(double percentile){
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++){
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        if(total == 0){
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long cumulative = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++){
+            cumulative += counts[i];
+            if(cumulative >= target){
+                return Math.min(getBucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Reset the histogram, removing all recorded values.
+     */
+    public void reset(){
+        for(int i = 0; i < BUCKET_COUNT; i++){
+            buckets.set(i, 0);
+        }
+        max.set(0);
+    }
+
+    /**
+     * Get the index of the bucket for a value.
+     *
+     * @param value the value, which must not be negative.
+     * @return the index of the bucket.
+     */
+    static int getBucketIndex(long value){
+        //Values smaller than the number of sub-buckets each get their own bucket
+        if(value < SUB_BUCKET_COUNT){
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Get the highest value that falls into a bucket.
+     *
+     * @param index the index of the bucket.
+     * @return the highest value in the bucket.
+     */
+    static long getBucketUpperBound(int index){
+        if(index < SUB_BUCKET_COUNT){
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + subBucket * width + width - 1;
+    }
+
+}
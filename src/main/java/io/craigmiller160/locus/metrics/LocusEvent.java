@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>A single operation performed by the Locus Framework,
+ * delivered to a LocusEventListener. The component is one of
+ * the type names in LocusConstants, and the operation is one
+ * of the operation names in LocusMetrics.</p>
+ *
+ * <p>A UI handoff event, with the UI_HANDOFF_TYPE component,
+ * measures the delay between a view task being submitted to
+ * the UIThreadExecutor and that task starting. Its thread is
+ * the one the task started on.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class LocusEvent {
+
+    /**
+     * The instance count of events that don't
+     * involve multiple instances.
+     */
+    public static final int NO_INSTANCE_COUNT = -1;
+
+    private final String component;
+    private final String operation;
+    private final String name;
+    private final long startTime;
+    private final long duration;
+    private final String threadName;
+    private final long threadId;
+    private final int instanceCount;
+    private final boolean success;
+
+    /**
+     * Create a new LocusEvent, that happened on the current thread.
+     *
+     * @param component the component that performed the operation.
+     * @param operation the operation.
+     * @param name the name of the property or controller.
+     * @param startTime the value of System.nanoTime() when the operation started.
+     * @param duration the time the operation took, in nanoseconds.
+     * @param instanceCount the number of instances the operation was performed on,
+     *                      or NO_INSTANCE_COUNT.
+     * @param success true if the operation completed without an exception.
+     */
+    public LocusEvent(String component, String operation, String name, long startTime, long duration, int instanceCount, boolean success){
+        Thread thread = Thread.currentThread();
+        this.component = component;
+        this.operation = operation;
+        this.name = name;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.threadName = thread.getName();
+        this.threadId = thread.getId();
+        this.instanceCount = instanceCount;
+        this.success = success;
+    }
+
+    public String getComponent(){
+        return component;
+    }
+
+    public String getOperation(){
+        return operation;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    /**
+     * Get the value of System.nanoTime() when the operation started.
+     *
+     * @return the start time, in nanoseconds.
+     */
+    public long getStartTime(){
+        return startTime;
+    }
+
+    /**
+     * Get the time the operation took.
+     *
+     * @return the duration, in nanoseconds.
+     */
+    public long getDuration(){
+        return duration;
+    }
+
+    public String getThreadName(){
+        return threadName;
+    }
+
+    public long getThreadId(){
+        return threadId;
+    }
+
+    /**
+     * Get the number of instances the operation was performed
+     * on, such as the number of view instances updated.
+     *
+     * @return the instance count, or NO_INSTANCE_COUNT.
+     */
+    public int getInstanceCount(){
+        return instanceCount;
+    }
+
+    public boolean isSuccess(){
+        return success;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%1$s %2$s %3$s: duration=%4$dns, thread=%5$s, instances=%6$d, success=%7$b",
+                component, operation, name, duration, threadName, instanceCount, success);
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+/**
+ * <p>A service provider interface for receiving a timeline of
+ * the individual operations performed by the Locus Framework,
+ * as LocusEvents. Unlike LocusMetrics, which aggregates, every
+ * event is delivered with its own start time, duration, and
+ * thread, so it can be correlated with other events recorded
+ * at the same time, like garbage collection or lock contention.</p>
+ *
+ * <p>This is the extension point for Java Flight Recorder. Locus
+ * is built for Java 7, which has no public JFR API, so it does not
+ * depend on jdk.jfr directly. On Java 11 or later, an implementation
+ * can commit each LocusEvent as a custom jdk.jfr.Event, using the
+ * start time and duration provided.</p>
+ *
+ * <p>Implementations are called synchronously, on the thread that
+ * performed the operation, including the UI Thread. They must be
+ * thread-safe, and should return quickly.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface LocusEventListener {
+
+    /**
+     * Get if this listener is receiving events. If not, the
+     * framework skips creating events altogether.
+     *
+     * @return true if events should be delivered.
+     */
+    boolean isEnabled();
+
+    /**
+     * Receive a single event.
+     *
+     * @param event the event.
+     */
+    void onEvent(LocusEvent event);
+
+}
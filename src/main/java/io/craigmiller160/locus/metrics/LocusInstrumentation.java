@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>Shared logic for reporting a timed operation to both
+ * the LocusMetrics and the LocusEventListener in use. Each
+ * instrumented component takes its start time only if one of
+ * them is enabled, and passes it back here when it is done.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class has no state, and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public final class LocusInstrumentation {
+
+    private LocusInstrumentation(){}
+
+    /**
+     * Get if an operation needs to be timed at all.
+     *
+     * @param metrics the LocusMetrics.
+     * @param listener the LocusEventListener.
+     * @return true if either of them is enabled.
+     */
+    public static boolean isEnabled(LocusMetrics metrics, LocusEventListener listener){
+        return metrics.isEnabled() || listener.isEnabled();
+    }
+
+    /**
+     * Report an operation that has finished to whichever
+     * of the LocusMetrics and LocusEventListener are enabled.
+     *
+     * @param metrics the LocusMetrics.
+     * @param listener the LocusEventListener.
+     * @param component the component that performed the operation.
+     * @param operation the operation.
+     * @param name the name of the property or controller.
+     * @param start the value of System.nanoTime() when the operation started.
+     * @param instanceCount the number of instances the operation was performed on,
+     *                      or LocusEvent.NO_INSTANCE_COUNT.
+     * @param success true if the operation completed without an exception.
+     */
+    public static void record(LocusMetrics metrics, LocusEventListener listener, String component, String operation,
+                              String name, long start, int instanceCount, boolean success){
+        long time = System.nanoTime() - start;
+        if(metrics.isEnabled()){
+            metrics.record(component, operation, name, time, success);
+        }
+
+        if(listener.isEnabled()){
+            listener.onEvent(new LocusEvent(component, operation, name, start, time, instanceCount, success));
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+/**
+ * <p>A service provider interface for recording metrics about
+ * the operations performed by the Locus Framework. Every model,
+ * view, controller, and controller callback operation is reported
+ * to the LocusMetrics implementation in use, along with the name
+ * of the property or controller it was for.</p>
+ *
+ * <p>The component of each operation is one of the type names in
+ * LocusConstants: MODEL_TYPE, VIEW_TYPE, CONTROLLER_TYPE, or
+ * CALLBACK_TYPE. The operation is one of the operation names
+ * defined in this interface.</p>
+ *
+ * <p>Implementations will be called from many threads at once,
+ * including the UI Thread, and must be thread-safe. They should
+ * also be fast, because they are called on every operation.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface LocusMetrics {
+
+    /**
+     * The operation of setting a property value.
+     */
+    String SET = "set";
+
+    /**
+     * The operation of getting a property value.
+     */
+    String GET = "get";
+
+    /**
+     * The operation of adding a value to a property.
+     */
+    String ADD = "add";
+
+    /**
+     * The operation of removing a value from a property.
+     */
+    String REMOVE = "remove";
+
+    /**
+     * The operation of creating a controller.
+     */
+    String CREATE = "create";
+
+    /**
+     * Get if this implementation is recording metrics. If not,
+     * the framework skips timing its operations altogether.
+     *
+     * @return true if metrics are being recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Record a single operation.
+     *
+     * @param component the component that performed the operation.
+     * @param operation the operation.
+     * @param name the name of the property or controller.
+     * @param time the time the operation took, in nanoseconds.
+     * @param success true if the operation completed without an exception.
+     */
+    void record(String component, String operation, String name, long time, boolean success);
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>The default implementation of LocusEventListener,
+ * which ignores all events.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class has no state, and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class NoOpLocusEventListener implements LocusEventListener {
+
+    /**
+     * A shared instance of this class.
+     */
+    public static final NoOpLocusEventListener INSTANCE = new NoOpLocusEventListener();
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void onEvent(LocusEvent event) {
+        //Do nothing
+    }
+
+}
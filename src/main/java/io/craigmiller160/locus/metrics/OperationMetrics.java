@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>The metrics recorded for a single operation on a single
+ * property or controller, by the InMemoryLocusMetrics. It counts
+ * calls and failures, and keeps a histogram of their latencies.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. Its identifying
+ * fields are immutable, and its counters and histogram are updated
+ * atomically without locking.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class OperationMetrics {
+
+    private final String component;
+    private final String operation;
+    private final String name;
+
+    private final StripedCounter count = new StripedCounter();
+    private final StripedCounter failureCount = new StripedCounter();
+    private final StripedCounter totalTime = new StripedCounter();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Create a new OperationMetrics.
+     *
+     * @param component the component that performs the operation.
+     * @param operation the operation.
+     * @param name the name of the property or controller.
+     */
+    OperationMetrics(String component, String operation, String name){
+        this.component = component;
+        this.operation = operation;
+        this.name = name;
+    }
+
+    /**
+     * Record a single call of the operation.
+     *
+     * @param time the time the call took, in nanoseconds.
+     * @param success true if the call completed without an exception.
+     */
+    void record(long time, boolean success){
+        count.increment();
+        if(!success){
+            failureCount.increment();
+        }
+        totalTime.add(time);
+        latencies.record(time);
+    }
+
+    /**
+     * Reset all the values recorded.
+     */
+    void reset(){
+        count.reset();
+        failureCount.reset();
+        totalTime.reset();
+        latencies.reset();
+    }
+
+    public String getComponent(){
+        return component;
+    }
+
+    public String getOperation(){
+        return operation;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    /**
+     * Get the number of calls, including failures.
+     *
+     * @return the number of calls.
+     */
+    public long getCount(){
+        return count.sum();
+    }
+
+    /**
+     * Get the number of calls that failed with an exception.
+     *
+     * @return the number of failures.
+     */
+    public long getFailureCount(){
+        return failureCount.sum();
+    }
+
+    /**
+     * Get the total time of all calls.
+     *
+     * @return the total time, in nanoseconds.
+     */
+    public long getTotalTime(){
+        return totalTime.sum();
+    }
+
+    /**
+     * Get the mean time of all calls.
+     *
+     * @return the mean time, in nanoseconds, or 0 if there were no calls.
+     */
+    public long getMeanTime(){
+        long calls = getCount();
+        return calls > 0 ? getTotalTime() / calls : 0;
+    }
+
+    /**
+     * Get the histogram of the latencies of all calls.
+     *
+     * @return the LatencyHistogram.
+     */
+    public LatencyHistogram getLatencies(){
+        return latencies;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%1$s %2$s %3$s: count=%4$d, failures=%5$d, mean=%6$dns, p50=%7$dns, p99=%8$dns, max=%9$dns",
+                component, operation, name, getCount(), getFailureCount(), getMeanTime(),
+                latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(99), latencies.getMax());
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A counter that spreads its updates across several cells,
+ * chosen by the updating thread, so that threads updating it
+ * at the same time rarely contend for the same memory. The
+ * cells are spaced apart to keep them on separate cache lines.
+ * The value of the counter is the sum of all the cells.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. All
+ * updates are atomic. The sum is not a snapshot, and may
+ * miss updates that happen while it is being calculated.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+class StripedCounter {
+
+    /**
+     * The number of longs between two cells, so each
+     * is on its own 64-byte cache line.
+     */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    /**
+     * Create a new StripedCounter with a cell for
+     * each available processor.
+     */
+    StripedCounter(){
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1);
+        this.mask = stripes - 1;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * Add to the counter.
+     *
+     * @param amount the amount to add.
+     */
+    void add(long amount){
+        cells.getAndAdd(index() * PADDING, amount);
+    }
+
+    /**
+     * Increment the counter by one.
+     */
+    void increment(){
+        add(1);
+    }
+
+    /**
+     * Get the sum of all the cells.
+     *
+     * @return the value of the counter.
+     */
+    long sum(){
+        long sum = 0;
+        for(int i = 0; i <= mask; i++){
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Reset all the cells to zero.
+     */
+    void reset(){
+        for(int i = 0; i <= mask; i++){
+            cells.set(i * PADDING, 0);
+        }
+    }
+
+    private int index(){
+        //Mix the bits of the thread id, so consecutive ids don't land on neighbouring cells in a pattern
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32));
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+}
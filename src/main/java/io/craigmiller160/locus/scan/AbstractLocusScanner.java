@@ -17,6 +17,7 @@
 package io.craigmiller160.locus.scan;
 
 import io.craigmiller160.locus.util.LocusStorage;
+import io.craigmiller160.utils.reflect.ReflectiveException;
 
 /**
  * <p>Abstract implementation of the LocusScanner
@@ -25,8 +26,13 @@ import io.craigmiller160.locus.util.LocusStorage;
  * for doing the actual paring operations, thus
  * increasing the flexibility of this class.</p>
  *
+ * <p>Classes are always loaded without being initialized,
+ * so static initializers are not run at scan time. A class
+ * is only initialized once it is actually used, such as when
+ * a model is instantiated or a view instance is created.</p>
+ *
  * @author craigmiller
- * @version 1.1
+ * @version 1.5
  */
 public abstract class AbstractLocusScanner implements LocusScanner {
 
@@ -36,11 +42,66 @@ public abstract class AbstractLocusScanner implements LocusScanner {
      */
     private ScanParser parser;
 
+    /**
+     * The ClassLoader used to find and load scanned classes.
+     */
+    private final ClassLoader classLoader;
+
     /**
      * The constructor for LocusScanner implementations.
+     * The default ClassLoader will be used.
      */
     protected AbstractLocusScanner(){
+        this(null);
+    }
+
+    /**
+     * The constructor for LocusScanner implementations, with
+     * the ClassLoader to use to find and load scanned classes.
+     * If the ClassLoader is null, the thread's context ClassLoader
+     * is used, falling back to the ClassLoader of the framework itself.
+     *
+     * @param classLoader the ClassLoader.
+     */
+    protected AbstractLocusScanner(ClassLoader classLoader){
         this.parser = new ScanParser();
+        this.classLoader = classLoader != null ? classLoader : getDefaultClassLoader();
+    }
+
+    /**
+     * Get the ClassLoader used to find and load scanned classes.
+     *
+     * @return the ClassLoader.
+     */
+    protected ClassLoader getClassLoader(){
+        return classLoader;
+    }
+
+    /**
+     * Load the class with the provided name, WITHOUT initializing it.
+     *
+     * @param className the name of the class.
+     * @return the class.
+     * @throws ReflectiveException if unable to find the class.
+     */
+    protected Class<?> loadClass(String className){
+        try{
+            return Class.forName(className, false, classLoader);
+        }
+        catch(ClassNotFoundException ex){
+            throw new ReflectiveException(String.format("Unable to find class: %s", className), ex);
+        }
+    }
+
+    /**
+     * Get the default ClassLoader. The thread's context
+     * ClassLoader is preferred, if there is one.
+     *
+     * @return the default ClassLoader.
+     */
+    private static ClassLoader getDefaultClassLoader(){
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : AbstractLocusScanner.class.getClassLoader();
     }
 
     /**
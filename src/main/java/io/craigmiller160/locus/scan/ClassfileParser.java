@@ -0,0 +1,368 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.scan;
+
+import io.craigmiller160.locus.annotations.LController;
+import io.craigmiller160.locus.annotations.LModel;
+import io.craigmiller160.locus.annotations.LView;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>A minimal parser for the Java classfile format. It reads
+ * just enough of a classfile to determine if the class is
+ * annotated with one of the Locus annotations, without ever
+ * loading the class itself.</p>
+ *
+ * <p>The constant pool is checked first. A class annotated with
+ * LModel, LView, or LController must have the descriptor of that
+ * annotation in its constant pool, so any class without one is
+ * rejected immediately. Only the remaining candidates have their
+ * class-level RuntimeVisibleAnnotations attribute parsed.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class has no mutable
+ * state and is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+class ClassfileParser {
+
+    /*
+     * The type of Locus annotation found on a parsed class.
+     */
+    static final int NONE = 0;
+    static final int MODEL = 1;
+    static final int VIEW = 2;
+    static final int CONTROLLER = 3;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String ANNOTATIONS_ATTR = "RuntimeVisibleAnnotations";
+
+    /*
+     * The constant pool tags from the JVM specification.
+     */
+    private static final int UTF8 = 1;
+    private static final int INTEGER = 3;
+    private static final int FLOAT = 4;
+    private static final int LONG = 5;
+    private static final int DOUBLE = 6;
+    private static final int CLASS = 7;
+    private static final int STRING = 8;
+    private static final int FIELD_REF = 9;
+    private static final int METHOD_REF = 10;
+    private static final int INTERFACE_METHOD_REF = 11;
+    private static final int NAME_AND_TYPE = 12;
+    private static final int METHOD_HANDLE = 15;
+    private static final int METHOD_TYPE = 16;
+    private static final int DYNAMIC = 17;
+    private static final int INVOKE_DYNAMIC = 18;
+    private static final int MODULE = 19;
+    private static final int PACKAGE = 20;
+
+    /*
+     * The field descriptors of the Locus annotations, as they
+     * appear in the constant pool.
+     */
+    private static final byte[] MODEL_DESCRIPTOR = descriptor(LModel.class);
+    private static final byte[] VIEW_DESCRIPTOR = descriptor(LView.class);
+    private static final byte[] CONTROLLER_DESCRIPTOR = descriptor(LController.class);
+
+    /**
+     * Parse the classfile contained in the buffer, and determine
+     * which Locus annotation, if any, is present on the class.
+     *
+     * @param buffer the contents of the classfile.
+     * @return the Result of the parsing, or null if the class
+     *          has no Locus annotation.
+     * @throws IllegalArgumentException if the buffer does not contain a valid classfile.
+     */
+    Result parse(ByteBuffer buffer){
+        try{
+            return doParse(buffer);
+        }
+        catch(BufferUnderflowException | IndexOutOfBoundsException ex){
+            throw new IllegalArgumentException("Truncated or malformed classfile", ex);
+        }
+    }
+
+    private Result doParse(ByteBuffer buffer){
+        if(buffer.getInt() != MAGIC){
+            throw new IllegalArgumentException("Not a classfile, invalid magic number");
+        }
+
+        //Skip the minor and major version
+        buffer.position(buffer.position() + 4);
+
+        int poolCount = u2(buffer);
+        int[] utf8Offsets = new int[poolCount];
+        int[] classNameIndexes = new int[poolCount];
+        boolean candidate = false;
+
+        for(int i = 1; i < poolCount; i++){
+            int tag = u1(buffer);
+            switch(tag){
+                case UTF8:
+                    int length = u2(buffer);
+                    utf8Offsets[i] = buffer.position();
+                    if(!candidate && annotationType(buffer, utf8Offsets[i]) != NONE){
+                        candidate = true;
+                    }
+                    buffer.position(buffer.position() + length);
+                    break;
+                case CLASS:
+                    classNameIndexes[i] = u2(buffer);
+                    break;
+                case STRING:
+                case METHOD_TYPE:
+                case MODULE:
+                case PACKAGE:
+                    buffer.position(buffer.position() + 2);
+                    break;
+                case METHOD_HANDLE:
+                    buffer.position(buffer.position() + 3);
+                    break;
+                case INTEGER:
+                case FLOAT:
+                case FIELD_REF:
+                case METHOD_REF:
+                case INTERFACE_METHOD_REF:
+                case NAME_AND_TYPE:
+                case DYNAMIC:
+                case INVOKE_DYNAMIC:
+                    buffer.position(buffer.position() + 4);
+                    break;
+                case LONG:
+                case DOUBLE:
+                    //Eight byte constants take up two entries in the pool
+                    buffer.position(buffer.position() + 8);
+                    i++;
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown constant pool tag: %d", tag));
+            }
+        }
+
+        //If no Locus annotation is referenced by the constant pool, it cannot be on the class
+        if(!candidate){
+            return null;
+        }
+
+        //Skip the access flags
+        buffer.position(buffer.position() + 2);
+        int thisClass = u2(buffer);
+        //Skip the superclass
+        buffer.position(buffer.position() + 2);
+
+        int interfaceCount = u2(buffer);
+        buffer.position(buffer.position() + (interfaceCount * 2));
+
+        skipMembers(buffer);
+        skipMembers(buffer);
+
+        int type = NONE;
+        int attributeCount = u2(buffer);
+        for(int i = 0; i < attributeCount && type == NONE; i++){
+            int nameIndex = u2(buffer);
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+            if(ANNOTATIONS_ATTR.equals(utf8(buffer, utf8Offsets[nameIndex]))){
+                type = readAnnotations(buffer, utf8Offsets);
+            }
+            buffer.position(end);
+        }
+
+        if(type == NONE){
+            return null;
+        }
+
+        String className = utf8(buffer, utf8Offsets[classNameIndexes[thisClass]]).replace('/', '.');
+        return new Result(className, type);
+    }
+
+    /**
+     * Read the annotations in a RuntimeVisibleAnnotations attribute,
+     * and return the first Locus annotation type found.
+     *
+     * @param buffer the classfile buffer, positioned at the start of the attribute content.
+     * @param utf8Offsets the offsets of each UTF8 constant.
+     * @return the Locus annotation type.
+     */
+    private int readAnnotations(ByteBuffer buffer, int[] utf8Offsets){
+        int annotationCount = u2(buffer);
+        for(int i = 0; i < annotationCount; i++){
+            int typeIndex = u2(buffer);
+            int type = annotationType(buffer, utf8Offsets[typeIndex]);
+            if(type != NONE){
+                return type;
+            }
+            skipElementValuePairs(buffer);
+        }
+        return NONE;
+    }
+
+    /**
+     * Skip over the fields or methods section of the classfile.
+     *
+     * @param buffer the classfile buffer.
+     */
+    private void skipMembers(ByteBuffer buffer){
+        int memberCount = u2(buffer);
+        for(int i = 0; i < memberCount; i++){
+            //Skip the access flags, name, and descriptor
+            buffer.position(buffer.position() + 6);
+            int attributeCount = u2(buffer);
+            for(int j = 0; j < attributeCount; j++){
+                buffer.position(buffer.position() + 2);
+                int length = buffer.getInt();
+                buffer.position(buffer.position() + length);
+            }
+        }
+    }
+
+    /**
+     * Skip over the element value pairs of an annotation.
+     *
+     * @param buffer the classfile buffer.
+     */
+    private void skipElementValuePairs(ByteBuffer buffer){
+        int pairCount = u2(buffer);
+        for(int i = 0; i < pairCount; i++){
+            buffer.position(buffer.position() + 2);
+            skipElementValue(buffer);
+        }
+    }
+
+    /**
+     * Skip over a single element value of an annotation.
+     *
+     * @param buffer the classfile buffer.
+     */
+    private void skipElementValue(ByteBuffer buffer){
+        int tag = u1(buffer);
+        switch(tag){
+            case 'e':
+                buffer.position(buffer.position() + 4);
+                break;
+            case '@':
+                buffer.position(buffer.position() + 2);
+                skipElementValuePairs(buffer);
+                break;
+            case '[':
+                int valueCount = u2(buffer);
+                for(int i = 0; i < valueCount; i++){
+                    skipElementValue(buffer);
+                }
+                break;
+            default:
+                buffer.position(buffer.position() + 2);
+                break;
+        }
+    }
+
+    /**
+     * Compare the UTF8 constant at the offset to the descriptors
+     * of the Locus annotations.
+     *
+     * @param buffer the classfile buffer.
+     * @param offset the offset of the UTF8 constant's bytes.
+     * @return the Locus annotation type the constant matches.
+     */
+    private int annotationType(ByteBuffer buffer, int offset){
+        if(matches(buffer, offset, MODEL_DESCRIPTOR)){
+            return MODEL;
+        }
+        else if(matches(buffer, offset, VIEW_DESCRIPTOR)){
+            return VIEW;
+        }
+        else if(matches(buffer, offset, CONTROLLER_DESCRIPTOR)){
+            return CONTROLLER;
+        }
+        return NONE;
+    }
+
+    private boolean matches(ByteBuffer buffer, int offset, byte[] expected){
+        if(offset <= 0 || (buffer.getShort(offset - 2) & 0xFFFF) != expected.length){
+            return false;
+        }
+
+        for(int i = 0; i < expected.length; i++){
+            if(buffer.get(offset + i) != expected[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String utf8(ByteBuffer buffer, int offset){
+        int length = buffer.getShort(offset - 2) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for(int i = 0; i < length; i++){
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int u1(ByteBuffer buffer){
+        return buffer.get() & 0xFF;
+    }
+
+    private static int u2(ByteBuffer buffer){
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    private static byte[] descriptor(Class<?> annotationType){
+        return ("L" + annotationType.getName().replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The result of parsing a classfile with a Locus annotation.
+     */
+    static class Result {
+
+        private final String className;
+        private final int type;
+
+        Result(String className, int type){
+            this.className = className;
+            this.type = type;
+        }
+
+        /**
+         * Get the fully qualified name of the parsed class.
+         *
+         * @return the class name.
+         */
+        String getClassName(){
+            return className;
+        }
+
+        /**
+         * Get the type of Locus annotation on the class.
+         *
+         * @return the Locus annotation type.
+         */
+        int getType(){
+            return type;
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ package io.craigmiller160.locus.scan;
 import io.craigmiller160.locus.annotations.LController;
 import io.craigmiller160.locus.annotations.LModel;
 import io.craigmiller160.locus.annotations.LView;
+import io.craigmiller160.locus.util.InitializationProfile;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.ReflectiveException;
 import org.slf4j.Logger;
@@ -28,13 +29,14 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * <p>An implementation of LocusScanner to scan individual
- * classes denoted by their full, qualified path name.</p>
+ * classes denoted by their full, qualified path name.
+ * The classes are loaded without being initialized.</p>
  *
  * <p><b>THREAD SAFETY:</b> This class has no mutable state
  * and is therefore completely thread-safe.</p>
  *
  * @author craigmiller
- * @version 1.1
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusClassScanner extends AbstractLocusScanner {
@@ -51,6 +53,16 @@ public class LocusClassScanner extends AbstractLocusScanner {
      */
     LocusClassScanner(){}
 
+    /**
+     * Create a new LocusClassScanner that loads classes
+     * with the specified ClassLoader.
+     *
+     * @param classLoader the ClassLoader, or null for the default.
+     */
+    LocusClassScanner(ClassLoader classLoader){
+        super(classLoader);
+    }
+
     @Override
     public void scan(String className, LocusStorage storage) throws ReflectiveException {
         scan(className, storage, null);
@@ -58,7 +70,9 @@ public class LocusClassScanner extends AbstractLocusScanner {
 
     @Override
     public void scan(String className, LocusStorage storage, ScannerExclusions exclusions) throws ReflectiveException {
-        Class<?> clazz = findClass(className);
+        long scanStart = System.nanoTime();
+        Class<?> clazz = loadClass(className);
+        storage.getInitializationProfiler().addPhaseTime(InitializationProfile.PHASE_SCANNING, System.nanoTime() - scanStart);
         logger.debug("Scanning class {}", className);
 
         //Based on the annotation, use the appropriate parsing method
@@ -75,23 +89,4 @@ public class LocusClassScanner extends AbstractLocusScanner {
             throw new ReflectiveException(String.format("Class must have a Locus annotation (LModel, LView, LController): %s", className));
         }
     }
-
-    /**
-     * Find a class with the provided name. If it is not found,
-     * rethrow the exception as an unchecked LocusException.
-     *
-     * @param className the name of the class to find.
-     * @return the class for the provided name.
-     * @throws ReflectiveException if unable to find the class.
-     */
-    private Class<?> findClass(String className){
-        Class<?> clazz = null;
-        try{
-            clazz = Class.forName(className);
-        }
-        catch(ClassNotFoundException ex){
-            throw new ReflectiveException(String.format("Unable to find class: %s", className), ex);
-        }
-        return clazz;
-    }
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.scan;
+
+import io.craigmiller160.locus.util.InitializationProfiler;
+import io.craigmiller160.locus.util.LocusStorage;
+import io.craigmiller160.utils.reflect.ReflectiveException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_SCANNING;
+
+/**
+ * <p>A LocusScanner implementation designed for scanning
+ * packages for annotated classes, without depending on
+ * the Reflections library.</p>
+ *
+ * <p>The directories and jar files on the classpath that
+ * contain the package are walked, and each classfile is read
+ * directly by the ClassfileParser to see if it has a Locus
+ * annotation. The classfiles in a directory are all read into
+ * the same heap buffer, which is only grown for larger files,
+ * while jar entries are each read into a buffer of their own
+ * size. Only classes that have a Locus annotation are ever
+ * loaded, and they are not initialized.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class has no mutable state
+ * and is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class LocusClassfileScanner extends AbstractLocusScanner {
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LocusClassfileScanner.class);
+
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String FILE_PROTOCOL = "file";
+    private static final String JAR_PROTOCOL = "jar";
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /**
+     * The parser for reading the classfiles.
+     */
+    private final ClassfileParser classfileParser = new ClassfileParser();
+
+    /**
+     * Create a new LocusClassfileScanner. This constructor should
+     * only be directly called for testing, and otherwise this
+     * class should be created by the LocusScannerFactory.
+     *
+     * @see io.craigmiller160.locus.scan.LocusScannerFactory
+     */
+    LocusClassfileScanner(){}
+
+    /**
+     * Create a new LocusClassfileScanner that loads classes
+     * with the specified ClassLoader.
+     *
+     * @param classLoader the ClassLoader, or null for the default.
+     */
+    LocusClassfileScanner(ClassLoader classLoader){
+        super(classLoader);
+    }
+
+    @Override
+    public void scan(String packageName, LocusStorage storage) throws ReflectiveException {
+        scan(packageName, storage, null);
+    }
+
+    @Override
+    public void scan(String packageName, LocusStorage storage, ScannerExclusions scannerExclusions) throws ReflectiveException {
+        logger.debug("Scanning classfiles of package \"{}\" for annotated classes", packageName);
+        InitializationProfiler profiler = storage.getInitializationProfiler();
+        long scanStart = System.nanoTime();
+        ScanResults results = new ScanResults();
+
+        String packagePath = packageName.replace('.', '/');
+        try{
+            Enumeration<URL> urls = getClassLoader().getResources(packagePath);
+            while(urls.hasMoreElements()){
+                URL url = urls.nextElement();
+                if(FILE_PROTOCOL.equals(url.getProtocol())){
+                    scanDirectory(Paths.get(url.toURI()), results);
+                }
+                else if(JAR_PROTOCOL.equals(url.getProtocol())){
+                    scanJar(url, packagePath + "/", results);
+                }
+                else{
+                    logger.warn("Unable to scan classpath location with unsupported protocol: {}", url);
+                }
+            }
+        }
+        catch(IOException | URISyntaxException ex){
+            throw new ReflectiveException(String.format("Unable to scan package: %s", packageName), ex);
+        }
+
+        //Load all the annotated classes before parsing any, so the scanning time is separate from the parsing time
+        List<Class<?>> models = loadClasses(results.models);
+        List<Class<?>> controllers = loadClasses(results.controllers);
+        List<Class<?>> views = loadClasses(results.views);
+        profiler.addPhaseTime(PHASE_SCANNING, System.nanoTime() - scanStart);
+
+        for(Class<?> modelType : models){
+            parseModelClass(modelType, storage, scannerExclusions);
+        }
+
+        for(Class<?> controllerType : controllers){
+            parseControllerClass(controllerType, storage);
+        }
+
+        for(Class<?> viewType : views){
+            parseViewClass(viewType, storage, scannerExclusions);
+        }
+    }
+
+    /**
+     * Walk a directory on the classpath, parsing every classfile
+     * found within it and its subdirectories.
+     *
+     * @param directory the directory to walk.
+     * @param results the ScanResults to add any annotated classes to.
+     * @throws IOException if unable to read the directory.
+     */
+    private void scanDirectory(Path directory, final ScanResults results) throws IOException{
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>(){
+            //Reused for every classfile in the walk, and only grown for larger files
+            private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if(isClassfile(file.getFileName().toString())){
+                    try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+                        buffer = readFully(channel, buffer);
+                        parseClassfile(buffer, file.toString(), results);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Read every classfile in the jar beneath the package path,
+     * and parse it.
+     *
+     * @param url the URL of the package within the jar.
+     * @param packagePath the path of the package within the jar.
+     * @param results the ScanResults to add any annotated classes to.
+     * @throws IOException if unable to read the jar.
+     */
+    private void scanJar(URL url, String packagePath, ScanResults results) throws IOException{
+        URLConnection connection = url.openConnection();
+        if(!(connection instanceof JarURLConnection)){
+            logger.warn("Unable to open classpath location as a jar: {}", url);
+            return;
+        }
+
+        JarURLConnection jarConnection = (JarURLConnection) connection;
+        jarConnection.setUseCaches(false);
+        try(JarFile jarFile = jarConnection.getJarFile()){
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while(entries.hasMoreElements()){
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if(name.startsWith(packagePath) && isClassfile(name)){
+                    try(InputStream iStream = jarFile.getInputStream(entry)){
+                        parseClassfile(readFully(iStream, entry.getSize()), name, results);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse a single classfile, and add it to the results if it
+     * has a Locus annotation.
+     *
+     * @param buffer the classfile content.
+     * @param location the location of the classfile, for logging.
+     * @param results the ScanResults.
+     */
+    private void parseClassfile(ByteBuffer buffer, String location, ScanResults results){
+        ClassfileParser.Result result = null;
+        try{
+            result = classfileParser.parse(buffer);
+        }
+        catch(IllegalArgumentException ex){
+            logger.warn("Unable to parse classfile: {}", location, ex);
+        }
+
+        if(result == null){
+            return;
+        }
+
+        logger.trace("Found Locus annotated class: {}", result.getClassName());
+        switch(result.getType()){
+            case ClassfileParser.MODEL:
+                results.models.add(result.getClassName());
+                break;
+            case ClassfileParser.VIEW:
+                results.views.add(result.getClassName());
+                break;
+            case ClassfileParser.CONTROLLER:
+                results.controllers.add(result.getClassName());
+                break;
+        }
+    }
+
+    /**
+     * Load all the classes with the provided names.
+     *
+     * @param classNames the names of the classes.
+     * @return the classes.
+     * @throws ReflectiveException if unable to load any of the classes.
+     */
+    private List<Class<?>> loadClasses(Set<String> classNames){
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        for(String className : classNames){
+            classes.add(loadClass(className));
+        }
+        return classes;
+    }
+
+    private static boolean isClassfile(String name){
+        //Skips special classfiles like package-info and module-info, which are not valid class names
+        return name.endsWith(CLASS_EXTENSION) && !name.contains("-");
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer) throws IOException{
+        long size = channel.size();
+        //One spare byte lets the read reach the end of the file without having to grow
+        if(size >= buffer.capacity()){
+            buffer = ByteBuffer.allocate((int) Math.max(size + 1, buffer.capacity() * 2L));
+        }
+
+        buffer.clear();
+        while(channel.read(buffer) > 0){
+            if(!buffer.hasRemaining()){
+                //The file grew after its size was read, so make room for the rest of it
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer readFully(InputStream iStream, long sizeHint) throws IOException{
+        byte[] bytes = new byte[sizeHint > 0 ? (int) sizeHint : INITIAL_BUFFER_SIZE];
+        int length = 0;
+        while(true){
+            if(length == bytes.length){
+                //Only grow the array if the stream actually has more content than expected
+                int next = iStream.read();
+                if(next == -1){
+                    break;
+                }
+                byte[] larger = new byte[bytes.length * 2];
+                System.arraycopy(bytes, 0, larger, 0, length);
+                bytes = larger;
+                bytes[length++] = (byte) next;
+            }
+
+            int read = iStream.read(bytes, length, bytes.length - length);
+            if(read == -1){
+                break;
+            }
+            length += read;
+        }
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    /**
+     * The names of the annotated classes found by a scan, kept in
+     * the order they were found. Sets are used because the same
+     * package can be on the classpath more than once.
+     */
+    private static class ScanResults {
+        private final Set<String> models = new LinkedHashSet<>();
+        private final Set<String> views = new LinkedHashSet<>();
+        private final Set<String> controllers = new LinkedHashSet<>();
+    }
+
+}
@@ -19,6 +19,7 @@ package io.craigmiller160.locus.scan;
 import io.craigmiller160.locus.annotations.LController;
 import io.craigmiller160.locus.annotations.LModel;
 import io.craigmiller160.locus.annotations.LView;
+import io.craigmiller160.locus.util.InitializationProfiler;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.ReflectiveException;
 import org.reflections.Reflections;
@@ -33,6 +34,8 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.Set;
 
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_SCANNING;
+
 /**
  * <p>A LocusScanner implementation designed for scanning
  * packages for annotated classes.</p>
@@ -41,7 +44,7 @@ import java.util.Set;
  * and is therefore completely thread-safe.</p>
  *
  * @author craigmiller
- * @version 1.1
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusPackageScanner extends AbstractLocusScanner{
@@ -60,6 +63,16 @@ public class LocusPackageScanner extends AbstractLocusScanner{
      */
     LocusPackageScanner(){}
 
+    /**
+     * Create a new LocusPackageScanner that loads classes
+     * with the specified ClassLoader.
+     *
+     * @param classLoader the ClassLoader, or null for the default.
+     */
+    LocusPackageScanner(ClassLoader classLoader){
+        super(classLoader);
+    }
+
     @Override
     public void scan(String packageName, LocusStorage storage) throws ReflectiveException {
         scan(packageName, storage, null);
@@ -68,27 +81,36 @@ public class LocusPackageScanner extends AbstractLocusScanner{
     @Override
     public void scan(String packageName, LocusStorage storage, ScannerExclusions scannerExclusions) throws ReflectiveException {
         logger.debug("Scanning of package \"{}\" for annotated classes", packageName);
+        InitializationProfiler profiler = storage.getInitializationProfiler();
+        long scanStart = System.nanoTime();
+        //Reflections loads the annotated classes it finds without initializing them
         Reflections reflections = new Reflections(new ConfigurationBuilder()
-                .setUrls(ClasspathHelper.forPackage(packageName))
+                .setUrls(ClasspathHelper.forPackage(packageName, getClassLoader()))
+                .addClassLoader(getClassLoader())
                 .setScanners(new SubTypesScanner(), new TypeAnnotationsScanner())
                 .filterInputsBy(new FilterBuilder().includePackage(packageName))
         );
 
-        parseModelClasses(reflections, storage, scannerExclusions);
-        parseControllerClasses(reflections, storage);
-        parseViewClasses(reflections, storage, scannerExclusions);
+        //Load all the annotated classes before parsing any, so the scanning time is separate from the parsing time
+        Set<Class<?>> models = reflections.getTypesAnnotatedWith(LModel.class);
+        Set<Class<?>> controllers = reflections.getTypesAnnotatedWith(LController.class);
+        Set<Class<?>> views = reflections.getTypesAnnotatedWith(LView.class);
+        profiler.addPhaseTime(PHASE_SCANNING, System.nanoTime() - scanStart);
+
+        parseModelClasses(models, storage, scannerExclusions);
+        parseControllerClasses(controllers, storage);
+        parseViewClasses(views, storage, scannerExclusions);
     }
 
     /**
      * Iterate through any model classes found via the package scanning,
      * and parse them.
      *
-     * @param reflections the Reflections object to use to find the model classes.
+     * @param models the model classes found.
      * @param storage the LocusStorage.
      * @param exclusions the ScannerExclusions.
      */
-    private void parseModelClasses(Reflections reflections, LocusStorage storage, ScannerExclusions exclusions){
-        Set<Class<?>> models = reflections.getTypesAnnotatedWith(LModel.class);
+    private void parseModelClasses(Set<Class<?>> models, LocusStorage storage, ScannerExclusions exclusions){
         for(Class<?> modelType : models){
             parseModelClass(modelType, storage, exclusions);
         }
@@ -98,11 +120,10 @@ public class LocusPackageScanner extends AbstractLocusScanner{
      * Iterate through any controller classes found via the package scanning,
      * and parse them.
      *
-     * @param reflections the Reflections object to use to find the model classes.
+     * @param controllers the controller classes found.
      * @param storage the LocusStorage.
      */
-    private void parseControllerClasses(Reflections reflections, LocusStorage storage){
-        Set<Class<?>> controllers = reflections.getTypesAnnotatedWith(LController.class);
+    private void parseControllerClasses(Set<Class<?>> controllers, LocusStorage storage){
         for(Class<?> controllerType : controllers) {
             parseControllerClass(controllerType, storage);
         }
@@ -112,12 +133,11 @@ public class LocusPackageScanner extends AbstractLocusScanner{
      * Iterate through any view classes found via the package scanning,
      * and parse them.
      *
-     * @param reflections the Reflections object to use to find the model classes.
+     * @param views the view classes found.
      * @param storage the LocusStorage.
      * @param exclusions the ScannerExclusions.
      */
-    private void parseViewClasses(Reflections reflections, LocusStorage storage, ScannerExclusions exclusions){
-        Set<Class<?>> views = reflections.getTypesAnnotatedWith(LView.class);
+    private void parseViewClasses(Set<Class<?>> views, LocusStorage storage, ScannerExclusions exclusions){
         for(Class<?> viewType : views){
             parseViewClass(viewType, storage, exclusions);
         }
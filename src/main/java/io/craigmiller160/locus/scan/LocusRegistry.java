@@ -0,0 +1,387 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.scan;
+
+import io.craigmiller160.locus.accessor.ModelAccessor;
+import io.craigmiller160.locus.accessor.PropertyConsumer;
+import io.craigmiller160.locus.accessor.PropertySupplier;
+import io.craigmiller160.locus.accessor.ViewAccessor;
+import io.craigmiller160.locus.accessor.ViewPropertyConsumer;
+import io.craigmiller160.locus.annotations.ControllerScope;
+import io.craigmiller160.locus.concurrent.NoUIThreadExecutor;
+import io.craigmiller160.locus.concurrent.SlowUIHandlerListener;
+import io.craigmiller160.locus.concurrent.UIThreadExecutor;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.util.LocusStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.concurrent.TimeUnit;
+
+import static io.craigmiller160.locus.util.LocusConstants.ADDER;
+import static io.craigmiller160.locus.util.LocusConstants.DEFAULT_CONTROLLER_POOL_SIZE;
+import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
+import static io.craigmiller160.locus.util.LocusConstants.SETTER;
+
+/**
+ * <p>A fluent API for registering models, views, and controllers
+ * directly with the LocusStorage, without scanning packages or
+ * classes. This is intended for applications that already know
+ * every class the framework will manage. For example:</p>
+ *
+ * <pre>
+ * Locus.registry()
+ *     .model(new ModelOne())
+ *     .view(ViewOne.class)
+ *     .controller("ControllerOne", ControllerOne.class);
+ * </pre>
+ *
+ * <p>Models and views registered this way are still parsed for
+ * their property methods, which uses reflection. To avoid reflection
+ * entirely, properties can instead be registered with pre-built
+ * accessors, which are invoked directly when the property is
+ * accessed. For a given property, the accessors are always tried
+ * before any reflective methods.</p>
+ *
+ * <p><b>IMPORTANT:</b> Initializing the framework clears the
+ * LocusStorage, including anything registered here. Registration
+ * should be done after initialization, or instead of it. If no
+ * UIThreadExecutor type has been set when this registry is created,
+ * the NoUIThreadExecutor is used.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is not thread-safe. Its
+ * ScannerExclusions are mutable, and it should be used by a
+ * single thread. The LocusStorage it writes to is thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@NotThreadSafe
+public class LocusRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocusRegistry.class);
+
+    private final LocusStorage storage;
+    private final ScanParser parser = new ScanParser();
+    private ScannerExclusions exclusions = new ScannerExclusions();
+
+    /**
+     * Create a new LocusRegistry. It should be created
+     * through Locus.registry() or the LocusScannerFactory.
+     * This package-private constructor exists for testing purposes.
+     *
+     * @param storage the LocusStorage.
+     */
+    LocusRegistry(LocusStorage storage){
+        this.storage = storage;
+        if(storage.getUIThreadExecutorType() == null){
+            storage.setUIThreadExecutorType(NoUIThreadExecutor.class);
+        }
+    }
+
+    /**
+     * Set the ScannerExclusions to use when parsing models and views
+     * registered after this point. By default, the standard exclusions
+     * are used.
+     *
+     * @param exclusions the ScannerExclusions.
+     * @return this registry.
+     */
+    public LocusRegistry exclusions(ScannerExclusions exclusions){
+        this.exclusions = exclusions;
+        return this;
+    }
+
+    /**
+     * Set the type of UIThreadExecutor for the framework to use.
+     *
+     * @param uiThreadExecutorType the UIThreadExecutor type.
+     * @return this registry.
+     */
+    public LocusRegistry uiThreadExecutor(Class<? extends UIThreadExecutor> uiThreadExecutorType){
+        logger.trace("Registering UIThreadExecutor type: {}", uiThreadExecutorType.getName());
+        storage.setUIThreadExecutorType(uiThreadExecutorType);
+        return this;
+    }
+
+    /**
+     * Set the LocusMetrics to record the operations performed by
+     * the framework with.
+     *
+     * @param metrics the LocusMetrics, or null to disable metrics.
+     * @return this registry.
+     */
+    public LocusRegistry metrics(LocusMetrics metrics){
+        storage.setMetrics(metrics);
+        return this;
+    }
+
+    /**
+     * Set the LocusEventListener to receive the operations
+     * performed by the framework.
+     *
+     * @param eventListener the LocusEventListener, or null to disable events.
+     * @return this registry.
+     */
+    public LocusRegistry eventListener(LocusEventListener eventListener){
+        storage.setEventListener(eventListener);
+        return this;
+    }
+
+    /**
+     * Set the time budget for a single piece of work on the UI Thread.
+     *
+     * @param budget the budget, or 0 for no budget.
+     * @param unit the unit of the budget.
+     * @return this registry.
+     */
+    public LocusRegistry uiThreadBudget(long budget, TimeUnit unit){
+        storage.setUIThreadBudget(budget, unit);
+        return this;
+    }
+
+    /**
+     * Set the SlowUIHandlerListener to notify when the
+     * UI Thread budget is exceeded.
+     *
+     * @param slowUIHandlerListener the SlowUIHandlerListener, or null for the default.
+     * @return this registry.
+     */
+    public LocusRegistry slowUIHandlerListener(SlowUIHandlerListener slowUIHandlerListener){
+        storage.setSlowUIHandlerListener(slowUIHandlerListener);
+        return this;
+    }
+
+    /**
+     * Enable leak detection for views and controller
+     * callbacks registered after this point.
+     *
+     * @param threshold the time after which a registration is a suspected leak, or 0 to disable.
+     * @param unit the unit of the threshold.
+     * @param stackSampleRate capture the stack trace of one in every stackSampleRate registrations.
+     * @return this registry.
+     */
+    public LocusRegistry leakDetection(long threshold, TimeUnit unit, int stackSampleRate){
+        storage.setLeakDetection(threshold, unit, stackSampleRate);
+        return this;
+    }
+
+    /**
+     * Add a LocusInterceptor to the end of the chain of interceptors.
+     *
+     * @param interceptor the LocusInterceptor.
+     * @return this registry.
+     */
+    public LocusRegistry interceptor(LocusInterceptor interceptor){
+        logger.trace("Registering LocusInterceptor: {}", interceptor.getClass().getName());
+        storage.addInterceptor(interceptor);
+        return this;
+    }
+
+    /**
+     * Register a model instance, parsing it for its property
+     * methods the same way a scanned model is.
+     *
+     * @param model the model instance.
+     * @return this registry.
+     * @throws io.craigmiller160.utils.reflect.ReflectiveException if the model is invalid.
+     */
+    public LocusRegistry model(Object model){
+        logger.trace("Registering model: {}", model.getClass().getName());
+        parser.parseModel(model, storage, exclusions);
+        return this;
+    }
+
+    /**
+     * Register a view class, parsing it for its property
+     * methods the same way a scanned view is.
+     *
+     * @param viewType the view class type.
+     * @return this registry.
+     * @throws io.craigmiller160.utils.reflect.ReflectiveException if the view is invalid.
+     */
+    public LocusRegistry view(Class<?> viewType){
+        logger.trace("Registering view: {}", viewType.getName());
+        parser.parseViewClass(viewType, storage, exclusions);
+        return this;
+    }
+
+    /**
+     * Register a controller class with the specified name. The
+     * class does not need the LController annotation.
+     *
+     * @param name the name of the controller.
+     * @param controllerType the controller class type.
+     * @return this registry.
+     * @throws io.craigmiller160.utils.reflect.ReflectiveException if the name is already in use.
+     */
+    public LocusRegistry controller(String name, Class<?> controllerType){
+        logger.trace("Registering controller. Name: {} | Class: {}", name, controllerType.getName());
+        parser.parseController(name, controllerType, storage);
+        return this;
+    }
+
+    /**
+     * Register a controller class with the specified name and
+     * scope. The class does not need the LController annotation.
+     * Pooled controllers get the default pool size.
+     *
+     * @param name the name of the controller.
+     * @param controllerType the controller class type.
+     * @param scope the scope of the controller.
+     * @return this registry.
+     * @throws io.craigmiller160.utils.reflect.ReflectiveException if the name is already in use.
+     */
+    public LocusRegistry controller(String name, Class<?> controllerType, ControllerScope scope){
+        return controller(name, controllerType, scope, DEFAULT_CONTROLLER_POOL_SIZE);
+    }
+
+    /**
+     * Register a controller class with the specified name,
+     * scope, and pool size. The class does not need the
+     * LController annotation.
+     *
+     * @param name the name of the controller.
+     * @param controllerType the controller class type.
+     * @param scope the scope of the controller.
+     * @param poolSize the most idle instances to keep, if the scope is POOLED.
+     * @return this registry.
+     * @throws io.craigmiller160.utils.reflect.ReflectiveException if the name is already in use.
+     */
+    public LocusRegistry controller(String name, Class<?> controllerType, ControllerScope scope, int poolSize){
+        logger.trace("Registering controller. Name: {} | Class: {} | Scope: {}", name, controllerType.getName(), scope);
+        parser.parseController(name, controllerType, scope, poolSize, storage);
+        return this;
+    }
+
+    /**
+     * Register a pre-built setter for a model property.
+     *
+     * @param propName the name of the property.
+     * @param valueType the type of value the setter accepts.
+     * @param setter the setter.
+     * @param <T> the type of value the setter accepts.
+     * @return this registry.
+     */
+    public <T> LocusRegistry modelSetter(String propName, Class<T> valueType, PropertyConsumer<? super T> setter){
+        return addModelAccessor(propName, new ModelAccessor(SETTER, valueType, setter));
+    }
+
+    /**
+     * Register a pre-built getter for a model property.
+     *
+     * @param propName the name of the property.
+     * @param getter the getter.
+     * @return this registry.
+     */
+    public LocusRegistry modelGetter(String propName, PropertySupplier<?> getter){
+        return addModelAccessor(propName, new ModelAccessor(getter));
+    }
+
+    /**
+     * Register a pre-built adder for a model property.
+     *
+     * @param propName the name of the property.
+     * @param valueType the type of value the adder accepts.
+     * @param adder the adder.
+     * @param <T> the type of value the adder accepts.
+     * @return this registry.
+     */
+    public <T> LocusRegistry modelAdder(String propName, Class<T> valueType, PropertyConsumer<? super T> adder){
+        return addModelAccessor(propName, new ModelAccessor(ADDER, valueType, adder));
+    }
+
+    /**
+     * Register a pre-built remover for a model property.
+     *
+     * @param propName the name of the property.
+     * @param valueType the type of value the remover accepts.
+     * @param remover the remover.
+     * @param <T> the type of value the remover accepts.
+     * @return this registry.
+     */
+    public <T> LocusRegistry modelRemover(String propName, Class<T> valueType, PropertyConsumer<? super T> remover){
+        return addModelAccessor(propName, new ModelAccessor(REMOVER, valueType, remover));
+    }
+
+    /**
+     * Register a pre-built setter for a view property. It
+     * is invoked for every registered instance of the view type.
+     *
+     * @param propName the name of the property.
+     * @param viewType the type of view.
+     * @param valueType the type of value the setter accepts.
+     * @param setter the setter.
+     * @param <V> the type of view.
+     * @param <T> the type of value the setter accepts.
+     * @return this registry.
+     */
+    public <V,T> LocusRegistry viewSetter(String propName, Class<V> viewType, Class<T> valueType,
+                                          ViewPropertyConsumer<? super V,? super T> setter){
+        return addViewAccessor(propName, new ViewAccessor(SETTER, viewType, valueType, setter));
+    }
+
+    /**
+     * Register a pre-built adder for a view property. It
+     * is invoked for every registered instance of the view type.
+     *
+     * @param propName the name of the property.
+     * @param viewType the type of view.
+     * @param valueType the type of value the adder accepts.
+     * @param adder the adder.
+     * @param <V> the type of view.
+     * @param <T> the type of value the adder accepts.
+     * @return this registry.
+     */
+    public <V,T> LocusRegistry viewAdder(String propName, Class<V> viewType, Class<T> valueType,
+                                         ViewPropertyConsumer<? super V,? super T> adder){
+        return addViewAccessor(propName, new ViewAccessor(ADDER, viewType, valueType, adder));
+    }
+
+    /**
+     * Register a pre-built remover for a view property. It
+     * is invoked for every registered instance of the view type.
+     *
+     * @param propName the name of the property.
+     * @param viewType the type of view.
+     * @param valueType the type of value the remover accepts.
+     * @param remover the remover.
+     * @param <V> the type of view.
+     * @param <T> the type of value the remover accepts.
+     * @return this registry.
+     */
+    public <V,T> LocusRegistry viewRemover(String propName, Class<V> viewType, Class<T> valueType,
+                                           ViewPropertyConsumer<? super V,? super T> remover){
+        return addViewAccessor(propName, new ViewAccessor(REMOVER, viewType, valueType, remover));
+    }
+
+    private LocusRegistry addModelAccessor(String propName, ModelAccessor accessor){
+        logger.trace("Registering model accessor. Property: {} | Accessor: {}", propName, accessor);
+        storage.addModelAccessor(propName, accessor);
+        return this;
+    }
+
+    private LocusRegistry addViewAccessor(String propName, ViewAccessor accessor){
+        logger.trace("Registering view accessor. Property: {} | Accessor: {}", propName, accessor);
+        storage.addViewAccessor(propName, accessor);
+        return this;
+    }
+
+}
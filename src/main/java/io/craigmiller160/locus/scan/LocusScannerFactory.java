@@ -16,6 +16,10 @@
 
 package io.craigmiller160.locus.scan;
 
+import io.craigmiller160.locus.LocusException;
+import io.craigmiller160.locus.util.LocusStorage;
+import io.craigmiller160.utils.util.StringUtil;
+
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -26,11 +30,23 @@ import javax.annotation.concurrent.ThreadSafe;
  * state and is therefore completely thread-safe.</p>
  *
  * @author craigmiller
- * @version 1.1
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusScannerFactory {
 
+    /**
+     * The type name of the package scanner that uses the
+     * Reflections library. This is the default.
+     */
+    public static final String REFLECTIONS_PACKAGE_SCANNER = "reflections";
+
+    /**
+     * The type name of the package scanner that reads
+     * classfiles directly.
+     */
+    public static final String CLASSFILE_PACKAGE_SCANNER = "classfile";
+
     private LocusScannerFactory() {}
 
     /**
@@ -43,6 +59,64 @@ public class LocusScannerFactory {
         return new LocusPackageScanner();
     }
 
+    /**
+     * Get a new instance of the LocusScanner interface
+     * for scanning packages, which loads classes with the
+     * provided ClassLoader.
+     *
+     * @param classLoader the ClassLoader, or null for the default.
+     * @return a scanner for packages.
+     */
+    public static LocusScanner newPackageScanner(ClassLoader classLoader){
+        return new LocusPackageScanner(classLoader);
+    }
+
+    /**
+     * Get a new instance of the LocusScanner interface
+     * for scanning packages, of the specified type. If
+     * the type is empty, the default package scanner
+     * is returned.
+     *
+     * @param scannerType the type of package scanner.
+     * @return a scanner for packages.
+     * @throws LocusException if the type of package scanner is not valid.
+     */
+    public static LocusScanner newPackageScanner(String scannerType){
+        return newPackageScanner(scannerType, null);
+    }
+
+    /**
+     * Get a new instance of the LocusScanner interface
+     * for scanning packages, of the specified type, which
+     * loads classes with the provided ClassLoader. If the
+     * type is empty, the default package scanner is returned.
+     *
+     * @param scannerType the type of package scanner.
+     * @param classLoader the ClassLoader, or null for the default.
+     * @return a scanner for packages.
+     * @throws LocusException if the type of package scanner is not valid.
+     */
+    public static LocusScanner newPackageScanner(String scannerType, ClassLoader classLoader){
+        if(StringUtil.isEmpty(scannerType) || REFLECTIONS_PACKAGE_SCANNER.equals(scannerType)){
+            return new LocusPackageScanner(classLoader);
+        }
+        else if(CLASSFILE_PACKAGE_SCANNER.equals(scannerType)){
+            return new LocusClassfileScanner(classLoader);
+        }
+        throw new LocusException(String.format("Invalid package scanner type: %s", scannerType));
+    }
+
+    /**
+     * Get a new instance of the LocusScanner interface
+     * for scanning packages by reading classfiles directly,
+     * instead of using the Reflections library.
+     *
+     * @return a scanner for packages.
+     */
+    public static LocusScanner newClassfileScanner(){
+        return new LocusClassfileScanner();
+    }
+
     /**
      * Get a new instance of the LocusScanner interface
      * for scanning classes.
@@ -53,4 +127,27 @@ public class LocusScannerFactory {
         return new LocusClassScanner();
     }
 
+    /**
+     * Get a new instance of the LocusScanner interface
+     * for scanning classes, which loads classes with the
+     * provided ClassLoader.
+     *
+     * @param classLoader the ClassLoader, or null for the default.
+     * @return a scanner for classes.
+     */
+    public static LocusScanner newClassScanner(ClassLoader classLoader){
+        return new LocusClassScanner(classLoader);
+    }
+
+    /**
+     * Create a new LocusRegistry, for registering models, views,
+     * and controllers with the LocusStorage without scanning.
+     *
+     * @param storage the LocusStorage.
+     * @return a new LocusRegistry.
+     */
+    public static LocusRegistry newRegistry(LocusStorage storage){
+        return new LocusRegistry(storage);
+    }
+
 }
@@ -17,7 +17,12 @@
 package io.craigmiller160.locus.scan;
 
 import io.craigmiller160.locus.LocusException;
+import io.craigmiller160.locus.annotations.ControllerScope;
 import io.craigmiller160.locus.annotations.LController;
+import io.craigmiller160.locus.annotations.LModel;
+import io.craigmiller160.locus.annotations.LProperty;
+import io.craigmiller160.locus.annotations.LView;
+import io.craigmiller160.locus.util.InitializationProfiler;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.ClassAndMethod;
 import io.craigmiller160.utils.reflect.MethodUtils;
@@ -33,18 +38,35 @@ import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Set;
 
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_MODEL_CONSTRUCTION;
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_PARSING;
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_VALIDATION;
+import static io.craigmiller160.locus.util.LocusConstants.ADDER;
+import static io.craigmiller160.locus.util.LocusConstants.GETTER;
 import static io.craigmiller160.locus.util.LocusConstants.MODEL_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
+import static io.craigmiller160.locus.util.LocusConstants.SETTER;
+import static io.craigmiller160.locus.util.LocusConstants.VIEW_TYPE;
 
 /**
  * <p>A common class to encapsulate the logic
  * of scanning individual classes and adding
  * appropriate references to the LocusStorage.</p>
  *
+ * <p>Property methods are identified by the prefix of their
+ * names, or by the LProperty annotation. If the LModel or LView
+ * annotation is explicit, only annotated methods are parsed.</p>
+ *
+ * <p>The time spent parsing each class and method is
+ * recorded in the InitializationProfiler in the LocusStorage.
+ * Model construction and validation are recorded as separate
+ * phases from the parsing itself.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class has no mutable
  * state and is therefore completely thread-safe.</p>
  *
  * @author craigmiller
- * @version 1.1
+ * @version 1.5
  */
 @ThreadSafe
 class ScanParser {
@@ -66,40 +88,83 @@ class ScanParser {
      * @throws ReflectiveException if unable to parse the model class.
      */
     void parseModelClass(Class<?> modelType, LocusStorage storage, ScannerExclusions exclusions){
+        long constructionStart = System.nanoTime();
         Object model = ObjectCreator.instantiateClass(modelType);
+        parseModel(model, storage, exclusions, System.nanoTime() - constructionStart);
+    }
+
+    /**
+     * Parse an existing model instance for methods that Locus can
+     * remotely invoke. A reference to the model and each method
+     * will be bundled together and placed in the LocusStorage
+     * for later reference.
+     *
+     * @param model the model instance.
+     * @param storage the LocusStorage.
+     * @param exclusions the ScannerExclusions.
+     * @throws ReflectiveException if unable to parse the model.
+     */
+    void parseModel(Object model, LocusStorage storage, ScannerExclusions exclusions){
+        parseModel(model, storage, exclusions, 0);
+    }
+
+    /**
+     * Parse the model instance, including the time it took to
+     * construct it in the timings recorded in the InitializationProfiler.
+     *
+     * @param model the model instance.
+     * @param storage the LocusStorage.
+     * @param exclusions the ScannerExclusions.
+     * @param constructionTime the time it took to construct the model, in nanoseconds.
+     * @throws ReflectiveException if unable to parse the model.
+     */
+    private void parseModel(Object model, LocusStorage storage, ScannerExclusions exclusions, long constructionTime){
+        InitializationProfiler profiler = storage.getInitializationProfiler();
+        Class<?> modelType = model.getClass();
+        long classStart = System.nanoTime() - constructionTime;
+        long validationTime = 0;
+
+        LModel lModel = modelType.getAnnotation(LModel.class);
+        boolean explicit = lModel != null && lModel.explicit();
+
         Method[] publicMethods = modelType.getMethods();
         for(Method m : publicMethods){
-            if(m.getName().startsWith("set") && isClassAllowed(m.getDeclaringClass(), exclusions)){
-                String propName = m.getName().substring(3);
-                ObjectAndMethod oam = new ObjectAndMethod(model, m);
-                validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropSetters());
+            long methodStart = System.nanoTime();
+            int kind = getPropertyKind(m, MODEL_TYPE, explicit, exclusions);
+            if(kind == LProperty.INFER_KIND){
+                continue;
+            }
+
+            String propName = getPropertyName(m, kind);
+            ObjectAndMethod oam = new ObjectAndMethod(model, m);
+            if(kind == SETTER){
+                validationTime += validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropSetters());
                 logger.trace("Adding model property setter to storage. Property: {} | Setter: {}", propName, oam.toString());
                 storage.addModelPropSetter(propName, oam);
             }
-            else if((m.getName().startsWith("get") || m.getName().startsWith("is")) &&
-                    isClassAllowed(m.getDeclaringClass(), exclusions)){
-                //Set the propName differently for either a "get" or "is" prefix, based on their different lengths
-                String propName = m.getName().startsWith("get") ? m.getName().substring(3) : m.getName().substring(2);
-                ObjectAndMethod oam = new ObjectAndMethod(model, m);
-                validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropGetters());
+            else if(kind == GETTER){
+                validationTime += validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropGetters());
                 logger.trace("Adding model property getter to storage. Property: {} | Getter: {}", propName, oam.toString());
                 storage.addModelPropGetter(propName, oam);
             }
-            else if(m.getName().startsWith("add") && isClassAllowed(m.getDeclaringClass(), exclusions)){
-                String propName = m.getName().substring(3);
-                ObjectAndMethod oam = new ObjectAndMethod(model, m);
-                validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropAdders());
+            else if(kind == ADDER){
+                validationTime += validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropAdders());
                 logger.trace("Adding model property adder to storage. Property: {} | Adder: {}", propName, oam.toString());
                 storage.addModelPropAdder(propName, oam);
             }
-            else if(m.getName().startsWith("remove") && isClassAllowed(m.getDeclaringClass(), exclusions)){
-                String propName = m.getName().substring(6);
-                ObjectAndMethod oam = new ObjectAndMethod(model, m);
-                validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropAdders());
+            else{
+                validationTime += validateUniqueMethod(propName, MODEL_TYPE, oam, storage.getAllModelPropAdders());
                 logger.trace("Adding model property remover to storage. Property: {} | Remover: {}", propName, oam.toString());
                 storage.addModelPropRemover(propName, oam);
             }
+            profiler.addMethodTime(m, System.nanoTime() - methodStart);
         }
+
+        long classTime = System.nanoTime() - classStart;
+        profiler.addPhaseTime(PHASE_MODEL_CONSTRUCTION, constructionTime);
+        profiler.addPhaseTime(PHASE_VALIDATION, validationTime);
+        profiler.addPhaseTime(PHASE_PARSING, classTime - constructionTime - validationTime);
+        profiler.addClassTime(modelType, classTime);
     }
 
     /**
@@ -116,10 +181,49 @@ class ScanParser {
             throw new LocusException(String.format("Controller Class does not have LController annotation: %s", controllerType.getName()));
         }
 
-        String name = con.name();
-        validateUniqueController(name, controllerType, storage);
-        logger.trace("Adding controller type to storage. Name: {} | Class: {}", name, controllerType);
-        storage.addControllerType(name, controllerType);
+        parseController(con.name(), controllerType, con.scope(), con.poolSize(), storage);
+    }
+
+    /**
+     * Validate the controller class type with the specified name,
+     * and store it properly in the LocusStorage with the PROTOTYPE scope.
+     *
+     * @param name the name of the controller.
+     * @param controllerType the class type of the controller.
+     * @param storage the LocusStorage.
+     * @throws ReflectiveException if the controller is invalid.
+     */
+    void parseController(String name, Class<?> controllerType, LocusStorage storage){
+        parseController(name, controllerType, ControllerScope.PROTOTYPE, 0, storage);
+    }
+
+    /**
+     * Validate the controller class type with the specified name,
+     * and store it properly in the LocusStorage.
+     *
+     * @param name the name of the controller.
+     * @param controllerType the class type of the controller.
+     * @param scope the scope of the controller.
+     * @param poolSize the most idle instances to keep, if the scope is POOLED.
+     * @param storage the LocusStorage.
+     * @throws ReflectiveException if the controller is invalid.
+     */
+    void parseController(String name, Class<?> controllerType, ControllerScope scope, int poolSize, LocusStorage storage){
+        InitializationProfiler profiler = storage.getInitializationProfiler();
+        long classStart = System.nanoTime();
+        long validationTime = validateUniqueController(name, controllerType, storage);
+        if(scope == ControllerScope.POOLED && poolSize < 0){
+            throw new LocusException(String.format("Pooled controller has a negative pool size. Name: %s | Pool Size: %d", name, poolSize));
+        }
+
+        logger.trace("Adding controller type to storage. Name: {} | Class: {} | Scope: {}", name, controllerType, scope);
+        storage.addControllerType(name, controllerType, scope, poolSize);
+        storage.getControllerConstructors().prewarm(name, controllerType);
+
+        long classTime = System.nanoTime() - classStart;
+        profiler.addPhaseTime(PHASE_VALIDATION, validationTime);
+        profiler.addPhaseTime(PHASE_PARSING, classTime - validationTime);
+        profiler.addClassTime(controllerType, classTime);
     }
 
     /**
@@ -134,27 +238,121 @@ class ScanParser {
      * @throws ReflectiveException if unable to parse the view class.
      */
     void parseViewClass(Class<?> viewType, LocusStorage storage, ScannerExclusions exclusions){
+        InitializationProfiler profiler = storage.getInitializationProfiler();
+        long classStart = System.nanoTime();
+        LView lView = viewType.getAnnotation(LView.class);
+        boolean explicit = lView != null && lView.explicit();
+
         Method[] publicMethods = viewType.getMethods();
         for(Method m : publicMethods){
-            if(m.getName().startsWith("set") && isClassAllowed(m.getDeclaringClass(), exclusions)){
-                String propName = m.getName().substring(3);
-                ClassAndMethod cam = new ClassAndMethod(viewType, m);
+            long methodStart = System.nanoTime();
+            int kind = getPropertyKind(m, VIEW_TYPE, explicit, exclusions);
+            if(kind == LProperty.INFER_KIND){
+                continue;
+            }
+
+            String propName = getPropertyName(m, kind);
+            ClassAndMethod cam = new ClassAndMethod(viewType, m);
+            if(kind == SETTER){
                 logger.trace("Adding view property setter to storage. Property: {} | Setter: {}", propName, cam.toString());
                 storage.addViewPropSetter(propName, cam);
             }
-            else if(m.getName().startsWith("add") && isClassAllowed(m.getDeclaringClass(), exclusions)){
-                String propName = m.getName().substring(3);
-                ClassAndMethod cam = new ClassAndMethod(viewType, m);
+            else if(kind == ADDER){
                 logger.trace("Adding view property adder to storage. Property: {} | Adder: {}", propName, cam.toString());
                 storage.addViewPropAdder(propName, cam);
             }
-            else if(m.getName().startsWith("remove") && isClassAllowed(m.getDeclaringClass(), exclusions)){
-                String propName = m.getName().substring(6);
-                ClassAndMethod cam = new ClassAndMethod(viewType, m);
+            else{
                 logger.trace("Adding view property remover to storage. Property: {} | Remover: {}", propName, cam.toString());
                 storage.addViewPropRemover(propName, cam);
             }
+            profiler.addMethodTime(m, System.nanoTime() - methodStart);
+        }
+
+        long classTime = System.nanoTime() - classStart;
+        profiler.addPhaseTime(PHASE_PARSING, classTime);
+        profiler.addClassTime(viewType, classTime);
+    }
+
+    /**
+     * Get the kind of property method that the method is. If the method
+     * has the LProperty annotation, its kind is used, or derived from the
+     * method name if not provided. Otherwise, if explicit is false and the
+     * method's declaring class is allowed, the kind is derived from the
+     * method name.
+     *
+     * @param m the method.
+     * @param category the type of class the method belongs to (ie, model vs view).
+     * @param explicit true if only annotated methods are property methods.
+     * @param exclusions the ScannerExclusions.
+     * @return the kind of property method, one of the method codes
+     *          in LocusConstants, or LProperty.INFER_KIND if it is not
+     *          a property method.
+     * @throws LocusException if the LProperty annotation is invalid.
+     */
+    private int getPropertyKind(Method m, String category, boolean explicit, ScannerExclusions exclusions){
+        LProperty lProperty = m.getAnnotation(LProperty.class);
+        if(lProperty == null){
+            return explicit || !isClassAllowed(m.getDeclaringClass(), exclusions) ?
+                    LProperty.INFER_KIND : getPrefixKind(m.getName(), category);
+        }
+
+        int kind = lProperty.kind() != LProperty.INFER_KIND ? lProperty.kind() : getPrefixKind(m.getName(), category);
+        if(kind != SETTER && kind != ADDER && kind != REMOVER && (kind != GETTER || !MODEL_TYPE.equals(category))){
+            throw new LocusException(String.format("Invalid LProperty kind for %1$s method: %2$s", category, m));
+        }
+        return kind;
+    }
+
+    /**
+     * Get the kind of property method based on the prefix of
+     * the method name.
+     *
+     * @param methodName the name of the method.
+     * @param category the type of class the method belongs to (ie, model vs view).
+     * @return the kind of property method, or LProperty.INFER_KIND if
+     *          the name has no valid prefix.
+     */
+    private int getPrefixKind(String methodName, String category){
+        if(methodName.startsWith("set")){
+            return SETTER;
+        }
+        else if(MODEL_TYPE.equals(category) && (methodName.startsWith("get") || methodName.startsWith("is"))){
+            return GETTER;
+        }
+        else if(methodName.startsWith("add")){
+            return ADDER;
+        }
+        else if(methodName.startsWith("remove")){
+            return REMOVER;
+        }
+        return LProperty.INFER_KIND;
+    }
+
+    /**
+     * Get the name of the property for a property method. If the
+     * method has the LProperty annotation with a name, that name is
+     * used. Otherwise, the prefix for the kind of method is removed
+     * from the method name.
+     *
+     * @param m the method.
+     * @param kind the kind of property method.
+     * @return the name of the property.
+     * @throws LocusException if the name can't be derived from the method name.
+     */
+    private String getPropertyName(Method m, int kind){
+        LProperty lProperty = m.getAnnotation(LProperty.class);
+        if(lProperty != null && lProperty.name().length() > 0){
+            return lProperty.name();
+        }
+
+        String methodName = m.getName();
+        //Set the propName differently for a "get" or "is" prefix, based on their different lengths
+        String prefix = kind == SETTER ? "set" : kind == ADDER ? "add" : kind == REMOVER ? "remove" :
+                methodName.startsWith("is") ? "is" : "get";
+        if(lProperty != null && (!methodName.startsWith(prefix) || methodName.length() == prefix.length())){
+            throw new LocusException(String.format("LProperty annotation requires a name for method: %s", m));
         }
+        return methodName.substring(prefix.length());
     }
 
     /**
@@ -177,14 +375,16 @@ class ScanParser {
      * @param controllerName the name of the controller.
      * @param controllerType the type of the controller.
      * @param storage the LocusStorage.
+     * @return the time spent validating, in nanoseconds.
      * @throws ReflectiveException if the controller is invalid.
      */
-    private void validateUniqueController(String controllerName, Class<?> controllerType, LocusStorage storage) throws ReflectiveException{
+    private long validateUniqueController(String controllerName, Class<?> controllerType, LocusStorage storage) throws ReflectiveException{
+        long start = System.nanoTime();
         Set<String> controllerNames = storage.getAllControllerNames();
 
         //If no map provided, no validation can occur. This is probably due to no controllers existing yet
         if(controllerNames == null){
-            return;
+            return System.nanoTime() - start;
         }
 
         //Test the controller name to ensure it is unique
@@ -198,6 +398,7 @@ class ScanParser {
                                 otherName, storage.getControllerType(otherName)));
             }
         }
+        return System.nanoTime() - start;
     }
 
     /**
@@ -209,13 +410,15 @@ class ScanParser {
      * @param category the type of method (ie, getter vs setter).
      * @param rmh the ReflectiveMethodHolder containing the method to test.
      * @param otherOams the other ReflectiveMethodHolders to compare against.
+     * @return the time spent validating, in nanoseconds.
      * @throws ReflectiveException if the method is invalid.
      */
-    private void validateUniqueMethod(String propName, String category, ReflectiveMethodHolder<?> rmh,
+    private long validateUniqueMethod(String propName, String category, ReflectiveMethodHolder<?> rmh,
                                       Collection<? extends ReflectiveMethodHolder<?>> otherOams) throws ReflectiveException {
+        long start = System.nanoTime();
         //If no collection provided, no validation can occur. This is probably due to no methods for that property existing
         if(otherOams == null){
-            return;
+            return System.nanoTime() - start;
         }
 
         Method m1 = rmh.getReflectiveComponent();
@@ -230,6 +433,7 @@ class ScanParser {
                         category, propName, m1.getName(), m2.getName()));
             }
         }
+        return System.nanoTime() - start;
     }
 
 }
@@ -17,8 +17,12 @@
 package io.craigmiller160.locus.scan;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 
 /**
  * <p>A special class to store exclusion and inclusion
@@ -38,12 +42,19 @@ import java.util.TreeSet;
  * its an optional ability to override the exclusions and allow
  * certain classes through anyway.</p>
  *
+ * <p>Both sets of prefixes are compiled into a single prefix
+ * trie the first time a class is tested, and the verdict for
+ * each class is cached. Testing a class therefore costs a single
+ * walk over its name the first time, and a map lookup after that.
+ * When a class name matches both an exclusion and an inclusion,
+ * the longest matching prefix wins.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class is NOT thread-safe. It
  * offers no protection for its mutable state, and should be
  * handled accordingly.</p>
  *
  * @author craigmiller
- * @version 1.0
+ * @version 1.5
  */
 @NotThreadSafe
 public class ScannerExclusions {
@@ -72,6 +83,18 @@ public class ScannerExclusions {
      */
     private Set<String> inclusions = new TreeSet<>();
 
+    /**
+     * The compiled prefix trie of both exclusions and inclusions.
+     * This is built lazily, and discarded whenever a prefix is added.
+     */
+    private PrefixNode compiled;
+
+    /**
+     * The cached verdicts for classes that have already been tested.
+     * Weak keys are used so this doesn't prevent classes from being unloaded.
+     */
+    private final Map<Class<?>,Boolean> verdicts = new WeakHashMap<>();
+
     /**
      * Create a new ScannerExclusions with the default
      * exclusion values.
@@ -87,6 +110,7 @@ public class ScannerExclusions {
      */
     public void addExclusion(String exclusion){
         exclusions.add(exclusion);
+        reset();
     }
 
     /**
@@ -96,6 +120,7 @@ public class ScannerExclusions {
      */
     public void addInclusion(String inclusion){
         inclusions.add(inclusion);
+        reset();
     }
 
     /**
@@ -104,7 +129,7 @@ public class ScannerExclusions {
      * @return all exclusion prefixes.
      */
     public Set<String> getAllExclusions(){
-        return exclusions;
+        return Collections.unmodifiableSet(exclusions);
     }
 
     /**
@@ -113,49 +138,113 @@ public class ScannerExclusions {
      * @return all inclusion prefixes.
      */
     public Set<String> getAllInclusions(){
-        return inclusions;
+        return Collections.unmodifiableSet(inclusions);
     }
 
     /**
-     * Test if the provided class is allowed. There
-     * are two tests performed. First, the fully
-     * qualified class name is compared to the
-     * exclusion prefixes. If it matches any of them,
-     * then the second test is performed, and it is
-     * compared to the inclusion prefixes. If a class
-     * matches an exclusion, and doesn't match any inclusion,
-     * it is NOT allowed. Otherwise, it is allowed.
+     * Test if the provided class is allowed. The
+     * fully qualified class name is compared to both
+     * the exclusion and inclusion prefixes, and the
+     * longest prefix that matches decides the result.
+     * If it is an exclusion, the class is NOT allowed.
+     * If it is an inclusion, or if no prefix matches at all,
+     * the class is allowed.
      *
      * @param clazz the class to test.
      * @return true if the class is allowed.
      */
     public boolean isClassAllowed(Class<?> clazz){
-        boolean allowed = true;
-        String name = clazz.getName();
-        for(String exclude : exclusions){
-            if(name.startsWith(exclude) && !isIncluded(name)){
-                allowed = false;
+        Boolean allowed = verdicts.get(clazz);
+        if(allowed == null){
+            allowed = isNameAllowed(clazz.getName());
+            verdicts.put(clazz, allowed);
+        }
+        return allowed;
+    }
+
+    /**
+     * Walk the compiled prefix trie with the provided class
+     * name, keeping the verdict of the deepest prefix that
+     * it passes through.
+     *
+     * @param name the class name.
+     * @return true if the class name is allowed.
+     */
+    private boolean isNameAllowed(String name){
+        if(compiled == null){
+            compiled = compile();
+        }
+
+        PrefixNode node = compiled;
+        boolean allowed = node.verdict != PrefixNode.EXCLUDE;
+        for(int i = 0; i < name.length(); i++){
+            node = node.children.get(name.charAt(i));
+            if(node == null){
                 break;
             }
+
+            if(node.verdict != PrefixNode.NONE){
+                allowed = node.verdict == PrefixNode.INCLUDE;
+            }
         }
         return allowed;
     }
 
     /**
-     * Test if the provided class name matches any
-     * of the inclusion prefixes.
+     * Compile all exclusion and inclusion prefixes into
+     * a prefix trie. Inclusions are added last, so that
+     * if the exact same prefix is both excluded and included,
+     * the inclusion overrides it.
      *
-     * @param name the class name.
-     * @return true if it matches any of the inclusion prefixes.
+     * @return the root node of the prefix trie.
      */
-    private boolean isIncluded(String name){
-        boolean included = false;
+    private PrefixNode compile(){
+        PrefixNode root = new PrefixNode();
+        for(String exclude : exclusions){
+            root.insert(exclude, PrefixNode.EXCLUDE);
+        }
+
         for(String include : inclusions){
-            if(name.startsWith(include)){
-                included = true;
+            root.insert(include, PrefixNode.INCLUDE);
+        }
+        return root;
+    }
+
+    /**
+     * Discard the compiled prefix trie and all cached
+     * verdicts, because the prefixes have changed.
+     */
+    private void reset(){
+        compiled = null;
+        verdicts.clear();
+    }
+
+    /**
+     * A single node in the prefix trie, representing
+     * one character of one or more prefixes.
+     */
+    private static class PrefixNode {
+
+        static final byte NONE = 0;
+        static final byte EXCLUDE = 1;
+        static final byte INCLUDE = 2;
+
+        private final Map<Character,PrefixNode> children = new HashMap<>();
+        private byte verdict = NONE;
+
+        void insert(String prefix, byte prefixVerdict){
+            PrefixNode node = this;
+            for(int i = 0; i < prefix.length(); i++){
+                char c = prefix.charAt(i);
+                PrefixNode child = node.children.get(c);
+                if(child == null){
+                    child = new PrefixNode();
+                    node.children.put(c, child);
+                }
+                node = child;
             }
+            node.verdict = prefixVerdict;
         }
-        return included;
     }
 
 }
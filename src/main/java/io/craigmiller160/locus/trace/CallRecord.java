@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.trace;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>A single call read from a trace recorded by the
+ * CallTraceRecorder.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class CallRecord {
+
+    private final long timestamp;
+    private final long duration;
+    private final long threadId;
+    private final String threadName;
+    private final String component;
+    private final String operation;
+    private final String name;
+    private final boolean success;
+    private final List<String> argTypes;
+
+    CallRecord(long timestamp, long duration, long threadId, String threadName, String component,
+               String operation, String name, boolean success, List<String> argTypes){
+        this.timestamp = timestamp;
+        this.duration = duration;
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.component = component;
+        this.operation = operation;
+        this.name = name;
+        this.success = success;
+        this.argTypes = Collections.unmodifiableList(new ArrayList<>(argTypes));
+    }
+
+    /**
+     * Get the time the call started, relative to the start of the trace.
+     *
+     * @return the start time, in nanoseconds.
+     */
+    public long getTimestamp(){
+        return timestamp;
+    }
+
+    /**
+     * Get how long the call took when it was recorded.
+     *
+     * @return the duration, in nanoseconds.
+     */
+    public long getDuration(){
+        return duration;
+    }
+
+    public long getThreadId(){
+        return threadId;
+    }
+
+    public String getThreadName(){
+        return threadName;
+    }
+
+    public String getComponent(){
+        return component;
+    }
+
+    public String getOperation(){
+        return operation;
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public boolean isSuccess(){
+        return success;
+    }
+
+    /**
+     * Get the class names of the arguments the call was
+     * made with. Null arguments have a null type.
+     *
+     * @return the argument types.
+     */
+    public List<String> getArgTypes(){
+        return argTypes;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%s.%s(%s) | Name: %s | Thread: %s | Start: %d ns | Duration: %d ns | Success: %b",
+                component, operation, argTypes, name, threadName, timestamp, duration, success);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.trace;
+
+/**
+ * <p>The constants of the binary call trace format, shared
+ * by the CallTraceRecorder and CallTraceReader.</p>
+ *
+ * <p>A trace starts with a fixed size header, followed by
+ * records. Every record starts with a single type byte. String
+ * records assign an id to a String, and call records refer to
+ * Strings only by id, so each String is only written once. The
+ * type byte of a record is written after the rest of it, so a
+ * type of 0 marks the end of the complete records.</p>
+ *
+ * <pre>
+ * Header: magic (int) | version (int) | start time in ms (long) | end position (int) | padding (int)
+ * String: type (byte) | id (int) | length (short) | chars (char * length)
+ * Call:   type (byte) | timestamp (long) | duration (long) | thread id (long) | thread name id (int) |
+ *         component id (int) | operation id (int) | name id (int) | success (byte) |
+ *         argument count (byte) | argument type ids (int * argument count)
+ * </pre>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+final class CallTraceFormat {
+
+    static final int MAGIC = 0x4C435452;
+    static final int VERSION = 1;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int START_TIME_OFFSET = 8;
+    static final int END_POSITION_OFFSET = 16;
+    static final int HEADER_SIZE = 24;
+
+    static final byte TYPE_END = 0;
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_CALL = 2;
+
+    static final int STRING_HEADER_SIZE = 1 + 4 + 2;
+    static final int CALL_HEADER_SIZE = 1 + 8 + 8 + 8 + 4 + 4 + 4 + 4 + 1 + 1;
+
+    /**
+     * The id used for a null argument, which has no type.
+     */
+    static final int NULL_ID = -1;
+
+    /**
+     * The longest String that is written, longer Strings are cut off.
+     */
+    static final int MAX_STRING_LENGTH = 1024;
+
+    /**
+     * The most argument types that are written for a single call.
+     */
+    static final int MAX_ARGUMENTS = Byte.MAX_VALUE;
+
+    private CallTraceFormat(){}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.trace;
+
+import io.craigmiller160.locus.LocusException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.craigmiller160.locus.trace.CallTraceFormat.CALL_HEADER_SIZE;
+import static io.craigmiller160.locus.trace.CallTraceFormat.END_POSITION_OFFSET;
+import static io.craigmiller160.locus.trace.CallTraceFormat.HEADER_SIZE;
+import static io.craigmiller160.locus.trace.CallTraceFormat.MAGIC;
+import static io.craigmiller160.locus.trace.CallTraceFormat.MAGIC_OFFSET;
+import static io.craigmiller160.locus.trace.CallTraceFormat.STRING_HEADER_SIZE;
+import static io.craigmiller160.locus.trace.CallTraceFormat.TYPE_CALL;
+import static io.craigmiller160.locus.trace.CallTraceFormat.TYPE_STRING;
+import static io.craigmiller160.locus.trace.CallTraceFormat.VERSION;
+import static io.craigmiller160.locus.trace.CallTraceFormat.VERSION_OFFSET;
+
+/**
+ * <p>Reads a trace recorded by the CallTraceRecorder.</p>
+ *
+ * <p>Records are written by many threads at once, so a String
+ * may appear in the file after a call that refers to it. The
+ * trace is therefore read in two passes: first the Strings, then
+ * the calls. The calls are returned in the order they started.</p>
+ *
+ * <p>A trace that was never closed can still be read, up to the
+ * first record that was not completely written.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public class CallTraceReader {
+
+    private CallTraceReader(){}
+
+    /**
+     * Read all the calls in a trace file.
+     *
+     * @param traceFile the trace file.
+     * @return the calls, in the order they started.
+     * @throws IOException if unable to read the file.
+     * @throws LocusException if the file is not a valid trace.
+     */
+    public static List<CallRecord> read(File traceFile) throws IOException{
+        ByteBuffer buffer;
+        try(RandomAccessFile file = new RandomAccessFile(traceFile, "r")){
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        }
+
+        if(buffer.limit() < HEADER_SIZE || buffer.getInt(MAGIC_OFFSET) != MAGIC){
+            throw new LocusException(String.format("File is not a Locus call trace: %s", traceFile));
+        }
+
+        int version = buffer.getInt(VERSION_OFFSET);
+        if(version != VERSION){
+            throw new LocusException(String.format("Unsupported call trace version. Expected: %d | Actual: %d", VERSION, version));
+        }
+
+        int end = buffer.getInt(END_POSITION_OFFSET);
+        if(end <= 0 || end > buffer.limit()){
+            end = buffer.limit();
+        }
+
+        Map<Integer,String> strings = readStrings(buffer, end);
+        return readCalls(buffer, end, strings);
+    }
+
+    private static Map<Integer,String> readStrings(ByteBuffer buffer, int end){
+        Map<Integer,String> strings = new HashMap<>();
+        int pos = HEADER_SIZE;
+        while(pos < end){
+            byte type = buffer.get(pos);
+            if(type == TYPE_STRING){
+                int id = buffer.getInt(pos + 1);
+                int length = buffer.getShort(pos + 5);
+                char[] chars = new char[length];
+                for(int i = 0; i < length; i++){
+                    chars[i] = buffer.getChar(pos + STRING_HEADER_SIZE + i * 2);
+                }
+                strings.put(id, new String(chars));
+                pos += STRING_HEADER_SIZE + length * 2;
+            }
+            else if(type == TYPE_CALL){
+                pos += CALL_HEADER_SIZE + buffer.get(pos + 42) * 4;
+            }
+            else{
+                break;
+            }
+        }
+        return strings;
+    }
+
+    private static List<CallRecord> readCalls(ByteBuffer buffer, int end, Map<Integer,String> strings){
+        List<CallRecord> calls = new ArrayList<>();
+        int pos = HEADER_SIZE;
+        while(pos < end){
+            byte type = buffer.get(pos);
+            if(type == TYPE_CALL){
+                int offset = pos + 1;
+                int argCount = buffer.get(offset + 41);
+                List<String> argTypes = new ArrayList<>(argCount);
+                for(int i = 0; i < argCount; i++){
+                    argTypes.add(strings.get(buffer.getInt(offset + 42 + i * 4)));
+                }
+
+                calls.add(new CallRecord(
+                        buffer.getLong(offset),
+                        buffer.getLong(offset + 8),
+                        buffer.getLong(offset + 16),
+                        strings.get(buffer.getInt(offset + 24)),
+                        strings.get(buffer.getInt(offset + 28)),
+                        strings.get(buffer.getInt(offset + 32)),
+                        strings.get(buffer.getInt(offset + 36)),
+                        buffer.get(offset + 40) == 1,
+                        argTypes
+                ));
+                pos += CALL_HEADER_SIZE + argCount * 4;
+            }
+            else if(type == TYPE_STRING){
+                pos += STRING_HEADER_SIZE + buffer.getShort(pos + 5) * 2;
+            }
+            else{
+                //TYPE_END, or a record that was never finished
+                break;
+            }
+        }
+
+        //Records are reserved in order, but a call is only recorded once it finishes
+        sortByTimestamp(calls);
+        return calls;
+    }
+
+    private static void sortByTimestamp(List<CallRecord> calls){
+        Collections.sort(calls, new Comparator<CallRecord>() {
+            @Override
+            public int compare(CallRecord o1, CallRecord o2) {
+                return Long.compare(o1.getTimestamp(), o2.getTimestamp());
+            }
+        });
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.trace;
+
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.intercept.LocusInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.craigmiller160.locus.trace.CallTraceFormat.CALL_HEADER_SIZE;
+import static io.craigmiller160.locus.trace.CallTraceFormat.END_POSITION_OFFSET;
+import static io.craigmiller160.locus.trace.CallTraceFormat.HEADER_SIZE;
+import static io.craigmiller160.locus.trace.CallTraceFormat.MAGIC;
+import static io.craigmiller160.locus.trace.CallTraceFormat.MAGIC_OFFSET;
+import static io.craigmiller160.locus.trace.CallTraceFormat.MAX_ARGUMENTS;
+import static io.craigmiller160.locus.trace.CallTraceFormat.MAX_STRING_LENGTH;
+import static io.craigmiller160.locus.trace.CallTraceFormat.NULL_ID;
+import static io.craigmiller160.locus.trace.CallTraceFormat.START_TIME_OFFSET;
+import static io.craigmiller160.locus.trace.CallTraceFormat.STRING_HEADER_SIZE;
+import static io.craigmiller160.locus.trace.CallTraceFormat.TYPE_CALL;
+import static io.craigmiller160.locus.trace.CallTraceFormat.TYPE_STRING;
+import static io.craigmiller160.locus.trace.CallTraceFormat.VERSION;
+import static io.craigmiller160.locus.trace.CallTraceFormat.VERSION_OFFSET;
+
+/**
+ * <p>A LocusInterceptor that records every model, view, and
+ * controller invocation to a binary trace file, so the traffic
+ * of a real application can be replayed later with the
+ * CallTraceReplayer. Each call is recorded with its start time,
+ * thread, component, operation, property or controller name,
+ * argument types, duration, and whether it succeeded. Argument
+ * values are never recorded.</p>
+ *
+ * <p>The file is memory-mapped with a fixed capacity, and is only
+ * ever appended to. Each call reserves its space with a single
+ * atomic add, and is then written directly into the mapped memory,
+ * so recording never takes a lock or does any I/O on the calling
+ * thread. Strings are written once and then referred to by id,
+ * and a call is dropped if a String it refers to can't be written.
+ * Once the capacity is used up, calls are counted as dropped
+ * instead of being recorded.</p>
+ *
+ * <p>The recorder is installed like any other interceptor. For example:</p>
+ *
+ * <pre>
+ * CallTraceRecorder recorder = new CallTraceRecorder(new File("locus.trace"), 64 * 1024 * 1024);
+ * Locus.registry().interceptor(recorder);
+ * ...
+ * recorder.close();
+ * </pre>
+ *
+ * <p>The trace is only complete once the recorder is closed.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. Every
+ * record is written to its own reserved region of the file, and
+ * all shared state is held in atomic variables.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class CallTraceRecorder implements LocusInterceptor, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CallTraceRecorder.class);
+
+    /**
+     * Returned in place of a String id when the String couldn't be
+     * written, so the call that refers to it is dropped.
+     */
+    private static final int UNRECORDED_ID = -2;
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicInteger position = new AtomicInteger(HEADER_SIZE);
+    private final ConcurrentMap<String,Integer> stringIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextStringId = new AtomicInteger(0);
+    private final AtomicLong recordedCount = new AtomicLong(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+
+    /**
+     * The number of calls currently being written, so
+     * closing can wait for them to finish.
+     */
+    private final AtomicInteger activeWriters = new AtomicInteger(0);
+    private volatile boolean closed = false;
+
+    /**
+     * Create a new CallTraceRecorder, replacing the file if it already exists.
+     *
+     * @param traceFile the file to record the trace to.
+     * @param capacity the size of the file, in bytes.
+     * @throws IOException if unable to create or map the file.
+     */
+    public CallTraceRecorder(File traceFile, int capacity) throws IOException{
+        if(capacity <= HEADER_SIZE){
+            throw new IllegalArgumentException(String.format("Capacity must be greater than %d bytes", HEADER_SIZE));
+        }
+
+        this.capacity = capacity;
+        this.file = new RandomAccessFile(traceFile, "rw");
+        try{
+            file.setLength(0);
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        catch(IOException ex){
+            file.close();
+            throw ex;
+        }
+
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putLong(START_TIME_OFFSET, System.currentTimeMillis());
+    }
+
+    @Override
+    public Object intercept(LocusInvocation invocation) {
+        if(closed){
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try{
+            Object result = invocation.proceed();
+            success = true;
+            return result;
+        }
+        finally{
+            record(invocation, start, System.nanoTime() - start, success);
+        }
+    }
+
+    private void record(LocusInvocation invocation, long start, long duration, boolean success){
+        activeWriters.incrementAndGet();
+        try{
+            //Checked again, in case the recorder was closed while the call was running
+            if(closed){
+                return;
+            }
+
+            Thread thread = Thread.currentThread();
+            int threadNameId = getStringId(thread.getName());
+            int componentId = getStringId(invocation.getComponent());
+            int operationId = getStringId(invocation.getOperation());
+            int nameId = getStringId(invocation.getName());
+            if(threadNameId == UNRECORDED_ID || componentId == UNRECORDED_ID || operationId == UNRECORDED_ID || nameId == UNRECORDED_ID){
+                return;
+            }
+
+            Object[] args = invocation.getArgs();
+            int argCount = args != null ? Math.min(args.length, MAX_ARGUMENTS) : 0;
+            for(int i = 0; i < argCount; i++){
+                if(getArgTypeId(args[i]) == UNRECORDED_ID){
+                    return;
+                }
+            }
+
+            int pos = reserve(CALL_HEADER_SIZE + argCount * 4);
+            if(pos < 0){
+                return;
+            }
+
+            int offset = pos + 1;
+            buffer.putLong(offset, start - startNanos);
+            buffer.putLong(offset + 8, duration);
+            buffer.putLong(offset + 16, thread.getId());
+            buffer.putInt(offset + 24, threadNameId);
+            buffer.putInt(offset + 28, componentId);
+            buffer.putInt(offset + 32, operationId);
+            buffer.putInt(offset + 36, nameId);
+            buffer.put(offset + 40, success ? (byte) 1 : (byte) 0);
+            buffer.put(offset + 41, (byte) argCount);
+            offset += 42;
+            for(int i = 0; i < argCount; i++){
+                //Every type was recorded above, so this is only a lookup
+                buffer.putInt(offset + i * 4, getArgTypeId(args[i]));
+            }
+
+            //The type is written last, so the reader never sees a partial record
+            buffer.put(pos, TYPE_CALL);
+            recordedCount.incrementAndGet();
+        }
+        finally{
+            activeWriters.decrementAndGet();
+        }
+    }
+
+    private int getArgTypeId(Object arg){
+        return arg != null ? getStringId(arg.getClass().getName()) : NULL_ID;
+    }
+
+    /**
+     * Get the id of a String, writing it to the file first if it
+     * hasn't been written yet. An id is only cached once its record
+     * has been written, so a call never refers to a String that
+     * isn't in the file. If two threads write the same String at
+     * once, the id that isn't cached is simply never used.
+     *
+     * @param value the String.
+     * @return the id, or UNRECORDED_ID if there was no space left to write it.
+     */
+    private int getStringId(String value){
+        if(value == null){
+            return NULL_ID;
+        }
+
+        Integer id = stringIds.get(value);
+        if(id != null){
+            return id;
+        }
+
+        int length = Math.min(value.length(), MAX_STRING_LENGTH);
+        int pos = reserve(STRING_HEADER_SIZE + length * 2);
+        if(pos < 0){
+            return UNRECORDED_ID;
+        }
+
+        int newId = nextStringId.getAndIncrement();
+        buffer.putInt(pos + 1, newId);
+        buffer.putShort(pos + 5, (short) length);
+        for(int i = 0; i < length; i++){
+            buffer.putChar(pos + STRING_HEADER_SIZE + i * 2, value.charAt(i));
+        }
+        buffer.put(pos, TYPE_STRING);
+
+        id = stringIds.putIfAbsent(value, newId);
+        return id != null ? id : newId;
+    }
+
+    /**
+     * Reserve space for a record. Absolute puts to separate regions
+     * of a direct buffer don't interfere with each other, so once the
+     * space is reserved, the record can be written without a lock.
+     *
+     * @param length the length of the record.
+     * @return the position of the record, or -1 if there is no space left.
+     */
+    private int reserve(int length){
+        //Checked first, so the position can't overflow once the file is full
+        if(position.get() + length <= capacity){
+            int pos = position.getAndAdd(length);
+            if(pos + length <= capacity){
+                return pos;
+            }
+        }
+        droppedCount.incrementAndGet();
+        return -1;
+    }
+
+    /**
+     * Get the number of calls recorded so far.
+     *
+     * @return the number of recorded calls.
+     */
+    public long getRecordedCount(){
+        return recordedCount.get();
+    }
+
+    /**
+     * Get the number of records dropped because the
+     * file was full.
+     *
+     * @return the number of dropped records.
+     */
+    public long getDroppedCount(){
+        return droppedCount.get();
+    }
+
+    /**
+     * Stop recording, and write the end of the trace to the file.
+     * Calls still being recorded are waited for first.
+     *
+     * @throws IOException if unable to close the file.
+     */
+    @Override
+    public synchronized void close() throws IOException{
+        if(closed){
+            return;
+        }
+
+        closed = true;
+        while(activeWriters.get() > 0){
+            Thread.yield();
+        }
+
+        buffer.putInt(END_POSITION_OFFSET, Math.min(position.get(), capacity));
+        buffer.force();
+        file.close();
+        logger.debug("Closed call trace. Recorded: {} | Dropped: {}", recordedCount.get(), droppedCount.get());
+    }
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.trace;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.metrics.InMemoryLocusMetrics;
+import io.craigmiller160.locus.metrics.LatencyHistogram;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.metrics.OperationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.craigmiller160.locus.util.LocusConstants.CONTROLLER_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.DEFAULT_CONFIG_FILE;
+import static io.craigmiller160.locus.util.LocusConstants.MODEL_TYPE;
+
+/**
+ * <p>Replays a trace recorded by the CallTraceRecorder against
+ * the currently initialized framework, and measures how long
+ * each call takes.</p>
+ *
+ * <p>Model and controller calls are replayed. View calls are
+ * not, because they are made by the framework itself as a result
+ * of model calls, and so are repeated by replaying those. Each
+ * thread in the trace is replayed on its own thread, and each
+ * call is made at its original time, divided by the speed. A
+ * speed of 0 replays every call as fast as possible.</p>
+ *
+ * <p>Argument values are not recorded, only their types, so each
+ * argument is replaced with a default value of the same type: 0
+ * or false for primitive wrappers, an empty String, or a new
+ * instance from the type's no-argument constructor. If none of
+ * these are possible, null is used.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. A single
+ * replay can't be run more than once at a time, but the threads
+ * it starts share nothing but concurrent collections.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class CallTraceReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CallTraceReplayer.class);
+
+    private final List<CallRecord> calls;
+    private final double speed;
+    private final ConcurrentMap<String,Object> argValues = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new CallTraceReplayer.
+     *
+     * @param calls the calls to replay, in the order they started.
+     * @param speed how much faster than the original to replay the calls, or 0 for as fast as possible.
+     */
+    public CallTraceReplayer(List<CallRecord> calls, double speed){
+        if(speed < 0){
+            throw new IllegalArgumentException("Speed can't be negative");
+        }
+        this.calls = calls;
+        this.speed = speed;
+    }
+
+    /**
+     * Replay the calls, waiting for all of them to finish.
+     *
+     * @return the latencies of the replayed calls.
+     * @throws InterruptedException if interrupted while waiting for the calls to finish.
+     */
+    public InMemoryLocusMetrics replay() throws InterruptedException{
+        Map<Long,List<CallRecord>> callsByThread = new LinkedHashMap<>();
+        for(CallRecord call : calls){
+            if(isReplayable(call)){
+                List<CallRecord> threadCalls = callsByThread.get(call.getThreadId());
+                if(threadCalls == null){
+                    threadCalls = new ArrayList<>();
+                    callsByThread.put(call.getThreadId(), threadCalls);
+                }
+                threadCalls.add(call);
+            }
+        }
+
+        final InMemoryLocusMetrics metrics = new InMemoryLocusMetrics();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        final long[] startNanos = new long[1];
+        for(final List<CallRecord> threadCalls : callsByThread.values()){
+            Thread thread = new Thread("Replay-" + threadCalls.get(0).getThreadName()){
+                @Override
+                public void run(){
+                    try{
+                        startLatch.await();
+                    }
+                    catch(InterruptedException ex){
+                        return;
+                    }
+
+                    for(CallRecord call : threadCalls){
+                        waitUntil(startNanos[0], call.getTimestamp());
+                        execute(call, metrics);
+                    }
+                }
+            };
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        logger.debug("Replaying calls on {} threads at speed {}", threads.size(), speed);
+        //Written before the latch is released, so every thread sees it
+        startNanos[0] = System.nanoTime();
+        startLatch.countDown();
+        for(Thread thread : threads){
+            thread.join();
+        }
+        return metrics;
+    }
+
+    private boolean isReplayable(CallRecord call){
+        if(MODEL_TYPE.equals(call.getComponent())){
+            return true;
+        }
+        return CONTROLLER_TYPE.equals(call.getComponent()) && LocusMetrics.CREATE.equals(call.getOperation());
+    }
+
+    private void waitUntil(long startNanos, long timestamp){
+        if(speed == 0){
+            return;
+        }
+
+        long target = startNanos + (long) (timestamp / speed);
+        long remaining;
+        while((remaining = target - System.nanoTime()) > 0){
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private void execute(CallRecord call, InMemoryLocusMetrics metrics){
+        Object[] args = getArgs(call);
+        String operation = call.getOperation();
+        long start = System.nanoTime();
+        boolean success = false;
+        try{
+            if(CONTROLLER_TYPE.equals(call.getComponent())){
+                Locus.controller.getController(call.getName(), args);
+            }
+            else if(LocusMetrics.SET.equals(operation)){
+                Locus.model.setValue(call.getName(), args);
+            }
+            else if(LocusMetrics.ADD.equals(operation)){
+                Locus.model.addValue(call.getName(), args);
+            }
+            else if(LocusMetrics.REMOVE.equals(operation)){
+                Locus.model.removeValue(call.getName(), args);
+            }
+            else{
+                Locus.model.getValue(call.getName(), args);
+            }
+            success = true;
+        }
+        catch(RuntimeException ex){
+            logger.trace("Replayed call failed: {}", call, ex);
+        }
+        finally{
+            metrics.record(call.getComponent(), operation, call.getName(), System.nanoTime() - start, success);
+        }
+    }
+
+    private Object[] getArgs(CallRecord call){
+        List<String> argTypes = call.getArgTypes();
+        Object[] args = new Object[argTypes.size()];
+        for(int i = 0; i < args.length; i++){
+            args[i] = getArgValue(argTypes.get(i));
+        }
+        return args;
+    }
+
+    private Object getArgValue(String typeName){
+        if(typeName == null){
+            return null;
+        }
+
+        Object value = argValues.get(typeName);
+        if(value == null && !argValues.containsKey(typeName)){
+            value = createArgValue(typeName);
+            argValues.put(typeName, value);
+        }
+        return value;
+    }
+
+    private static Object createArgValue(String typeName){
+        switch(typeName){
+            case "java.lang.String":
+                return "";
+            case "java.lang.Boolean":
+                return false;
+            case "java.lang.Character":
+                return '\0';
+            case "java.lang.Byte":
+                return (byte) 0;
+            case "java.lang.Short":
+                return (short) 0;
+            case "java.lang.Integer":
+                return 0;
+            case "java.lang.Long":
+                return 0L;
+            case "java.lang.Float":
+                return 0F;
+            case "java.lang.Double":
+                return 0D;
+            default:
+                try{
+                    return Class.forName(typeName, true, Thread.currentThread().getContextClassLoader()).newInstance();
+                }
+                catch(ClassNotFoundException | InstantiationException | IllegalAccessException | LinkageError ex){
+                    logger.debug("Unable to create replay argument of type {}, using null", typeName);
+                    return null;
+                }
+        }
+    }
+
+    /**
+     * Write a report of the latencies of a replay, one
+     * line per operation, with times in microseconds.
+     *
+     * @param metrics the latencies of the replay.
+     * @return the report.
+     */
+    public static String report(InMemoryLocusMetrics metrics){
+        StringBuilder builder = new StringBuilder(String.format("%-40s %10s %8s %10s %10s %10s %10s%n",
+                "Operation", "Count", "Failures", "p50 (us)", "p90 (us)", "p99 (us)", "Max (us)"));
+        for(OperationMetrics operation : metrics.getAllMetrics()){
+            LatencyHistogram latencies = operation.getLatencies();
+            builder.append(String.format("%-40s %10d %8d %10d %10d %10d %10d%n",
+                    operation.getComponent() + " " + operation.getOperation() + " " + operation.getName(),
+                    operation.getCount(), operation.getFailureCount(),
+                    toMicros(latencies.getValueAtPercentile(50)), toMicros(latencies.getValueAtPercentile(90)),
+                    toMicros(latencies.getValueAtPercentile(99)), toMicros(latencies.getMax())));
+        }
+        return builder.toString();
+    }
+
+    private static long toMicros(long nanos){
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * Initialize the Locus Framework, replay a trace against
+     * it, and print the latencies of the replayed calls.
+     *
+     * @param args the path to the trace file, the path to the configuration
+     *             file on the classpath, which defaults to locus.xml, and
+     *             the speed, which defaults to 1.
+     * @throws IOException if unable to read the trace file.
+     * @throws InterruptedException if interrupted while replaying.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException{
+        if(args.length == 0){
+            System.err.println("Usage: CallTraceReplayer <trace file> [config file] [speed]");
+            return;
+        }
+
+        File traceFile = new File(args[0]);
+        String configFilePath = args.length > 1 ? args[1] : DEFAULT_CONFIG_FILE;
+        double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+
+        Locus.initialize(configFilePath, true);
+        List<CallRecord> calls = CallTraceReader.read(traceFile);
+        logger.info("Replaying {} calls from {}", calls.size(), traceFile.getAbsolutePath());
+
+        CallTraceReplayer replayer = new CallTraceReplayer(calls, speed);
+        System.out.print(report(replayer.replay()));
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * <p>An abstract implementation of ConfigurationReader, with
+ * the parsing of attribute values shared by all of the
+ * implementations, so they all accept the same values.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class has no mutable state, and is therefore
+ * completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public abstract class AbstractConfigurationReader implements ConfigurationReader{
+
+    /**
+     * Parse the value of the UI Thread budget attribute.
+     *
+     * @param budget the value of the attribute.
+     * @return the budget, in milliseconds.
+     * @throws LocusParsingException if the value is not a non-negative number.
+     */
+    protected long parseBudget(String budget){
+        try{
+            long value = Long.parseLong(budget.trim());
+            if(value >= 0){
+                return value;
+            }
+        }
+        catch(NumberFormatException ex){
+            //The exception below covers this case
+        }
+        throw new LocusParsingException(String.format("Invalid UI Thread budget: \"%s\"", budget));
+    }
+
+}
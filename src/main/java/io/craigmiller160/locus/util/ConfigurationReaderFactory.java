@@ -24,11 +24,15 @@ import javax.annotation.concurrent.ThreadSafe;
  * It allows the reader's implementation to be
  * abstracted away from its API.</p>
  *
+ * <p>By default, the StAXConfigurationReader is used, which
+ * reads the configuration file in a single streaming pass. The
+ * DOMConfigurationReader is still available from this factory.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class has no mutable
  * state and is therefore completely thread-safe.</p>
  *
  * @author craigmiller
- * @version 1.0
+ * @version 1.5
  */
 @ThreadSafe
 public class ConfigurationReaderFactory {
@@ -45,12 +49,35 @@ public class ConfigurationReaderFactory {
     private ConfigurationReaderFactory(){}
 
     /**
-     * Create a new implementation of ConfigurationReader.
+     * Create a new implementation of ConfigurationReader. The
+     * reader returned does not validate the configuration file
+     * against the schema.
      *
      * @return an implementation of ConfigurationReader.
      */
     public ConfigurationReader newConfigurationReader(){
+        return newConfigurationReader(false);
+    }
+
+    /**
+     * Create a new implementation of ConfigurationReader, with
+     * the option to validate the configuration file against the
+     * schema before reading it.
+     *
+     * @param validate true if the configuration file should be validated.
+     * @return an implementation of ConfigurationReader.
+     */
+    public ConfigurationReader newConfigurationReader(boolean validate){
+        return new StAXConfigurationReader(validate);
+    }
+
+    /**
+     * Create a new DOM-based implementation of ConfigurationReader.
+     *
+     * @return the DOM-based implementation of ConfigurationReader.
+     */
+    public ConfigurationReader newDOMConfigurationReader(){
         return new DOMConfigurationReader();
     }
-    
+
 }
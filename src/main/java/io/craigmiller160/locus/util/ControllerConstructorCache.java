@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.utils.reflect.ObjectCreator;
+import io.craigmiller160.utils.reflect.ParamUtils;
+import io.craigmiller160.utils.reflect.ReflectiveException;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>A cache of the constructors used to create controllers,
+ * so a controller can be created without searching its
+ * constructors every time.</p>
+ *
+ * <p>Constructors are cached by controller name and by the
+ * types of the instantiation parameters, with null parameters
+ * matching only other null parameters. A lookup compares the
+ * parameters against the cached types directly, so a cache hit
+ * allocates nothing but the new controller. Only public, non-varargs
+ * constructors are cached, and when several accept the parameters,
+ * the most specific one is chosen, the way the compiler would. Anything else, such as a call that
+ * matches no cached constructor and can't be resolved, falls back
+ * to ObjectCreator, exactly as if there was no cache.</p>
+ *
+ * <p>Constructors are resolved lazily, the first time a set of
+ * parameter types is used, except for the no-argument constructor,
+ * which can be resolved ahead of time with prewarm().</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. The constructors
+ * for each controller are held in an array that is replaced, never
+ * modified, whenever a constructor is added, so lookups never lock.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class ControllerConstructorCache {
+
+    /**
+     * The most parameter signatures cached for a single controller.
+     * Beyond this, constructors are still resolved, but not cached.
+     */
+    static final int MAX_SIGNATURES = 16;
+
+    private final ConcurrentMap<String,CachedConstructors> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new instance of a controller.
+     *
+     * @param name the name of the controller.
+     * @param controllerType the class type of the controller.
+     * @param params the parameters to pass to the constructor.
+     * @return the new controller.
+     * @throws ReflectiveException if no constructor matches the parameters, or the constructor fails.
+     */
+    public Object newInstance(String name, Class<?> controllerType, Object... params) throws ReflectiveException{
+        if(params == null){
+            return ObjectCreator.instantiateClassWithParams(controllerType, params);
+        }
+
+        CachedConstructors cached = constructors.get(name);
+        if(cached != null && cached.controllerType == controllerType){
+            for(CachedConstructor constructor : cached.entries){
+                if(constructor.matches(params)){
+                    return constructor.newInstance(params);
+                }
+            }
+        }
+
+        CachedConstructor constructor = resolve(controllerType, params);
+        if(constructor == null){
+            return ObjectCreator.instantiateClassWithParams(controllerType, params);
+        }
+
+        add(name, controllerType, constructor);
+        return constructor.newInstance(params);
+    }
+
+    /**
+     * Resolve and cache the no-argument constructor
+     * of a controller, if it has one.
+     *
+     * @param name the name of the controller.
+     * @param controllerType the class type of the controller.
+     */
+    public void prewarm(String name, Class<?> controllerType){
+        CachedConstructor constructor = resolve(controllerType);
+        if(constructor != null){
+            add(name, controllerType, constructor);
+        }
+    }
+
+    /**
+     * Remove all constructors cached for a controller.
+     *
+     * @param name the name of the controller.
+     */
+    public void remove(String name){
+        constructors.remove(name);
+    }
+
+    /**
+     * Remove all cached constructors.
+     */
+    public void clear(){
+        constructors.clear();
+    }
+
+    /**
+     * Get the number of constructors cached for a controller.
+     *
+     * @param name the name of the controller.
+     * @return the number of cached constructors.
+     */
+    public int getCachedCount(String name){
+        CachedConstructors cached = constructors.get(name);
+        return cached != null ? cached.entries.length : 0;
+    }
+
+    private void add(String name, Class<?> controllerType, CachedConstructor constructor){
+        while(true){
+            CachedConstructors cached = constructors.get(name);
+            if(cached == null || cached.controllerType != controllerType){
+                CachedConstructors newCached = new CachedConstructors(controllerType, new CachedConstructor[]{constructor});
+                if(cached == null ? constructors.putIfAbsent(name, newCached) == null : constructors.replace(name, cached, newCached)){
+                    return;
+                }
+                continue;
+            }
+
+            if(cached.contains(constructor) || cached.entries.length >= MAX_SIGNATURES){
+                return;
+            }
+
+            CachedConstructor[] entries = Arrays.copyOf(cached.entries, cached.entries.length + 1);
+            entries[entries.length - 1] = constructor;
+            if(constructors.replace(name, cached, new CachedConstructors(controllerType, entries))){
+                return;
+            }
+        }
+    }
+
+    /**
+     * Find the most specific public constructor that accepts the
+     * parameters, the way the compiler selects an overload. If no
+     * single constructor is more specific than all the others that
+     * accept the parameters, the choice is ambiguous, and it is
+     * left to ObjectCreator without being cached.
+     *
+     * @param controllerType the class type of the controller.
+     * @param params the parameters.
+     * @return the constructor, or null if none could be resolved.
+     */
+    private static CachedConstructor resolve(Class<?> controllerType, Object... params){
+        if(Modifier.isAbstract(controllerType.getModifiers())){
+            return null;
+        }
+
+        List<Constructor<?>> accepted = new ArrayList<>();
+        Constructor<?> selected = null;
+        for(Constructor<?> constructor : controllerType.getConstructors()){
+            if(!constructor.isVarArgs() && accepts(constructor.getParameterTypes(), params)){
+                accepted.add(constructor);
+                if(selected == null || isMoreSpecific(constructor.getParameterTypes(), selected.getParameterTypes())){
+                    selected = constructor;
+                }
+            }
+        }
+
+        if(selected == null){
+            return null;
+        }
+
+        //The order of getConstructors() is unspecified, so the selection must beat every other candidate
+        for(Constructor<?> constructor : accepted){
+            if(constructor != selected && !isMoreSpecific(selected.getParameterTypes(), constructor.getParameterTypes())){
+                return null;
+            }
+        }
+
+        try{
+            //Skips the access check on every call, and allows public constructors of non-public classes
+            selected.setAccessible(true);
+        }
+        catch(SecurityException ex){
+            return null;
+        }
+        return new CachedConstructor(selected, params);
+    }
+
+    private static boolean accepts(Class<?>[] paramTypes, Object[] params){
+        if(paramTypes.length != params.length){
+            return false;
+        }
+
+        for(int i = 0; i < paramTypes.length; i++){
+            if(!accepts(paramTypes[i], params[i])){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if one set of parameter types is strictly more
+     * specific than another, meaning every parameter of the first
+     * can be assigned to the matching parameter of the second.
+     *
+     * @param paramTypes the first set of parameter types.
+     * @param otherParamTypes the second set of parameter types.
+     * @return true if the first set is strictly more specific.
+     */
+    private static boolean isMoreSpecific(Class<?>[] paramTypes, Class<?>[] otherParamTypes){
+        boolean different = false;
+        for(int i = 0; i < paramTypes.length; i++){
+            if(!otherParamTypes[i].isAssignableFrom(paramTypes[i])){
+                return false;
+            }
+            different |= paramTypes[i] != otherParamTypes[i];
+        }
+        return different;
+    }
+
+    private static boolean accepts(Class<?> paramType, Object param){
+        if(param == null){
+            return !paramType.isPrimitive();
+        }
+        return paramType.isAssignableFrom(param.getClass()) || ParamUtils.isAcceptablePrimitive(paramType, param.getClass());
+    }
+
+    /**
+     * The constructors cached for a single controller type.
+     */
+    private static class CachedConstructors {
+        private final Class<?> controllerType;
+        private final CachedConstructor[] entries;
+
+        CachedConstructors(Class<?> controllerType, CachedConstructor[] entries){
+            this.controllerType = controllerType;
+            this.entries = entries;
+        }
+
+        boolean contains(CachedConstructor constructor){
+            for(CachedConstructor entry : entries){
+                if(Arrays.equals(entry.argTypes, constructor.argTypes)){
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A constructor, and the parameter types it was resolved for.
+     */
+    private static class CachedConstructor {
+        private final Constructor<?> constructor;
+
+        /**
+         * The class of each parameter, or null for a null parameter.
+         */
+        private final Class<?>[] argTypes;
+
+        CachedConstructor(Constructor<?> constructor, Object[] params){
+            this.constructor = constructor;
+            this.argTypes = new Class<?>[params.length];
+            for(int i = 0; i < params.length; i++){
+                argTypes[i] = params[i] != null ? params[i].getClass() : null;
+            }
+        }
+
+        boolean matches(Object[] params){
+            if(params.length != argTypes.length){
+                return false;
+            }
+
+            for(int i = 0; i < params.length; i++){
+                Class<?> paramType = params[i] != null ? params[i].getClass() : null;
+                if(paramType != argTypes[i]){
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Object newInstance(Object[] params){
+            try{
+                return constructor.newInstance(params);
+            }
+            catch(InvocationTargetException ex){
+                throw new ReflectiveException(String.format("Constructor of %s threw an exception", constructor.getDeclaringClass().getName()), ex.getCause());
+            }
+            catch(InstantiationException | IllegalAccessException | IllegalArgumentException ex){
+                throw new ReflectiveException(String.format("Unable to invoke constructor of %s", constructor.getDeclaringClass().getName()), ex);
+            }
+        }
+    }
+
+}
@@ -43,7 +43,7 @@ import java.io.InputStream;
  * @version 1.2
  */
 @ThreadSafe
-public class DOMConfigurationReader implements ConfigurationReader{
+public class DOMConfigurationReader extends AbstractConfigurationReader{
 
     private static final Logger logger = LoggerFactory.getLogger(DOMConfigurationReader.class);
 
@@ -64,9 +64,12 @@ public class DOMConfigurationReader implements ConfigurationReader{
     private static final String INCLUSION_NODE = "inclusion";
     private static final String SCANNING_FILTERS_NODE = "scanning-filters";
     private static final String UI_THREAD_EXECUTOR_NODE = "uiThreadExecutor";
+    private static final String INTERCEPTOR_NODE = "interceptor";
     private static final String PACKAGE_NAME_ATTR = "name";
     private static final String PREFIX_ATTR = "prefix";
     private static final String CLASS_ATTR = "class";
+    private static final String SCANNER_ATTR = "scanner";
+    private static final String BUDGET_ATTR = "budget";
 
     /**
      * The DOMConfigurationReader should be created by the ConfigurationReaderFactory
@@ -116,6 +119,13 @@ public class DOMConfigurationReader implements ConfigurationReader{
                 Element uiThreadElement = (Element) uiThreadNodes.item(0);
                 parseUIThreadElement(uiThreadElement, locusConfig);
             }
+
+            //Get all the "interceptor" elements, and parse them
+            NodeList interceptorNodes = rootElement.getElementsByTagNameNS(NAMESPACE, INTERCEPTOR_NODE);
+            if(interceptorNodes.getLength() > 0){
+                logger.debug("Reading configuration for interceptors");
+                parseInterceptorNodes(interceptorNodes, locusConfig);
+            }
         }
         catch(ParserConfigurationException | SAXException | IOException ex){
             throw new LocusParsingException("Unable tp parse Locus configuration file", ex);
@@ -138,6 +148,30 @@ public class DOMConfigurationReader implements ConfigurationReader{
             logger.trace("Adding UIThreadExecutor class name: {}", clazz.getTextContent());
             locusConfiguration.setUIThreadExecutorClassName(clazz.getTextContent());
         }
+
+        Node budget = attrs.getNamedItem(BUDGET_ATTR);
+        if(budget != null){
+            logger.trace("Setting UI Thread budget: {}ms", budget.getTextContent());
+            locusConfiguration.setUIThreadBudget(parseBudget(budget.getTextContent()));
+        }
+    }
+
+    /**
+     * Parse the XML nodes containing the names of the
+     * LocusInterceptor classes.
+     *
+     * @param interceptorNodes the XML nodes to parse.
+     * @param locusConfig the LocusConfiguration.
+     */
+    private void parseInterceptorNodes(NodeList interceptorNodes, LocusConfiguration locusConfig){
+        for(int i = 0; i < interceptorNodes.getLength(); i++){
+            Node node = interceptorNodes.item(i);
+            Node clazz = node.getAttributes().getNamedItem(CLASS_ATTR);
+            if(clazz != null){
+                logger.trace("Adding LocusInterceptor class name: {}", clazz.getTextContent());
+                locusConfig.addInterceptorClassName(clazz.getTextContent());
+            }
+        }
     }
 
     /**
@@ -161,6 +195,13 @@ public class DOMConfigurationReader implements ConfigurationReader{
      * @param locusConfig the LocusConfiguration.
      */
     private void parsePackagesElement(Element packagesElement, LocusConfiguration locusConfig){
+        //Get the type of scanner to use, if one is specified
+        if(packagesElement.hasAttribute(SCANNER_ATTR)){
+            String scannerType = packagesElement.getAttribute(SCANNER_ATTR);
+            logger.trace("Setting package scanner type: {}", scannerType);
+            locusConfig.setPackageScannerType(scannerType);
+        }
+
         //Get the "package" nodes, and parse them
         NodeList packageNodes = packagesElement.getElementsByTagNameNS(NAMESPACE, PACKAGE_NODE);
         parsePackageNodes(packageNodes, locusConfig);
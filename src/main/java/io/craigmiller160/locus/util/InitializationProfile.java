@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>An immutable breakdown of the time spent initializing
+ * the Locus Framework. It contains the time spent in each
+ * phase of initialization, and the slowest individual classes
+ * and methods that were parsed.</p>
+ *
+ * <p>The phases do not overlap, so the sum of all the phase
+ * times is the portion of the total time that was accounted for.
+ * All times are in nanoseconds.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class InitializationProfile {
+
+    /**
+     * The phase of reading the configuration file.
+     */
+    public static final String PHASE_CONFIGURATION = "Configuration";
+
+    /**
+     * The phase of finding and loading classes to parse,
+     * including package indexing.
+     */
+    public static final String PHASE_SCANNING = "Scanning";
+
+    /**
+     * The phase of parsing the methods of classes.
+     */
+    public static final String PHASE_PARSING = "Parsing";
+
+    /**
+     * The phase of instantiating model classes.
+     */
+    public static final String PHASE_MODEL_CONSTRUCTION = "ModelConstruction";
+
+    /**
+     * The phase of validating that methods and controllers are unique.
+     */
+    public static final String PHASE_VALIDATION = "Validation";
+
+    private final long totalTime;
+    private final Map<String,Long> phaseTimes;
+    private final int classCount;
+    private final int methodCount;
+    private final List<Timing> slowestClasses;
+    private final List<Timing> slowestMethods;
+
+    /**
+     * Create a new InitializationProfile. This should only
+     * be done by the InitializationProfiler.
+     *
+     * @param totalTime the total initialization time.
+     * @param phaseTimes the time for each phase.
+     * @param classCount the number of classes parsed.
+     * @param methodCount the number of methods parsed.
+     * @param slowestClasses the slowest classes, slowest first.
+     * @param slowestMethods the slowest methods, slowest first.
+     */
+    InitializationProfile(long totalTime, Map<String,Long> phaseTimes, int classCount, int methodCount,
+                          List<Timing> slowestClasses, List<Timing> slowestMethods){
+        this.totalTime = totalTime;
+        this.phaseTimes = Collections.unmodifiableMap(new LinkedHashMap<>(phaseTimes));
+        this.classCount = classCount;
+        this.methodCount = methodCount;
+        this.slowestClasses = Collections.unmodifiableList(new ArrayList<>(slowestClasses));
+        this.slowestMethods = Collections.unmodifiableList(new ArrayList<>(slowestMethods));
+    }
+
+    /**
+     * Get the total time of the initialization.
+     *
+     * @return the total time, in nanoseconds.
+     */
+    public long getTotalTime(){
+        return totalTime;
+    }
+
+    /**
+     * Get the time spent in each phase of initialization,
+     * with the phase names as keys.
+     *
+     * @return the phase times, in nanoseconds.
+     */
+    public Map<String,Long> getPhaseTimes(){
+        return phaseTimes;
+    }
+
+    /**
+     * Get the time spent in a single phase of initialization.
+     *
+     * @param phase the name of the phase.
+     * @return the time of the phase, in nanoseconds.
+     */
+    public long getPhaseTime(String phase){
+        Long time = phaseTimes.get(phase);
+        return time != null ? time : 0;
+    }
+
+    /**
+     * Get the number of classes that were parsed.
+     *
+     * @return the number of classes.
+     */
+    public int getClassCount(){
+        return classCount;
+    }
+
+    /**
+     * Get the number of methods that were parsed and
+     * added to the storage.
+     *
+     * @return the number of methods.
+     */
+    public int getMethodCount(){
+        return methodCount;
+    }
+
+    /**
+     * Get the slowest classes to parse, slowest first.
+     *
+     * @return the slowest classes.
+     */
+    public List<Timing> getSlowestClasses(){
+        return slowestClasses;
+    }
+
+    /**
+     * Get the slowest methods to parse, slowest first.
+     *
+     * @return the slowest methods.
+     */
+    public List<Timing> getSlowestMethods(){
+        return slowestMethods;
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        builder.append("Total: ").append(toMillis(totalTime)).append("ms");
+        for(Map.Entry<String,Long> entry : phaseTimes.entrySet()){
+            builder.append(" | ").append(entry.getKey()).append(": ").append(toMillis(entry.getValue())).append("ms");
+        }
+        builder.append(" | Classes: ").append(classCount).append(" | Methods: ").append(methodCount);
+        return builder.toString();
+    }
+
+    private static double toMillis(long nanos){
+        return nanos / 1000L / 1000.0;
+    }
+
+    /**
+     * The time spent on a single named element, such
+     * as a class or a method.
+     */
+    @ThreadSafe
+    public static class Timing {
+
+        private final String name;
+        private final long time;
+
+        Timing(String name, long time){
+            this.name = name;
+            this.time = time;
+        }
+
+        /**
+         * Get the name of the element that was timed.
+         *
+         * @return the name.
+         */
+        public String getName(){
+            return name;
+        }
+
+        /**
+         * Get the time spent on the element.
+         *
+         * @return the time, in nanoseconds.
+         */
+        public long getTime(){
+            return time;
+        }
+
+        @Override
+        public String toString(){
+            return name + ": " + toMillis(time) + "ms";
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_CONFIGURATION;
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_MODEL_CONSTRUCTION;
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_PARSING;
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_SCANNING;
+import static io.craigmiller160.locus.util.InitializationProfile.PHASE_VALIDATION;
+
+/**
+ * <p>Records timings during the initialization of the Locus
+ * Framework, and produces an InitializationProfile from them.
+ * Only the slowest classes and methods are kept, so the memory
+ * used by this class does not grow with the number of classes
+ * scanned.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. All its
+ * mutable state is synchronized on the intrinsic lock of this
+ * class.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class InitializationProfiler {
+
+    /**
+     * The default number of slowest classes and methods to keep.
+     */
+    public static final int DEFAULT_TOP_COUNT = 10;
+
+    private static final Comparator<Entry> FASTEST_FIRST = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry e1, Entry e2) {
+            return e1.time < e2.time ? -1 : (e1.time == e2.time ? 0 : 1);
+        }
+    };
+
+    private final int topCount;
+    private final Map<String,Long> phaseTimes = new LinkedHashMap<>();
+    private final PriorityQueue<Entry> slowestClasses;
+    private final PriorityQueue<Entry> slowestMethods;
+    private int classCount = 0;
+    private int methodCount = 0;
+    private final long startTime;
+    private long endTime = -1;
+
+    /**
+     * Create a new InitializationProfiler that keeps the
+     * default number of slowest classes and methods. The
+     * total time starts when this is created.
+     */
+    public InitializationProfiler(){
+        this(DEFAULT_TOP_COUNT);
+    }
+
+    /**
+     * Create a new InitializationProfiler that keeps the
+     * specified number of slowest classes and methods. The
+     * total time starts when this is created.
+     *
+     * @param topCount the number of slowest classes and methods to keep.
+     */
+    public InitializationProfiler(int topCount){
+        this.topCount = topCount;
+        this.slowestClasses = new PriorityQueue<>(topCount + 1, FASTEST_FIRST);
+        this.slowestMethods = new PriorityQueue<>(topCount + 1, FASTEST_FIRST);
+        this.startTime = System.nanoTime();
+
+        //All phases are present in the profile, even if no time was recorded for them
+        phaseTimes.put(PHASE_CONFIGURATION, 0L);
+        phaseTimes.put(PHASE_SCANNING, 0L);
+        phaseTimes.put(PHASE_PARSING, 0L);
+        phaseTimes.put(PHASE_MODEL_CONSTRUCTION, 0L);
+        phaseTimes.put(PHASE_VALIDATION, 0L);
+    }
+
+    /**
+     * Add time spent in the specified phase.
+     *
+     * @param phase the name of the phase.
+     * @param time the time, in nanoseconds.
+     */
+    public synchronized void addPhaseTime(String phase, long time){
+        Long current = phaseTimes.get(phase);
+        phaseTimes.put(phase, current != null ? current + time : time);
+    }
+
+    /**
+     * Add the time spent parsing a class.
+     *
+     * @param clazz the class.
+     * @param time the time, in nanoseconds.
+     */
+    public synchronized void addClassTime(Class<?> clazz, long time){
+        classCount++;
+        offer(slowestClasses, clazz, time);
+    }
+
+    /**
+     * Add the time spent parsing a method.
+     *
+     * @param method the method.
+     * @param time the time, in nanoseconds.
+     */
+    public synchronized void addMethodTime(Method method, long time){
+        methodCount++;
+        offer(slowestMethods, method, time);
+    }
+
+    /**
+     * Mark the end of initialization. Until this is called,
+     * the total time is measured up to the present.
+     */
+    public synchronized void finish(){
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * Get an immutable InitializationProfile of all the timings
+     * recorded so far.
+     *
+     * @return the InitializationProfile.
+     */
+    public synchronized InitializationProfile getProfile(){
+        long totalTime = (endTime > 0 ? endTime : System.nanoTime()) - startTime;
+        return new InitializationProfile(totalTime, phaseTimes, classCount, methodCount,
+                toTimings(slowestClasses), toTimings(slowestMethods));
+    }
+
+    private void offer(PriorityQueue<Entry> queue, Object source, long time){
+        //Skip creating an entry at all if it wouldn't make the cut
+        if(topCount <= 0 || (queue.size() >= topCount && queue.peek().time >= time)){
+            return;
+        }
+
+        queue.offer(new Entry(source, time));
+        if(queue.size() > topCount){
+            queue.poll();
+        }
+    }
+
+    private static List<InitializationProfile.Timing> toTimings(PriorityQueue<Entry> queue){
+        List<Entry> entries = new ArrayList<>(queue);
+        Collections.sort(entries, Collections.reverseOrder(FASTEST_FIRST));
+
+        List<InitializationProfile.Timing> timings = new ArrayList<>(entries.size());
+        for(Entry entry : entries){
+            String name = entry.source instanceof Class ? ((Class<?>) entry.source).getName() : entry.source.toString();
+            timings.add(new InitializationProfile.Timing(name, entry.time));
+        }
+        return timings;
+    }
+
+    /**
+     * A class or method with its time, before being
+     * converted into a Timing.
+     */
+    private static class Entry {
+        private final Object source;
+        private final long time;
+
+        Entry(Object source, long time){
+            this.source = source;
+            this.time = time;
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * <p>Writes a LocusSnapshot as a single JSON object, for
+ * tools that need to read the Locus configuration. For example:</p>
+ *
+ * <pre>
+ * {"timestamp":1476835200000,"uiThreadExecutor":"...","liveViewInstanceCount":2,...,
+ *  "modelProperties":[{"name":"Field","setters":["..."],"getters":[],"adders":[],"removers":[]}],
+ *  "viewProperties":[...],"viewInstances":[{"type":"...","instances":["...@1b6d3586"],"collectedCount":0}],
+ *  "controllers":[{"name":"...","type":"..."}],"controllerCallbacks":[{"controller":"...","callback":"..."}]}
+ * </pre>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is stateless, and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class JsonLocusSnapshotWriter implements LocusSnapshotWriter {
+
+    @Override
+    public void write(LocusSnapshot snapshot, Writer writer) throws IOException {
+        writer.write("{\"timestamp\":");
+        writer.write(Long.toString(snapshot.getTimestamp()));
+        writer.write(",\"uiThreadExecutor\":");
+        writeString(writer, snapshot.getUIThreadExecutorType());
+        writer.write(",\"liveViewInstanceCount\":");
+        writer.write(Integer.toString(snapshot.getLiveViewInstanceCount()));
+        writer.write(",\"collectedViewInstanceCount\":");
+        writer.write(Long.toString(snapshot.getCollectedViewInstanceCount()));
+        writer.write(",\"pendingUITaskCount\":");
+        writer.write(Integer.toString(snapshot.getPendingUITaskCount()));
+        writer.write(",\"interceptorCount\":");
+        writer.write(Integer.toString(snapshot.getInterceptorCount()));
+
+        writer.write(",\"modelProperties\":");
+        writeProperties(writer, snapshot.getModelProperties(), true);
+        writer.write(",\"viewProperties\":");
+        writeProperties(writer, snapshot.getViewProperties(), false);
+
+        writer.write(",\"viewInstances\":[");
+        boolean first = true;
+        for(LocusSnapshot.ViewInstanceSnapshot viewInstance : snapshot.getViewInstances()){
+            first = writeSeparator(writer, first);
+            writer.write("{\"type\":");
+            writeString(writer, viewInstance.getType());
+            writer.write(",\"instances\":");
+            writeStrings(writer, viewInstance.getInstances());
+            writer.write(",\"collectedCount\":");
+            writer.write(Integer.toString(viewInstance.getCollectedCount()));
+            writer.write('}');
+        }
+
+        writer.write("],\"controllers\":[");
+        first = true;
+        for(LocusSnapshot.ControllerSnapshot controller : snapshot.getControllers()){
+            first = writeSeparator(writer, first);
+            writer.write("{\"name\":");
+            writeString(writer, controller.getName());
+            writer.write(",\"type\":");
+            writeString(writer, controller.getType());
+            writer.write('}');
+        }
+
+        writer.write("],\"controllerCallbacks\":[");
+        first = true;
+        for(LocusSnapshot.ControllerCallbackSnapshot callback : snapshot.getControllerCallbacks()){
+            first = writeSeparator(writer, first);
+            writer.write("{\"controller\":");
+            writeString(writer, callback.getController());
+            writer.write(",\"callback\":");
+            writeString(writer, callback.getCallback());
+            writer.write('}');
+        }
+
+        writer.write("]}");
+        writer.flush();
+    }
+
+    private static void writeProperties(Writer writer, List<LocusSnapshot.PropertySnapshot> properties, boolean getters) throws IOException{
+        writer.write('[');
+        boolean first = true;
+        for(LocusSnapshot.PropertySnapshot property : properties){
+            first = writeSeparator(writer, first);
+            writer.write("{\"name\":");
+            writeString(writer, property.getName());
+            writer.write(",\"setters\":");
+            writeStrings(writer, property.getSetters());
+            //View properties never have getters, so the field is left out
+            if(getters){
+                writer.write(",\"getters\":");
+                writeStrings(writer, property.getGetters());
+            }
+            writer.write(",\"adders\":");
+            writeStrings(writer, property.getAdders());
+            writer.write(",\"removers\":");
+            writeStrings(writer, property.getRemovers());
+            writer.write('}');
+        }
+        writer.write(']');
+    }
+
+    private static void writeStrings(Writer writer, List<String> values) throws IOException{
+        writer.write('[');
+        boolean first = true;
+        for(String value : values){
+            first = writeSeparator(writer, first);
+            writeString(writer, value);
+        }
+        writer.write(']');
+    }
+
+    private static boolean writeSeparator(Writer writer, boolean first) throws IOException{
+        if(!first){
+            writer.write(',');
+        }
+        return false;
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException{
+        if(value == null){
+            writer.write("null");
+            return;
+        }
+
+        writer.write('"');
+        for(int i = 0; i < value.length(); i++){
+            char c = value.charAt(i);
+            switch(c){
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if(c < 0x20){
+                        writer.write(String.format("\\u%04x", (int) c));
+                    }
+                    else{
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+}
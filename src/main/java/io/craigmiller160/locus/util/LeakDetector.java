@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.utils.collection.SuperWeakHashMap;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>Tracks how long views and controller callbacks have been
+ * registered with the LocusStorage, to find the ones that
+ * are never unregistered or collected. Anything registered
+ * for longer than the threshold is reported as a suspected
+ * leak in a LeakReport.</p>
+ *
+ * <p>Capturing a stack trace is expensive, so only one in every
+ * sampleRate registrations has the stack trace of where it was
+ * registered recorded. A sampleRate of 1 captures every one, and
+ * a sampleRate of 0 captures none.</p>
+ *
+ * <p>Leak detection is disabled by default. While it is disabled,
+ * registrations cost nothing more than they normally would.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is NOT thread-safe. It is
+ * only used by the LocusStorage, which guards it with its own lock.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@NotThreadSafe
+class LeakDetector {
+
+    //Frames from the storage itself are left out of the stack traces
+    private static final String DETECTOR_CLASS = LeakDetector.class.getName();
+    private static final String STORAGE_CLASS = LocusStorage.class.getName();
+
+    private final long threshold;
+    private final int sampleRate;
+    private int registrationCount = 0;
+
+    /**
+     * The registration times and stack traces of controller callbacks.
+     * The controllers are held weakly, the same as in the storage.
+     */
+    private final Map<Object,Registration> callbackRegistrations = new WeakHashMap<>();
+
+    /**
+     * Create a new LeakDetector.
+     *
+     * @param threshold the time after which a registration is a suspected leak, in nanoseconds,
+     *                  or 0 to disable leak detection.
+     * @param sampleRate capture the stack trace of one in every sampleRate registrations.
+     */
+    LeakDetector(long threshold, int sampleRate){
+        this.threshold = threshold;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Get whether leak detection is enabled.
+     *
+     * @return true if leak detection is enabled.
+     */
+    boolean isEnabled(){
+        return threshold > 0;
+    }
+
+    /**
+     * Get the stack trace of the current registration,
+     * if this registration is one of the samples.
+     *
+     * @return the stack trace, or null if it is not captured.
+     */
+    StackTraceElement[] sampleStackTrace(){
+        if(!isEnabled() || sampleRate <= 0 || registrationCount++ % sampleRate != 0){
+            return null;
+        }
+
+        StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+        int start = 0;
+        while(start < stackTrace.length && (DETECTOR_CLASS.equals(stackTrace[start].getClassName()) ||
+                STORAGE_CLASS.equals(stackTrace[start].getClassName()))){
+            start++;
+        }
+        return Arrays.copyOfRange(stackTrace, start, stackTrace.length);
+    }
+
+    /**
+     * Record the registration of a controller callback.
+     *
+     * @param controller the controller.
+     */
+    void addCallback(Object controller){
+        if(isEnabled()){
+            callbackRegistrations.put(controller, new Registration(sampleStackTrace()));
+        }
+    }
+
+    /**
+     * Remove the registration of a controller callback.
+     *
+     * @param controller the controller.
+     */
+    void removeCallback(Object controller){
+        callbackRegistrations.remove(controller);
+    }
+
+    /**
+     * Find every view and controller callback registered for
+     * longer than the threshold.
+     *
+     * @param viewInstances the views tracked by the storage.
+     * @param controllerCallbacks the controller callbacks held by the storage.
+     * @return the LeakReport.
+     */
+    LeakReport findLeaks(ViewObjectTracker viewInstances, SuperWeakHashMap<Object,Object> controllerCallbacks){
+        long now = System.nanoTime();
+        List<LeakReport.Suspect> views = new ArrayList<>();
+        List<LeakReport.Suspect> callbacks = new ArrayList<>();
+
+        if(isEnabled()){
+            //Iterate the raw values, leak detection shouldn't purge collected views as a side effect
+            for(Collection<WeakReference<?>> weakRefs : viewInstances.values()){
+                for(WeakReference<?> weakRef : weakRefs){
+                    Object instance = weakRef.get();
+                    if(instance != null && weakRef instanceof ViewObjectTracker.ViewReference){
+                        ViewObjectTracker.ViewReference viewRef = (ViewObjectTracker.ViewReference) weakRef;
+                        long age = now - viewRef.getRegistrationTime();
+                        if(age >= threshold){
+                            views.add(new LeakReport.Suspect(LocusSnapshot.describeInstance(instance), age, viewRef.getStackTrace()));
+                        }
+                    }
+                }
+            }
+
+            for(Map.Entry<Object,Registration> entry : callbackRegistrations.entrySet()){
+                Object callback = controllerCallbacks.get(entry.getKey());
+                long age = now - entry.getValue().time;
+                if(callback != null && age >= threshold){
+                    String description = LocusSnapshot.describeInstance(entry.getKey()) + " -> " + LocusSnapshot.describeInstance(callback);
+                    callbacks.add(new LeakReport.Suspect(description, age, entry.getValue().stackTrace));
+                }
+            }
+        }
+
+        return new LeakReport(threshold, viewInstances.getClearedCount(), viewInstances.getPrunedCount(), views, callbacks);
+    }
+
+    /**
+     * The time and stack trace of a single registration.
+     */
+    private static class Registration {
+        private final long time = System.nanoTime();
+        private final StackTraceElement[] stackTrace;
+
+        private Registration(StackTraceElement[] stackTrace){
+            this.stackTrace = stackTrace;
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>An immutable report of the views and controller callbacks
+ * that have been registered for longer than the leak detection
+ * threshold. Each one is a Suspect, with its age and, if it was
+ * sampled, the stack trace of where it was registered.</p>
+ *
+ * <p>It also contains the number of view WeakReferences cleared
+ * by the garbage collector, and the number pruned from the
+ * storage. These are reported even when leak detection is
+ * disabled.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class LeakReport {
+
+    //The platform-independent line separator
+    private static final String LS = System.lineSeparator();
+
+    private final long threshold;
+    private final long clearedCount;
+    private final long prunedCount;
+    private final List<Suspect> views;
+    private final List<Suspect> controllerCallbacks;
+
+    /**
+     * Create a new LeakReport. This should only be
+     * done by the LeakDetector.
+     *
+     * @param threshold the leak detection threshold, in nanoseconds.
+     * @param clearedCount the number of cleared view WeakReferences.
+     * @param prunedCount the number of pruned view WeakReferences.
+     * @param views the suspected view leaks.
+     * @param controllerCallbacks the suspected controller callback leaks.
+     */
+    LeakReport(long threshold, long clearedCount, long prunedCount, List<Suspect> views, List<Suspect> controllerCallbacks){
+        this.threshold = threshold;
+        this.clearedCount = clearedCount;
+        this.prunedCount = prunedCount;
+        this.views = Collections.unmodifiableList(views);
+        this.controllerCallbacks = Collections.unmodifiableList(controllerCallbacks);
+    }
+
+    /**
+     * Get the leak detection threshold.
+     *
+     * @return the threshold, in nanoseconds, or 0 if leak detection is disabled.
+     */
+    public long getThreshold(){
+        return threshold;
+    }
+
+    /**
+     * Get the number of view WeakReferences that have been
+     * cleared by the garbage collector.
+     *
+     * @return the number of cleared WeakReferences.
+     */
+    public long getClearedCount(){
+        return clearedCount;
+    }
+
+    /**
+     * Get the number of cleared view WeakReferences that have
+     * been pruned from the storage.
+     *
+     * @return the number of pruned WeakReferences.
+     */
+    public long getPrunedCount(){
+        return prunedCount;
+    }
+
+    /**
+     * Get the views registered for longer than the threshold.
+     *
+     * @return the suspected view leaks.
+     */
+    public List<Suspect> getViews(){
+        return views;
+    }
+
+    /**
+     * Get the controller callbacks registered for longer than the threshold.
+     *
+     * @return the suspected controller callback leaks.
+     */
+    public List<Suspect> getControllerCallbacks(){
+        return controllerCallbacks;
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        builder.append("Threshold: ").append(TimeUnit.NANOSECONDS.toMillis(threshold)).append("ms")
+                .append(" | Cleared: ").append(clearedCount)
+                .append(" | Pruned: ").append(prunedCount)
+                .append(" | Views: ").append(views.size())
+                .append(" | Controller Callbacks: ").append(controllerCallbacks.size()).append(LS);
+        for(Suspect suspect : views){
+            builder.append(" View: ").append(suspect).append(LS);
+        }
+        for(Suspect suspect : controllerCallbacks){
+            builder.append(" Controller Callback: ").append(suspect).append(LS);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A single view or controller callback suspected of leaking.
+     */
+    @ThreadSafe
+    public static class Suspect {
+
+        private final String description;
+        private final long age;
+        private final List<StackTraceElement> stackTrace;
+
+        Suspect(String description, long age, StackTraceElement[] stackTrace){
+            this.description = description;
+            this.age = age;
+            this.stackTrace = stackTrace != null ?
+                    Collections.unmodifiableList(Arrays.asList(stackTrace)) : Collections.<StackTraceElement>emptyList();
+        }
+
+        /**
+         * Get the description of the instance, its class name
+         * and identity hash code.
+         *
+         * @return the description.
+         */
+        public String getDescription(){
+            return description;
+        }
+
+        /**
+         * Get how long the instance has been registered.
+         *
+         * @return the age, in nanoseconds.
+         */
+        public long getAge(){
+            return age;
+        }
+
+        /**
+         * Get the stack trace of where the instance was registered.
+         *
+         * @return the stack trace, which is empty if it was not sampled.
+         */
+        public List<StackTraceElement> getStackTrace(){
+            return stackTrace;
+        }
+
+        @Override
+        public String toString(){
+            StringBuilder builder = new StringBuilder();
+            builder.append(description).append(" | Age: ").append(TimeUnit.NANOSECONDS.toMillis(age)).append("ms");
+            for(StackTraceElement element : stackTrace){
+                builder.append(LS).append("   at ").append(element);
+            }
+            return builder.toString();
+        }
+    }
+
+}
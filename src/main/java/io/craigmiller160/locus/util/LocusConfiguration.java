@@ -16,6 +16,10 @@
 
 package io.craigmiller160.locus.util;
 
+import io.craigmiller160.locus.concurrent.SlowUIHandlerListener;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusMetrics;
 import io.craigmiller160.locus.scan.ScannerExclusions;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -37,7 +41,7 @@ import java.util.List;
  * be handled accordingly.</p>
  *
  * @author craigmiller
- * @version 1.2
+ * @version 1.5
  */
 @NotThreadSafe
 public class LocusConfiguration {
@@ -65,6 +69,260 @@ public class LocusConfiguration {
      */
     private String uiThreadExecutorClassName;
 
+    /**
+     * The type of scanner to use for scanning packages.
+     */
+    private String packageScannerType;
+
+    /**
+     * The ClassLoader to use for loading scanned classes.
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * The LocusMetrics to record framework operations with.
+     */
+    private LocusMetrics metrics;
+
+    /**
+     * The LocusEventListener to receive framework operations.
+     */
+    private LocusEventListener eventListener;
+
+    /**
+     * The time budget for a single piece of work on the
+     * UI Thread, in milliseconds.
+     */
+    private long uiThreadBudget;
+
+    /**
+     * The SlowUIHandlerListener to notify when the
+     * UI Thread budget is exceeded.
+     */
+    private SlowUIHandlerListener slowUIHandlerListener;
+
+    /**
+     * The names of the LocusInterceptor classes, from the configuration file.
+     */
+    private List<String> interceptorClassNames = new ArrayList<>();
+
+    /**
+     * The LocusInterceptor instances, from Java configuration.
+     */
+    private List<LocusInterceptor> interceptors = new ArrayList<>();
+
+    /**
+     * The time after which a registered view or controller
+     * callback is a suspected leak, in milliseconds.
+     */
+    private long leakThreshold;
+
+    /**
+     * Capture the stack trace of one in every
+     * leakStackSampleRate registrations.
+     */
+    private int leakStackSampleRate;
+
+    /**
+     * Set the ClassLoader to use for loading the classes that
+     * are scanned. This can only be set with Java configuration.
+     * If it is not set, the thread's context ClassLoader will be used.
+     *
+     * @param classLoader the ClassLoader.
+     */
+    public void setClassLoader(ClassLoader classLoader){
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Get the ClassLoader to use for loading the classes that
+     * are scanned.
+     *
+     * @return the ClassLoader, or null if the default should be used.
+     */
+    public ClassLoader getClassLoader(){
+        return classLoader;
+    }
+
+    /**
+     * Set the LocusMetrics to record the operations performed by
+     * the framework with. This can only be set with Java configuration.
+     * If it is not set, no metrics are recorded.
+     *
+     * @param metrics the LocusMetrics.
+     */
+    public void setMetrics(LocusMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the LocusMetrics to record the operations performed
+     * by the framework with.
+     *
+     * @return the LocusMetrics, or null if no metrics should be recorded.
+     */
+    public LocusMetrics getMetrics(){
+        return metrics;
+    }
+
+    /**
+     * Set the LocusEventListener to receive the operations performed
+     * by the framework. This can only be set with Java configuration.
+     * If it is not set, no events are created.
+     *
+     * @param eventListener the LocusEventListener.
+     */
+    public void setEventListener(LocusEventListener eventListener){
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Get the LocusEventListener to receive the operations
+     * performed by the framework.
+     *
+     * @return the LocusEventListener, or null if no events should be created.
+     */
+    public LocusEventListener getEventListener(){
+        return eventListener;
+    }
+
+    /**
+     * Set the time budget for a single piece of work on the UI Thread.
+     * Any view handler, or wait for the UI Thread, that takes longer is
+     * reported to the SlowUIHandlerListener.
+     *
+     * @param uiThreadBudget the budget, in milliseconds, or 0 for no budget.
+     */
+    public void setUIThreadBudget(long uiThreadBudget){
+        this.uiThreadBudget = uiThreadBudget;
+    }
+
+    /**
+     * Get the time budget for a single piece of work on the UI Thread.
+     *
+     * @return the budget, in milliseconds, or 0 for no budget.
+     */
+    public long getUIThreadBudget(){
+        return uiThreadBudget;
+    }
+
+    /**
+     * Set the SlowUIHandlerListener to notify when the UI Thread
+     * budget is exceeded. This can only be set with Java configuration.
+     * If it is not set, a warning is logged instead.
+     *
+     * @param slowUIHandlerListener the SlowUIHandlerListener.
+     */
+    public void setSlowUIHandlerListener(SlowUIHandlerListener slowUIHandlerListener){
+        this.slowUIHandlerListener = slowUIHandlerListener;
+    }
+
+    /**
+     * Get the SlowUIHandlerListener to notify when the
+     * UI Thread budget is exceeded.
+     *
+     * @return the SlowUIHandlerListener, or null if the default should be used.
+     */
+    public SlowUIHandlerListener getSlowUIHandlerListener(){
+        return slowUIHandlerListener;
+    }
+
+    /**
+     * Enable leak detection for views and controller callbacks.
+     * This can only be set with Java configuration. Any that stay
+     * registered for longer than the threshold are reported by
+     * LocusDebug.getLeakReport().
+     *
+     * @param leakThreshold the threshold, in milliseconds, or 0 to disable leak detection.
+     * @param leakStackSampleRate capture the stack trace of one in every
+     *                            leakStackSampleRate registrations, or 0 for none.
+     */
+    public void setLeakDetection(long leakThreshold, int leakStackSampleRate){
+        this.leakThreshold = leakThreshold;
+        this.leakStackSampleRate = leakStackSampleRate;
+    }
+
+    /**
+     * Get the time after which a registered view or
+     * controller callback is a suspected leak.
+     *
+     * @return the threshold, in milliseconds, or 0 if leak detection is disabled.
+     */
+    public long getLeakThreshold(){
+        return leakThreshold;
+    }
+
+    /**
+     * Get the rate at which the stack traces of
+     * registrations are captured.
+     *
+     * @return one in every how many registrations has its stack trace captured.
+     */
+    public int getLeakStackSampleRate(){
+        return leakStackSampleRate;
+    }
+
+    /**
+     * Add the name of a LocusInterceptor class to the chain of
+     * interceptors. It will be instantiated with its no-argument
+     * constructor during initialization. Interceptors configured
+     * by class name come before interceptor instances in the chain.
+     *
+     * @param className the name of the LocusInterceptor class.
+     */
+    public void addInterceptorClassName(String className){
+        interceptorClassNames.add(className);
+    }
+
+    /**
+     * Get the names of the LocusInterceptor classes in the chain of interceptors.
+     *
+     * @return the names of the LocusInterceptor classes.
+     */
+    public List<String> getInterceptorClassNames(){
+        return interceptorClassNames;
+    }
+
+    /**
+     * Add a LocusInterceptor instance to the chain of interceptors.
+     * This can only be done with Java configuration.
+     *
+     * @param interceptor the LocusInterceptor.
+     */
+    public void addInterceptor(LocusInterceptor interceptor){
+        interceptors.add(interceptor);
+    }
+
+    /**
+     * Get the LocusInterceptor instances in the chain of interceptors.
+     *
+     * @return the LocusInterceptor instances.
+     */
+    public List<LocusInterceptor> getInterceptors(){
+        return interceptors;
+    }
+
+    /**
+     * Set the type of scanner to use for scanning packages.
+     * The valid types are defined in LocusScannerFactory. If
+     * this is not set, the default scanner will be used.
+     *
+     * @param packageScannerType the type of package scanner.
+     * @see io.craigmiller160.locus.scan.LocusScannerFactory
+     */
+    public void setPackageScannerType(String packageScannerType){
+        this.packageScannerType = packageScannerType;
+    }
+
+    /**
+     * Get the type of scanner to use for scanning packages.
+     *
+     * @return the type of package scanner.
+     */
+    public String getPackageScannerType(){
+        return packageScannerType;
+    }
+
     /**
      * Set the name of the UIThreadExecutor implementation class.
      *
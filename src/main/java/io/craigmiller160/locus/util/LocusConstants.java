@@ -56,6 +56,18 @@ public class LocusConstants {
      */
     public static final String DEFAULT_CONFIG_FILE = "locus.xml";
 
+    /**
+     * The system property that, when set to true, makes the framework
+     * validate its configuration file against the schema when it
+     * is initialized.
+     */
+    public static final String VALIDATE_CONFIG_PROPERTY = "locus.config.validate";
+
+    /**
+     * The default number of idle instances kept for a pooled controller.
+     */
+    public static final int DEFAULT_CONTROLLER_POOL_SIZE = 8;
+
     /**
      * The name of a model type.
      */
@@ -71,4 +83,14 @@ public class LocusConstants {
      */
     public static final String CONTROLLER_TYPE = "Controller";
 
+    /**
+     * The name of a controller callback type.
+     */
+    public static final String CALLBACK_TYPE = "Callback";
+
+    /**
+     * The name of the handoff of a task to the UI Thread.
+     */
+    public static final String UI_HANDOFF_TYPE = "UIHandoff";
+
 }
@@ -0,0 +1,502 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.craigmiller160.locus.util.LocusConstants.ADDER;
+import static io.craigmiller160.locus.util.LocusConstants.GETTER;
+import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
+import static io.craigmiller160.locus.util.LocusConstants.SETTER;
+
+/**
+ * <p>An immutable copy of the contents of the LocusStorage,
+ * taken in a single pass while holding its lock. It contains
+ * every model and view property, the live view instances, the
+ * controllers, and the controller callbacks, along with the
+ * counts exposed by the LocusMXBean.</p>
+ *
+ * <p>While the lock is held, the storage is only copied. Methods
+ * are converted to their String descriptions afterwards, so taking
+ * a snapshot blocks other threads for as little time as possible.
+ * Instances of views, controllers, and callbacks are described by
+ * their class name and identity hash code, so a snapshot never
+ * keeps them from being garbage collected.</p>
+ *
+ * <p>A snapshot can be written out with a LocusSnapshotWriter,
+ * such as the JsonLocusSnapshotWriter or TextLocusSnapshotWriter.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is immutable and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class LocusSnapshot {
+
+    private final long timestamp;
+    private final String uiThreadExecutorType;
+    private final int liveViewInstanceCount;
+    private final long collectedViewInstanceCount;
+    private final int pendingUITaskCount;
+    private final int interceptorCount;
+    private final List<PropertySnapshot> modelProperties;
+    private final List<PropertySnapshot> viewProperties;
+    private final List<ViewInstanceSnapshot> viewInstances;
+    private final List<ControllerSnapshot> controllers;
+    private final List<ControllerCallbackSnapshot> controllerCallbacks;
+
+    private LocusSnapshot(Builder builder){
+        this.timestamp = builder.timestamp;
+        this.uiThreadExecutorType = builder.uiThreadExecutorType;
+        this.liveViewInstanceCount = builder.liveViewInstanceCount;
+        this.collectedViewInstanceCount = builder.collectedViewInstanceCount;
+        this.pendingUITaskCount = builder.pendingUITaskCount;
+        this.interceptorCount = builder.interceptorCount;
+        this.modelProperties = buildProperties(builder.modelProperties);
+        this.viewProperties = buildProperties(builder.viewProperties);
+        this.viewInstances = Collections.unmodifiableList(new ArrayList<>(builder.viewInstances.values()));
+        this.controllers = Collections.unmodifiableList(new ArrayList<>(builder.controllers.values()));
+        this.controllerCallbacks = Collections.unmodifiableList(builder.controllerCallbacks);
+    }
+
+    private static List<PropertySnapshot> buildProperties(Map<String,RawProperty> rawProperties){
+        List<PropertySnapshot> properties = new ArrayList<>(rawProperties.size());
+        for(Map.Entry<String,RawProperty> entry : rawProperties.entrySet()){
+            properties.add(new PropertySnapshot(entry.getKey(), entry.getValue()));
+        }
+        return Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Get the time the snapshot was taken.
+     *
+     * @return the time, in milliseconds since the epoch.
+     */
+    public long getTimestamp(){
+        return timestamp;
+    }
+
+    /**
+     * Get the name of the UIThreadExecutor type.
+     *
+     * @return the UIThreadExecutor type, or null if none has been set.
+     */
+    public String getUIThreadExecutorType(){
+        return uiThreadExecutorType;
+    }
+
+    /**
+     * Get the number of view instances that had not been
+     * garbage collected.
+     *
+     * @return the number of live view instances.
+     */
+    public int getLiveViewInstanceCount(){
+        return liveViewInstanceCount;
+    }
+
+    /**
+     * Get the number of view instances that had been garbage
+     * collected since the storage was last cleared.
+     *
+     * @return the number of collected view instances.
+     */
+    public long getCollectedViewInstanceCount(){
+        return collectedViewInstanceCount;
+    }
+
+    /**
+     * Get the number of view tasks waiting for the UI Thread.
+     *
+     * @return the number of pending UI tasks.
+     */
+    public int getPendingUITaskCount(){
+        return pendingUITaskCount;
+    }
+
+    /**
+     * Get the number of LocusInterceptors in the chain.
+     *
+     * @return the number of interceptors.
+     */
+    public int getInterceptorCount(){
+        return interceptorCount;
+    }
+
+    /**
+     * Get all model properties, sorted by name.
+     *
+     * @return the model properties.
+     */
+    public List<PropertySnapshot> getModelProperties(){
+        return modelProperties;
+    }
+
+    /**
+     * Get all view properties, sorted by name. View
+     * properties never have getters.
+     *
+     * @return the view properties.
+     */
+    public List<PropertySnapshot> getViewProperties(){
+        return viewProperties;
+    }
+
+    /**
+     * Get the live instances of every view class, sorted
+     * by the name of the class.
+     *
+     * @return the view instances.
+     */
+    public List<ViewInstanceSnapshot> getViewInstances(){
+        return viewInstances;
+    }
+
+    /**
+     * Get all controllers, sorted by name.
+     *
+     * @return the controllers.
+     */
+    public List<ControllerSnapshot> getControllers(){
+        return controllers;
+    }
+
+    /**
+     * Get the callback objects of every controller
+     * instance that has one.
+     *
+     * @return the controller callbacks.
+     */
+    public List<ControllerCallbackSnapshot> getControllerCallbacks(){
+        return controllerCallbacks;
+    }
+
+    /**
+     * Describe an instance by its class name and identity hash code,
+     * without calling any of its own methods.
+     *
+     * @param instance the instance.
+     * @return the description of the instance.
+     */
+    static String describeInstance(Object instance){
+        return instance.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(instance));
+    }
+
+    /**
+     * The methods and accessors registered for a single property.
+     */
+    @ThreadSafe
+    public static class PropertySnapshot {
+
+        private final String name;
+        private final List<String> setters;
+        private final List<String> getters;
+        private final List<String> adders;
+        private final List<String> removers;
+
+        PropertySnapshot(String name, RawProperty raw){
+            this.name = name;
+            this.setters = describe(raw.setters);
+            this.getters = describe(raw.getters);
+            this.adders = describe(raw.adders);
+            this.removers = describe(raw.removers);
+        }
+
+        private static List<String> describe(List<Object> handlers){
+            if(handlers.isEmpty()){
+                return Collections.emptyList();
+            }
+
+            List<String> descriptions = new ArrayList<>(handlers.size());
+            for(Object handler : handlers){
+                descriptions.add(handler.toString());
+            }
+            return Collections.unmodifiableList(descriptions);
+        }
+
+        /**
+         * Get the name of the property.
+         *
+         * @return the name.
+         */
+        public String getName(){
+            return name;
+        }
+
+        /**
+         * Get the setters for the property.
+         *
+         * @return the setters.
+         */
+        public List<String> getSetters(){
+            return setters;
+        }
+
+        /**
+         * Get the getters for the property.
+         *
+         * @return the getters.
+         */
+        public List<String> getGetters(){
+            return getters;
+        }
+
+        /**
+         * Get the adders for the property.
+         *
+         * @return the adders.
+         */
+        public List<String> getAdders(){
+            return adders;
+        }
+
+        /**
+         * Get the removers for the property.
+         *
+         * @return the removers.
+         */
+        public List<String> getRemovers(){
+            return removers;
+        }
+    }
+
+    /**
+     * The live instances of a single view class.
+     */
+    @ThreadSafe
+    public static class ViewInstanceSnapshot {
+
+        private final String type;
+        private final List<String> instances;
+        private final int collectedCount;
+
+        ViewInstanceSnapshot(String type, List<String> instances, int collectedCount){
+            this.type = type;
+            this.instances = Collections.unmodifiableList(instances);
+            this.collectedCount = collectedCount;
+        }
+
+        /**
+         * Get the name of the view class.
+         *
+         * @return the view class name.
+         */
+        public String getType(){
+            return type;
+        }
+
+        /**
+         * Get the descriptions of the live instances.
+         *
+         * @return the live instances.
+         */
+        public List<String> getInstances(){
+            return instances;
+        }
+
+        /**
+         * Get the number of instances that have been garbage
+         * collected but are still tracked by the storage.
+         *
+         * @return the number of collected instances.
+         */
+        public int getCollectedCount(){
+            return collectedCount;
+        }
+    }
+
+    /**
+     * A single controller registered with the framework.
+     */
+    @ThreadSafe
+    public static class ControllerSnapshot {
+
+        private final String name;
+        private final String type;
+
+        ControllerSnapshot(String name, String type){
+            this.name = name;
+            this.type = type;
+        }
+
+        /**
+         * Get the name of the controller.
+         *
+         * @return the name.
+         */
+        public String getName(){
+            return name;
+        }
+
+        /**
+         * Get the name of the controller class.
+         *
+         * @return the controller class name.
+         */
+        public String getType(){
+            return type;
+        }
+    }
+
+    /**
+     * The callback object assigned to a single controller instance.
+     */
+    @ThreadSafe
+    public static class ControllerCallbackSnapshot {
+
+        private final String controller;
+        private final String callback;
+
+        ControllerCallbackSnapshot(String controller, String callback){
+            this.controller = controller;
+            this.callback = callback;
+        }
+
+        /**
+         * Get the description of the controller instance.
+         *
+         * @return the controller.
+         */
+        public String getController(){
+            return controller;
+        }
+
+        /**
+         * Get the description of the callback object.
+         *
+         * @return the callback.
+         */
+        public String getCallback(){
+            return callback;
+        }
+    }
+
+    /**
+     * The handlers for a property, copied from the storage
+     * but not yet converted to their descriptions.
+     */
+    private static class RawProperty {
+        private final List<Object> setters = new ArrayList<>();
+        private final List<Object> getters = new ArrayList<>();
+        private final List<Object> adders = new ArrayList<>();
+        private final List<Object> removers = new ArrayList<>();
+
+        private List<Object> forKind(int kind){
+            switch(kind){
+                case SETTER:
+                    return setters;
+                case GETTER:
+                    return getters;
+                case ADDER:
+                    return adders;
+                case REMOVER:
+                    return removers;
+                default:
+                    throw new IllegalArgumentException("Invalid property kind: " + kind);
+            }
+        }
+    }
+
+    /**
+     * Collects the contents of the LocusStorage for a new
+     * LocusSnapshot. The LocusStorage calls the add methods
+     * while holding its lock, and build() after releasing it.
+     */
+    @NotThreadSafe
+    static class Builder {
+
+        private final long timestamp = System.currentTimeMillis();
+        private String uiThreadExecutorType;
+        private int liveViewInstanceCount;
+        private long collectedViewInstanceCount;
+        private int pendingUITaskCount;
+        private int interceptorCount;
+        private final Map<String,RawProperty> modelProperties = new TreeMap<>();
+        private final Map<String,RawProperty> viewProperties = new TreeMap<>();
+        private final Map<String,ViewInstanceSnapshot> viewInstances = new TreeMap<>();
+        private final Map<String,ControllerSnapshot> controllers = new TreeMap<>();
+        private final List<ControllerCallbackSnapshot> controllerCallbacks = new ArrayList<>();
+
+        Builder counts(Class<?> uiThreadExecutorType, int liveViewInstanceCount, long collectedViewInstanceCount,
+                       int pendingUITaskCount, int interceptorCount){
+            this.uiThreadExecutorType = uiThreadExecutorType != null ? uiThreadExecutorType.getName() : null;
+            this.liveViewInstanceCount = liveViewInstanceCount;
+            this.collectedViewInstanceCount = collectedViewInstanceCount;
+            this.pendingUITaskCount = pendingUITaskCount;
+            this.interceptorCount = interceptorCount;
+            return this;
+        }
+
+        Builder modelHandlers(int kind, Map<String,? extends Collection<?>> handlers){
+            addHandlers(modelProperties, kind, handlers);
+            return this;
+        }
+
+        Builder viewHandlers(int kind, Map<String,? extends Collection<?>> handlers){
+            addHandlers(viewProperties, kind, handlers);
+            return this;
+        }
+
+        private static void addHandlers(Map<String,RawProperty> properties, int kind, Map<String,? extends Collection<?>> handlers){
+            for(Map.Entry<String,? extends Collection<?>> entry : handlers.entrySet()){
+                RawProperty property = properties.get(entry.getKey());
+                if(property == null){
+                    property = new RawProperty();
+                    properties.put(entry.getKey(), property);
+                }
+                property.forKind(kind).addAll(entry.getValue());
+            }
+        }
+
+        Builder viewInstances(Class<?> viewType, Collection<WeakReference<?>> weakRefs){
+            List<String> instances = new ArrayList<>(weakRefs.size());
+            for(WeakReference<?> weakRef : weakRefs){
+                Object instance = weakRef.get();
+                if(instance != null){
+                    instances.add(describeInstance(instance));
+                }
+            }
+            viewInstances.put(viewType.getName(), new ViewInstanceSnapshot(viewType.getName(), instances, weakRefs.size() - instances.size()));
+            return this;
+        }
+
+        Builder controller(String name, Class<?> controllerType){
+            controllers.put(name, new ControllerSnapshot(name, controllerType.getName()));
+            return this;
+        }
+
+        Builder controllerCallback(Object controller, Object callback){
+            controllerCallbacks.add(new ControllerCallbackSnapshot(describeInstance(controller), describeInstance(callback)));
+            return this;
+        }
+
+        LocusSnapshot build(){
+            return new LocusSnapshot(this);
+        }
+    }
+
+}
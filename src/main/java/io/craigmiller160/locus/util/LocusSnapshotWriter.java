@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes a LocusSnapshot out in a particular format.
+ * Implementations write straight to the Writer as they go,
+ * rather than building the whole output in memory first.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> Implementations should be stateless,
+ * so a single instance can be shared between threads.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+public interface LocusSnapshotWriter {
+
+    /**
+     * Write the snapshot. The Writer is flushed but not closed.
+     *
+     * @param snapshot the LocusSnapshot to write.
+     * @param writer the Writer to write the snapshot to.
+     * @throws IOException if unable to write the snapshot.
+     */
+    void write(LocusSnapshot snapshot, Writer writer) throws IOException;
+
+}
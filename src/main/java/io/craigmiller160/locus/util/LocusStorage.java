@@ -16,20 +16,43 @@
 
 package io.craigmiller160.locus.util;
 
+import io.craigmiller160.locus.LocusControllerCallback;
+import io.craigmiller160.locus.LocusException;
+import io.craigmiller160.locus.accessor.ModelAccessor;
+import io.craigmiller160.locus.accessor.ViewAccessor;
+import io.craigmiller160.locus.annotations.ControllerScope;
+import io.craigmiller160.locus.concurrent.LoggingSlowUIHandlerListener;
+import io.craigmiller160.locus.concurrent.SlowUIHandlerListener;
 import io.craigmiller160.locus.concurrent.UIThreadExecutor;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.metrics.NoOpLocusEventListener;
+import io.craigmiller160.locus.metrics.NoOpLocusMetrics;
 import io.craigmiller160.utils.collection.MultiValueMap;
 import io.craigmiller160.utils.collection.SuperWeakHashMap;
 import io.craigmiller160.utils.reflect.ClassAndMethod;
 import io.craigmiller160.utils.reflect.ObjectAndMethod;
+import io.craigmiller160.utils.reflect.ObjectCreator;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.craigmiller160.locus.util.LocusConstants.ADDER;
+import static io.craigmiller160.locus.util.LocusConstants.GETTER;
+import static io.craigmiller160.locus.util.LocusConstants.REMOVER;
+import static io.craigmiller160.locus.util.LocusConstants.SETTER;
 
 /**
  * <p>A special storage class where all the class types,
@@ -51,6 +74,11 @@ import java.util.Set;
  * <p><b>REMOVER:</b> Any method that begins with "remove". These
  * methods are used to remove a value from a collection.</p>
  *
+ * <p>Properties can also have pre-built ModelAccessors and
+ * ViewAccessors, registered through the LocusRegistry. These
+ * are organized by the same four types, and are invoked directly
+ * instead of through reflection.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class is thread-safe. All its fields are synchronized
  * on the intrinsic lock of this class. Any methods returning
  * a collection return a copy of the underlying collection, to
@@ -60,7 +88,7 @@ import java.util.Set;
  * watched carefully to avoid compromising thread safety.</p>
  *
  * @author craigmiller
- * @version 1.2
+ * @version 1.5
  */
 @ThreadSafe
 public class LocusStorage {
@@ -86,17 +114,98 @@ public class LocusStorage {
     private MultiValueMap<String,ClassAndMethod> viewPropRemovers;
     private ViewObjectTracker viewInstances;
 
+    /*
+     * The collections of pre-built accessors for models and views, organized by kind.
+     */
+    private Map<Integer,MultiValueMap<String,ModelAccessor>> modelAccessors;
+    private Map<Integer,MultiValueMap<String,ViewAccessor>> viewAccessors;
+
     /*
      * The collections of values for working with controllers.
      */
     private Map<String,Class<?>> controllerTypes;
+    private Map<String,ScopedControllerInstances> controllerScopes;
     private SuperWeakHashMap<Object,Object> controllerCallbacks;
+    private WeakHashMap<Object,LocusControllerCallback> boundControllerCallbacks;
 
     /**
      * The UIThreadExecutor class type.
      */
     private Class<? extends UIThreadExecutor> uiThreadExecutorType;
 
+    /**
+     * The shared instance of the UIThreadExecutor type. It is only
+     * set while holding the lock, but is volatile so it can be read
+     * without it, because it is read on every UI Thread operation.
+     */
+    private volatile UIThreadExecutor uiThreadExecutor;
+
+    /**
+     * The InitializationProfiler, recording the timings of
+     * the most recent initialization.
+     */
+    private InitializationProfiler initializationProfiler;
+
+    /**
+     * The LocusMetrics, recording the operations performed
+     * by the framework. This is volatile, rather than guarded
+     * by the lock, because it is read on every operation.
+     */
+    private volatile LocusMetrics metrics = NoOpLocusMetrics.INSTANCE;
+
+    /**
+     * The LocusEventListener, receiving each operation performed
+     * by the framework. This is volatile for the same reason as
+     * the LocusMetrics.
+     */
+    private volatile LocusEventListener eventListener = NoOpLocusEventListener.INSTANCE;
+
+    /**
+     * The time budget for a single piece of work on the UI Thread,
+     * in nanoseconds, or 0 if there is no budget. This is volatile
+     * for the same reason as the LocusMetrics.
+     */
+    private volatile long uiThreadBudget = 0;
+
+    /**
+     * The SlowUIHandlerListener, notified when the UI Thread
+     * budget is exceeded.
+     */
+    private volatile SlowUIHandlerListener slowUIHandlerListener = LoggingSlowUIHandlerListener.INSTANCE;
+
+    /**
+     * An empty chain of LocusInterceptors.
+     */
+    private static final LocusInterceptor[] NO_INTERCEPTORS = new LocusInterceptor[0];
+
+    /**
+     * The compiled chain of LocusInterceptors. The array is never
+     * modified, it is replaced whenever the chain changes, so it
+     * can be read on every invocation without locking.
+     */
+    private volatile LocusInterceptor[] interceptors = NO_INTERCEPTORS;
+
+    /**
+     * The number of view tasks submitted to the UIThreadExecutor
+     * that have not started yet. This is atomic, rather than guarded
+     * by the lock, because it changes on every view operation. It is
+     * not reset by clear(), because tasks may still be in flight.
+     */
+    private final AtomicInteger pendingUITaskCount = new AtomicInteger(0);
+
+    /**
+     * The LeakDetector tracking the age of views and controller
+     * callbacks. It is disabled by default.
+     */
+    private LeakDetector leakDetector = new LeakDetector(0, 0);
+
+    /**
+     * The constructors used to create controllers. The cache
+     * is thread-safe itself, rather than guarded by the lock,
+     * because it is read every time a controller is created.
+     */
+    private final ControllerConstructorCache controllerConstructors = new ControllerConstructorCache();
+
     /**
      * Get the instance of the LocusStorage.
      *
@@ -130,9 +239,24 @@ public class LocusStorage {
         viewPropRemovers = new MultiValueMap<>();
         viewInstances = new ViewObjectTracker();
 
+        modelAccessors = new HashMap<>();
+        modelAccessors.put(SETTER, new MultiValueMap<String,ModelAccessor>());
+        modelAccessors.put(GETTER, new MultiValueMap<String,ModelAccessor>());
+        modelAccessors.put(ADDER, new MultiValueMap<String,ModelAccessor>());
+        modelAccessors.put(REMOVER, new MultiValueMap<String,ModelAccessor>());
+        viewAccessors = new HashMap<>();
+        viewAccessors.put(SETTER, new MultiValueMap<String,ViewAccessor>());
+        viewAccessors.put(ADDER, new MultiValueMap<String,ViewAccessor>());
+        viewAccessors.put(REMOVER, new MultiValueMap<String,ViewAccessor>());
+
         controllerTypes = new HashMap<>();
+        controllerScopes = new HashMap<>();
 
         controllerCallbacks = new SuperWeakHashMap<>();
+        //Only the controllers are weak, a bound callback must live as long as its controller
+        boundControllerCallbacks = new WeakHashMap<>();
+
+        initializationProfiler = new InitializationProfiler();
     }
 
     /**
@@ -153,10 +277,28 @@ public class LocusStorage {
         viewPropRemovers.clear();
         viewInstances.clear();
 
+        for(MultiValueMap<String,ModelAccessor> accessors : modelAccessors.values()){
+            accessors.clear();
+        }
+        for(MultiValueMap<String,ViewAccessor> accessors : viewAccessors.values()){
+            accessors.clear();
+        }
+
         controllerTypes.clear();
+        controllerScopes.clear();
+        controllerConstructors.clear();
         controllerCallbacks.clear();
+        boundControllerCallbacks.clear();
 
         uiThreadExecutorType = null;
+        uiThreadExecutor = null;
+        initializationProfiler = new InitializationProfiler();
+        metrics = NoOpLocusMetrics.INSTANCE;
+        eventListener = NoOpLocusEventListener.INSTANCE;
+        uiThreadBudget = 0;
+        slowUIHandlerListener = LoggingSlowUIHandlerListener.INSTANCE;
+        interceptors = NO_INTERCEPTORS;
+        leakDetector = new LeakDetector(0, 0);
     }
 
     /*
@@ -169,9 +311,37 @@ public class LocusStorage {
      * @param uiThreadExecutorType the class type of the UIThreadExecutor.
      */
     public synchronized void setUIThreadExecutorType(Class<? extends UIThreadExecutor> uiThreadExecutorType){
+        if(this.uiThreadExecutorType != uiThreadExecutorType){
+            this.uiThreadExecutor = null;
+        }
         this.uiThreadExecutorType = uiThreadExecutorType;
     }
 
+    /**
+     * Get the shared instance of the UIThreadExecutor. It is created
+     * the first time it is needed, and replaced if the class type of
+     * the UIThreadExecutor changes, or this storage is cleared.
+     *
+     * @return the UIThreadExecutor.
+     * @throws LocusException if no UIThreadExecutor type has been set.
+     */
+    public UIThreadExecutor getUIThreadExecutor(){
+        UIThreadExecutor executor = uiThreadExecutor;
+        if(executor != null){
+            return executor;
+        }
+
+        synchronized (this){
+            if(uiThreadExecutor == null){
+                if(uiThreadExecutorType == null){
+                    throw new LocusException("No UIThreadExecutor type has been set");
+                }
+                uiThreadExecutor = ObjectCreator.instantiateClass(uiThreadExecutorType);
+            }
+            return uiThreadExecutor;
+        }
+    }
+
     /**
      * Get the class type of the UIThreadExecutor.
      *
@@ -181,6 +351,224 @@ public class LocusStorage {
         return uiThreadExecutorType;
     }
 
+    /*
+     * InitializationProfiler section
+     */
+
+    /**
+     * Set the InitializationProfiler to record the timings
+     * of initialization with.
+     *
+     * @param initializationProfiler the InitializationProfiler.
+     */
+    public synchronized void setInitializationProfiler(InitializationProfiler initializationProfiler){
+        this.initializationProfiler = initializationProfiler;
+    }
+
+    /**
+     * Get the InitializationProfiler to record the timings
+     * of initialization with. This is never null.
+     *
+     * @return the InitializationProfiler.
+     */
+    public synchronized InitializationProfiler getInitializationProfiler(){
+        return initializationProfiler;
+    }
+
+    /*
+     * LocusMetrics section
+     */
+
+    /**
+     * Set the LocusMetrics to record the operations performed
+     * by the framework with. If null, metrics are disabled.
+     *
+     * @param metrics the LocusMetrics.
+     */
+    public void setMetrics(LocusMetrics metrics){
+        this.metrics = metrics != null ? metrics : NoOpLocusMetrics.INSTANCE;
+    }
+
+    /**
+     * Get the LocusMetrics to record the operations performed
+     * by the framework with. This is never null. It is not
+     * synchronized, so it can be called on every operation
+     * without contending for the storage lock.
+     *
+     * @return the LocusMetrics.
+     */
+    public LocusMetrics getMetrics(){
+        return metrics;
+    }
+
+    /*
+     * LocusEventListener section
+     */
+
+    /**
+     * Set the LocusEventListener to receive the operations performed
+     * by the framework. If null, events are disabled.
+     *
+     * @param eventListener the LocusEventListener.
+     */
+    public void setEventListener(LocusEventListener eventListener){
+        this.eventListener = eventListener != null ? eventListener : NoOpLocusEventListener.INSTANCE;
+    }
+
+    /**
+     * Get the LocusEventListener to receive the operations performed
+     * by the framework. This is never null, and like getMetrics(),
+     * it is not synchronized.
+     *
+     * @return the LocusEventListener.
+     */
+    public LocusEventListener getEventListener(){
+        return eventListener;
+    }
+
+    /*
+     * UI Thread budget section
+     */
+
+    /**
+     * Set the time budget for a single piece of work on the UI
+     * Thread. Any view handler, or wait for the UI Thread, that
+     * takes longer is reported to the SlowUIHandlerListener.
+     *
+     * @param budget the budget, or 0 for no budget.
+     * @param unit the unit of the budget.
+     */
+    public void setUIThreadBudget(long budget, TimeUnit unit){
+        this.uiThreadBudget = unit.toNanos(Math.max(0, budget));
+    }
+
+    /**
+     * Get the time budget for a single piece of work on the
+     * UI Thread. Like getMetrics(), it is not synchronized.
+     *
+     * @return the budget, in nanoseconds, or 0 if there is no budget.
+     */
+    public long getUIThreadBudgetNanos(){
+        return uiThreadBudget;
+    }
+
+    /**
+     * Set the SlowUIHandlerListener to notify when the UI Thread
+     * budget is exceeded. If null, the default LoggingSlowUIHandlerListener
+     * is used.
+     *
+     * @param slowUIHandlerListener the SlowUIHandlerListener.
+     */
+    public void setSlowUIHandlerListener(SlowUIHandlerListener slowUIHandlerListener){
+        this.slowUIHandlerListener = slowUIHandlerListener != null ? slowUIHandlerListener : LoggingSlowUIHandlerListener.INSTANCE;
+    }
+
+    /**
+     * Get the SlowUIHandlerListener to notify when the UI
+     * Thread budget is exceeded. This is never null.
+     *
+     * @return the SlowUIHandlerListener.
+     */
+    public SlowUIHandlerListener getSlowUIHandlerListener(){
+        return slowUIHandlerListener;
+    }
+
+    /*
+     * Leak detection section
+     */
+
+    /**
+     * Enable leak detection for views and controller callbacks
+     * registered after this point. Any that stay registered for
+     * longer than the threshold are reported by getLeakReport().
+     *
+     * @param threshold the threshold, or 0 to disable leak detection.
+     * @param unit the unit of the threshold.
+     * @param stackSampleRate capture the stack trace of one in every
+     *                        stackSampleRate registrations, or 0 for none.
+     */
+    public synchronized void setLeakDetection(long threshold, TimeUnit unit, int stackSampleRate){
+        leakDetector = new LeakDetector(unit.toNanos(Math.max(0, threshold)), Math.max(0, stackSampleRate));
+    }
+
+    /**
+     * Get a LeakReport of the views and controller callbacks registered
+     * for longer than the leak detection threshold, along with the number
+     * of view WeakReferences cleared and pruned.
+     *
+     * @return the LeakReport.
+     */
+    public synchronized LeakReport getLeakReport(){
+        return leakDetector.findLeaks(viewInstances, controllerCallbacks);
+    }
+
+    /*
+     * LocusInterceptor section
+     */
+
+    /**
+     * Set the chain of LocusInterceptors, replacing any existing ones.
+     *
+     * @param interceptors the LocusInterceptors, in order, outermost first.
+     */
+    public synchronized void setInterceptors(List<LocusInterceptor> interceptors){
+        this.interceptors = interceptors != null && interceptors.size() > 0 ?
+                interceptors.toArray(new LocusInterceptor[interceptors.size()]) : NO_INTERCEPTORS;
+    }
+
+    /**
+     * Add a LocusInterceptor to the end of the chain, so it
+     * is the innermost interceptor.
+     *
+     * @param interceptor the LocusInterceptor.
+     */
+    public synchronized void addInterceptor(LocusInterceptor interceptor){
+        LocusInterceptor[] newInterceptors = Arrays.copyOf(interceptors, interceptors.length + 1);
+        newInterceptors[interceptors.length] = interceptor;
+        this.interceptors = newInterceptors;
+    }
+
+    /**
+     * Get the compiled chain of LocusInterceptors. Like getMetrics(),
+     * it is not synchronized. The array returned is shared, and must
+     * not be modified.
+     *
+     * @return the LocusInterceptors, or an empty array if there are none.
+     */
+    public LocusInterceptor[] getInterceptors(){
+        return interceptors;
+    }
+
+    /*
+     * Pending UI task section
+     */
+
+    /**
+     * Record that a view task has been submitted to the
+     * UIThreadExecutor.
+     */
+    public void incrementPendingUITaskCount(){
+        pendingUITaskCount.incrementAndGet();
+    }
+
+    /**
+     * Record that a view task submitted to the UIThreadExecutor
+     * has started, or will never start.
+     */
+    public void decrementPendingUITaskCount(){
+        pendingUITaskCount.decrementAndGet();
+    }
+
+    /**
+     * Get the number of view tasks submitted to the
+     * UIThreadExecutor that have not started yet.
+     *
+     * @return the number of pending UI tasks.
+     */
+    public int getPendingUITaskCount(){
+        return pendingUITaskCount.get();
+    }
+
     /*
      * Get all names section
      */
@@ -197,6 +585,9 @@ public class LocusStorage {
             allPropNames.addAll(modelPropSetters.keySet());
             allPropNames.addAll(modelPropAdders.keySet());
             allPropNames.addAll(modelPropRemovers.keySet());
+            for(MultiValueMap<String,ModelAccessor> accessors : modelAccessors.values()){
+                allPropNames.addAll(accessors.keySet());
+            }
         }
 
         return allPropNames;
@@ -213,6 +604,9 @@ public class LocusStorage {
             allViewPropNames.addAll(viewPropSetters.keySet());
             allViewPropNames.addAll(viewPropAdders.keySet());
             allViewPropNames.addAll(viewPropRemovers.keySet());
+            for(MultiValueMap<String,ViewAccessor> accessors : viewAccessors.values()){
+                allViewPropNames.addAll(accessors.keySet());
+            }
         }
 
         return allViewPropNames;
@@ -576,7 +970,7 @@ public class LocusStorage {
      * @see java.lang.ref.WeakReference
      */
     public synchronized void addViewInstance(Object instance){
-        WeakReference<?> weakRef = new WeakReference<>(instance);
+        WeakReference<?> weakRef = viewInstances.newReference(instance, leakDetector.sampleStackTrace());
         viewInstances.putValue(instance.getClass(), weakRef);
     }
 
@@ -629,6 +1023,27 @@ public class LocusStorage {
         return viewInstances.fullSize();
     }
 
+    /**
+     * Get a count of the view instances that have
+     * not been garbage collected.
+     *
+     * @return a count of live view instances.
+     */
+    public synchronized int getLiveViewInstanceCount(){
+        return viewInstances.getLiveCount();
+    }
+
+    /**
+     * Get a count of the view instances that have
+     * been garbage collected since the storage was
+     * last cleared.
+     *
+     * @return a count of collected view instances.
+     */
+    public synchronized long getCollectedViewInstanceCount(){
+        return viewInstances.getCollectedCount();
+    }
+
     /*
      * View Adder Section
      */
@@ -765,30 +1180,137 @@ public class LocusStorage {
         return viewPropRemovers.fullSize();
     }
 
+    /*
+     * Accessor Section
+     */
+
+    /**
+     * Add a pre-built accessor for a model property. It is
+     * organized by the kind of the accessor.
+     *
+     * @param propName the name of the property.
+     * @param accessor the accessor.
+     */
+    public synchronized void addModelAccessor(String propName, ModelAccessor accessor){
+        modelAccessors.get(accessor.getKind()).putValue(propName, accessor);
+    }
+
+    /**
+     * Get the pre-built accessors of the specified kind for a
+     * model property.
+     *
+     * @param propName the name of the property.
+     * @param kind the kind of accessor, one of the method codes in LocusConstants.
+     * @return the accessors, or null if there are none.
+     */
+    public synchronized Collection<ModelAccessor> getModelAccessors(String propName, int kind){
+        MultiValueMap<String,ModelAccessor> accessors = modelAccessors.get(kind);
+        Collection<ModelAccessor> result = accessors != null ? accessors.get(propName) : null;
+        if(result != null){
+            return Collections.unmodifiableCollection(result);
+        }
+        return null;
+    }
+
+    /**
+     * Get a count of all pre-built model accessors.
+     *
+     * @return a count of all pre-built model accessors.
+     */
+    public synchronized int getModelAccessorCount(){
+        int count = 0;
+        for(MultiValueMap<String,ModelAccessor> accessors : modelAccessors.values()){
+            count += accessors.fullSize();
+        }
+        return count;
+    }
+
+    /**
+     * Add a pre-built accessor for a view property. It is
+     * organized by the kind of the accessor.
+     *
+     * @param propName the name of the property.
+     * @param accessor the accessor.
+     */
+    public synchronized void addViewAccessor(String propName, ViewAccessor accessor){
+        viewAccessors.get(accessor.getKind()).putValue(propName, accessor);
+    }
+
+    /**
+     * Get the pre-built accessors of the specified kind for a
+     * view property.
+     *
+     * @param propName the name of the property.
+     * @param kind the kind of accessor, one of the method codes in LocusConstants.
+     * @return the accessors, or null if there are none.
+     */
+    public synchronized Collection<ViewAccessor> getViewAccessors(String propName, int kind){
+        MultiValueMap<String,ViewAccessor> accessors = viewAccessors.get(kind);
+        Collection<ViewAccessor> result = accessors != null ? accessors.get(propName) : null;
+        if(result != null){
+            return Collections.unmodifiableCollection(result);
+        }
+        return null;
+    }
+
+    /**
+     * Get a count of all pre-built view accessors.
+     *
+     * @return a count of all pre-built view accessors.
+     */
+    public synchronized int getViewAccessorCount(){
+        int count = 0;
+        for(MultiValueMap<String,ViewAccessor> accessors : viewAccessors.values()){
+            count += accessors.fullSize();
+        }
+        return count;
+    }
+
     /*
      * Controller Section
      */
 
     /**
-     * Add a new controller class type. Its name and whether or not it is
-     * a singleton must also be provided.
+     * Add a new controller class type, with the PROTOTYPE scope.
      *
      * @param name the name of the controller.
      * @param clazz the class type of the controller.
      */
     public synchronized void addControllerType(String name, Class<?> clazz){
+        addControllerType(name, clazz, ControllerScope.PROTOTYPE, 0);
+    }
+
+    /**
+     * Add a new controller class type. Its name and its
+     * scope must also be provided.
+     *
+     * @param name the name of the controller.
+     * @param clazz the class type of the controller.
+     * @param scope the scope of the controller.
+     * @param poolSize the most idle instances to keep, if the scope is POOLED.
+     */
+    public synchronized void addControllerType(String name, Class<?> clazz, ControllerScope scope, int poolSize){
         controllerTypes.put(name, clazz);
+        controllerConstructors.remove(name);
+        if(scope == ControllerScope.PROTOTYPE){
+            controllerScopes.remove(name);
+        }
+        else{
+            controllerScopes.put(name, new ScopedControllerInstances(scope, poolSize));
+        }
     }
 
     /**
      * Remove the named controller type. All references to the controller
      * with this name will be removed, including the class type and any
-     * currently registered singleton instances.
+     * shared or pooled instances.
      *
      * @param name the name of the controller to remove.
      */
     public synchronized void removeControllerType(String name){
         controllerTypes.remove(name);
+        controllerScopes.remove(name);
+        controllerConstructors.remove(name);
     }
 
     /**
@@ -810,6 +1332,26 @@ public class LocusStorage {
         return Collections.unmodifiableCollection(controllerTypes.values());
     }
 
+    /**
+     * Get the instances kept for the named controller, if
+     * its scope is anything other than PROTOTYPE.
+     *
+     * @param name the name of the controller.
+     * @return the ScopedControllerInstances, or null if the controller has the PROTOTYPE scope.
+     */
+    public synchronized ScopedControllerInstances getControllerScope(String name){
+        return controllerScopes.get(name);
+    }
+
+    /**
+     * Get the cache of constructors used to create controllers.
+     *
+     * @return the ControllerConstructorCache.
+     */
+    public ControllerConstructorCache getControllerConstructors(){
+        return controllerConstructors;
+    }
+
     /**
      * Get a count of all controller class types.
      *
@@ -832,6 +1374,62 @@ public class LocusStorage {
      */
     public synchronized void addControllerCallback(Object controller, Object callback){
         controllerCallbacks.put(controller, callback);
+        boundControllerCallbacks.remove(controller);
+        leakDetector.addCallback(controller);
+    }
+
+    /**
+     * Add a new controller callback object reference, tied to the instance
+     * of the controller it is associated with, along with the
+     * LocusControllerCallback that wraps it.
+     *
+     * @param controller the controller.
+     * @param callback the callback object, generally a view.
+     * @param boundCallback the LocusControllerCallback wrapping the callback object.
+     */
+    public synchronized void addControllerCallback(Object controller, Object callback, LocusControllerCallback boundCallback){
+        addControllerCallback(controller, callback);
+        boundControllerCallbacks.put(controller, boundCallback);
+    }
+
+    /**
+     * Bind the LocusControllerCallback wrapping a callback object that
+     * was added without one. It is only bound if the callback object is
+     * still the one linked to the controller, so a callback replaced in
+     * the meantime is never written back. The callback object itself,
+     * and its leak detection registration, are left unchanged.
+     *
+     * @param controller the controller.
+     * @param expectedCallback the callback object the LocusControllerCallback wraps.
+     * @param boundCallback the LocusControllerCallback wrapping the callback object.
+     * @return the LocusControllerCallback bound to the controller, which is an
+     *          existing one if another was bound first, or null if the callback
+     *          object is no longer the expected one.
+     */
+    public synchronized LocusControllerCallback bindControllerCallback(Object controller, Object expectedCallback, LocusControllerCallback boundCallback){
+        if(controllerCallbacks.get(controller) != expectedCallback){
+            return null;
+        }
+
+        //Bound callbacks are discarded whenever the callback object changes, so an existing one wraps the expected object
+        LocusControllerCallback existing = boundControllerCallbacks.get(controller);
+        if(existing != null){
+            return existing;
+        }
+        boundControllerCallbacks.put(controller, boundCallback);
+        return boundCallback;
+    }
+
+    /**
+     * Get the LocusControllerCallback wrapping the callback
+     * object for the provided controller instance, if one has
+     * been bound to it.
+     *
+     * @param controller the controller.
+     * @return the LocusControllerCallback, or null if none has been bound.
+     */
+    public synchronized LocusControllerCallback getBoundControllerCallback(Object controller){
+        return boundControllerCallbacks.get(controller);
     }
 
     /**
@@ -853,6 +1451,71 @@ public class LocusStorage {
      */
     public synchronized void removeControllerCallback(Object controller){
         controllerCallbacks.remove(controller);
+        boundControllerCallbacks.remove(controller);
+        leakDetector.removeCallback(controller);
+    }
+
+    /**
+     * Get a count of all controller callback object references.
+     *
+     * @return a count of controller callbacks.
+     */
+    public synchronized int getControllerCallbackCount(){
+        return controllerCallbacks.size();
+    }
+
+    /*
+     * Snapshot section
+     */
+
+    /**
+     * Take an immutable snapshot of the contents of this storage.
+     * Everything is copied in a single pass while holding the lock,
+     * so the snapshot is consistent, and the copies are only converted
+     * to their descriptions after the lock is released.
+     *
+     * @return the LocusSnapshot.
+     */
+    public LocusSnapshot snapshot(){
+        LocusSnapshot.Builder builder = new LocusSnapshot.Builder();
+        synchronized (this){
+            builder.counts(uiThreadExecutorType, viewInstances.getLiveCount(), viewInstances.getCollectedCount(),
+                    pendingUITaskCount.get(), interceptors.length);
+
+            builder.modelHandlers(SETTER, modelPropSetters)
+                    .modelHandlers(GETTER, modelPropGetters)
+                    .modelHandlers(ADDER, modelPropAdders)
+                    .modelHandlers(REMOVER, modelPropRemovers);
+            for(Map.Entry<Integer,MultiValueMap<String,ModelAccessor>> entry : modelAccessors.entrySet()){
+                builder.modelHandlers(entry.getKey(), entry.getValue());
+            }
+
+            builder.viewHandlers(SETTER, viewPropSetters)
+                    .viewHandlers(ADDER, viewPropAdders)
+                    .viewHandlers(REMOVER, viewPropRemovers);
+            for(Map.Entry<Integer,MultiValueMap<String,ViewAccessor>> entry : viewAccessors.entrySet()){
+                builder.viewHandlers(entry.getKey(), entry.getValue());
+            }
+
+            //Iterate the raw values, the snapshot shouldn't purge collected views as a side effect
+            for(Map.Entry<Class<?>,Collection<WeakReference<?>>> entry : viewInstances.entrySet()){
+                builder.viewInstances(entry.getKey(), entry.getValue());
+            }
+
+            for(Map.Entry<String,Class<?>> entry : controllerTypes.entrySet()){
+                builder.controller(entry.getKey(), entry.getValue());
+            }
+
+            for(Object controller : controllerCallbacks.keySet()){
+                Object callback = controllerCallbacks.get(controller);
+                //Either side may have been collected, in which case the entry is about to be removed anyway
+                if(controller != null && callback != null){
+                    builder.controllerCallback(controller, callback);
+                }
+            }
+        }
+
+        return builder.build();
     }
 
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.utils.reflect.ClassAndMethod;
+import io.craigmiller160.utils.reflect.ObjectAndMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static io.craigmiller160.locus.util.LocusConstants.DEFAULT_CONFIG_FILE;
+
+/**
+ * <p>A build-time tool that generates the reflection and resource
+ * configuration files needed to run the Locus Framework in a GraalVM
+ * native image. It reads the contents of the LocusStorage after a
+ * normal scan, and writes a reflect-config.json with every model,
+ * view, and controller method and constructor that the framework
+ * will reflectively invoke, and a resource-config.json with the
+ * Locus configuration file and schema.</p>
+ *
+ * <p>It is run with the main method, which initializes the framework
+ * with a configuration file from the classpath, then writes both files
+ * to an output directory. For native-image to pick them up automatically,
+ * the output directory should be META-INF/native-image/[groupId]/[artifactId]
+ * inside the application's classes directory.</p>
+ *
+ * <p><b>IMPORTANT:</b> Package scanning relies on the classpath, which
+ * doesn't exist in a native image. An application built as a native image
+ * must list its classes in the configuration file, or use the LocusRegistry.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is not thread-safe. It is intended
+ * to be used once by a single thread at build time.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@NotThreadSafe
+public class NativeImageConfigGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeImageConfigGenerator.class);
+
+    /**
+     * The name of the generated reflection configuration file.
+     */
+    public static final String REFLECT_CONFIG_FILE = "reflect-config.json";
+
+    /**
+     * The name of the generated resource configuration file.
+     */
+    public static final String RESOURCE_CONFIG_FILE = "resource-config.json";
+
+    /**
+     * The name of the Locus schema resource.
+     */
+    private static final String SCHEMA_RESOURCE = "locus-schema.xsd";
+
+    //The platform-independent line separator
+    private static final String LS = System.lineSeparator();
+
+    /**
+     * The reflection entries, sorted by class name so
+     * the generated output is stable between builds.
+     */
+    private final Map<String,ReflectEntry> entries = new TreeMap<>();
+
+    /**
+     * Create a new NativeImageConfigGenerator from the
+     * current contents of the LocusStorage.
+     *
+     * @param storage the LocusStorage, already populated by a scan.
+     */
+    public NativeImageConfigGenerator(LocusStorage storage){
+        //Models are instantiated and their methods invoked reflectively
+        addModelMethods(storage.getAllModelPropSetters());
+        addModelMethods(storage.getAllModelPropGetters());
+        addModelMethods(storage.getAllModelPropAdders());
+        addModelMethods(storage.getAllModelPropRemovers());
+
+        //Views are never instantiated, but controller callbacks can look up any public getter on them
+        addViewClasses(storage.getAllViewPropSetters());
+        addViewClasses(storage.getAllViewPropAdders());
+        addViewClasses(storage.getAllViewPropRemovers());
+
+        //Controllers, interceptors, and the UIThreadExecutor are only instantiated reflectively
+        for(Class<?> controllerType : storage.getControllerTypes()){
+            getEntry(controllerType).constructors = true;
+        }
+        for(LocusInterceptor interceptor : storage.getInterceptors()){
+            getEntry(interceptor.getClass()).constructors = true;
+        }
+        if(storage.getUIThreadExecutorType() != null){
+            getEntry(storage.getUIThreadExecutorType()).constructors = true;
+        }
+    }
+
+    /**
+     * Write the reflection configuration, in the JSON format
+     * expected by native-image.
+     *
+     * @param writer the Writer to write the configuration to.
+     * @throws IOException if unable to write the configuration.
+     */
+    public void writeReflectConfig(Writer writer) throws IOException{
+        writer.write("[");
+        boolean firstEntry = true;
+        for(ReflectEntry entry : entries.values()){
+            writer.write(firstEntry ? LS : "," + LS);
+            firstEntry = false;
+
+            writer.write("  {" + LS);
+            writer.write("    \"name\": " + quote(entry.name));
+            if(entry.constructors){
+                writer.write("," + LS + "    \"allDeclaredConstructors\": true");
+            }
+            if(entry.publicMethods){
+                writer.write("," + LS + "    \"allPublicMethods\": true");
+            }
+            if(entry.methods.size() > 0){
+                writer.write("," + LS + "    \"methods\": [");
+                boolean firstMethod = true;
+                for(String method : entry.methods){
+                    writer.write(firstMethod ? LS : "," + LS);
+                    firstMethod = false;
+                    writer.write("      " + method);
+                }
+                writer.write(LS + "    ]");
+            }
+            writer.write(LS + "  }");
+        }
+        writer.write(LS + "]" + LS);
+        writer.flush();
+    }
+
+    /**
+     * Write the resource configuration, in the JSON format expected
+     * by native-image. It always includes the Locus schema, along with
+     * the provided resources.
+     *
+     * @param writer the Writer to write the configuration to.
+     * @param resources the paths of the resources, such as the configuration file.
+     * @throws IOException if unable to write the configuration.
+     */
+    public void writeResourceConfig(Writer writer, String... resources) throws IOException{
+        List<String> allResources = new ArrayList<>();
+        for(String resource : resources){
+            allResources.add(resource);
+        }
+        allResources.add(SCHEMA_RESOURCE);
+
+        writer.write("{" + LS);
+        writer.write("  \"resources\": {" + LS);
+        writer.write("    \"includes\": [");
+        for(int i = 0; i < allResources.size(); i++){
+            writer.write(i == 0 ? LS : "," + LS);
+            //Resource patterns are regular expressions, so the path is quoted to match literally
+            writer.write("      {\"pattern\": " + quote("\\Q" + allResources.get(i) + "\\E") + "}");
+        }
+        writer.write(LS + "    ]" + LS);
+        writer.write("  }" + LS);
+        writer.write("}" + LS);
+        writer.flush();
+    }
+
+    private void addModelMethods(Collection<ObjectAndMethod> oams){
+        if(oams != null){
+            for(ObjectAndMethod oam : oams){
+                getEntry(oam.getInstance().getClass()).constructors = true;
+                Method m = oam.getReflectiveComponent();
+                getEntry(m.getDeclaringClass()).methods.add(toJson(m));
+            }
+        }
+    }
+
+    private void addViewClasses(Collection<ClassAndMethod> cams){
+        if(cams != null){
+            for(ClassAndMethod cam : cams){
+                getEntry(cam.getSourceType()).publicMethods = true;
+            }
+        }
+    }
+
+    private ReflectEntry getEntry(Class<?> clazz){
+        ReflectEntry entry = entries.get(clazz.getName());
+        if(entry == null){
+            entry = new ReflectEntry(clazz.getName());
+            entries.put(clazz.getName(), entry);
+        }
+        return entry;
+    }
+
+    private static String toJson(Method m){
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"name\": ").append(quote(m.getName())).append(", \"parameterTypes\": [");
+        Class<?>[] paramTypes = m.getParameterTypes();
+        for(int i = 0; i < paramTypes.length; i++){
+            if(i > 0){
+                builder.append(", ");
+            }
+            builder.append(quote(getTypeName(paramTypes[i])));
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static String getTypeName(Class<?> type){
+        //Array types are written in source form, ie "int[]" rather than "[I"
+        if(type.isArray()){
+            return getTypeName(type.getComponentType()) + "[]";
+        }
+        return type.getName();
+    }
+
+    private static String quote(String value){
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Initialize the Locus Framework and generate the native-image
+     * configuration files from the result.
+     *
+     * @param args the path to the configuration file on the classpath, which
+     *             defaults to locus.xml, and the directory to write to, which
+     *             defaults to the current directory.
+     * @throws IOException if unable to write the configuration files.
+     */
+    public static void main(String[] args) throws IOException{
+        String configFilePath = args.length > 0 ? args[0] : DEFAULT_CONFIG_FILE;
+        File outputDir = new File(args.length > 1 ? args[1] : ".");
+        if(!outputDir.isDirectory() && !outputDir.mkdirs()){
+            throw new IOException(String.format("Unable to create output directory: %s", outputDir));
+        }
+
+        Locus.initialize(configFilePath, true);
+        NativeImageConfigGenerator generator = new NativeImageConfigGenerator(LocusStorage.getInstance());
+
+        File reflectConfig = new File(outputDir, REFLECT_CONFIG_FILE);
+        try(Writer writer = new OutputStreamWriter(new FileOutputStream(reflectConfig), StandardCharsets.UTF_8)){
+            generator.writeReflectConfig(writer);
+        }
+
+        File resourceConfig = new File(outputDir, RESOURCE_CONFIG_FILE);
+        try(Writer writer = new OutputStreamWriter(new FileOutputStream(resourceConfig), StandardCharsets.UTF_8)){
+            generator.writeResourceConfig(writer, configFilePath);
+        }
+
+        logger.info("Generated native-image configuration for {} classes in {}", generator.entries.size(), outputDir.getAbsolutePath());
+    }
+
+    /**
+     * A single class in the reflection configuration.
+     */
+    private static class ReflectEntry {
+        private final String name;
+        private final TreeSet<String> methods = new TreeSet<>();
+        private boolean constructors = false;
+        private boolean publicMethods = false;
+
+        ReflectEntry(String name){
+            this.name = name;
+        }
+    }
+
+}
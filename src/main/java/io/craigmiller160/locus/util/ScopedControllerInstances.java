@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.locus.annotations.ControllerScope;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>The instances kept for a single controller with a scope
+ * other than PROTOTYPE. Depending on the scope, this is either a
+ * single shared instance, an instance for each thread, or a pool
+ * of idle instances.</p>
+ *
+ * <p>This class only keeps the instances. Creating them, and
+ * deciding when to reuse them, is left to the LocusController.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. The shared
+ * instance is volatile, and is only set while holding the intrinsic
+ * lock of this class, so it is created only once. The pool is a
+ * concurrent queue, with its size kept in an atomic variable.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class ScopedControllerInstances {
+
+    private final ControllerScope scope;
+    private final int poolSize;
+
+    private volatile Object singleton;
+    private final ThreadLocal<Object> threadInstance = new ThreadLocal<>();
+    private final Queue<Object> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger(0);
+
+    /**
+     * Create a new ScopedControllerInstances.
+     *
+     * @param scope the scope of the controller.
+     * @param poolSize the most idle instances to keep, if the scope is POOLED.
+     */
+    public ScopedControllerInstances(ControllerScope scope, int poolSize){
+        if(scope == ControllerScope.POOLED && poolSize < 0){
+            throw new IllegalArgumentException("Pool size can't be negative");
+        }
+        this.scope = scope;
+        this.poolSize = poolSize;
+    }
+
+    public ControllerScope getScope(){
+        return scope;
+    }
+
+    public int getPoolSize(){
+        return poolSize;
+    }
+
+    /**
+     * Get the instance shared with the current thread, if the
+     * scope is SINGLETON or THREAD_LOCAL.
+     *
+     * @return the shared instance, or null if it hasn't been created yet.
+     */
+    public Object getShared(){
+        return scope == ControllerScope.THREAD_LOCAL ? threadInstance.get() : singleton;
+    }
+
+    /**
+     * Set the instance shared with the current thread. For the
+     * SINGLETON scope, the caller should hold the intrinsic lock
+     * of this object while it checks for and creates the instance,
+     * so it is only created once.
+     *
+     * @param instance the shared instance.
+     */
+    public void setShared(Object instance){
+        if(scope == ControllerScope.THREAD_LOCAL){
+            threadInstance.set(instance);
+        }
+        else{
+            singleton = instance;
+        }
+    }
+
+    /**
+     * Take an idle instance from the pool.
+     *
+     * @return the instance, or null if the pool is empty.
+     */
+    public Object borrow(){
+        Object instance = pool.poll();
+        if(instance != null){
+            idleCount.decrementAndGet();
+        }
+        return instance;
+    }
+
+    /**
+     * Return an instance to the pool, unless the
+     * pool already has as many idle instances
+     * as its size.
+     *
+     * @param instance the instance.
+     * @return true if the instance was added to the pool.
+     */
+    public boolean giveBack(Object instance){
+        //Reserve the space first, so the pool never grows past its size
+        if(idleCount.incrementAndGet() > poolSize){
+            idleCount.decrementAndGet();
+            return false;
+        }
+        pool.offer(instance);
+        return true;
+    }
+
+    /**
+     * Get the number of idle instances in the pool.
+     *
+     * @return the number of idle instances.
+     */
+    public int getIdleCount(){
+        return idleCount.get();
+    }
+
+}
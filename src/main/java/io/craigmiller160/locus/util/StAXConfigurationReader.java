@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * <p>An implementation of ConfigurationReader that uses Java's
+ * StAX parsing tools to read the XML configuration file in a single
+ * streaming pass, and store its values in the Configuration object.</p>
+ *
+ * <p>This reader can optionally validate the configuration file
+ * against the Locus XML schema before reading it. The schema is
+ * compiled the first time it is needed, and the compiled schema
+ * is shared by all instances of this class.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is thread-safe. Its only
+ * instance state is immutable, and the shared XMLInputFactory and
+ * compiled Schema are not modified after they are created. A new
+ * XMLStreamReader and Validator are created for each configuration
+ * file read.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class StAXConfigurationReader extends AbstractConfigurationReader{
+
+    private static final Logger logger = LoggerFactory.getLogger(StAXConfigurationReader.class);
+
+    /*
+     * These private constants represent the names used in the
+     * XML schema. They should be used for all references to XML
+     * nodes in the code to maintain consistency.
+     */
+    private static final String NAMESPACE = "io.craigmiller160.github.com/locus-schema";
+    private static final String PACKAGES_NODE = "packages";
+    private static final String CLASS_NODE = "class";
+    private static final String PACKAGE_NODE = "package";
+    private static final String EXCLUSION_NODE = "exclusion";
+    private static final String INCLUSION_NODE = "inclusion";
+    private static final String UI_THREAD_EXECUTOR_NODE = "uiThreadExecutor";
+    private static final String INTERCEPTOR_NODE = "interceptor";
+    private static final String PACKAGE_NAME_ATTR = "name";
+    private static final String PREFIX_ATTR = "prefix";
+    private static final String CLASS_ATTR = "class";
+    private static final String SCANNER_ATTR = "scanner";
+    private static final String BUDGET_ATTR = "budget";
+
+    /**
+     * The classpath location of the Locus XML schema.
+     */
+    private static final String SCHEMA_RESOURCE = "locus-schema.xsd";
+
+    /**
+     * The XMLInputFactory, configured once and shared by all instances.
+     */
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    /**
+     * The compiled Locus XML schema. It is lazily compiled
+     * the first time a configuration file is validated.
+     */
+    private static volatile Schema schema;
+
+    /**
+     * If the configuration file should be validated against the schema.
+     */
+    private final boolean validate;
+
+    /**
+     * The StAXConfigurationReader should be created by the ConfigurationReaderFactory
+     * class. This package-private constructor exists for testing purposes.
+     *
+     * @param validate true if the configuration file should be validated against the schema.
+     */
+    StAXConfigurationReader(boolean validate){
+        this.validate = validate;
+    }
+
+    /**
+     * Get if this reader validates the configuration file
+     * against the schema.
+     *
+     * @return true if this reader validates the configuration file.
+     */
+    public boolean isValidating(){
+        return validate;
+    }
+
+    @Override
+    public LocusConfiguration readConfiguration(InputStream configSource) throws LocusParsingException{
+        logger.debug("Reading Locus configuration");
+        LocusConfiguration locusConfig = new LocusConfiguration();
+        XMLStreamReader reader = null;
+        try{
+            //Validating consumes the stream, so the content is buffered to be read twice
+            if(validate){
+                byte[] content = readContent(configSource);
+                validate(content);
+                configSource = new ByteArrayInputStream(content);
+            }
+
+            reader = inputFactory.createXMLStreamReader(configSource);
+            while(reader.hasNext()){
+                if(reader.next() == XMLStreamConstants.START_ELEMENT && NAMESPACE.equals(reader.getNamespaceURI())){
+                    parseElement(reader, locusConfig);
+                }
+            }
+        }
+        catch(XMLStreamException | IOException ex){
+            throw new LocusParsingException("Unable to parse Locus configuration file", ex);
+        }
+        finally{
+            closeReader(reader);
+        }
+
+        return locusConfig;
+    }
+
+    /**
+     * Parse the XML element that the reader is currently positioned
+     * at. Each element in the schema has a unique name, so the element
+     * can be identified without tracking its parent elements.
+     *
+     * @param reader the XMLStreamReader.
+     * @param locusConfig the LocusConfiguration.
+     */
+    private void parseElement(XMLStreamReader reader, LocusConfiguration locusConfig){
+        String name = reader.getLocalName();
+        if(PACKAGES_NODE.equals(name)){
+            //Get the type of scanner to use, if one is specified
+            String scannerType = reader.getAttributeValue(null, SCANNER_ATTR);
+            if(scannerType != null){
+                logger.trace("Setting package scanner type: {}", scannerType);
+                locusConfig.setPackageScannerType(scannerType);
+            }
+        }
+        else if(PACKAGE_NODE.equals(name)){
+            String packageName = reader.getAttributeValue(null, PACKAGE_NAME_ATTR);
+            if(packageName != null){
+                logger.trace("Adding package to scan: {}", packageName);
+                locusConfig.addPackageName(packageName);
+            }
+        }
+        else if(CLASS_NODE.equals(name)){
+            String className = reader.getAttributeValue(null, CLASS_ATTR);
+            if(className != null){
+                logger.trace("Added class name to scan: {}", className);
+                locusConfig.addClassName(className);
+            }
+        }
+        else if(EXCLUSION_NODE.equals(name)){
+            String prefix = reader.getAttributeValue(null, PREFIX_ATTR);
+            if(prefix != null){
+                logger.trace("Adding scanner exclusion prefix: {}", prefix);
+                locusConfig.addScannerExclusion(prefix);
+            }
+        }
+        else if(INCLUSION_NODE.equals(name)){
+            String prefix = reader.getAttributeValue(null, PREFIX_ATTR);
+            if(prefix != null){
+                logger.trace("Adding scanner inclusion prefix: {}", prefix);
+                locusConfig.addScannerInclusion(prefix);
+            }
+        }
+        else if(INTERCEPTOR_NODE.equals(name)){
+            String className = reader.getAttributeValue(null, CLASS_ATTR);
+            if(className != null){
+                logger.trace("Adding LocusInterceptor class name: {}", className);
+                locusConfig.addInterceptorClassName(className);
+            }
+        }
+        else if(UI_THREAD_EXECUTOR_NODE.equals(name)){
+            String className = reader.getAttributeValue(null, CLASS_ATTR);
+            if(className != null){
+                logger.trace("Adding UIThreadExecutor class name: {}", className);
+                locusConfig.setUIThreadExecutorClassName(className);
+            }
+
+            String budget = reader.getAttributeValue(null, BUDGET_ATTR);
+            if(budget != null){
+                logger.trace("Setting UI Thread budget: {}ms", budget);
+                locusConfig.setUIThreadBudget(parseBudget(budget));
+            }
+        }
+    }
+
+    /**
+     * Validate the content of the configuration file against
+     * the Locus XML schema.
+     *
+     * @param content the content of the configuration file.
+     * @throws LocusParsingException if the configuration file is invalid.
+     * @throws IOException if unable to read the content.
+     */
+    private void validate(byte[] content) throws IOException{
+        logger.trace("Validating Locus configuration against schema");
+        try{
+            getSchema().newValidator().validate(new StreamSource(new ByteArrayInputStream(content)));
+        }
+        catch(SAXException ex){
+            throw new LocusParsingException("Locus configuration file is not valid according to the schema", ex);
+        }
+    }
+
+    /**
+     * Get the compiled Locus XML schema, compiling it if
+     * this is the first time it has been needed.
+     *
+     * @return the compiled schema.
+     * @throws LocusParsingException if unable to compile the schema.
+     */
+    private static Schema getSchema(){
+        Schema result = schema;
+        if(result == null){
+            synchronized (StAXConfigurationReader.class){
+                result = schema;
+                if(result == null){
+                    URL schemaUrl = StAXConfigurationReader.class.getClassLoader().getResource(SCHEMA_RESOURCE);
+                    if(schemaUrl == null){
+                        throw new LocusParsingException(String.format("Unable to find Locus schema: %s", SCHEMA_RESOURCE));
+                    }
+
+                    try{
+                        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                        result = schemaFactory.newSchema(schemaUrl);
+                        schema = result;
+                    }
+                    catch(SAXException ex){
+                        throw new LocusParsingException("Unable to compile Locus schema", ex);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create and configure the XMLInputFactory. DTDs and external
+     * entities are disabled, as the configuration file never needs them.
+     *
+     * @return the XMLInputFactory.
+     */
+    private static XMLInputFactory createInputFactory(){
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Read the full content of the InputStream.
+     *
+     * @param configSource the InputStream.
+     * @return the content of the stream.
+     * @throws IOException if unable to read the stream.
+     */
+    private static byte[] readContent(InputStream configSource) throws IOException{
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int count;
+        while((count = configSource.read(buffer)) != -1){
+            output.write(buffer, 0, count);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Close the XMLStreamReader, if it exists. The
+     * InputStream itself is not closed, because it belongs
+     * to the caller.
+     *
+     * @param reader the XMLStreamReader.
+     */
+    private static void closeReader(XMLStreamReader reader){
+        if(reader != null){
+            try{
+                reader.close();
+            }
+            catch(XMLStreamException ex){
+                logger.warn("Unable to close XMLStreamReader", ex);
+            }
+        }
+    }
+
+}
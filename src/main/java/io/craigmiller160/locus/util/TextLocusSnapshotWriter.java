@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * <p>Writes a LocusSnapshot as indented, human-readable
+ * text, in the same layout as the LocusDebug console output.
+ * Unlike that output, the labels are padded by hand rather
+ * than with String.format(), and nothing is built up in memory
+ * before being written.</p>
+ *
+ * <p><b>THREAD SAFETY:</b> This class is stateless, and
+ * is therefore completely thread-safe.</p>
+ *
+ * @author craigmiller
+ * @version 1.5
+ */
+@ThreadSafe
+public class TextLocusSnapshotWriter implements LocusSnapshotWriter {
+
+    //The platform-independent line separator
+    private static final String LS = System.lineSeparator();
+
+    //The width labels are padded to, matching the LocusDebug output
+    private static final int LABEL_WIDTH = 7;
+
+    @Override
+    public void write(LocusSnapshot snapshot, Writer writer) throws IOException {
+        writer.write("LOCUS SNAPSHOT");
+        writer.write(LS);
+        writeValue(writer, " ", "UIThreadExecutor", snapshot.getUIThreadExecutorType());
+        writeValue(writer, " ", "Live Views", Integer.toString(snapshot.getLiveViewInstanceCount()));
+        writeValue(writer, " ", "Collected Views", Long.toString(snapshot.getCollectedViewInstanceCount()));
+        writeValue(writer, " ", "Pending UI Tasks", Integer.toString(snapshot.getPendingUITaskCount()));
+        writeValue(writer, " ", "Interceptors", Integer.toString(snapshot.getInterceptorCount()));
+        writer.write(LS);
+
+        writer.write("MODEL PROPERTIES");
+        writer.write(LS);
+        writeProperties(writer, snapshot.getModelProperties());
+        writer.write(LS);
+
+        writer.write("VIEW PROPERTIES");
+        writer.write(LS);
+        writeProperties(writer, snapshot.getViewProperties());
+        writer.write(LS);
+
+        writer.write("VIEW INSTANCES");
+        writer.write(LS);
+        for(LocusSnapshot.ViewInstanceSnapshot viewInstance : snapshot.getViewInstances()){
+            writeValue(writer, " ", "Class", viewInstance.getType());
+            writeValue(writer, "   ", "Collected", Integer.toString(viewInstance.getCollectedCount()));
+            writeList(writer, "Live", viewInstance.getInstances());
+        }
+        writer.write(LS);
+
+        writer.write("CONTROLLERS");
+        writer.write(LS);
+        for(LocusSnapshot.ControllerSnapshot controller : snapshot.getControllers()){
+            writeValue(writer, " ", "Name", controller.getName());
+            writeValue(writer, "   ", "Class", controller.getType());
+        }
+        writer.write(LS);
+
+        writer.write("CONTROLLER CALLBACKS");
+        writer.write(LS);
+        for(LocusSnapshot.ControllerCallbackSnapshot callback : snapshot.getControllerCallbacks()){
+            writeValue(writer, " ", "Controller", callback.getController());
+            writeValue(writer, "   ", "Callback", callback.getCallback());
+        }
+
+        writer.flush();
+    }
+
+    private static void writeProperties(Writer writer, List<LocusSnapshot.PropertySnapshot> properties) throws IOException{
+        for(LocusSnapshot.PropertySnapshot property : properties){
+            writeValue(writer, " ", "Property", property.getName());
+            writeList(writer, "Setters", property.getSetters());
+            writeList(writer, "Getters", property.getGetters());
+            writeList(writer, "Adders", property.getAdders());
+            writeList(writer, "Removers", property.getRemovers());
+        }
+    }
+
+    private static void writeList(Writer writer, String label, List<String> values) throws IOException{
+        //Empty lists are left out entirely, the same as the LocusDebug output
+        if(values.isEmpty()){
+            return;
+        }
+
+        writeLabel(writer, "   ", label);
+        writer.write(LS);
+        for(String value : values){
+            writer.write("     ");
+            writer.write(value);
+            writer.write(LS);
+        }
+    }
+
+    private static void writeValue(Writer writer, String indent, String label, String value) throws IOException{
+        writeLabel(writer, indent, label);
+        writer.write(String.valueOf(value));
+        writer.write(LS);
+    }
+
+    private static void writeLabel(Writer writer, String indent, String label) throws IOException{
+        writer.write(indent);
+        writer.write(label);
+        for(int i = label.length(); i < LABEL_WIDTH; i++){
+            writer.write(' ');
+        }
+        writer.write(": ");
+    }
+
+}
@@ -19,6 +19,7 @@ package io.craigmiller160.locus.util;
 import io.craigmiller160.utils.collection.MultiValueMap;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Collection;
 
@@ -34,18 +35,69 @@ import java.util.Collection;
  * <p>This design has the potential for a performance hit, but only
  * if individual view classes are being instantiated a LOT of times.</p>
  *
+ * <p>A running total of the WeakReferences removed because their
+ * views were garbage collected is kept, so a steady growth in live
+ * views can be told apart from views that are being collected.</p>
+ *
+ * <p>WeakReferences created by this class with newReference() also
+ * record when their view was registered, and are enqueued when they
+ * are cleared by the garbage collector. The number cleared can then
+ * be compared with the number pruned by get(). If far fewer are
+ * pruned than cleared, the view classes are rarely being updated,
+ * and collected views are piling up in this map. The queue is
+ * drained on every get() and putValue(), so cleared WeakReferences
+ * never pile up in it, even if the cleared count is never read.</p>
+ *
  * <p><b>THREAD SAFETY:</b> This class is NOT thread-safe. It
  * offers no protection for its mutable state, and should be
  * handled accordingly.</p>
  *
  * @author craigmiller
- * @version 1.0
+ * @version 1.5
  */
 @NotThreadSafe
 public class ViewObjectTracker extends MultiValueMap<Class<?>,WeakReference<?>> {
 
+    /**
+     * The number of WeakReferences removed because their
+     * views had been garbage collected.
+     */
+    private long purgedCount = 0;
+
+    /**
+     * The queue the WeakReferences created by this class
+     * are added to once they are cleared.
+     */
+    private final ReferenceQueue<Object> clearedQueue = new ReferenceQueue<>();
+
+    /**
+     * The number of WeakReferences that have been cleared
+     * by the garbage collector.
+     */
+    private long clearedCount = 0;
+
+    /**
+     * Create a new WeakReference to a view, to be added to this map.
+     * It records the time it was created, and the stack trace of the
+     * registration, if one was captured.
+     *
+     * @param instance the view instance.
+     * @param stackTrace the stack trace of the registration, or null if not captured.
+     * @return the WeakReference.
+     */
+    public ViewReference newReference(Object instance, StackTraceElement[] stackTrace){
+        return new ViewReference(instance, clearedQueue, stackTrace);
+    }
+
+    @Override
+    public void putValue(Class<?> key, WeakReference<?> value){
+        drainClearedQueue();
+        super.putValue(key, value);
+    }
+
     @Override
     public Collection<WeakReference<?>> get(Object key){
+        drainClearedQueue();
         Collection<WeakReference<?>> values = super.get(key);
         Collection<WeakReference<?>> toRemove = getNewCollection();
         if(values != null){
@@ -58,9 +110,107 @@ public class ViewObjectTracker extends MultiValueMap<Class<?>,WeakReference<?>>
             for(WeakReference<?> weakRef : toRemove){
                 values.remove(weakRef);
             }
+            purgedCount += toRemove.size();
         }
 
         return values;
     }
 
+    @Override
+    public void clear(){
+        super.clear();
+        purgedCount = 0;
+        drainClearedQueue();
+        clearedCount = 0;
+    }
+
+    /**
+     * Get the number of tracked views that have not
+     * been garbage collected.
+     *
+     * @return the number of live views.
+     */
+    public int getLiveCount(){
+        int count = 0;
+        for(Collection<WeakReference<?>> values : values()){
+            for(WeakReference<?> weakRef : values){
+                if(weakRef.get() != null){
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of tracked views that have been garbage
+     * collected, including those whose WeakReferences have
+     * not been removed yet.
+     *
+     * @return the number of collected views.
+     */
+    public long getCollectedCount(){
+        return purgedCount + fullSize() - getLiveCount();
+    }
+
+    /**
+     * Get the number of WeakReferences created by newReference()
+     * that have been cleared by the garbage collector.
+     *
+     * @return the number of cleared WeakReferences.
+     */
+    public long getClearedCount(){
+        drainClearedQueue();
+        return clearedCount;
+    }
+
+    private void drainClearedQueue(){
+        while(clearedQueue.poll() != null){
+            clearedCount++;
+        }
+    }
+
+    /**
+     * Get the number of WeakReferences that have been removed
+     * by get() because their views were garbage collected.
+     *
+     * @return the number of pruned WeakReferences.
+     */
+    public long getPrunedCount(){
+        return purgedCount;
+    }
+
+    /**
+     * A WeakReference to a view, with the details of when
+     * and where it was registered.
+     */
+    public static class ViewReference extends WeakReference<Object> {
+
+        private final long registrationTime = System.nanoTime();
+        private final StackTraceElement[] stackTrace;
+
+        private ViewReference(Object instance, ReferenceQueue<Object> queue, StackTraceElement[] stackTrace){
+            super(instance, queue);
+            this.stackTrace = stackTrace;
+        }
+
+        /**
+         * Get the time the view was registered, from System.nanoTime().
+         *
+         * @return the registration time.
+         */
+        public long getRegistrationTime(){
+            return registrationTime;
+        }
+
+        /**
+         * Get the stack trace of the registration.
+         *
+         * @return the stack trace, or null if it was not captured.
+         */
+        public StackTraceElement[] getStackTrace(){
+            return stackTrace;
+        }
+    }
+
 }
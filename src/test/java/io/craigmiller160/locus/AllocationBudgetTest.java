@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
+import io.craigmiller160.locus.sample.ViewOne;
+import io.craigmiller160.locus.util.LocusStorage;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the number of bytes allocated by
+ * each call on the hot paths of the framework. Each path
+ * is warmed up first, then measured with the allocation
+ * counter of the current thread. If a path allocates more
+ * than its budget per call, the test fails, so allocations
+ * can't grow unnoticed. When a path is made cheaper, its
+ * budget should be lowered to match.
+ *
+ * Logging is turned down to INFO while measuring, so only
+ * the messages that are built regardless of the level,
+ * like those from String.format(), are counted.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_CALLS = 20000;
+    private static final int MEASURED_CALLS = 10000;
+
+    /*
+     * The budgets, in bytes per call. Each has some headroom over
+     * the measured value, because the JIT doesn't always eliminate
+     * the same allocations.
+     */
+
+    private static final long MODEL_SET_BUDGET = 2560;
+    private static final long MODEL_GET_BUDGET = 1792;
+    private static final long VIEW_SET_BUDGET = 896;
+    private static final long CONTROLLER_CALLBACK_BUDGET = 16;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+    private static Level originalLevel;
+
+    private LocusModel locusModel;
+    private LocusView locusView;
+    private LocusController locusController;
+    private List<Object> views;
+
+    @BeforeClass
+    public static void beforeClass(){
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Thread allocation counters are not supported", bean instanceof com.sun.management.ThreadMXBean);
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue("Thread allocation counters are not supported", threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        originalLevel = LogManager.getLogger("io.craigmiller160.locus").getLevel();
+        Configurator.setLevel("io.craigmiller160.locus", Level.INFO);
+    }
+
+    @AfterClass
+    public static void afterClass(){
+        if(originalLevel != null){
+            Configurator.setLevel("io.craigmiller160.locus", originalLevel);
+        }
+    }
+
+    @Before
+    public void before(){
+        LocusStorage storage = TestUtils.setupStorage();
+        UIThreadExecutorFactory factory = TestUtils.setupUIThreadExecutor(storage);
+        TestUtils.setupModels(storage);
+        views = new ArrayList<Object>(TestUtils.setupViews(storage).values());
+        TestUtils.setupControllers(storage);
+
+        locusView = new LocusView(storage, factory);
+        locusModel = new LocusModel(storage, locusView);
+        locusController = new LocusController(storage, factory);
+    }
+
+    /**
+     * Test the allocations of setting a model property,
+     * which also updates the views.
+     */
+    @Test
+    public void testModelSetValue(){
+        assertWithinBudget("LocusModel.setValue", MODEL_SET_BUDGET, new Runnable() {
+            @Override
+            public void run() {
+                locusModel.setValue("StringField", "Value");
+            }
+        });
+    }
+
+    /**
+     * Test the allocations of getting a model property as a specific type.
+     */
+    @Test
+    public void testModelGetValue(){
+        locusModel.setValue("StringField", "Value");
+        assertWithinBudget("LocusModel.getValue", MODEL_GET_BUDGET, new Runnable() {
+            @Override
+            public void run() {
+                locusModel.getValue("StringField", String.class);
+            }
+        });
+    }
+
+    /**
+     * Test the allocations of setting a view property
+     * on every registered view.
+     */
+    @Test
+    public void testViewSetValue(){
+        assertWithinBudget("LocusView.setValue", VIEW_SET_BUDGET, new Runnable() {
+            @Override
+            public void run() {
+                locusView.setValue("StringField", "Value");
+            }
+        });
+    }
+
+    /**
+     * Test the allocations of getting the callback of a controller.
+     */
+    @Test
+    public void testControllerCallback(){
+        final Object controller = locusController.getControllerWithCallback(views.get(0), TestUtils.CONTROLLER_ONE_NAME);
+        assertWithinBudget("LocusController.callback", CONTROLLER_CALLBACK_BUDGET, new Runnable() {
+            @Override
+            public void run() {
+                locusController.callback(controller);
+            }
+        });
+    }
+
+    private static void assertWithinBudget(String path, long budget, Runnable call){
+        for(int i = 0; i < WARMUP_CALLS; i++){
+            call.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        for(int i = 0; i < MEASURED_CALLS; i++){
+            call.run();
+        }
+        long bytesPerCall = (threadBean.getThreadAllocatedBytes(threadId) - start) / MEASURED_CALLS;
+
+        assertTrue(String.format("%s allocated %d bytes per call, over its budget of %d", path, bytesPerCall, budget),
+                bytesPerCall <= budget);
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.concurrent.NoUIThreadExecutor;
+import io.craigmiller160.locus.metrics.InMemoryLocusMetrics;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.util.LocusStorage;
+import io.craigmiller160.utils.reflect.ReflectiveException;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static io.craigmiller160.locus.util.LocusConstants.CALLBACK_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A test class for the resolution of the getter
+ * methods invoked by the LocusControllerCallback,
+ * and the batches of reads performed with them.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class CallbackMethodResolverTest {
+
+    private static final long SLOW_MILLIS = 20;
+
+    /**
+     * Held by the test, because a LocusControllerCallback
+     * only weakly references its callback object.
+     */
+    private final SampleCallback sampleCallback = new SampleCallback();
+
+    /**
+     * Test that "get" methods are selected over
+     * "is" methods, and resolution is cached.
+     */
+    @Test
+    public void testGetBeforeIs() throws Exception{
+        Method method = CallbackMethodResolver.resolve(SampleCallback.class, "Ready", new Object[0]);
+        assertEquals("Wrong method", SampleCallback.class.getMethod("getReady"), method);
+        assertSame("Resolution should be cached", method, CallbackMethodResolver.resolve(SampleCallback.class, "Ready", new Object[0]));
+
+        assertEquals("Wrong method", SampleCallback.class.getMethod("isEnabled"),
+                CallbackMethodResolver.resolve(SampleCallback.class, "Enabled", new Object[0]));
+    }
+
+    /**
+     * Test that overloads are selected by the types
+     * and number of the arguments, including primitives.
+     */
+    @Test
+    public void testOverloadSelection() throws Exception{
+        assertEquals("Wrong method", SampleCallback.class.getMethod("getValue", String.class),
+                CallbackMethodResolver.resolve(SampleCallback.class, "Value", new Object[]{"Key"}));
+        assertEquals("Wrong method", SampleCallback.class.getMethod("getValue", Object.class),
+                CallbackMethodResolver.resolve(SampleCallback.class, "Value", new Object[]{new Object()}));
+        assertEquals("Wrong method", SampleCallback.class.getMethod("getValue", int.class, int.class),
+                CallbackMethodResolver.resolve(SampleCallback.class, "Value", new Object[]{1, 2}));
+        assertNull("No method should accept three arguments",
+                CallbackMethodResolver.resolve(SampleCallback.class, "Value", new Object[]{1, 2, 3}));
+    }
+
+    /**
+     * Test that a null argument selects a method with a
+     * matching non-primitive parameter, through the callback.
+     */
+    @Test
+    public void testNullArgument(){
+        LocusControllerCallback callback = new LocusControllerCallback(sampleCallback, new NoUIThreadExecutor());
+        assertEquals("Wrong value", "String: null", callback.getValue("Value", (Object) null));
+        assertEquals("Wrong value", 3, callback.getValue("Value", 1, 2));
+
+        try{
+            callback.getValue("Missing");
+            fail("Should have thrown exception");
+        }
+        catch(ReflectiveException ex){
+            assertEquals("Wrong message", "Callback object has no method named either getMissing or isMissing accepting the arguments", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test that several values are read in a
+     * single task on the UI Thread.
+     */
+    @Test
+    public void testGetValues(){
+        CountingUIThreadExecutor executor = new CountingUIThreadExecutor();
+        LocusControllerCallback callback = new LocusControllerCallback(sampleCallback, executor);
+
+        CallbackValues values = callback.getValues("Ready", "Enabled");
+        assertEquals("Wrong number of UI Thread tasks", 1, executor.taskCount);
+        assertEquals("Wrong number of values", 2, values.size());
+        assertEquals("Wrong Ready value", true, values.get("Ready", Boolean.class));
+        assertEquals("Wrong Enabled value", true, values.get(1));
+
+        values = callback.reads()
+                .get("Value", "Key")
+                .get("Value", 1, 2)
+                .get("Ready")
+                .execute();
+        assertEquals("Wrong number of UI Thread tasks", 2, executor.taskCount);
+        assertEquals("Wrong first Value", "String: Key", values.get("Value"));
+        assertEquals("Wrong second Value", 3, (int) values.get(1, Integer.class));
+        assertEquals("Wrong map size", 2, values.asMap().size());
+        assertFalse("Property was not read", values.contains("Enabled"));
+    }
+
+    /**
+     * Test that a batch of reads is recorded as one
+     * GET per property read.
+     */
+    @Test
+    public void testGetValuesMetrics(){
+        LocusStorage storage = TestUtils.setupStorage();
+        InMemoryLocusMetrics metrics = new InMemoryLocusMetrics();
+        storage.setMetrics(metrics);
+        LocusControllerCallback callback = new LocusControllerCallback(sampleCallback, new NoUIThreadExecutor(), storage);
+
+        callback.getValues("Ready", "Enabled");
+        callback.getValues("Enabled", "Ready");
+        callback.getValue("Ready");
+
+        assertEquals("Wrong number of metrics", 2, metrics.getAllMetrics().size());
+        assertEquals("Wrong Ready count", 3, metrics.getMetrics(CALLBACK_TYPE, LocusMetrics.GET, "Ready").getCount());
+        assertEquals("Wrong Enabled count", 2, metrics.getMetrics(CALLBACK_TYPE, LocusMetrics.GET, "Enabled").getCount());
+
+        //Each read is timed on its own, so a slow read in the batch doesn't count against the others
+        metrics.reset();
+        callback.getValues("Slow", "Enabled");
+        assertTrue("Slow read was not timed", metrics.getMetrics(CALLBACK_TYPE, LocusMetrics.GET, "Slow").getTotalTime() >= TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS));
+        assertTrue("Enabled read was timed with the batch", metrics.getMetrics(CALLBACK_TYPE, LocusMetrics.GET, "Enabled").getTotalTime() < TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS));
+    }
+
+    /**
+     * A UIThreadExecutor that counts the tasks it executes.
+     */
+    private static class CountingUIThreadExecutor extends NoUIThreadExecutor {
+
+        private int taskCount = 0;
+
+        @Override
+        public <T> T executeOnUIThreadWithResult(Callable<T> task) {
+            taskCount++;
+            return super.executeOnUIThreadWithResult(task);
+        }
+    }
+
+    /**
+     * A sample callback with overloaded getters.
+     */
+    public static class SampleCallback {
+
+        public String getSlow() throws InterruptedException{
+            Thread.sleep(SLOW_MILLIS);
+            return "Slow";
+        }
+
+        public boolean getReady(){
+            return true;
+        }
+
+        public boolean isReady(){
+            return false;
+        }
+
+        public boolean isEnabled(){
+            return true;
+        }
+
+        public String getValue(Object key){
+            return "Object: " + key;
+        }
+
+        public String getValue(String key){
+            return "String: " + key;
+        }
+
+        public int getValue(int first, int second){
+            return first + second;
+        }
+
+    }
+
+}
@@ -16,19 +16,29 @@
 
 package io.craigmiller160.locus;
 
+import io.craigmiller160.locus.annotations.ControllerScope;
 import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
 import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.PooledControllerOne;
+import io.craigmiller160.locus.util.LeakReport;
 import io.craigmiller160.locus.util.LocusStorage;
 import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * A JUnit test class for the LocusController.
@@ -39,6 +49,8 @@ public class LocusControllerTest {
 
     private static final Logger logger = LoggerFactory.getLogger(LocusControllerTest.class);
 
+    private static final String SCOPED_NAME = "ScopedController";
+
     private UIThreadExecutorFactory factory;
     private LocusStorage storage;
     private LocusController locusController;
@@ -235,4 +247,183 @@ public class LocusControllerTest {
         assertEquals("Result retrieved from ControllerCallback is not correct", value, result);
     }
 
+    /**
+     * Test that a singleton controller is only
+     * created once, and is shared by every thread.
+     */
+    @Test
+    public void testSingletonScope() throws Exception{
+        storage.addControllerType(SCOPED_NAME, ControllerOne.class, ControllerScope.SINGLETON, 0);
+
+        final ControllerOne first = locusController.getController(SCOPED_NAME, ControllerOne.class, "ID");
+        assertEquals("Controller value wasn't set by constructor arg", "ID", first.getId());
+        assertSame("Singleton should be reused", first, locusController.getController(SCOPED_NAME, ControllerOne.class, "Other"));
+
+        final Object[] fromOtherThread = new Object[1];
+        Thread thread = new Thread(){
+            @Override
+            public void run(){
+                fromOtherThread[0] = locusController.getController(SCOPED_NAME);
+            }
+        };
+        thread.start();
+        thread.join();
+        assertSame("Singleton should be shared between threads", first, fromOtherThread[0]);
+    }
+
+    /**
+     * Test that a thread-local controller is created
+     * once for each thread.
+     */
+    @Test
+    public void testThreadLocalScope() throws Exception{
+        storage.addControllerType(SCOPED_NAME, ControllerOne.class, ControllerScope.THREAD_LOCAL, 0);
+
+        Object first = locusController.getController(SCOPED_NAME);
+        assertSame("Controller should be reused on the same thread", first, locusController.getController(SCOPED_NAME));
+
+        final Object[] fromOtherThread = new Object[1];
+        Thread thread = new Thread(){
+            @Override
+            public void run(){
+                fromOtherThread[0] = locusController.getController(SCOPED_NAME);
+            }
+        };
+        thread.start();
+        thread.join();
+        assertNotNull("Controller should be created on other thread", fromOtherThread[0]);
+        assertNotSame("Controller should not be shared between threads", first, fromOtherThread[0]);
+    }
+
+    /**
+     * Test that a shared controller can't be
+     * given a callback.
+     */
+    @Test
+    public void testSharedScopeCallback(){
+        storage.addControllerType(SCOPED_NAME, ControllerOne.class, ControllerScope.SINGLETON, 0);
+
+        try{
+            locusController.getControllerWithCallback(new Object(), SCOPED_NAME);
+            fail("Should have thrown exception");
+        }
+        catch(LocusException ex){
+            assertEquals("Callback should not be added", 0, storage.getControllerCallbackCount());
+        }
+    }
+
+    /**
+     * Test that a pooled controller is borrowed, reset
+     * when it is released, and then reused.
+     */
+    @Test
+    public void testPooledScope(){
+        storage.addControllerType(SCOPED_NAME, PooledControllerOne.class, ControllerScope.POOLED, 1);
+
+        PooledControllerOne first;
+        try(ControllerHandle<PooledControllerOne> handle = locusController.borrowController(SCOPED_NAME, PooledControllerOne.class)){
+            first = handle.get();
+            first.setId("ID");
+        }
+
+        assertEquals("Controller was not reset", 1, first.getResetCount());
+        assertNull("Controller was not reset", first.getId());
+        assertEquals("Wrong idle count", 1, storage.getControllerScope(SCOPED_NAME).getIdleCount());
+
+        ControllerHandle<PooledControllerOne> handle = locusController.borrowController(SCOPED_NAME, PooledControllerOne.class);
+        assertSame("Pooled controller should be reused", first, handle.get());
+        ControllerHandle<PooledControllerOne> second = locusController.borrowController(SCOPED_NAME, PooledControllerOne.class);
+        assertNotSame("Borrowed controller should not be shared", first, second.get());
+
+        handle.release();
+        handle.release();
+        second.release();
+        assertEquals("Releasing twice should only reset once", 2, first.getResetCount());
+        assertEquals("Pool should not grow past its size", 1, storage.getControllerScope(SCOPED_NAME).getIdleCount());
+
+        try{
+            locusController.getController(SCOPED_NAME);
+            fail("Should have thrown exception");
+        }
+        catch(LocusException ex){
+            logger.debug("Pooled controller exception", ex);
+        }
+    }
+
+    /**
+     * Test that a pooled controller borrowed with a callback
+     * only has it until the controller is released.
+     */
+    @Test
+    public void testPooledScopeCallback(){
+        storage.addControllerType(SCOPED_NAME, PooledControllerOne.class, ControllerScope.POOLED, 1);
+        Object callback = new Object();
+
+        ControllerHandle<PooledControllerOne> handle = locusController.borrowControllerWithCallback(callback, SCOPED_NAME, PooledControllerOne.class);
+        assertEquals("Wrong callback", callback, locusController.callback(handle.get()).getCallback());
+
+        handle.release();
+        assertEquals("Callback should be removed", 0, storage.getControllerCallbackCount());
+    }
+
+    /**
+     * Test that the LocusControllerCallback is bound once,
+     * and rebound when the callback changes.
+     */
+    @Test
+    public void testCallbackReused(){
+        Object callback = new Object();
+        Object cOne = locusController.getControllerWithCallback(callback, TestUtils.CONTROLLER_ONE_NAME);
+
+        LocusControllerCallback lcc = locusController.callback(cOne);
+        assertSame("LocusControllerCallback should be reused", lcc, locusController.callback(cOne));
+
+        Object newCallback = new Object();
+        storage.addControllerCallback(cOne, newCallback);
+        LocusControllerCallback newLcc = locusController.callback(cOne);
+        assertEquals("ControllerCallback is wrapping wrong object", newCallback, newLcc.getCallback());
+        assertSame("LocusControllerCallback should be reused", newLcc, locusController.callback(cOne));
+    }
+
+    /**
+     * Test that the bound LocusControllerCallback survives
+     * garbage collection for as long as its controller does.
+     */
+    @Test
+    public void testBoundCallbackSurvivesGC() throws Exception{
+        Object callback = new Object();
+        Object cOne = locusController.getControllerWithCallback(callback, TestUtils.CONTROLLER_ONE_NAME);
+        WeakReference<LocusControllerCallback> lccRef = new WeakReference<>(locusController.callback(cOne));
+
+        for(int i = 0; i < 5; i++){
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNotNull("LocusControllerCallback was collected", lccRef.get());
+        assertSame("LocusControllerCallback should be reused", lccRef.get(), locusController.callback(cOne));
+        assertSame("Wrong callback", callback, lccRef.get().getCallback());
+    }
+
+    /**
+     * Test that binding a callback the first time it is
+     * used doesn't reset its leak detection registration.
+     */
+    @Test
+    public void testCallbackBindingKeepsLeakAge() throws Exception{
+        storage.setLeakDetection(1, TimeUnit.MILLISECONDS, 1);
+        Object cOne = locusController.getController(TestUtils.CONTROLLER_ONE_NAME);
+        Object callback = new Object();
+        storage.addControllerCallback(cOne, callback);
+        Thread.sleep(20);
+
+        assertSame("Wrong callback", callback, locusController.callback(cOne).getCallback());
+
+        List<LeakReport.Suspect> suspects = storage.getLeakReport().getControllerCallbacks();
+        assertEquals("Wrong callback suspect count", 1, suspects.size());
+        assertTrue("Leak age was reset", suspects.get(0).getAge() >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals("Stack trace should be from the registration", getClass().getName(),
+                suspects.get(0).getStackTrace().get(0).getClassName());
+    }
+
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.accessor.ViewPropertyConsumer;
+import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.intercept.LocusInvocation;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ModelOne;
+import io.craigmiller160.locus.sample.SampleInterceptor;
+import io.craigmiller160.locus.sample.ViewOne;
+import io.craigmiller160.locus.sample.ViewThree;
+import io.craigmiller160.locus.scan.LocusScannerFactory;
+import io.craigmiller160.locus.util.LocusStorage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.craigmiller160.locus.util.LocusConstants.CONTROLLER_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.MODEL_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.VIEW_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the chain of LocusInterceptors
+ * around model, view, and controller invocations.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class LocusInterceptorTest {
+
+    private LocusStorage storage;
+    private LocusModel locusModel;
+    private LocusView locusView;
+    private LocusController locusController;
+    private ModelOne modelOne;
+    private ViewOne viewOne;
+
+    @Before
+    public void before(){
+        storage = TestUtils.setupStorage();
+        UIThreadExecutorFactory factory = TestUtils.setupUIThreadExecutor(storage);
+        Map<Class<?>,Object> models = TestUtils.setupModels(storage);
+        modelOne = (ModelOne) models.get(ModelOne.class);
+        Map<Class<?>,Object> views = TestUtils.setupViews(storage);
+        viewOne = (ViewOne) views.get(ViewOne.class);
+        TestUtils.setupControllers(storage);
+
+        locusView = new LocusView(storage, factory);
+        locusModel = new LocusModel(storage, locusView);
+        locusController = new LocusController(storage, factory);
+    }
+
+    /**
+     * Test that model, view, and controller invocations
+     * all pass through the chain.
+     */
+    @Test
+    public void testInvocationsIntercepted(){
+        SampleInterceptor interceptor = new SampleInterceptor();
+        storage.setInterceptors(Arrays.<LocusInterceptor>asList(interceptor));
+
+        locusModel.setValue("StringField", "Value");
+        Object controller = locusController.getController(TestUtils.CONTROLLER_ONE_NAME);
+
+        assertTrue("Controller has the wrong type", controller instanceof ControllerOne);
+        assertEquals("Wrong first invocation", MODEL_TYPE + ":" + LocusMetrics.SET + ":StringField", interceptor.getInvocations().get(0));
+        assertTrue("View invocation not intercepted", interceptor.getInvocations().contains(VIEW_TYPE + ":" + LocusMetrics.SET + ":StringField"));
+        assertTrue("Controller creation not intercepted", interceptor.getInvocations().contains(
+                CONTROLLER_TYPE + ":" + LocusMetrics.CREATE + ":" + TestUtils.CONTROLLER_ONE_NAME));
+    }
+
+    /**
+     * Test that view updates performed by pre-built
+     * ViewAccessors also pass through the chain.
+     */
+    @Test
+    public void testViewAccessorIntercepted(){
+        ViewThree viewThree = new ViewThree();
+        storage.addViewInstance(viewThree);
+        LocusScannerFactory.newRegistry(storage).viewSetter("Accessed", ViewThree.class, String.class, new ViewPropertyConsumer<ViewThree, String>() {
+            @Override
+            public void accept(ViewThree view, String value) {
+                view.setFirstField(value);
+            }
+        });
+
+        final List<LocusInvocation> invocations = new ArrayList<>();
+        storage.addInterceptor(new LocusInterceptor() {
+            @Override
+            public Object intercept(LocusInvocation invocation) {
+                invocations.add(invocation);
+                return invocation.proceed();
+            }
+        });
+
+        locusView.setValue("Accessed", "Value");
+
+        //One invocation for each ViewThree instance, including the one from the test setup
+        assertEquals("Wrong number of invocations", storage.getViewInstancesForClass(ViewThree.class).size(), invocations.size());
+        LocusInvocation viewThreeInvocation = null;
+        for(LocusInvocation invocation : invocations){
+            assertEquals("Wrong component", VIEW_TYPE, invocation.getComponent());
+            assertNull("An accessor has no method", invocation.getMethod());
+            if(invocation.getTarget() == viewThree){
+                viewThreeInvocation = invocation;
+            }
+        }
+        assertNotNull("View accessor not intercepted", viewThreeInvocation);
+        assertEquals("View has the wrong value", "Value", viewThree.getViewThreeFirstField());
+    }
+
+    /**
+     * Test that the interceptors are invoked in order,
+     * and that they can change the arguments.
+     */
+    @Test
+    public void testChainOrderAndArguments(){
+        storage.addInterceptor(new LocusInterceptor() {
+            @Override
+            public Object intercept(LocusInvocation invocation) {
+                invocation.getArgs()[0] = invocation.getArgs()[0] + "-outer";
+                return invocation.proceed();
+            }
+        });
+        storage.addInterceptor(new LocusInterceptor() {
+            @Override
+            public Object intercept(LocusInvocation invocation) {
+                invocation.getArgs()[0] = invocation.getArgs()[0] + "-inner";
+                return invocation.proceed();
+            }
+        });
+
+        locusModel.setValue("StringField", "Value");
+
+        assertEquals("Model has the wrong value", "Value-outer-inner", modelOne.getStringField());
+        assertEquals("View has the wrong value", "Value-outer-inner-outer-inner", viewOne.getStringField());
+    }
+
+    /**
+     * Test that an interceptor can return a result
+     * without proceeding.
+     */
+    @Test
+    public void testShortCircuit(){
+        modelOne.setStringField("Real");
+        storage.addInterceptor(new LocusInterceptor() {
+            @Override
+            public Object intercept(LocusInvocation invocation) {
+                if(LocusMetrics.GET.equals(invocation.getOperation())){
+                    return "Cached";
+                }
+                return invocation.proceed();
+            }
+        });
+
+        assertEquals("Wrong value returned", "Cached", locusModel.getValue("StringField"));
+    }
+
+    /**
+     * Test that when an interceptor short-circuits a
+     * model write, the views are not updated either.
+     */
+    @Test
+    public void testShortCircuitWriteSkipsViews(){
+        modelOne.setStringField("Real");
+        modelOne.addString("Real");
+        viewOne.setStringField("Real");
+        viewOne.addString("Real");
+        storage.addInterceptor(new LocusInterceptor() {
+            @Override
+            public Object intercept(LocusInvocation invocation) {
+                if(MODEL_TYPE.equals(invocation.getComponent())){
+                    return null;
+                }
+                return invocation.proceed();
+            }
+        });
+
+        locusModel.setValue("StringField", "Value");
+        locusModel.removeValue("String", "Real");
+
+        assertEquals("Model was written", "Real", modelOne.getStringField());
+        assertEquals("View was updated without the model", "Real", viewOne.getStringField());
+        assertEquals("Model was removed from", "Real", modelOne.getString(0));
+        assertEquals("View was removed from without the model", "Real", viewOne.getString(0));
+    }
+
+}
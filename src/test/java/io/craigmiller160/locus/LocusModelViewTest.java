@@ -17,6 +17,11 @@
 package io.craigmiller160.locus;
 
 import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
+import io.craigmiller160.locus.metrics.InMemoryLocusMetrics;
+import io.craigmiller160.locus.metrics.LocusEvent;
+import io.craigmiller160.locus.metrics.LocusEventListener;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.metrics.OperationMetrics;
 import io.craigmiller160.locus.sample.ModelOne;
 import io.craigmiller160.locus.sample.ViewOne;
 import io.craigmiller160.locus.sample.ViewThree;
@@ -27,8 +32,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import static io.craigmiller160.locus.util.LocusConstants.MODEL_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.UI_HANDOFF_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.VIEW_TYPE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -168,4 +178,59 @@ public class LocusModelViewTest {
         assertTrue("ViewOne should've thrown an exception for the value not being in the collection", viewException);
     }
 
+    /**
+     * Test that setting a value records metrics for
+     * both the model and the view.
+     */
+    @Test
+    public void testSetRecordsMetrics(){
+        InMemoryLocusMetrics metrics = new InMemoryLocusMetrics();
+        storage.setMetrics(metrics);
+
+        locusModel.setValue("StringField", "Value");
+
+        OperationMetrics modelMetrics = metrics.getMetrics(MODEL_TYPE, LocusMetrics.SET, "StringField");
+        OperationMetrics viewMetrics = metrics.getMetrics(VIEW_TYPE, LocusMetrics.SET, "StringField");
+        assertNotNull("No model metrics recorded", modelMetrics);
+        assertNotNull("No view metrics recorded", viewMetrics);
+        assertEquals("Wrong model count", 1, modelMetrics.getCount());
+        assertEquals("Wrong model failure count", 0, modelMetrics.getFailureCount());
+        assertEquals("Wrong view count", 1, viewMetrics.getCount());
+    }
+
+    /**
+     * Test that setting a value delivers events for
+     * the model, then the handoff to the UI Thread,
+     * then the view.
+     */
+    @Test
+    public void testSetDeliversEvents(){
+        final List<LocusEvent> events = new ArrayList<>();
+        storage.setEventListener(new LocusEventListener() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public void onEvent(LocusEvent event) {
+                events.add(event);
+            }
+        });
+
+        locusModel.setValue("StringField", "Value");
+
+        assertEquals("Wrong number of events", 3, events.size());
+        assertEquals("Wrong first event", MODEL_TYPE, events.get(0).getComponent());
+        assertEquals("Wrong second event", UI_HANDOFF_TYPE, events.get(1).getComponent());
+        assertEquals("Wrong third event", VIEW_TYPE, events.get(2).getComponent());
+
+        LocusEvent viewEvent = events.get(2);
+        assertEquals("Wrong view operation", LocusMetrics.SET, viewEvent.getOperation());
+        assertEquals("Wrong view property", "StringField", viewEvent.getName());
+        assertEquals("Wrong view instance count", 2, viewEvent.getInstanceCount());
+        assertEquals("Wrong view thread", Thread.currentThread().getName(), viewEvent.getThreadName());
+        assertTrue("View event was not successful", viewEvent.isSuccess());
+    }
+
 }
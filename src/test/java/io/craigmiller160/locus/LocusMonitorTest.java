@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.sample.ViewOne;
+import io.craigmiller160.locus.util.LocusStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the LocusMonitor, the
+ * implementation of LocusMXBean.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class LocusMonitorTest {
+
+    private LocusStorage storage;
+    private LocusMonitor monitor;
+    private ObjectName name;
+
+    @Before
+    public void before() throws Exception{
+        storage = TestUtils.setupStorage();
+        TestUtils.setupModels(storage);
+        TestUtils.setupViews(storage);
+        TestUtils.setupControllers(storage);
+        monitor = new LocusMonitor(storage, new LocusDebug(storage));
+
+        name = new ObjectName(LocusMonitor.OBJECT_NAME);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if(server.isRegistered(name)){
+            server.unregisterMBean(name);
+        }
+    }
+
+    @After
+    public void after() throws Exception{
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if(server.isRegistered(name)){
+            server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * Test that the monitor reports the live sizes
+     * of the storage.
+     */
+    @Test
+    public void testStorageSizes(){
+        assertEquals("Wrong model setter count", storage.getModelPropSetterCount(), monitor.getModelPropSetterCount());
+        assertEquals("Wrong view setter count", storage.getViewPropSetterCount(), monitor.getViewPropSetterCount());
+        assertEquals("Wrong controller count", 2, monitor.getControllerTypeCount());
+        assertEquals("Wrong view instance count", 2, monitor.getViewInstanceCount());
+        assertEquals("Wrong callback count", 0, monitor.getControllerCallbackCount());
+        assertEquals("Wrong pending task count", 0, monitor.getPendingUITaskCount());
+
+        ViewOne view = new ViewOne();
+        storage.addViewInstance(view);
+        assertEquals("Wrong live view instance count", 3, monitor.getLiveViewInstanceCount());
+        assertEquals("Wrong collected view instance count", 0, monitor.getCollectedViewInstanceCount());
+    }
+
+    /**
+     * Test registering the monitor with the platform MBeanServer
+     * and reading its attributes over JMX.
+     */
+    @Test
+    public void testRegister() throws Exception{
+        assertTrue("Monitor was not registered", monitor.register());
+        assertFalse("Second monitor should not be registered", new LocusMonitor(storage, new LocusDebug(storage)).register());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals("Wrong controller count over JMX", 2, server.getAttribute(name, "ControllerTypeCount"));
+
+        String output = (String) server.invoke(name, "dumpConfiguration", new Object[0], new String[0]);
+        assertTrue("Configuration output is missing controllers", output.contains(TestUtils.CONTROLLER_ONE_NAME));
+    }
+
+}
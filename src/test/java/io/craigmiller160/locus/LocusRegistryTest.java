@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.accessor.PropertyConsumer;
+import io.craigmiller160.locus.accessor.PropertySupplier;
+import io.craigmiller160.locus.accessor.ViewPropertyConsumer;
+import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ModelOne;
+import io.craigmiller160.locus.sample.ViewThree;
+import io.craigmiller160.locus.scan.LocusRegistry;
+import io.craigmiller160.locus.scan.LocusScannerFactory;
+import io.craigmiller160.locus.util.LocusStorage;
+import io.craigmiller160.utils.reflect.ReflectiveException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class to test the LocusRegistry,
+ * and the invocation of the pre-built accessors
+ * registered with it.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class LocusRegistryTest {
+
+    private static final String ACCESSED_PROP = "Accessed";
+    private static final String REGISTERED_CONTROLLER = "RegisteredController";
+
+    private LocusStorage storage;
+    private LocusRegistry registry;
+    private LocusModel locusModel;
+    private LocusView locusView;
+    private ViewThree viewThree;
+    private String accessedValue;
+
+    @Before
+    public void before(){
+        storage = TestUtils.setupStorage();
+        UIThreadExecutorFactory factory = TestUtils.setupUIThreadExecutor(storage);
+        registry = LocusScannerFactory.newRegistry(storage);
+        locusView = new LocusView(storage, factory);
+        locusModel = new LocusModel(storage, locusView);
+
+        viewThree = new ViewThree();
+        storage.addViewInstance(viewThree);
+        accessedValue = null;
+    }
+
+    @Test
+    public void testRegisterClasses(){
+        registry.model(new ModelOne())
+                .view(ViewThree.class)
+                .controller(REGISTERED_CONTROLLER, ControllerOne.class);
+
+        assertTrue("No model prop setters registered", storage.getModelPropSetterCount() > 0);
+        assertEquals("Wrong number of view prop setters", 2, storage.getViewPropSetterCount());
+        assertEquals("Wrong controller type registered", ControllerOne.class, storage.getControllerType(REGISTERED_CONTROLLER));
+
+        locusModel.setValue("StringField", "Registered");
+        assertEquals("Registered view was not updated", "Registered", viewThree.getStringField());
+    }
+
+    @Test
+    public void testModelAccessors(){
+        registry.modelSetter(ACCESSED_PROP, String.class, new PropertyConsumer<String>() {
+            @Override
+            public void accept(String value) {
+                accessedValue = value;
+            }
+        }).modelGetter(ACCESSED_PROP, new PropertySupplier<String>() {
+            @Override
+            public String get() {
+                return accessedValue;
+            }
+        });
+
+        locusModel.setValue(ACCESSED_PROP, "Hello");
+        assertEquals("Model setter accessor not invoked", "Hello", accessedValue);
+        assertEquals("Model getter accessor returned wrong value", "Hello", locusModel.getValue(ACCESSED_PROP, String.class));
+        assertEquals("Wrong number of model accessors", 2, storage.getModelAccessorCount());
+    }
+
+    @Test(expected = ReflectiveException.class)
+    public void testModelAccessorWrongType(){
+        registry.modelSetter(ACCESSED_PROP, String.class, new PropertyConsumer<String>() {
+            @Override
+            public void accept(String value) {
+                accessedValue = value;
+            }
+        });
+
+        //No accessor accepts an Integer, and there are no reflective methods to fall back on
+        locusModel.setValue(ACCESSED_PROP, 1);
+    }
+
+    @Test
+    public void testViewAccessors(){
+        registry.viewSetter(ACCESSED_PROP, ViewThree.class, String.class, new ViewPropertyConsumer<ViewThree, String>() {
+            @Override
+            public void accept(ViewThree view, String value) {
+                view.setFirstField(value);
+            }
+        });
+
+        locusView.setValue(ACCESSED_PROP, "Hello");
+        assertEquals("View setter accessor not invoked", "Hello", viewThree.getViewThreeFirstField());
+        assertEquals("Wrong number of view accessors", 1, storage.getViewAccessorCount());
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus;
+
+import io.craigmiller160.locus.util.LocusParsingException;
+import io.craigmiller160.locus.util.LocusStorage;
+import org.junit.After;
+import org.junit.Test;
+
+import static io.craigmiller160.locus.util.LocusConstants.VALIDATE_CONFIG_PROPERTY;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * A test class for the initialization of the
+ * framework through the Locus class.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class LocusTest {
+
+    @After
+    public void after(){
+        System.clearProperty(VALIDATE_CONFIG_PROPERTY);
+        LocusStorage.getInstance().clear();
+    }
+
+    /**
+     * Test that an invalid configuration file is only
+     * rejected by the schema when validation is enabled
+     * with the system property.
+     */
+    @Test
+    public void testValidateConfiguration(){
+        try{
+            Locus.initialize("locus-invalid.xml", true);
+            fail("Should have thrown exception");
+        }
+        catch(LocusException ex){
+            assertFalse("Configuration should not be validated", ex instanceof LocusParsingException);
+        }
+
+        System.setProperty(VALIDATE_CONFIG_PROPERTY, "true");
+        try{
+            Locus.initialize("locus-invalid.xml", true);
+            fail("Should have thrown exception");
+        }
+        catch(LocusParsingException ex){
+            //The expected result, the schema rejected the file
+        }
+    }
+
+}
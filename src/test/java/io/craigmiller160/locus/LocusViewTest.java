@@ -16,6 +16,7 @@
 
 package io.craigmiller160.locus;
 
+import io.craigmiller160.locus.concurrent.SlowUIHandlerListener;
 import io.craigmiller160.locus.concurrent.UIThreadExecutorFactory;
 import io.craigmiller160.locus.sample.ViewOne;
 import io.craigmiller160.locus.sample.ViewThree;
@@ -27,9 +28,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -195,4 +200,32 @@ public class LocusViewTest {
         assertTrue("No exception was thrown when there should've been one", exception);
     }
 
+    /**
+     * Test that every view handler that goes over the
+     * UI Thread budget is reported, naming the view
+     * and the method.
+     */
+    @Test
+    public void testSlowHandlerReported(){
+        final List<String> slowHandlers = new ArrayList<>();
+        storage.setUIThreadBudget(1, TimeUnit.NANOSECONDS);
+        storage.setSlowUIHandlerListener(new SlowUIHandlerListener() {
+            @Override
+            public void onSlowHandler(Class<?> viewType, Method method, String propName, long time, long budget) {
+                slowHandlers.add(viewType.getSimpleName() + "." + method.getName() + ":" + propName);
+            }
+
+            @Override
+            public void onSlowQueueWait(String operation, String propName, long waitTime, long budget) {
+                //Not deterministic with the NoUIThreadExecutor
+            }
+        });
+
+        locusView.setValue("StringField", "Value");
+
+        assertEquals("Wrong number of slow handlers", 2, slowHandlers.size());
+        assertTrue("ViewOne handler not reported", slowHandlers.contains("ViewOne.setStringField:StringField"));
+        assertTrue("ViewThree handler not reported", slowHandlers.contains("ViewThree.setStringField:StringField"));
+    }
+
 }
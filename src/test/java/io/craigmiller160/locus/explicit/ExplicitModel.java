@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.explicit;
+
+import io.craigmiller160.locus.annotations.LModel;
+import io.craigmiller160.locus.annotations.LProperty;
+import io.craigmiller160.locus.util.LocusConstants;
+
+/**
+ * A sample Model class in explicit mode, used
+ * for testing the LProperty annotation.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+@LModel(explicit = true)
+public class ExplicitModel {
+
+    private String explicitValue;
+    private String ignoredValue;
+
+    @LProperty
+    public void setExplicitValue(String explicitValue){
+        this.explicitValue = explicitValue;
+    }
+
+    @LProperty
+    public String getExplicitValue(){
+        return explicitValue;
+    }
+
+    @LProperty(name = "RenamedValue", kind = LocusConstants.SETTER)
+    public void updateValue(String explicitValue){
+        this.explicitValue = explicitValue;
+    }
+
+    public void setIgnoredValue(String ignoredValue){
+        this.ignoredValue = ignoredValue;
+    }
+
+    public String getIgnoredValue(){
+        return ignoredValue;
+    }
+
+}
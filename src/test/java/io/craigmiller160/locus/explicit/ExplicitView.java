@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.explicit;
+
+import io.craigmiller160.locus.annotations.LProperty;
+import io.craigmiller160.locus.annotations.LView;
+import io.craigmiller160.locus.util.LocusConstants;
+
+/**
+ * A sample View class in explicit mode, used
+ * for testing the LProperty annotation. The
+ * unannotated methods are like the ones that
+ * would be inherited from a UI toolkit.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+@LView(explicit = true)
+public class ExplicitView {
+
+    private String explicitValue;
+
+    @LProperty
+    public void setExplicitValue(String explicitValue){
+        this.explicitValue = explicitValue;
+    }
+
+    @LProperty(name = "ExplicitValue", kind = LocusConstants.ADDER)
+    public void appendExplicitValue(String value){
+        this.explicitValue += value;
+    }
+
+    public void addNotify(){
+        //Do nothing
+    }
+
+    public void removeAll(){
+        //Do nothing
+    }
+
+}
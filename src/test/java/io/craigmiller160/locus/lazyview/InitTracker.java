@@ -0,0 +1,30 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.lazyview;
+
+/**
+ * A class that tracks whether the classes in this
+ * package have been initialized. It is separate from
+ * them so checking it doesn't cause initialization.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class InitTracker {
+
+    public static volatile boolean lazyViewInitialized = false;
+
+}
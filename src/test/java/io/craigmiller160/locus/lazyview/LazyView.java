@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.lazyview;
+
+import io.craigmiller160.locus.annotations.LView;
+
+/**
+ * A sample View class with a static initializer,
+ * used for testing that scanning a class doesn't
+ * initialize it.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+@LView
+public class LazyView {
+
+    static {
+        InitTracker.lazyViewInitialized = true;
+    }
+
+    private String lazyField;
+
+    public void setLazyField(String lazyField){
+        this.lazyField = lazyField;
+    }
+
+}
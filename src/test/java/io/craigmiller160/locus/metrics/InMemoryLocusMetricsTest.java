@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the InMemoryLocusMetrics
+ * and the histogram and counters it uses.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class InMemoryLocusMetricsTest {
+
+    /**
+     * Test that every value falls into a bucket whose
+     * upper bound is at least the value, and within
+     * the histogram's precision of it.
+     */
+    @Test
+    public void testHistogramBucketBounds(){
+        long[] values = { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789L, Long.MAX_VALUE };
+        for(long value : values){
+            int index = LatencyHistogram.getBucketIndex(value);
+            long upperBound = LatencyHistogram.getBucketUpperBound(index);
+            assertTrue("Upper bound is less than value: " + value, upperBound >= value);
+            assertTrue("Upper bound is too far from value: " + value, upperBound - value <= value / 8);
+        }
+
+        //Adjacent buckets should be contiguous
+        for(int i = 1; i < 200; i++){
+            assertEquals("Bucket boundary mismatch at index " + i, i, LatencyHistogram.getBucketIndex(LatencyHistogram.getBucketUpperBound(i - 1) + 1));
+        }
+    }
+
+    /**
+     * Test the percentiles calculated by the histogram.
+     */
+    @Test
+    public void testHistogramPercentiles(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(int i = 1; i <= 1000; i++){
+            histogram.record(i * 1000);
+        }
+
+        assertEquals("Wrong count", 1000, histogram.getCount());
+        assertEquals("Wrong max", 1000000, histogram.getMax());
+
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue("P50 is out of range: " + p50, p50 >= 500000 && p50 <= 500000 * 9 / 8);
+
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue("P99 is out of range: " + p99, p99 >= 990000 && p99 <= 1000000);
+
+        histogram.reset();
+        assertEquals("Count not reset", 0, histogram.getCount());
+        assertEquals("Empty percentile is not zero", 0, histogram.getValueAtPercentile(50));
+    }
+
+    /**
+     * Test that the striped counter sums the
+     * increments from many threads.
+     */
+    @Test
+    public void testStripedCounter() throws Exception{
+        final StripedCounter counter = new StripedCounter();
+        Thread[] threads = new Thread[4];
+        for(int i = 0; i < threads.length; i++){
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for(int j = 0; j < 10000; j++){
+                        counter.increment();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        for(Thread thread : threads){
+            thread.join();
+        }
+
+        assertEquals("Wrong sum", 40000, counter.sum());
+    }
+
+    /**
+     * Test recording and querying metrics.
+     */
+    @Test
+    public void testRecordMetrics(){
+        InMemoryLocusMetrics metrics = new InMemoryLocusMetrics();
+        metrics.record("Model", LocusMetrics.SET, "Field", 100, true);
+        metrics.record("Model", LocusMetrics.SET, "Field", 300, false);
+        metrics.record("View", LocusMetrics.SET, "Field", 50, true);
+
+        OperationMetrics modelSet = metrics.getMetrics("Model", LocusMetrics.SET, "Field");
+        assertNotNull("Model set metrics is null", modelSet);
+        assertEquals("Wrong count", 2, modelSet.getCount());
+        assertEquals("Wrong failure count", 1, modelSet.getFailureCount());
+        assertEquals("Wrong mean time", 200, modelSet.getMeanTime());
+
+        assertNull("Model get metrics should be null", metrics.getMetrics("Model", LocusMetrics.GET, "Field"));
+        assertEquals("Wrong number of metrics", 2, metrics.getAllMetrics().size());
+
+        metrics.reset();
+        assertEquals("Count not reset", 0, modelSet.getCount());
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.sample;
+
+import io.craigmiller160.locus.Locus;
+
+/**
+ * A sample application used to verify that the Locus
+ * framework initializes and dispatches correctly when
+ * built as a native image. It is run by the "native"
+ * build profile, and exits with a non-zero status if
+ * anything fails.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class NativeSampleApp {
+
+    public static final String CONFIG_FILE = "locus2.xml";
+
+    public static void main(String[] args){
+        Locus.initialize(CONFIG_FILE);
+        if(!Locus.isInitialized()){
+            fail("Locus was not initialized");
+        }
+
+        Locus.model.setValue("StringField", "Native");
+        String value = Locus.model.getValue("StringField", String.class);
+        if(!"Native".equals(value)){
+            fail("Wrong model value after set: " + value);
+        }
+
+        if(Locus.controller.getController("ControllerOne") == null){
+            fail("Unable to create controller");
+        }
+
+        System.out.println("Locus native sample initialized successfully");
+    }
+
+    private static void fail(String message){
+        System.err.println(message);
+        System.exit(1);
+    }
+
+}
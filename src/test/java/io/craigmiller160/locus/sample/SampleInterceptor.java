@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.sample;
+
+import io.craigmiller160.locus.intercept.LocusInterceptor;
+import io.craigmiller160.locus.intercept.LocusInvocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A sample LocusInterceptor, which records the
+ * invocations that pass through it.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class SampleInterceptor implements LocusInterceptor {
+
+    private final List<String> invocations = Collections.synchronizedList(new ArrayList<String>());
+
+    @Override
+    public Object intercept(LocusInvocation invocation) {
+        invocations.add(invocation.getComponent() + ":" + invocation.getOperation() + ":" + invocation.getName());
+        return invocation.proceed();
+    }
+
+    public List<String> getInvocations(){
+        return invocations;
+    }
+
+}
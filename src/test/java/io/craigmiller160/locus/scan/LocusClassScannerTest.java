@@ -16,14 +16,22 @@
 
 package io.craigmiller160.locus.scan;
 
+import io.craigmiller160.locus.LocusException;
 import io.craigmiller160.locus.TestUtils;
 import io.craigmiller160.locus.annotations.LController;
+import io.craigmiller160.locus.lazyview.InitTracker;
 import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ModelOne;
+import io.craigmiller160.locus.util.InitializationProfile;
 import io.craigmiller160.locus.util.LocusStorage;
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * A JUnit test class to test the LocusClassScanner
@@ -37,6 +45,10 @@ public class LocusClassScannerTest {
     private static final String VIEW_ONE_PATH = "io.craigmiller160.locus.sample.ViewOne";
     private static final String VIEW_THREE_PATH = "io.craigmiller160.locus.sample.ViewThree";
     private static final String CONTROLLER_ONE_PATH = "io.craigmiller160.locus.sample.ControllerOne";
+    private static final String LAZY_VIEW_PATH = "io.craigmiller160.locus.lazyview.LazyView";
+    private static final String EXPLICIT_MODEL_PATH = "io.craigmiller160.locus.explicit.ExplicitModel";
+    private static final String EXPLICIT_VIEW_PATH = "io.craigmiller160.locus.explicit.ExplicitView";
+    private static final String INVALID_EXPLICIT_VIEW_PATH = "io.craigmiller160.locus.explicit.InvalidExplicitView";
 
     private LocusStorage storage;
     private LocusClassScanner scanner;
@@ -105,4 +117,64 @@ public class LocusClassScannerTest {
         assertEquals("Controller type doesn't match its name", ControllerOne.class, storage.getControllerType(name));
     }
 
+    @Test
+    public void testScanDoesNotInitializeClass(){
+        scanner.scan(LAZY_VIEW_PATH, storage, exclusions);
+
+        assertEquals("Wrong number of view prop setters", 1, storage.getViewPropSetterCount());
+        assertFalse("Scanning the view class ran its static initializer", InitTracker.lazyViewInitialized);
+    }
+
+    @Test
+    public void testScanRecordsInitializationProfile(){
+        scanner.scan(MODEL_ONE_PATH, storage, exclusions);
+        scanner.scan(VIEW_ONE_PATH, storage, exclusions);
+        scanner.scan(CONTROLLER_ONE_PATH, storage, exclusions);
+        InitializationProfile profile = storage.getInitializationProfiler().getProfile();
+
+        assertEquals("Wrong number of classes profiled", 3, profile.getClassCount());
+        assertTrue("No methods profiled", profile.getMethodCount() > 0);
+        assertEquals("Wrong number of slowest classes", 3, profile.getSlowestClasses().size());
+        assertTrue("Wrong number of slowest methods", profile.getSlowestMethods().size() <= 10);
+        assertTrue("No scanning time recorded", profile.getPhaseTime(InitializationProfile.PHASE_SCANNING) > 0);
+        assertTrue("No parsing time recorded", profile.getPhaseTime(InitializationProfile.PHASE_PARSING) > 0);
+        assertTrue("No model construction time recorded", profile.getPhaseTime(InitializationProfile.PHASE_MODEL_CONSTRUCTION) > 0);
+
+        //The slowest classes should be in order from slowest to fastest
+        long previous = Long.MAX_VALUE;
+        boolean foundModel = false;
+        for(InitializationProfile.Timing timing : profile.getSlowestClasses()){
+            assertTrue("Slowest classes out of order", timing.getTime() <= previous);
+            previous = timing.getTime();
+            foundModel = foundModel || ModelOne.class.getName().equals(timing.getName());
+        }
+        assertTrue("Model class not in slowest classes", foundModel);
+    }
+
+    @Test
+    public void testScanExplicitModelClass(){
+        scanner.scan(EXPLICIT_MODEL_PATH, storage, exclusions);
+
+        assertEquals("Wrong number of model prop setters", 2, storage.getModelPropSetterCount());
+        assertEquals("Wrong number of model prop getters", 1, storage.getModelPropGetterCount());
+        assertNotNull("Annotated setter not found", storage.getSettersForModelProp("ExplicitValue"));
+        assertNotNull("Renamed setter not found", storage.getSettersForModelProp("RenamedValue"));
+        assertNull("Unannotated setter was found", storage.getSettersForModelProp("IgnoredValue"));
+    }
+
+    @Test
+    public void testScanExplicitViewClass(){
+        scanner.scan(EXPLICIT_VIEW_PATH, storage, exclusions);
+
+        assertEquals("Wrong number of view prop setters", 1, storage.getViewPropSetterCount());
+        assertEquals("Wrong number of view prop adders", 1, storage.getViewPropAdderCount());
+        assertEquals("Wrong number of view prop removers", 0, storage.getViewPropRemoverCount());
+        assertNotNull("Annotated adder not found", storage.getAddersForViewProp("ExplicitValue"));
+    }
+
+    @Test(expected = LocusException.class)
+    public void testScanInvalidExplicitViewClass(){
+        scanner.scan(INVALID_EXPLICIT_VIEW_PATH, storage, exclusions);
+    }
+
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.scan;
+
+import io.craigmiller160.locus.TestUtils;
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ModelOne;
+import io.craigmiller160.locus.sample.RandomClass;
+import io.craigmiller160.locus.sample.ViewOne;
+import io.craigmiller160.locus.util.LocusStorage;
+import io.craigmiller160.utils.reflect.ReflectiveException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class for the LocusClassfileScanner
+ * and the ClassfileParser it uses.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class LocusClassfileScannerTest {
+
+    private LocusStorage storage;
+
+    @Before
+    public void before(){
+        storage = TestUtils.setupStorage();
+    }
+
+    private ByteBuffer readClassfile(Class<?> clazz) throws IOException{
+        String path = clazz.getName().replace('.', '/') + ".class";
+        try(InputStream iStream = clazz.getClassLoader().getResourceAsStream(path)){
+            ByteArrayOutputStream oStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while((read = iStream.read(buffer)) != -1){
+                oStream.write(buffer, 0, read);
+            }
+            return ByteBuffer.wrap(oStream.toByteArray());
+        }
+    }
+
+    /**
+     * Test parsing classfiles with and without Locus annotations.
+     */
+    @Test
+    public void testParseClassfiles() throws Exception{
+        ClassfileParser parser = new ClassfileParser();
+
+        ClassfileParser.Result model = parser.parse(readClassfile(ModelOne.class));
+        assertNotNull("Model classfile result is null", model);
+        assertEquals("Model class name is wrong", ModelOne.class.getName(), model.getClassName());
+        assertEquals("Model annotation type is wrong", ClassfileParser.MODEL, model.getType());
+
+        ClassfileParser.Result view = parser.parse(readClassfile(ViewOne.class));
+        assertNotNull("View classfile result is null", view);
+        assertEquals("View annotation type is wrong", ClassfileParser.VIEW, view.getType());
+
+        ClassfileParser.Result controller = parser.parse(readClassfile(ControllerOne.class));
+        assertNotNull("Controller classfile result is null", controller);
+        assertEquals("Controller annotation type is wrong", ClassfileParser.CONTROLLER, controller.getType());
+
+        assertNull("Class without annotation should have no result", parser.parse(readClassfile(RandomClass.class)));
+    }
+
+    /**
+     * Test that invalid classfile content is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalidClassfile(){
+        new ClassfileParser().parse(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+
+    /**
+     * Test package scanning, which should produce exactly the
+     * same storage as the LocusPackageScanner.
+     */
+    @Test
+    public void testScanPackage(){
+        LocusScanner scanner = LocusScannerFactory.newPackageScanner(LocusScannerFactory.CLASSFILE_PACKAGE_SCANNER);
+        assertTrue("Factory returned wrong scanner type", scanner instanceof LocusClassfileScanner);
+
+        scanner.scan("io.craigmiller160.locus.sample", storage, new ScannerExclusions());
+
+        assertEquals("Wrong number of model property names", 15, storage.getAllModelPropertyNames().size());
+        assertEquals("Wrong number of model prop setters", 13, storage.getModelPropSetterCount());
+        assertEquals("Wrong number of model prop getters", 13, storage.getModelPropGetterCount());
+        assertEquals("Wrong number of model prop adders", 1, storage.getModelPropAdderCount());
+        assertEquals("Wrong number of model prop removers", 1, storage.getModelPropRemoverCount());
+
+        assertEquals("Wrong number of controller types", 1, storage.getControllerTypeCount());
+
+        Set<String> viewProps = storage.getAllViewPropNames();
+        assertEquals("Wrong number of view prop names", 14, viewProps.size());
+        assertEquals("Wrong number of view prop setters", 15, storage.getViewPropSetterCount());
+        assertEquals("Wrong number of view prop adders", 1, storage.getViewPropAdderCount());
+        assertEquals("Wrong number of view prop removers", 1, storage.getViewPropRemoverCount());
+    }
+
+    /**
+     * Test scanning with invalid controller names, which
+     * should result in an exception.
+     */
+    @Test(expected = ReflectiveException.class)
+    public void testScanInvalidController(){
+        LocusScanner scanner = LocusScannerFactory.newClassfileScanner();
+        scanner.scan("io.craigmiller160.locus.sample", storage, new ScannerExclusions());
+        scanner.scan("io.craigmiller160.locus.othercontroller", storage, new ScannerExclusions());
+    }
+
+}
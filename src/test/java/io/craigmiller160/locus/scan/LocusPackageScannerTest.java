@@ -17,6 +17,7 @@
 package io.craigmiller160.locus.scan;
 
 import io.craigmiller160.locus.TestUtils;
+import io.craigmiller160.locus.lazyview.InitTracker;
 import io.craigmiller160.locus.util.LocusStorage;
 import io.craigmiller160.utils.reflect.ObjectAndMethod;
 import io.craigmiller160.utils.reflect.ReflectiveException;
@@ -158,4 +159,22 @@ public class LocusPackageScannerTest {
         assertTrue("The second scan did not throw an exception, it should have", secondScanException);
     }
 
+    /**
+     * Test that package scanning, with either package scanner,
+     * doesn't initialize the classes that are found.
+     */
+    @Test
+    public void testScanDoesNotInitializeClasses(){
+        String packageName = "io.craigmiller160.locus.lazyview";
+
+        LocusScanner scanner = new LocusPackageScanner();
+        scanner.scan(packageName, storage, new ScannerExclusions());
+        assertEquals("Wrong number of view prop setters", 1, storage.getViewPropSetterCount());
+
+        LocusScanner classfileScanner = LocusScannerFactory.newClassfileScanner();
+        classfileScanner.scan(packageName, TestUtils.setupStorage(), new ScannerExclusions());
+
+        assertFalse("Scanning the package ran a static initializer", InitTracker.lazyViewInitialized);
+    }
+
 }
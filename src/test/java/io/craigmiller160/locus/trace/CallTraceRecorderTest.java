@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.trace;
+
+import io.craigmiller160.locus.Locus;
+import io.craigmiller160.locus.TestUtils;
+import io.craigmiller160.locus.concurrent.NoUIThreadExecutor;
+import io.craigmiller160.locus.metrics.InMemoryLocusMetrics;
+import io.craigmiller160.locus.metrics.LocusMetrics;
+import io.craigmiller160.locus.metrics.OperationMetrics;
+import io.craigmiller160.locus.util.LocusStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.craigmiller160.locus.util.LocusConstants.CONTROLLER_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.MODEL_TYPE;
+import static io.craigmiller160.locus.util.LocusConstants.VIEW_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for recording, reading, and
+ * replaying call traces.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class CallTraceRecorderTest {
+
+    private File traceFile;
+
+    @Before
+    public void before() throws Exception{
+        LocusStorage storage = LocusStorage.getInstance();
+        storage.clear();
+        storage.setUIThreadExecutorType(NoUIThreadExecutor.class);
+        TestUtils.setupModels(storage);
+        TestUtils.setupViews(storage);
+        TestUtils.setupControllers(storage);
+        traceFile = File.createTempFile("locus", ".trace");
+    }
+
+    @After
+    public void after(){
+        LocusStorage.getInstance().clear();
+        traceFile.delete();
+    }
+
+    /**
+     * Test that model, view, and controller calls are
+     * recorded and can be read back.
+     */
+    @Test
+    public void testRecordAndRead() throws Exception{
+        CallTraceRecorder recorder = new CallTraceRecorder(traceFile, 64 * 1024);
+        Locus.registry().interceptor(recorder);
+
+        Locus.model.setValue("StringField", "Value");
+        Locus.controller.getController(TestUtils.CONTROLLER_ONE_NAME);
+        recorder.close();
+
+        List<CallRecord> calls = CallTraceReader.read(traceFile);
+        assertEquals("Wrong number of calls read", recorder.getRecordedCount(), calls.size());
+        assertEquals("No calls should be dropped", 0, recorder.getDroppedCount());
+
+        CallRecord modelCall = findCall(calls, MODEL_TYPE);
+        assertNotNull("Model call not recorded", modelCall);
+        assertEquals("Wrong operation", LocusMetrics.SET, modelCall.getOperation());
+        assertEquals("Wrong property", "StringField", modelCall.getName());
+        assertEquals("Wrong argument types", Collections.singletonList(String.class.getName()), modelCall.getArgTypes());
+        assertEquals("Wrong thread", Thread.currentThread().getName(), modelCall.getThreadName());
+        assertTrue("Call should succeed", modelCall.isSuccess());
+
+        assertNotNull("View call not recorded", findCall(calls, VIEW_TYPE));
+
+        CallRecord controllerCall = findCall(calls, CONTROLLER_TYPE);
+        assertNotNull("Controller call not recorded", controllerCall);
+        assertEquals("Wrong controller", TestUtils.CONTROLLER_ONE_NAME, controllerCall.getName());
+        assertTrue("Controller call should start after model call", controllerCall.getTimestamp() >= modelCall.getTimestamp());
+    }
+
+    /**
+     * Test that calls are dropped, rather than failing,
+     * once the trace file is full.
+     */
+    @Test
+    public void testDroppedWhenFull() throws Exception{
+        CallTraceRecorder recorder = new CallTraceRecorder(traceFile, CallTraceFormat.HEADER_SIZE + 256);
+        Locus.registry().interceptor(recorder);
+
+        for(int i = 0; i < 20; i++){
+            Locus.model.setValue("StringField", "Value");
+        }
+        recorder.close();
+
+        assertEquals("Wrong StringField value", "Value", Locus.model.getValue("StringField"));
+        assertTrue("Calls should be dropped", recorder.getDroppedCount() > 0);
+        assertEquals("Wrong number of calls read", recorder.getRecordedCount(), CallTraceReader.read(traceFile).size());
+    }
+
+    /**
+     * Test that a call referring to a String too long to
+     * fit in the file is dropped, rather than recorded with
+     * a reference to a String that was never written.
+     */
+    @Test
+    public void testLongStringDropsCall() throws Exception{
+        CallTraceRecorder recorder = new CallTraceRecorder(traceFile, CallTraceFormat.HEADER_SIZE + 1024);
+        Locus.registry().interceptor(recorder);
+
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        char[] longName = new char[CallTraceFormat.MAX_STRING_LENGTH];
+        Arrays.fill(longName, 'T');
+        thread.setName(new String(longName));
+        try{
+            Locus.model.setValue("StringField", "Value");
+        }
+        finally{
+            thread.setName(threadName);
+        }
+        Locus.model.setValue("StringField", "Value");
+        recorder.close();
+
+        List<CallRecord> calls = CallTraceReader.read(traceFile);
+        assertTrue("Later calls should still be recorded", calls.size() > 0);
+        assertEquals("Wrong number of calls read", recorder.getRecordedCount(), calls.size());
+        for(CallRecord call : calls){
+            assertEquals("Call refers to a String that wasn't written", threadName, call.getThreadName());
+        }
+    }
+
+    /**
+     * Test that model and controller calls are
+     * replayed, and view calls are skipped.
+     */
+    @Test
+    public void testReplay() throws Exception{
+        List<String> stringArg = Collections.singletonList(String.class.getName());
+        List<String> noArgs = Collections.emptyList();
+        List<CallRecord> calls = Arrays.asList(
+                new CallRecord(0, 10, 1, "main", MODEL_TYPE, LocusMetrics.SET, "StringField", true, stringArg),
+                new CallRecord(10, 10, 1, "main", VIEW_TYPE, LocusMetrics.SET, "StringField", true, stringArg),
+                new CallRecord(20, 10, 2, "worker", MODEL_TYPE, LocusMetrics.GET, "StringField", true, noArgs),
+                new CallRecord(30, 10, 2, "worker", CONTROLLER_TYPE, LocusMetrics.CREATE, TestUtils.CONTROLLER_ONE_NAME, true, noArgs)
+        );
+
+        InMemoryLocusMetrics metrics = new CallTraceReplayer(calls, 0).replay();
+
+        assertEquals("Wrong number of replayed operations", 3, metrics.getAllMetrics().size());
+        OperationMetrics set = metrics.getMetrics(MODEL_TYPE, LocusMetrics.SET, "StringField");
+        assertNotNull("Model set not replayed", set);
+        assertEquals("Model set should succeed", 0, set.getFailureCount());
+        assertNotNull("Model get not replayed", metrics.getMetrics(MODEL_TYPE, LocusMetrics.GET, "StringField"));
+        assertNotNull("Controller not replayed", metrics.getMetrics(CONTROLLER_TYPE, LocusMetrics.CREATE, TestUtils.CONTROLLER_ONE_NAME));
+        assertEquals("Wrong StringField value", "", Locus.model.getValue("StringField"));
+        assertTrue("Report missing operation", CallTraceReplayer.report(metrics).contains("StringField"));
+    }
+
+    private static CallRecord findCall(List<CallRecord> calls, String component){
+        for(CallRecord call : calls){
+            if(component.equals(call.getComponent())){
+                return call;
+            }
+        }
+        return null;
+    }
+
+}
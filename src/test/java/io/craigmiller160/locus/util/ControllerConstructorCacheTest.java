@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.utils.reflect.ReflectiveException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A test class for the cache of constructors
+ * used to create controllers.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class ControllerConstructorCacheTest {
+
+    private static final String NAME = "ControllerOne";
+
+    private ControllerConstructorCache cache;
+
+    @Before
+    public void before(){
+        cache = new ControllerConstructorCache();
+    }
+
+    /**
+     * Test that a constructor is cached once for
+     * each set of parameter types.
+     */
+    @Test
+    public void testCachedBySignature(){
+        ControllerOne noArgs = (ControllerOne) cache.newInstance(NAME, ControllerOne.class);
+        assertNull("Wrong id", noArgs.getId());
+        assertEquals("Wrong cached count", 1, cache.getCachedCount(NAME));
+
+        ControllerOne withId = (ControllerOne) cache.newInstance(NAME, ControllerOne.class, "One");
+        assertEquals("Wrong id", "One", withId.getId());
+        assertEquals("Wrong cached count", 2, cache.getCachedCount(NAME));
+
+        ControllerOne withOtherId = (ControllerOne) cache.newInstance(NAME, ControllerOne.class, "Two");
+        assertEquals("Wrong id", "Two", withOtherId.getId());
+        assertEquals("Cached constructor should be reused", 2, cache.getCachedCount(NAME));
+    }
+
+    /**
+     * Test that a null parameter matches a constructor,
+     * and is cached separately from a non-null one.
+     */
+    @Test
+    public void testNullParam(){
+        ControllerOne controller = (ControllerOne) cache.newInstance(NAME, ControllerOne.class, (Object) null);
+        assertNull("Wrong id", controller.getId());
+        assertEquals("Wrong cached count", 1, cache.getCachedCount(NAME));
+
+        cache.newInstance(NAME, ControllerOne.class, "One");
+        assertEquals("Wrong cached count", 2, cache.getCachedCount(NAME));
+    }
+
+    /**
+     * Test that pre-warming caches the no-argument constructor,
+     * and that the cache is replaced if the type changes.
+     */
+    @Test
+    public void testPrewarmAndTypeChange(){
+        cache.prewarm(NAME, ControllerOne.class);
+        assertEquals("Wrong cached count", 1, cache.getCachedCount(NAME));
+
+        Object controller = cache.newInstance(NAME, StringBuilder.class);
+        assertTrue("Wrong controller type", controller instanceof StringBuilder);
+        assertEquals("Wrong cached count", 1, cache.getCachedCount(NAME));
+
+        cache.remove(NAME);
+        assertEquals("Wrong cached count", 0, cache.getCachedCount(NAME));
+    }
+
+    /**
+     * Test that the most specific of several overloaded
+     * constructors is chosen, whatever order they are
+     * declared in, and that an ambiguous choice isn't cached.
+     */
+    @Test
+    public void testOverloadedConstructors(){
+        for(int i = 0; i < 2; i++){
+            OverloadedController controller = (OverloadedController) cache.newInstance(NAME, OverloadedController.class, "Value");
+            assertEquals("Wrong constructor", "String", controller.constructor);
+            controller = (OverloadedController) cache.newInstance(NAME, OverloadedController.class, (Object) null);
+            assertEquals("Wrong constructor for null", "String", controller.constructor);
+            controller = (OverloadedController) cache.newInstance(NAME, OverloadedController.class, new StringBuilder());
+            assertEquals("Wrong constructor", "CharSequence", controller.constructor);
+        }
+        assertEquals("Wrong cached count", 3, cache.getCachedCount(NAME));
+
+        //Neither constructor accepting an Integer is more specific than the other
+        try{
+            cache.newInstance(NAME, OverloadedController.class, 1, 2);
+        }
+        catch(ReflectiveException ex){
+            //ObjectCreator is free to reject the ambiguous call
+        }
+        assertEquals("Ambiguous constructor should not be cached", 3, cache.getCachedCount(NAME));
+    }
+
+    /**
+     * Test that parameters matching no constructor
+     * fail, without being cached.
+     */
+    @Test
+    public void testNoMatchingConstructor(){
+        try{
+            cache.newInstance(NAME, ControllerOne.class, 1, 2);
+            fail("Should have thrown exception");
+        }
+        catch(ReflectiveException ex){
+            assertEquals("Wrong cached count", 0, cache.getCachedCount(NAME));
+        }
+    }
+
+    /**
+     * A controller with overloaded constructors, declared
+     * from least to most specific.
+     */
+    public static class OverloadedController {
+
+        private final String constructor;
+
+        public OverloadedController(Object value){
+            constructor = "Object";
+        }
+
+        public OverloadedController(CharSequence value){
+            constructor = "CharSequence";
+        }
+
+        public OverloadedController(String value){
+            constructor = "String";
+        }
+
+        public OverloadedController(Number first, Integer second){
+            constructor = "Number, Integer";
+        }
+
+        public OverloadedController(Integer first, Number second){
+            constructor = "Integer, Number";
+        }
+    }
+
+}
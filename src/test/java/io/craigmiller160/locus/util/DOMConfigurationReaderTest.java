@@ -21,6 +21,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
@@ -96,6 +97,9 @@ public class DOMConfigurationReaderTest {
         assertNotNull("UiThreadExecutorClassName is null", uiThreadExecutorClassName);
         assertEquals("UIThreadExecutorClassName has the wrong value", "io.craigmiller160.locus.sample.SampleUIThreadExecutor",
                 uiThreadExecutorClassName);
+        assertEquals("UIThreadBudget has the wrong value", 8, locusConfig.getUIThreadBudget());
+        assertEquals("Wrong interceptor class names", Arrays.asList("io.craigmiller160.locus.sample.SampleInterceptor"),
+                locusConfig.getInterceptorClassNames());
     }
 
 }
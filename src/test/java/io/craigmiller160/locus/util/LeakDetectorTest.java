@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.locus.TestUtils;
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ViewOne;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the leak detection of views
+ * and controller callbacks in the LocusStorage.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class LeakDetectorTest {
+
+    private LocusStorage storage;
+
+    @Before
+    public void before(){
+        storage = TestUtils.setupStorage();
+    }
+
+    /**
+     * Test that a view registered for longer than the
+     * threshold is reported, with its stack trace.
+     */
+    @Test
+    public void testViewLeakReported() throws Exception{
+        storage.setLeakDetection(1, TimeUnit.MILLISECONDS, 1);
+        ViewOne view = new ViewOne();
+        storage.addViewInstance(view);
+        Thread.sleep(5);
+
+        LeakReport report = storage.getLeakReport();
+        assertEquals("Wrong view suspect count", 1, report.getViews().size());
+        LeakReport.Suspect suspect = report.getViews().get(0);
+        assertEquals("Wrong description", LocusSnapshot.describeInstance(view), suspect.getDescription());
+        assertTrue("Age is below the threshold", suspect.getAge() >= TimeUnit.MILLISECONDS.toNanos(1));
+        assertFalse("Stack trace was not captured", suspect.getStackTrace().isEmpty());
+        assertEquals("Stack trace should start at the caller", getClass().getName(), suspect.getStackTrace().get(0).getClassName());
+
+        storage.removeViewInstance(view);
+        assertTrue("Removed view should not be reported", storage.getLeakReport().getViews().isEmpty());
+    }
+
+    /**
+     * Test that a controller callback registered for longer
+     * than the threshold is reported, and that stack traces
+     * are only captured when sampled.
+     */
+    @Test
+    public void testCallbackLeakReported() throws Exception{
+        storage.setLeakDetection(1, TimeUnit.MILLISECONDS, 0);
+        ControllerOne controller = new ControllerOne();
+        ViewOne callback = new ViewOne();
+        storage.addControllerCallback(controller, callback);
+        Thread.sleep(5);
+
+        LeakReport report = storage.getLeakReport();
+        assertEquals("Wrong callback suspect count", 1, report.getControllerCallbacks().size());
+        LeakReport.Suspect suspect = report.getControllerCallbacks().get(0);
+        assertTrue("Wrong description", suspect.getDescription().endsWith(LocusSnapshot.describeInstance(callback)));
+        assertTrue("Stack trace should not be captured", suspect.getStackTrace().isEmpty());
+
+        storage.removeControllerCallback(controller);
+        assertTrue("Removed callback should not be reported", storage.getLeakReport().getControllerCallbacks().isEmpty());
+    }
+
+    /**
+     * Test that nothing is reported while leak detection is disabled.
+     */
+    @Test
+    public void testDisabled() throws Exception{
+        ViewOne view = new ViewOne();
+        storage.addViewInstance(view);
+        storage.addControllerCallback(new ControllerOne(), view);
+        Thread.sleep(5);
+
+        LeakReport report = storage.getLeakReport();
+        assertEquals("Wrong threshold", 0, report.getThreshold());
+        assertTrue("No views should be reported", report.getViews().isEmpty());
+        assertTrue("No callbacks should be reported", report.getControllerCallbacks().isEmpty());
+    }
+
+    /**
+     * Test the counts of view WeakReferences cleared by the
+     * garbage collector and pruned from the storage.
+     */
+    @Test
+    public void testClearedAndPruned() throws Exception{
+        storage.addViewInstance(new ViewOne());
+
+        for(int i = 0; i < 50 && storage.getLeakReport().getClearedCount() == 0; i++){
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        LeakReport report = storage.getLeakReport();
+        assertEquals("Wrong cleared count", 1, report.getClearedCount());
+        assertEquals("Wrong pruned count before get", 0, report.getPrunedCount());
+
+        storage.getViewInstancesForClass(ViewOne.class);
+        assertEquals("Wrong pruned count after get", 1, storage.getLeakReport().getPrunedCount());
+    }
+
+}
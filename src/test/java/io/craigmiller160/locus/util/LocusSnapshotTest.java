@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.locus.TestUtils;
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ViewOne;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test class for the LocusSnapshot and
+ * the LocusSnapshotWriters.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class LocusSnapshotTest {
+
+    private static final String STRING_FIELD = "StringField";
+
+    private LocusStorage storage;
+    private Map<Class<?>,Object> views;
+    private ControllerOne controller;
+
+    @Before
+    public void before(){
+        storage = TestUtils.setupStorage();
+        TestUtils.setupModels(storage);
+        views = TestUtils.setupViews(storage);
+        TestUtils.setupControllers(storage);
+
+        controller = new ControllerOne();
+        storage.addControllerCallback(controller, views.get(ViewOne.class));
+    }
+
+    /**
+     * Test that the snapshot contains everything in the storage.
+     */
+    @Test
+    public void testSnapshotContents(){
+        LocusSnapshot snapshot = storage.snapshot();
+
+        assertEquals("Wrong UIThreadExecutor", storage.getUIThreadExecutorType().getName(), snapshot.getUIThreadExecutorType());
+        assertEquals("Wrong model property count", storage.getAllModelPropertyNames().size(), snapshot.getModelProperties().size());
+        assertEquals("Wrong view property count", storage.getAllViewPropNames().size(), snapshot.getViewProperties().size());
+        assertEquals("Wrong live view count", 2, snapshot.getLiveViewInstanceCount());
+        assertEquals("Wrong view class count", 2, snapshot.getViewInstances().size());
+
+        LocusSnapshot.PropertySnapshot stringField = null;
+        for(LocusSnapshot.PropertySnapshot property : snapshot.getModelProperties()){
+            if(STRING_FIELD.equals(property.getName())){
+                stringField = property;
+            }
+        }
+        assertNotNull("StringField property missing", stringField);
+        assertEquals("Wrong StringField setter count", storage.getSettersForModelProp(STRING_FIELD).size(), stringField.getSetters().size());
+        assertEquals("Wrong StringField getter count", storage.getGettersForModelProp(STRING_FIELD).size(), stringField.getGetters().size());
+
+        assertEquals("Wrong controller count", 2, snapshot.getControllers().size());
+        assertEquals("Wrong first controller", TestUtils.CONTROLLER_ONE_NAME, snapshot.getControllers().get(0).getName());
+        assertEquals("Wrong first controller type", ControllerOne.class.getName(), snapshot.getControllers().get(0).getType());
+
+        assertEquals("Wrong callback count", 1, snapshot.getControllerCallbacks().size());
+        assertEquals("Wrong callback", LocusSnapshot.describeInstance(views.get(ViewOne.class)),
+                snapshot.getControllerCallbacks().get(0).getCallback());
+    }
+
+    /**
+     * Test that the snapshot is not affected by
+     * later changes to the storage.
+     */
+    @Test
+    public void testSnapshotImmutable(){
+        LocusSnapshot snapshot = storage.snapshot();
+        storage.clear();
+
+        assertEquals("Wrong controller count", 2, snapshot.getControllers().size());
+        assertFalse("Model properties should not be empty", snapshot.getModelProperties().isEmpty());
+        assertEquals("Wrong controller count after clear", 0, storage.snapshot().getControllers().size());
+    }
+
+    /**
+     * Test writing the snapshot as JSON.
+     */
+    @Test
+    public void testWriteJson() throws Exception{
+        StringWriter writer = new StringWriter();
+        new JsonLocusSnapshotWriter().write(storage.snapshot(), writer);
+        String json = writer.toString();
+
+        assertTrue("JSON is not an object", json.startsWith("{") && json.endsWith("}"));
+        assertTrue("JSON missing model property", json.contains("{\"name\":\"" + STRING_FIELD + "\",\"setters\":[\""));
+        assertTrue("JSON missing controller", json.contains("{\"name\":\"" + TestUtils.CONTROLLER_ONE_NAME + "\",\"type\":\"" + ControllerOne.class.getName() + "\"}"));
+        assertTrue("JSON missing callback", json.contains("\"callback\":\"" + LocusSnapshot.describeInstance(views.get(ViewOne.class)) + "\""));
+    }
+
+    /**
+     * Test writing the snapshot as text.
+     */
+    @Test
+    public void testWriteText() throws Exception{
+        StringWriter writer = new StringWriter();
+        new TextLocusSnapshotWriter().write(storage.snapshot(), writer);
+        String text = writer.toString();
+
+        assertTrue("Text missing model property", text.contains(" Property: " + STRING_FIELD));
+        assertTrue("Text missing controller", text.contains(" Name   : " + TestUtils.CONTROLLER_ONE_NAME));
+        assertTrue("Text missing view instances", text.contains(" Class  : " + ViewOne.class.getName()));
+        assertTrue("Text missing callback", text.contains("   Callback: " + LocusSnapshot.describeInstance(views.get(ViewOne.class))));
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Craig Miller
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.craigmiller160.locus.util;
+
+import io.craigmiller160.locus.TestUtils;
+import io.craigmiller160.locus.concurrent.NoUIThreadExecutor;
+import io.craigmiller160.locus.sample.ControllerOne;
+import io.craigmiller160.locus.sample.ModelOne;
+import io.craigmiller160.locus.sample.ViewOne;
+import io.craigmiller160.locus.scan.LocusScanner;
+import io.craigmiller160.locus.scan.LocusScannerFactory;
+import io.craigmiller160.locus.scan.ScannerExclusions;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A JUnit test class to test the
+ * NativeImageConfigGenerator.
+ *
+ * Created by craigmiller on 10/19/26.
+ */
+public class NativeImageConfigGeneratorTest {
+
+    private NativeImageConfigGenerator generator;
+
+    @Before
+    public void before(){
+        LocusStorage storage = TestUtils.setupStorage();
+        LocusScanner scanner = LocusScannerFactory.newClassScanner();
+        ScannerExclusions exclusions = new ScannerExclusions();
+        scanner.scan(ModelOne.class.getName(), storage, exclusions);
+        scanner.scan(ViewOne.class.getName(), storage, exclusions);
+        scanner.scan(ControllerOne.class.getName(), storage, exclusions);
+
+        generator = new NativeImageConfigGenerator(storage);
+    }
+
+    @Test
+    public void testWriteReflectConfig() throws Exception{
+        StringWriter writer = new StringWriter();
+        generator.writeReflectConfig(writer);
+        String config = writer.toString();
+
+        assertTrue("Model class missing", config.contains("\"name\": \"" + ModelOne.class.getName() + "\""));
+        assertTrue("Model method missing", config.contains("{\"name\": \"setStringField\", \"parameterTypes\": [\"java.lang.String\"]}"));
+        assertTrue("Model primitive method missing", config.contains("{\"name\": \"setStringField\", \"parameterTypes\": [\"int\"]}"));
+        assertTrue("Model array method missing", config.contains("{\"name\": \"setFields\", \"parameterTypes\": [\"java.lang.Object[]\"]}"));
+        assertTrue("View class missing", config.contains("\"name\": \"" + ViewOne.class.getName() + "\""));
+        assertTrue("View public methods missing", config.contains("\"allPublicMethods\": true"));
+        assertTrue("Controller class missing", config.contains("\"name\": \"" + ControllerOne.class.getName() + "\""));
+        assertTrue("UIThreadExecutor class missing", config.contains("\"name\": \"" + NoUIThreadExecutor.class.getName() + "\""));
+        assertFalse("Excluded class included", config.contains("\"name\": \"java.lang.Object\""));
+    }
+
+    @Test
+    public void testWriteResourceConfig() throws Exception{
+        StringWriter writer = new StringWriter();
+        generator.writeResourceConfig(writer, "locus2.xml");
+        String config = writer.toString();
+
+        assertTrue("Configuration file missing", config.contains("{\"pattern\": \"\\\\Qlocus2.xml\\\\E\"}"));
+        assertTrue("Schema missing", config.contains("{\"pattern\": \"\\\\Qlocus-schema.xsd\\\\E\"}"));
+    }
+
+}
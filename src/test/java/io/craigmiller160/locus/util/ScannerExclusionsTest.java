@@ -66,4 +66,28 @@ public class ScannerExclusionsTest {
         assertTrue("Standard Java class failed the test, post-inclusion", scannerExclusions.isClassAllowed(javaClazz));
     }
 
+    @Test
+    public void testLongestPrefixWins(){
+        Class<?> customClazz1 = ModelOne.class;
+        Class<?> customClazz2 = ModelTwo.class;
+
+        ScannerExclusions scannerExclusions = new ScannerExclusions();
+        scannerExclusions.addExclusion("io.craigmiller160");
+        scannerExclusions.addInclusion("io.craigmiller160.locus");
+        scannerExclusions.addExclusion("io.craigmiller160.locus.sample");
+        assertFalse("Class matching the longest exclusion passed the test", scannerExclusions.isClassAllowed(customClazz1));
+        assertTrue("Class matching the longest inclusion failed the test", scannerExclusions.isClassAllowed(customClazz2));
+    }
+
+    @Test
+    public void testCachedVerdictReset(){
+        Class<?> customClazz = ModelOne.class;
+
+        ScannerExclusions scannerExclusions = new ScannerExclusions();
+        assertTrue("Custom class failed the test, pre-exclusion", scannerExclusions.isClassAllowed(customClazz));
+
+        scannerExclusions.addExclusion("io.craigmiller160.locus.sample");
+        assertFalse("Custom class passed the test, post-exclusion", scannerExclusions.isClassAllowed(customClazz));
+    }
+
 }